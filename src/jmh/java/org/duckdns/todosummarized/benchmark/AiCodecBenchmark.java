@@ -0,0 +1,108 @@
+package org.duckdns.todosummarized.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.duckdns.todosummarized.service.JsonContentExtractor;
+import org.duckdns.todosummarized.service.JsonRequestTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the tree-based OpenAI request/response handling with the precompiled template and
+ * streaming extractor. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes per call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "-XX:+UseG1GC"})
+public class AiCodecBenchmark {
+
+    private static final String MODEL = "gpt-5-nano";
+    private static final int MAX_TOKENS = 500;
+    private static final double TEMPERATURE = 0.7;
+
+    private ObjectMapper objectMapper;
+    private JsonRequestTemplate template;
+    private JsonContentExtractor extractor;
+
+    private String systemPrompt;
+    private String userMessage;
+    private byte[] responseBytes;
+    private String responseString;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        template = JsonRequestTemplate.compile(objectMapper, body("${systemPrompt}", "${userMessage}"),
+                "${systemPrompt}", "${userMessage}");
+        extractor = new JsonContentExtractor(new JsonFactory(), "choices", "message", "content");
+
+        systemPrompt = "You are a productivity assistant. Summarize the user's day in a concise, "
+                + "actionable way. Highlight overdue and urgent work first.";
+        StringBuilder message = new StringBuilder("Today's metrics:\n- Total: 42\n- Completed: 17\n");
+        for (int i = 0; i < 30; i++) {
+            message.append("  - [IN_PROGRESS/HIGH] Task \"").append(i).append("\" (due 2026-01-09, overdue)\n");
+        }
+        userMessage = message.toString();
+
+        responseString = """
+                {"id":"chatcmpl-abc123","object":"chat.completion","created":1767945600,"model":"gpt-5-nano",
+                 "choices":[{"index":0,"message":{"role":"assistant","content":"%s","refusal":null},
+                             "logprobs":null,"finish_reason":"stop"}],
+                 "usage":{"prompt_tokens":812,"completion_tokens":240,"total_tokens":1052,
+                          "prompt_tokens_details":{"cached_tokens":0,"audio_tokens":0},
+                          "completion_tokens_details":{"reasoning_tokens":0,"audio_tokens":0}},
+                 "system_fingerprint":"fp_0123456789"}
+                """.formatted("You completed 17 of 42 tasks. ".repeat(20));
+        responseBytes = responseString.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> body(String system, String user) {
+        return Map.of(
+                "model", MODEL,
+                "messages", List.of(
+                        Map.of("role", "system", "content", system),
+                        Map.of("role", "user", "content", user)
+                ),
+                "max_tokens", MAX_TOKENS,
+                "temperature", TEMPERATURE
+        );
+    }
+
+    @Benchmark
+    public byte[] requestMapSerialization() throws Exception {
+        return objectMapper.writeValueAsString(body(systemPrompt, userMessage)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] requestTemplate() {
+        return template.render(systemPrompt, userMessage);
+    }
+
+    @Benchmark
+    public String responseTree() throws Exception {
+        JsonNode root = objectMapper.readTree(responseString);
+        return root.get("choices").get(0).get("message").get("content").asText();
+    }
+
+    @Benchmark
+    public String responseStreaming() throws Exception {
+        return extractor.extract(responseBytes);
+    }
+}
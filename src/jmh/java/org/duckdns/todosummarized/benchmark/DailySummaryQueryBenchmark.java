@@ -0,0 +1,235 @@
+package org.duckdns.todosummarized.benchmark;
+
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the six statements the daily summary used to issue with the single conditional aggregate
+ * {@link TodoRepository#DAILY_SUMMARY_SQL}, on a seeded todo table.
+ * <p>
+ * Runs against an in-process H2 database by default. Pass {@code -p jdbcUrl=jdbc:postgresql://...}
+ * (plus {@code -p user= -p password=}) to measure a real PostgreSQL server; use an empty scratch
+ * database, since the benchmark creates and drops its own {@code todo} table. {@code roundTripMicros}
+ * adds a simulated network delay per statement, to show the cost of round trips over a slow link
+ * when running in-process.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:+UseG1GC"})
+public class DailySummaryQueryBenchmark {
+
+    private static final int USERS = 100;
+    private static final String[] STATUSES = {"COMPLETED", "IN_PROGRESS", "NOT_STARTED", "CANCELLED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    private static final String COUNT_TOTAL = "select count(*) from todo where user_id = ?";
+    private static final String COUNT_BY_STATUS = "select status, count(*) from todo where user_id = ? group by status";
+    private static final String COUNT_BY_PRIORITY =
+            "select priority, count(*) from todo where user_id = ? group by priority";
+    private static final String COUNT_OVERDUE = "select count(*) from todo where user_id = ? and due_date < ?"
+            + " and status not in ('COMPLETED', 'CANCELLED')";
+    private static final String COUNT_DUE_BETWEEN =
+            "select count(*) from todo where user_id = ? and due_date >= ? and due_date < ?";
+
+    @Param("jdbc:h2:mem:summary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+    public String jdbcUrl;
+
+    @Param("sa")
+    public String user;
+
+    @Param("")
+    public String password;
+
+    @Param({"50", "2000"})
+    public int todosPerUser;
+
+    @Param({"0", "1000"})
+    public int roundTripMicros;
+
+    private Connection connection;
+    private String singleSql;
+    private List<String> singleParameters;
+    private UUID[] userIds;
+    private int nextUser;
+
+    private LocalDateTime now;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        now = LocalDateTime.now();
+        today = now.toLocalDate();
+        createAndSeed();
+
+        // Same statement the repository runs, with JDBC placeholders instead of named parameters
+        singleParameters = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(TodoRepository.DAILY_SUMMARY_SQL);
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find()) {
+            singleParameters.add(matcher.group(1));
+            matcher.appendReplacement(sql, "?");
+        }
+        matcher.appendTail(sql);
+        singleSql = sql.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table todo");
+        }
+        connection.close();
+    }
+
+    private UUID nextUser() {
+        nextUser = (nextUser + 1) % USERS;
+        return userIds[nextUser];
+    }
+
+    @Benchmark
+    public void sixQueries(Blackhole blackhole) throws SQLException {
+        UUID userId = nextUser();
+        blackhole.consume(scalar(COUNT_TOTAL, userId));
+        blackhole.consume(groups(COUNT_BY_STATUS, userId));
+        blackhole.consume(groups(COUNT_BY_PRIORITY, userId));
+        blackhole.consume(scalar(COUNT_OVERDUE, userId, now));
+        blackhole.consume(scalar(COUNT_DUE_BETWEEN, userId, today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+        blackhole.consume(scalar(COUNT_DUE_BETWEEN, userId,
+                today.plusDays(1).atStartOfDay(), today.plusDays(8).atStartOfDay()));
+    }
+
+    @Benchmark
+    public void singleQuery(Blackhole blackhole) throws SQLException {
+        UUID userId = nextUser();
+        roundTrip();
+        try (PreparedStatement statement = connection.prepareStatement(singleSql)) {
+            for (int i = 0; i < singleParameters.size(); i++) {
+                statement.setObject(i + 1, switch (singleParameters.get(i)) {
+                    case "userId" -> userId;
+                    case "now" -> Timestamp.valueOf(now);
+                    case "startOfDay" -> Timestamp.valueOf(today.atStartOfDay());
+                    case "endOfDay", "startOfTomorrow" -> Timestamp.valueOf(today.plusDays(1).atStartOfDay());
+                    case "endOfUpcoming" -> Timestamp.valueOf(today.plusDays(8).atStartOfDay());
+                    default -> throw new IllegalStateException("Unknown parameter " + singleParameters.get(i));
+                });
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                for (int column = 1; column <= 12; column++) {
+                    blackhole.consume(rows.getLong(column));
+                }
+            }
+        }
+    }
+
+    private long scalar(String sql, UUID userId, LocalDateTime... bounds) throws SQLException {
+        roundTrip();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, userId);
+            for (int i = 0; i < bounds.length; i++) {
+                statement.setTimestamp(i + 2, Timestamp.valueOf(bounds[i]));
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+    }
+
+    private long groups(String sql, UUID userId) throws SQLException {
+        roundTrip();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, userId);
+            long sum = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    sum += rows.getString(1).length() + rows.getLong(2);
+                }
+            }
+            return sum;
+        }
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+    }
+
+    private void createAndSeed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table todo (
+                        id uuid primary key,
+                        title varchar(255),
+                        priority varchar(16),
+                        status varchar(16),
+                        due_date timestamp,
+                        user_id uuid not null
+                    )""");
+            statement.execute("create index idx_todo_user on todo (user_id)");
+        }
+
+        Random random = new Random(42);
+        userIds = new UUID[USERS];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into todo (id, title, priority, status, due_date, user_id) values (?, ?, ?, ?, ?, ?)")) {
+            for (int u = 0; u < USERS; u++) {
+                userIds[u] = UUID.randomUUID();
+                for (int t = 0; t < todosPerUser; t++) {
+                    insert.setObject(1, UUID.randomUUID());
+                    insert.setString(2, "Todo " + t);
+                    insert.setString(3, PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                    insert.setString(4, STATUSES[random.nextInt(STATUSES.length)]);
+                    // A quarter without due date, the rest spread over two weeks either side of today
+                    insert.setTimestamp(5, random.nextInt(4) == 0 ? null
+                            : Timestamp.valueOf(now.plusHours(random.nextInt(24 * 28) - 24 * 14)));
+                    insert.setObject(6, userIds[u]);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.duckdns.todosummarized.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.duckdns.todosummarized.config.JwtProperties;
+import org.duckdns.todosummarized.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how a request's access token used to be checked, building a new parser and verifying the
+ * signature three times (subject, then subject and expiry again in {@code isTokenValid}), with
+ * {@link JwtService#validate(String)}, which verifies once with the parser built at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:+UseG1GC"})
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyMustBeAtLeast256BitsLongForHS256!";
+
+    private JwtService jwtService;
+    private SecretKey signingKey;
+    private Clock clock;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecretKey(SECRET);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+        properties.setIssuer("benchmark");
+        clock = Clock.systemUTC();
+        jwtService = new JwtService(properties, clock);
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        user = User.builder()
+                .username("bench@example.com")
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .build();
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean parserPerCall() {
+        String username = parseWithNewParser().getSubject();
+        boolean matches = parseWithNewParser().getSubject().equals(user.getUsername());
+        boolean expired = parseWithNewParser().getExpiration().before(Date.from(clock.instant()));
+        return username != null && matches && !expired;
+    }
+
+    @Benchmark
+    public boolean validateOnce() {
+        return jwtService.validate(token)
+                .map(verified -> jwtService.isTokenValid(verified, user))
+                .orElse(false);
+    }
+
+    private Claims parseWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
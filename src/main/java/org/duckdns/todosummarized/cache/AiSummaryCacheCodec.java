@@ -0,0 +1,80 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.dto.AiSummaryDTO;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.duckdns.todosummarized.cache.BinaryEncoding.*;
+
+/**
+ * Encodes {@link AiSummaryDTO}, including its {@link DailySummaryDTO} snapshot, for the shared tier.
+ * The summary type display name is derived from the type on read instead of being stored.
+ */
+public class AiSummaryCacheCodec implements CacheCodec<AiSummaryDTO> {
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public void write(DataOutput out, AiSummaryDTO value) throws IOException {
+        writeDate(out, value.date());
+        writeEnum(out, value.summaryType());
+        writeString(out, value.summary());
+        out.writeBoolean(value.aiGenerated());
+        writeString(out, value.fallbackReason());
+        writeString(out, value.model());
+
+        DailySummaryDTO metrics = value.metrics();
+        out.writeBoolean(metrics != null);
+        if (metrics != null) {
+            writeDate(out, metrics.date());
+            writeVarLong(out, metrics.totalTodos());
+            writeVarLong(out, metrics.completedCount());
+            writeVarLong(out, metrics.inProgressCount());
+            writeVarLong(out, metrics.notStartedCount());
+            writeVarLong(out, metrics.cancelledCount());
+            writeVarLong(out, metrics.overdueCount());
+            writeVarLong(out, metrics.dueTodayCount());
+            writeVarLong(out, metrics.upcomingCount());
+            out.writeDouble(metrics.completionRate());
+            writeCounts(out, metrics.byPriority());
+            writeCounts(out, metrics.byStatus());
+        }
+    }
+
+    @Override
+    public AiSummaryDTO read(DataInput in) throws IOException {
+        AiSummaryDTO.AiSummaryDTOBuilder builder = AiSummaryDTO.builder().date(readDate(in));
+        SummaryType type = readEnum(in, SummaryType.class);
+        builder.summaryType(type)
+                .summaryTypeName(type == null ? null : type.getDisplayName())
+                .summary(readString(in))
+                .aiGenerated(in.readBoolean())
+                .fallbackReason(readString(in))
+                .model(readString(in));
+
+        if (in.readBoolean()) {
+            builder.metrics(DailySummaryDTO.builder()
+                    .date(readDate(in))
+                    .totalTodos(readVarLong(in))
+                    .completedCount(readVarLong(in))
+                    .inProgressCount(readVarLong(in))
+                    .notStartedCount(readVarLong(in))
+                    .cancelledCount(readVarLong(in))
+                    .overdueCount(readVarLong(in))
+                    .dueTodayCount(readVarLong(in))
+                    .upcomingCount(readVarLong(in))
+                    .completionRate(in.readDouble())
+                    .byPriority(readCounts(in))
+                    .byStatus(readCounts(in))
+                    .build());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,133 @@
+package org.duckdns.todosummarized.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact primitives shared by the {@link CacheCodec} implementations.
+ * Integers are zig-zag varints, so small counts take one byte; nullable values carry a length or marker.
+ */
+public final class BinaryEncoding {
+
+    private BinaryEncoding() {
+    }
+
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    public static long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = (int) readVarLong(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    public static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    public static void writeUuid(DataOutput out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    public static UUID readUuid(DataInput in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    public static void writeDate(DataOutput out, LocalDate value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, value.toEpochDay());
+        }
+    }
+
+    public static LocalDate readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(readVarLong(in)) : null;
+    }
+
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, value.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(out, value.getNano());
+        }
+    }
+
+    public static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return in.readBoolean()
+                ? LocalDateTime.ofEpochSecond(readVarLong(in), (int) readVarLong(in), ZoneOffset.UTC)
+                : null;
+    }
+
+    public static void writeCounts(DataOutput out, Map<String, Long> value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, -1);
+            return;
+        }
+        writeVarLong(out, value.size());
+        for (Map.Entry<String, Long> entry : value.entrySet()) {
+            writeString(out, entry.getKey());
+            writeVarLong(out, entry.getValue());
+        }
+    }
+
+    public static Map<String, Long> readCounts(DataInput in) throws IOException {
+        int size = (int) readVarLong(in);
+        if (size < 0) {
+            return null;
+        }
+        Map<String, Long> value = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            value.put(readString(in), readVarLong(in));
+        }
+        return value;
+    }
+}
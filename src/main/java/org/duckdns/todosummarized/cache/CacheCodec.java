@@ -0,0 +1,18 @@
+package org.duckdns.todosummarized.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of one cached type for the shared tier.
+ * Bump {@link #version()} whenever the layout changes; entries written with another version are ignored.
+ */
+public interface CacheCodec<V> {
+
+    int version();
+
+    void write(DataOutput out, V value) throws IOException;
+
+    V read(DataInput in) throws IOException;
+}
@@ -0,0 +1,56 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.config.CacheMemoryProperties;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bytes each weighted cache may hold, derived from the heap size and {@link CacheMemoryProperties}.
+ */
+public record CacheMemoryBudget(long totalBytes, Map<String, Long> perCacheBytes) {
+
+    /**
+     * Floor per cache so a small heap or a tiny share still leaves a usable cache.
+     */
+    static final long MIN_CACHE_BYTES = 1024 * 1024;
+
+    public static CacheMemoryBudget from(CacheMemoryProperties properties, long maxHeapBytes) {
+        return from(properties, maxHeapBytes, Set.of());
+    }
+
+    /**
+     * Splits the budget over every share except those of caches this configuration never creates,
+     * so their shares go to the caches that exist.
+     */
+    public static CacheMemoryBudget from(CacheMemoryProperties properties, long maxHeapBytes, Set<String> absentCaches) {
+        if (properties.getHeapPercent() <= 0 || properties.getHeapPercent() > 90) {
+            throw new IllegalArgumentException("cache.memory.heap-percent must be in (0, 90]");
+        }
+        long total = (long) (maxHeapBytes * properties.getHeapPercent() / 100.0);
+        Map<String, Integer> shares = new LinkedHashMap<>(properties.getShares());
+        shares.keySet().removeAll(absentCaches);
+        long totalShares = shares.values().stream().mapToLong(Integer::longValue).sum();
+        if (totalShares <= 0) {
+            throw new IllegalArgumentException("cache.memory.shares must contain a positive share");
+        }
+
+        Map<String, Long> perCache = new LinkedHashMap<>();
+        shares.forEach((name, share) ->
+                perCache.put(name, Math.max(MIN_CACHE_BYTES, total * share / totalShares)));
+        return new CacheMemoryBudget(total, Collections.unmodifiableMap(perCache));
+    }
+
+    /**
+     * Returns the byte budget of the named cache.
+     */
+    public long bytesFor(String cacheName) {
+        Long bytes = perCacheBytes.get(cacheName);
+        if (bytes == null) {
+            throw new IllegalStateException("No cache.memory.shares entry for cache '" + cacheName + "'");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,53 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Binds every Caffeine cache bean to Micrometer under its bean name (tag {@code cache}).
+ * Publishes the standard {@code cache.gets}, {@code cache.puts}, {@code cache.evictions},
+ * {@code cache.eviction.weight}, {@code cache.size} and {@code cache.load.duration} meters, plus
+ * {@code cache.weighted.size} and {@code cache.max.weight} in bytes for weighted caches.
+ */
+@Component
+public class CacheMetricsBinder implements MeterBinder {
+
+    static final String WEIGHTED_SIZE = "cache.weighted.size";
+    static final String MAX_WEIGHT = "cache.max.weight";
+
+    private final Map<String, Cache<?, ?>> caches;
+
+    public CacheMetricsBinder(Map<String, Cache<?, ?>> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.forEach((name, cache) -> {
+            CaffeineCacheMetrics.monitor(registry, cache, name);
+            cache.policy().eviction()
+                    .filter(Policy.Eviction::isWeighted)
+                    .ifPresent(eviction -> bindWeight(registry, name, eviction));
+        });
+    }
+
+    private static void bindWeight(MeterRegistry registry, String name, Policy.Eviction<?, ?> eviction) {
+        Gauge.builder(WEIGHTED_SIZE, eviction, e -> e.weightedSize().orElse(0))
+                .description("Estimated bytes held by the cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder(MAX_WEIGHT, eviction, Policy.Eviction::getMaximum)
+                .description("Byte budget of the cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(registry);
+    }
+}
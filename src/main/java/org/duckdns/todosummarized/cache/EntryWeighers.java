@@ -0,0 +1,124 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.duckdns.todosummarized.domains.entity.Todo;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.dto.AiSummaryDTO;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
+import org.duckdns.todosummarized.service.VerifiedToken;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Approximate retained size, in bytes, of cache entries on a 64-bit JVM with compressed references.
+ * Estimates only need to be proportionate: they let a page of twenty todos with descriptions count
+ * for far more of the budget than a single user. Shared objects (e.g. a todo's owner) are not counted.
+ */
+public final class EntryWeighers {
+
+    /** Caffeine node plus hash table slot, including expiry bookkeeping. */
+    static final int ENTRY_OVERHEAD = 96;
+    static final int OBJECT_HEADER = 16;
+    static final int UUID_BYTES = 32;
+    static final int DATE_TIME_BYTES = 72;
+    static final int DATE_BYTES = 24;
+    static final int MAP_ENTRY_BYTES = 48;
+
+    private EntryWeighers() {
+    }
+
+    public static Weigher<String, User> user() {
+        return (email, user) -> clamp(ENTRY_OVERHEAD + string(email) + user(user));
+    }
+
+    public static Weigher<TodoSearchKey, Page<Todo>> todoPage() {
+        return (key, page) -> {
+            // Key: record, UUID, query record, sort
+            long bytes = ENTRY_OVERHEAD + OBJECT_HEADER + 40 + UUID_BYTES + 64 + 64;
+            // PageImpl, its content list and pageable
+            bytes += OBJECT_HEADER * 3 + 96 + 4L * page.getNumberOfElements();
+            for (Todo todo : page.getContent()) {
+                bytes += todo(todo);
+            }
+            return clamp(bytes);
+        };
+    }
+
+    public static Weigher<String, AiSummaryDTO> aiInsight() {
+        return (key, insight) -> {
+            long bytes = ENTRY_OVERHEAD + string(key) + OBJECT_HEADER + 40 + DATE_BYTES
+                    + string(insight.summaryTypeName()) + string(insight.summary())
+                    + string(insight.fallbackReason()) + string(insight.model());
+            DailySummaryDTO metrics = insight.metrics();
+            if (metrics != null) {
+                bytes += OBJECT_HEADER + 96 + DATE_BYTES + counts(metrics.byPriority()) + counts(metrics.byStatus());
+            }
+            return clamp(bytes);
+        };
+    }
+
+    /**
+     * Weighed when the counters are built; later deltas rarely change the histogram size much.
+     */
+    public static Weigher<UUID, TodoSummaryCounters> todoSummary() {
+        return (userId, counters) -> clamp(ENTRY_OVERHEAD + UUID_BYTES + OBJECT_HEADER + 64
+                + 2L * (OBJECT_HEADER + 40) + (long) counters.histogramSize() * (MAP_ENTRY_BYTES + DATE_TIME_BYTES));
+    }
+
+    /**
+     * Dominated by the burndown, one point per day of the range.
+     */
+    public static Weigher<ProductivityAnalyticsKey, ProductivityAnalyticsDTO> productivityAnalytics() {
+        return (key, analytics) -> clamp(ENTRY_OVERHEAD + OBJECT_HEADER + 24 + UUID_BYTES + DATE_TIME_BYTES
+                + 4L * DATE_BYTES + OBJECT_HEADER + 64 + OBJECT_HEADER + 48
+                + (long) analytics.velocity().size() * (OBJECT_HEADER + 24 + DATE_BYTES + 4)
+                + (long) analytics.burndown().size() * (OBJECT_HEADER + 16 + DATE_BYTES + 4));
+    }
+
+    /**
+     * Keyed by the token's digest, so only the claims are held, never the token itself.
+     */
+    public static Weigher<String, VerifiedToken> verifiedToken() {
+        return (digest, token) -> clamp(ENTRY_OVERHEAD + string(digest) + OBJECT_HEADER + 24 + UUID_BYTES
+                + string(token.subject()) + string(token.role()) + 2L * DATE_BYTES);
+    }
+
+    public static Weigher<String, double[]> rateLimitBucket() {
+        return (key, state) -> clamp(ENTRY_OVERHEAD + string(key) + OBJECT_HEADER + 8L * state.length);
+    }
+
+    static long user(User user) {
+        return OBJECT_HEADER + 48 + UUID_BYTES + string(user.getEmail()) + string(user.getPassword())
+                + 2 * DATE_TIME_BYTES;
+    }
+
+    static long todo(Todo todo) {
+        return OBJECT_HEADER + 40 + UUID_BYTES + string(todo.getTitle()) + string(todo.getDescription())
+                + 3 * DATE_TIME_BYTES;
+    }
+
+    /**
+     * String object plus its backing array, assuming compact (one byte per char) strings.
+     */
+    static long string(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    private static long counts(Map<String, Long> counts) {
+        if (counts == null) {
+            return 0;
+        }
+        long bytes = OBJECT_HEADER + 48;
+        for (String key : counts.keySet()) {
+            bytes += MAP_ENTRY_BYTES + string(key);
+        }
+        return bytes;
+    }
+
+    private static int clamp(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
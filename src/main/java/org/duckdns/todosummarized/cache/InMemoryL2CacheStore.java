@@ -0,0 +1,57 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link L2CacheStore} kept in this JVM. Entries expire after their own time to live and the store is
+ * bounded by weight, so it holds at most its share of the cache memory budget however many users
+ * pass through it.
+ */
+public class InMemoryL2CacheStore implements L2CacheStore {
+
+    private record Entry(byte[] value, Duration ttl) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryL2CacheStore(long maxBytes, Clock clock) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> (int) Math.min(Integer.MAX_VALUE,
+                        EntryWeighers.ENTRY_OVERHEAD + EntryWeighers.string(key)
+                                + EntryWeighers.OBJECT_HEADER * 2L + 16 + entry.value().length))
+                .expireAfter(Expiry.writing((String key, Entry entry) -> entry.ttl()))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.getIfPresent(key);
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Number of stored entries, after dropping expired ones.
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+}
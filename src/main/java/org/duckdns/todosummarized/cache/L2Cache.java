@@ -0,0 +1,108 @@
+package org.duckdns.todosummarized.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One typed namespace in the shared cache tier. Values are stored as a codec version byte followed
+ * by the codec's encoding. Store failures and undecodable entries are logged and treated as misses,
+ * so an unavailable shared tier only costs database reads.
+ */
+@Slf4j
+public class L2Cache<V> {
+
+    private final L2CacheStore store;
+    private final String keyPrefix;
+    private final CacheCodec<V> codec;
+    private final Duration ttl;
+
+    public L2Cache(L2CacheStore store, String keyPrefix, CacheCodec<V> codec, Duration ttl) {
+        this.store = store;
+        this.keyPrefix = keyPrefix;
+        this.codec = codec;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns a cache that never holds anything.
+     */
+    public static <V> L2Cache<V> disabled() {
+        return new L2Cache<>(L2CacheStore.NONE, "", null, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return store != L2CacheStore.NONE;
+    }
+
+    public Optional<V> get(String key) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String storeKey = keyPrefix + key;
+        byte[] bytes;
+        try {
+            bytes = store.get(storeKey);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache read failed for {}: {}", storeKey, e.getMessage());
+            return Optional.empty();
+        }
+        if (bytes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(decode(storeKey, bytes));
+    }
+
+    public void put(String key, V value) {
+        if (!isEnabled() || value == null) {
+            return;
+        }
+        String storeKey = keyPrefix + key;
+        try {
+            store.put(storeKey, encode(value), ttl);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Shared cache write failed for {}: {}", storeKey, e.getMessage());
+        }
+    }
+
+    public void evict(String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        String storeKey = keyPrefix + key;
+        try {
+            store.delete(storeKey);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache delete failed for {}: {}", storeKey, e.getMessage());
+        }
+    }
+
+    byte[] encode(V value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(codec.version());
+        codec.write(out, value);
+        return buffer.toByteArray();
+    }
+
+    private V decode(String storeKey, byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readUnsignedByte() != codec.version()) {
+                log.debug("Ignoring shared cache entry {} written with another codec version", storeKey);
+                return null;
+            }
+            return codec.read(in);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Dropping undecodable shared cache entry {}: {}", storeKey, e.getMessage());
+            evict(storeKey.substring(keyPrefix.length()));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.duckdns.todosummarized.cache;
+
+import java.time.Duration;
+
+/**
+ * Shared key/value store backing the L2 cache tier. Implementations may throw unchecked
+ * exceptions on failure; {@link L2Cache} treats those as misses.
+ */
+public interface L2CacheStore {
+
+    /**
+     * Store that holds nothing, used when the shared tier is disabled.
+     */
+    L2CacheStore NONE = new L2CacheStore() {
+        @Override
+        public byte[] get(String key) {
+            return null;
+        }
+
+        @Override
+        public void put(String key, byte[] value, Duration ttl) {
+        }
+
+        @Override
+        public void delete(String key) {
+        }
+    };
+
+    /**
+     * Returns the stored bytes, or null when the key is absent or expired.
+     */
+    byte[] get(String key);
+
+    /**
+     * Stores the bytes, replacing any previous value, for at most the given time.
+     */
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+}
@@ -0,0 +1,21 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.repository.projection.TodoDataVersionProjection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Key of one user's cached analytics for a date range. The todo count and last update time are the
+ * data version: any write to the user's todos changes them, so a stale entry is never looked up
+ * again and no invalidation is needed, on this node or any other.
+ */
+public record ProductivityAnalyticsKey(UUID userId, long todoCount, LocalDateTime lastUpdated,
+                                       LocalDate from, LocalDate to) {
+
+    public static ProductivityAnalyticsKey of(UUID userId, TodoDataVersionProjection version,
+                                              LocalDate from, LocalDate to) {
+        return new ProductivityAnalyticsKey(userId, version.getTodoCount(), version.getLastUpdated(), from, to);
+    }
+}
@@ -0,0 +1,127 @@
+package org.duckdns.todosummarized.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.L2CacheProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link L2CacheStore} on a Redis-compatible server through Lettuce. One connection is shared by all
+ * threads; it is opened on first use, so the application starts while Redis is down, and Lettuce
+ * reconnects it after failures. Commands sent while disconnected fail at once and count as misses.
+ * Until the first connect succeeds, one caller at a time tries it and a failed attempt is not
+ * repeated for {@code connect-retry-millis}; everyone else fails at once rather than waiting on it.
+ * Supports TLS and ACL users; see {@link L2CacheProperties.Redis} for what is stored in the server.
+ */
+@Slf4j
+public class RedisL2CacheStore implements L2CacheStore, AutoCloseable {
+
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    private final L2CacheProperties.Redis properties;
+    private final RedisClient client;
+    private final ReentrantLock connectLock = new ReentrantLock();
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+    private volatile long nextConnectNanos = System.nanoTime();
+
+    public RedisL2CacheStore(L2CacheProperties.Redis properties) {
+        this.properties = properties;
+        Duration timeout = Duration.ofMillis(properties.getTimeoutMillis());
+        this.client = RedisClient.create();
+        this.client.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP2)
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(SocketOptions.builder().connectTimeout(timeout).build())
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .build());
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return commands().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        commands().set(key, value, SetArgs.Builder.px(Math.max(1, ttl.toMillis())));
+    }
+
+    @Override
+    public void delete(String key) {
+        commands().del(key);
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    private RedisCommands<String, byte[]> commands() {
+        StatefulRedisConnection<String, byte[]> current = connection;
+        return current != null ? current.sync() : connect().sync();
+    }
+
+    /**
+     * Opens the shared connection, unless a connect is already under way or the last one failed
+     * too recently; those callers get a {@link RedisConnectionException} without waiting.
+     */
+    private StatefulRedisConnection<String, byte[]> connect() {
+        if (System.nanoTime() - nextConnectNanos < 0 || !connectLock.tryLock()) {
+            throw new RedisConnectionException("Redis is unavailable, retrying the connection later");
+        }
+        try {
+            StatefulRedisConnection<String, byte[]> current = connection;
+            if (current == null) {
+                current = client.connect(CODEC, redisUri());
+                connection = current;
+                log.info("Connected to Redis at {}:{} (TLS: {})",
+                        properties.getHost(), properties.getPort(), properties.isSsl());
+            }
+            return current;
+        } catch (RuntimeException e) {
+            nextConnectNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getConnectRetryMillis());
+            log.warn("Connecting to Redis at {}:{} failed, retrying in {} ms: {}", properties.getHost(),
+                    properties.getPort(), properties.getConnectRetryMillis(), e.getMessage());
+            throw e;
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    private RedisURI redisUri() {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(properties.getHost())
+                .withPort(properties.getPort())
+                .withDatabase(properties.getDatabase())
+                .withSsl(properties.isSsl())
+                .withVerifyPeer(properties.isVerifyPeer())
+                .withTimeout(Duration.ofMillis(properties.getTimeoutMillis()));
+        if (properties.getPassword() != null && !properties.getPassword().isEmpty()) {
+            if (properties.getUsername() != null && !properties.getUsername().isEmpty()) {
+                uri.withAuthentication(properties.getUsername(), properties.getPassword());
+            } else {
+                uri.withPassword(properties.getPassword().toCharArray());
+            }
+        }
+        return uri.build();
+    }
+}
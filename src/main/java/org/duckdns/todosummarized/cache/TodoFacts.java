@@ -0,0 +1,22 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.entity.Todo;
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.duckdns.todosummarized.repository.projection.TodoSummaryFactsProjection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a todo that {@link TodoSummaryCounters} count. Taken before and after a write to compute the delta.
+ */
+public record TodoFacts(TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+
+    public static TodoFacts of(Todo todo) {
+        return new TodoFacts(todo.getStatus(), todo.getPriority(), todo.getDueDate());
+    }
+
+    public static TodoFacts of(TodoSummaryFactsProjection projection) {
+        return new TodoFacts(projection.getStatus(), projection.getPriority(), projection.getDueDate());
+    }
+}
@@ -0,0 +1,20 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.repository.TodoQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+/**
+ * Key of one cached todo search page. The generation is the owning user's todo cache generation at
+ * lookup time; bumping it makes every page cached under the previous generation unreachable, so
+ * per-user invalidation is O(1) and the orphaned entries simply age out.
+ */
+public record TodoSearchKey(UUID userId, long generation, TodoQuery query, int page, int size, Sort sort) {
+
+    public static TodoSearchKey of(UUID userId, long generation, TodoQuery query, Pageable pageable) {
+        return new TodoSearchKey(userId, generation, query,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+}
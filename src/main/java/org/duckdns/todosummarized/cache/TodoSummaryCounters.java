@@ -0,0 +1,119 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Running todo counts of one user, kept up to date with deltas so the daily summary needs no query.
+ * Holds totals by status and priority, a histogram of due dates by day for due-today and upcoming
+ * counts, and the exact due times of open todos for the overdue count. Nothing in here depends on
+ * the current time, so the counters stay valid across midnight. Thread-safe.
+ */
+public final class TodoSummaryCounters {
+
+    /** Todos in these states are never overdue. */
+    public static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+
+    private final long[] byStatus = new long[TaskStatus.values().length];
+    private final long[] byPriority = new long[TaskPriority.values().length];
+    private final TreeMap<LocalDate, Long> dueByDay = new TreeMap<>();
+    private final TreeMap<LocalDateTime, Long> openDue = new TreeMap<>();
+    private long total;
+
+    public static TodoSummaryCounters of(Collection<TodoFacts> todos) {
+        TodoSummaryCounters counters = new TodoSummaryCounters();
+        todos.forEach(counters::add);
+        return counters;
+    }
+
+    public synchronized void add(TodoFacts todo) {
+        apply(todo, 1);
+    }
+
+    public synchronized void remove(TodoFacts todo) {
+        apply(todo, -1);
+    }
+
+    public synchronized void replace(TodoFacts before, TodoFacts after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    public synchronized long total() {
+        return total;
+    }
+
+    public synchronized Map<TaskStatus, Long> byStatus() {
+        EnumMap<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, byStatus[status.ordinal()]);
+        }
+        return counts;
+    }
+
+    public synchronized Map<TaskPriority, Long> byPriority() {
+        EnumMap<TaskPriority, Long> counts = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            counts.put(priority, byPriority[priority.ordinal()]);
+        }
+        return counts;
+    }
+
+    /**
+     * Open todos due strictly before {@code now}.
+     */
+    public synchronized long overdueAt(LocalDateTime now) {
+        return sum(openDue.headMap(now, false));
+    }
+
+    /**
+     * Todos of any status due on days in {@code [from, to)}.
+     */
+    public synchronized long dueBetween(LocalDate from, LocalDate to) {
+        return sum(dueByDay.subMap(from, true, to, false));
+    }
+
+    /**
+     * Number of distinct due days and open due times tracked, for cache weighing.
+     */
+    public synchronized int histogramSize() {
+        return dueByDay.size() + openDue.size();
+    }
+
+    private void apply(TodoFacts todo, int delta) {
+        total += delta;
+        if (todo.status() != null) {
+            byStatus[todo.status().ordinal()] += delta;
+        }
+        if (todo.priority() != null) {
+            byPriority[todo.priority().ordinal()] += delta;
+        }
+        if (todo.dueDate() != null) {
+            adjust(dueByDay, todo.dueDate().toLocalDate(), delta);
+            if (!CLOSED_STATUSES.contains(todo.status())) {
+                adjust(openDue, todo.dueDate(), delta);
+            }
+        }
+    }
+
+    private static <K> void adjust(TreeMap<K, Long> histogram, K key, int delta) {
+        histogram.merge(key, (long) delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static long sum(Map<?, Long> histogram) {
+        long sum = 0;
+        for (long count : histogram.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,60 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.duckdns.todosummarized.cache.BinaryEncoding.*;
+
+/**
+ * Encodes {@link User} for the shared tier. The account flags are packed into one byte.
+ */
+public class UserCacheCodec implements CacheCodec<User> {
+
+    private static final int ENABLED = 1;
+    private static final int ACCOUNT_NON_EXPIRED = 1 << 1;
+    private static final int ACCOUNT_NON_LOCKED = 1 << 2;
+    private static final int CREDENTIALS_NON_EXPIRED = 1 << 3;
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public void write(DataOutput out, User user) throws IOException {
+        writeUuid(out, user.getId());
+        writeString(out, user.getEmail());
+        writeString(out, user.getPassword());
+        writeEnum(out, user.getRole());
+        writeDateTime(out, user.getCreatedAt());
+        writeDateTime(out, user.getUpdatedAt());
+        out.writeByte((user.isEnabled() ? ENABLED : 0)
+                | (user.isAccountNonExpired() ? ACCOUNT_NON_EXPIRED : 0)
+                | (user.isAccountNonLocked() ? ACCOUNT_NON_LOCKED : 0)
+                | (user.isCredentialsNonExpired() ? CREDENTIALS_NON_EXPIRED : 0));
+        out.writeInt(user.getTokenVersion());
+    }
+
+    @Override
+    public User read(DataInput in) throws IOException {
+        User.UserBuilder builder = User.builder()
+                .id(readUuid(in))
+                .email(readString(in))
+                .password(readString(in))
+                .role(readEnum(in, Role.class))
+                .createdAt(readDateTime(in))
+                .updatedAt(readDateTime(in));
+        int flags = in.readByte();
+        return builder
+                .enabled((flags & ENABLED) != 0)
+                .accountNonExpired((flags & ACCOUNT_NON_EXPIRED) != 0)
+                .accountNonLocked((flags & ACCOUNT_NON_LOCKED) != 0)
+                .credentialsNonExpired((flags & CREDENTIALS_NON_EXPIRED) != 0)
+                .tokenVersion(in.readInt())
+                .build();
+    }
+}
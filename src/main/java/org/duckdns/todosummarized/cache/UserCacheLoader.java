@@ -0,0 +1,48 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads users into the in-process user cache by normalized email.
+ * A first load tries the shared tier before the database. A background refresh always reads
+ * the database, so refreshed entries pick up changes, and writes the result through to the shared tier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheLoader implements CacheLoader<String, User> {
+
+    private final UserRepository userRepository;
+    private final L2Cache<User> userL2Cache;
+
+    @Override
+    public User load(String normalizedEmail) {
+        User shared = userL2Cache.get(normalizedEmail).orElse(null);
+        if (shared != null) {
+            log.debug("User {} loaded from shared cache", normalizedEmail);
+            return shared;
+        }
+        return loadFromDatabase(normalizedEmail);
+    }
+
+    @Override
+    public User reload(String normalizedEmail, User oldValue) {
+        log.debug("Refreshing cached user {}", normalizedEmail);
+        return loadFromDatabase(normalizedEmail);
+    }
+
+    private User loadFromDatabase(String normalizedEmail) {
+        User user = userRepository.findByEmail(normalizedEmail).orElse(null);
+        if (user != null) {
+            userL2Cache.put(normalizedEmail, user);
+        } else {
+            userL2Cache.evict(normalizedEmail);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,36 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the platform statistics served under /api/admin.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "admin.stats")
+public class AdminStatsProperties {
+
+    /**
+     * Chunks aggregated at the same time. Each holds a database connection while it runs,
+     * so keep this well below the connection pool size.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Number of user-id ranges the aggregation is split into. More chunks mean shorter queries.
+     */
+    private int chunks = 16;
+
+    /**
+     * How long computed statistics are served before they are recomputed.
+     */
+    private long cacheTtlSeconds = 60;
+
+    /**
+     * Requests fail with 503 if the aggregation takes longer than this. The chunk queries are
+     * given the same deadline as a statement timeout, so the database stops them then too.
+     */
+    private long timeoutSeconds = 30;
+}
@@ -0,0 +1,49 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the AI generation bulkhead.
+ * Bounds concurrent provider calls and queues the rest fairly per user.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.bulkhead")
+public class AiBulkheadProperties {
+
+    /**
+     * Whether AI generation runs through the bulkhead.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of concurrent AI generations.
+     */
+    private int maxConcurrent = 4;
+
+    /**
+     * Maximum number of generations waiting across all users.
+     */
+    private int maxQueueSize = 50;
+
+    /**
+     * Maximum number of generations a single user may have waiting.
+     */
+    private int maxQueuedPerUser = 2;
+
+    /**
+     * Maximum time in seconds a request may wait for a free slot before being shed.
+     */
+    private int maxQueueWaitSeconds = 10;
+
+    /**
+     * Scheduling weight per role. Users get slots in proportion to their weight; missing roles default to 1.
+     */
+    private Map<Role, Integer> roleWeights = new EnumMap<>(Role.class);
+}
@@ -0,0 +1,30 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the HTTP clients used by the AI adapters.
+ * Controls the async executor and how pooled provider connections are kept warm.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.http")
+public class AiHttpClientProperties {
+
+    /**
+     * Number of threads completing async provider calls. Zero uses the HttpClient default executor.
+     */
+    private int asyncThreads = 4;
+
+    /**
+     * Whether to open a connection to each enabled provider at startup so the first call skips TLS setup.
+     */
+    private boolean prewarm = false;
+
+    /**
+     * Interval in seconds between keep-alive requests that keep pooled connections open. Zero disables them.
+     */
+    private int keepAliveSeconds = 0;
+}
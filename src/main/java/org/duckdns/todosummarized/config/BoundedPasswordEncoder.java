@@ -0,0 +1,37 @@
+package org.duckdns.todosummarized.config;
+
+import org.duckdns.todosummarized.service.PasswordHashingExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs the expensive calls of another encoder on the {@link PasswordHashingExecutor}, so every
+ * caller (sign-in, registration, rehash on login) is bounded without knowing about the pool.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Only parses the stored hash, so it stays on the calling thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
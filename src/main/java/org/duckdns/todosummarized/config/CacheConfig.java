@@ -2,59 +2,226 @@ package org.duckdns.todosummarized.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.AiSummaryCacheCodec;
+import org.duckdns.todosummarized.cache.CacheMemoryBudget;
+import org.duckdns.todosummarized.cache.EntryWeighers;
+import org.duckdns.todosummarized.cache.InMemoryL2CacheStore;
+import org.duckdns.todosummarized.cache.L2Cache;
+import org.duckdns.todosummarized.cache.L2CacheStore;
+import org.duckdns.todosummarized.cache.ProductivityAnalyticsKey;
+import org.duckdns.todosummarized.cache.RedisL2CacheStore;
+import org.duckdns.todosummarized.cache.TodoSearchKey;
+import org.duckdns.todosummarized.cache.TodoSummaryCounters;
+import org.duckdns.todosummarized.cache.UserCacheLoader;
+import org.duckdns.todosummarized.cache.UserCacheCodec;
 import org.duckdns.todosummarized.domains.entity.Todo;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.dto.AiSummaryDTO;
+import org.duckdns.todosummarized.dto.PlatformStatsDTO;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
+import org.duckdns.todosummarized.service.VerifiedToken;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Page;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration for in-memory caching using Caffeine.
+ * Bounded caches are sized by estimated bytes (see {@link EntryWeighers}) out of a heap-derived budget.
  */
+@Slf4j
 @Configuration
 public class CacheConfig {
-    private static final int MAX_CACHE_SIZE = 10_000;
+    public static final String USER_CACHE = "userCache";
+    public static final String TODO_SEARCH_CACHE = "todoSearchCache";
+    public static final String AI_INSIGHT_CACHE = "aiInsightCache";
+    public static final String RATE_LIMIT_CACHE = "rateLimitCache";
+    public static final String TODO_SUMMARY_CACHE = "todoSummaryCache";
+    public static final String PRODUCTIVITY_ANALYTICS_CACHE = "productivityAnalyticsCache";
+    public static final String PLATFORM_STATS_CACHE = "platformStatsCache";
+    public static final String VERIFIED_TOKEN_CACHE = "verifiedTokenCache";
+    public static final String TOKEN_VERSION_CACHE = "tokenVersionCache";
+    public static final String L2_MEMORY_STORE = "l2MemoryStore";
+
+    private static final Duration TODO_SEARCH_TTL = Duration.ofSeconds(30);
+    private static final Duration USER_REFRESH_INTERVAL = Duration.ofMinutes(10);
+    private static final Duration TODO_SUMMARY_MAX_AGE = Duration.ofMinutes(30);
+    private static final Duration PRODUCTIVITY_ANALYTICS_TTL = Duration.ofHours(1);
+    private static final long TOKEN_VERSION_MAX_USERS = 100_000;
+    private static final Duration TOKEN_VERSION_SYNCED_TTL = Duration.ofHours(1);
 
     /**
-     * User cache with lookup by email.
+     * Splits the configured share of the maximum heap across the weighted caches.
+     * The in-memory L2 store only gets its share when it is the configured shared tier.
      */
     @Bean
-    public Cache<String, User> userCache() {
+    public CacheMemoryBudget cacheMemoryBudget(CacheMemoryProperties properties, L2CacheProperties l2Properties) {
+        boolean l2InMemory = l2Properties.isEnabled() && l2Properties.getStore() == L2CacheProperties.Store.MEMORY;
+        CacheMemoryBudget budget = CacheMemoryBudget.from(properties, Runtime.getRuntime().maxMemory(),
+                l2InMemory ? Set.of() : Set.of(L2_MEMORY_STORE));
+        log.info("Cache memory budget {} MB of {} MB heap: {}", budget.totalBytes() >> 20,
+                Runtime.getRuntime().maxMemory() >> 20, budget.perCacheBytes());
+        return budget;
+    }
+
+    /**
+     * User cache with lookup by email, read on every authenticated request.
+     * - Entries older than 10 minutes are reloaded in the background on their next read,
+     *   while that read and any others keep getting the previous value
+     * - Users not read for 15 minutes expire; no entry lives longer than 1 hour without a refresh
+     */
+    @Bean
+    public LoadingCache<String, User> userCache(CacheMemoryBudget budget, UserCacheLoader userCacheLoader) {
         return Caffeine.newBuilder()
-                .maximumSize(MAX_CACHE_SIZE)
+                .maximumWeight(budget.bytesFor(USER_CACHE))
+                .weigher(EntryWeighers.user())
+                .refreshAfterWrite(USER_REFRESH_INTERVAL)
                 .expireAfterAccess(15, TimeUnit.MINUTES)
                 .expireAfterWrite(1, TimeUnit.HOURS)
                 .recordStats()
-                .build();
+                .build(userCacheLoader);
     }
 
     /**
      * Todo search results cache
-     * - Maximum 5,000 entries (search results per user/query combination)
+     * - Weighted by page contents (search results per user/query combination)
      * - Entries expire 30 seconds after write (short TTL for freshness)
      * - Entries expire 1 minute after last access
      */
     @Bean
-    public Cache<String, Page<Todo>> todoSearchCache() {
+    public Cache<TodoSearchKey, Page<Todo>> todoSearchCache(CacheMemoryBudget budget) {
         return Caffeine.newBuilder()
-                .maximumSize(MAX_CACHE_SIZE)
-                .expireAfterWrite(30, TimeUnit.SECONDS)
+                .maximumWeight(budget.bytesFor(TODO_SEARCH_CACHE))
+                .weigher(EntryWeighers.todoPage())
+                .expireAfterWrite(TODO_SEARCH_TTL)
                 .expireAfterAccess(1, TimeUnit.MINUTES)
                 .recordStats()
                 .build();
     }
 
+    /**
+     * Current todo cache generation per user, bumped on every todo write.
+     * Outlives any search page (with headroom for searches in flight during the bump), so a generation
+     * is never forgotten while pages cached under an older one could still be served.
+     * Not size-bounded for the same reason; it only holds users who wrote recently.
+     */
+    @Bean
+    public Cache<UUID, Long> todoGenerationCache() {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(TODO_SEARCH_TTL.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * Per-user summary counters, updated in place with deltas on every todo write.
+     * - Expire 30 minutes after they were built, however often they were updated since,
+     *   so any drift (e.g. a write racing a rebuild) is bounded
+     */
+    @Bean
+    public Cache<UUID, TodoSummaryCounters> todoSummaryCache(CacheMemoryBudget budget) {
+        return Caffeine.newBuilder()
+                .maximumWeight(budget.bytesFor(TODO_SUMMARY_CACHE))
+                .weigher(EntryWeighers.todoSummary())
+                .expireAfter(Expiry.creating((UUID userId, TodoSummaryCounters counters) -> TODO_SUMMARY_MAX_AGE))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Per-user productivity analytics, keyed by date range and the user's todo data version.
+     * - Entries under an old version are unreachable after a write and simply age out after 1 hour
+     */
+    @Bean
+    public Cache<ProductivityAnalyticsKey, ProductivityAnalyticsDTO> productivityAnalyticsCache(CacheMemoryBudget budget) {
+        return Caffeine.newBuilder()
+                .maximumWeight(budget.bytesFor(PRODUCTIVITY_ANALYTICS_CACHE))
+                .weigher(EntryWeighers.productivityAnalytics())
+                .expireAfterWrite(PRODUCTIVITY_ANALYTICS_TTL)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Claims of bearer tokens that already passed verification, keyed by a digest of the token.
+     * - Each entry expires at its token's own expiry, so a cached token is never accepted for longer
+     * - Without cache sync, revocations on other nodes do not evict entries, so they also expire after
+     *   the unsynced staleness bound
+     */
+    @Bean
+    public Cache<String, VerifiedToken> verifiedTokenCache(CacheMemoryBudget budget, Clock clock,
+                                                           CacheSyncProperties syncProperties,
+                                                           TokenRevocationProperties revocationProperties) {
+        Duration maxAge = syncProperties.isEnabled()
+                ? null
+                : Duration.ofSeconds(revocationProperties.getUnsyncedStalenessSeconds());
+        return Caffeine.newBuilder()
+                .maximumWeight(budget.bytesFor(VERIFIED_TOKEN_CACHE))
+                .weigher(EntryWeighers.verifiedToken())
+                .expireAfter(Expiry.creating((String digest, VerifiedToken token) -> {
+                    Duration remaining = remainingLifetime(token, clock);
+                    return maxAge != null && maxAge.compareTo(remaining) < 0 ? maxAge : remaining;
+                }))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Current token version per user, keyed by normalized email; read only when a token is first verified.
+     * - Entries are a few dozen bytes, so they are bounded by count rather than weight
+     * - Account changes evict the entry on every node through cache sync; entries expire after write,
+     *   so a lost eviction is corrected within the hour even for active users
+     * - Without cache sync, other nodes never hear of the change, so entries expire after the unsynced
+     *   staleness bound instead
+     */
+    @Bean
+    public Cache<String, Integer> tokenVersionCache(CacheSyncProperties syncProperties,
+                                                    TokenRevocationProperties revocationProperties) {
+        return Caffeine.newBuilder()
+                .maximumSize(TOKEN_VERSION_MAX_USERS)
+                .expireAfterWrite(syncProperties.isEnabled()
+                        ? TOKEN_VERSION_SYNCED_TTL
+                        : Duration.ofSeconds(revocationProperties.getUnsyncedStalenessSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    private static Duration remainingLifetime(VerifiedToken token, Clock clock) {
+        if (token.expiresAt() == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), token.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Platform-wide admin statistics, a single entry recomputed after a short TTL.
+     */
+    @Bean
+    public Cache<String, PlatformStatsDTO> platformStatsCache(AdminStatsProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(properties.getCacheTtlSeconds()))
+                .recordStats()
+                .build();
+    }
+
     /**
      * AI insight cache with one insight per user (keyed by user ID).
      * - When user generates a new insight, it replaces the existing one
      */
     @Bean
-    public Cache<String, AiSummaryDTO> aiInsightCache() {
+    public Cache<String, AiSummaryDTO> aiInsightCache(CacheMemoryBudget budget) {
         return Caffeine.newBuilder()
-                .maximumSize(MAX_CACHE_SIZE)
+                .maximumWeight(budget.bytesFor(AI_INSIGHT_CACHE))
+                .weigher(EntryWeighers.aiInsight())
                 .expireAfterWrite(24, TimeUnit.HOURS)
                 .expireAfterAccess(2, TimeUnit.HOURS)
                 .recordStats()
@@ -65,12 +232,44 @@ public class CacheConfig {
      * Rate limit token bucket cache.
      */
     @Bean
-    public Cache<String, double[]> rateLimitCache() {
+    public Cache<String, double[]> rateLimitCache(CacheMemoryBudget budget) {
         return Caffeine.newBuilder()
-                .maximumSize(50_000)
+                .maximumWeight(budget.bytesFor(RATE_LIMIT_CACHE))
+                .weigher(EntryWeighers.rateLimitBucket())
                 .expireAfterAccess(1, TimeUnit.HOURS)
                 .recordStats()
                 .build();
     }
-}
 
+    /**
+     * Shared store behind the in-process caches. A no-op store when the L2 tier is disabled.
+     */
+    @Bean
+    public L2CacheStore l2CacheStore(L2CacheProperties properties, CacheMemoryBudget budget, Clock clock) {
+        if (!properties.isEnabled()) {
+            return L2CacheStore.NONE;
+        }
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryL2CacheStore(budget.bytesFor(L2_MEMORY_STORE), clock);
+            case REDIS -> new RedisL2CacheStore(properties.getRedis());
+        };
+    }
+
+    /**
+     * Shared tier for users, keyed by normalized email.
+     */
+    @Bean
+    public L2Cache<User> userL2Cache(L2CacheStore l2CacheStore, L2CacheProperties properties) {
+        return new L2Cache<>(l2CacheStore, properties.getKeyPrefix() + "user:", new UserCacheCodec(),
+                Duration.ofSeconds(properties.getUserTtlSeconds()));
+    }
+
+    /**
+     * Shared tier for AI insights, keyed like {@link #aiInsightCache}.
+     */
+    @Bean
+    public L2Cache<AiSummaryDTO> aiInsightL2Cache(L2CacheStore l2CacheStore, L2CacheProperties properties) {
+        return new L2Cache<>(l2CacheStore, properties.getKeyPrefix(), new AiSummaryCacheCodec(),
+                Duration.ofSeconds(properties.getInsightTtlSeconds()));
+    }
+}
@@ -0,0 +1,38 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for sizing the in-process caches by estimated memory instead of entry count.
+ * The budget is a share of the maximum heap, split across caches by relative weight.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.memory")
+public class CacheMemoryProperties {
+
+    /**
+     * Percentage of the maximum heap ({@code -Xmx}) that all weighted caches together may use.
+     */
+    private double heapPercent = 10;
+
+    /**
+     * Relative share of the budget per cache, keyed by cache bean name. Shares need not add up to 100.
+     * {@code l2MemoryStore} only counts when {@code cache.l2} is enabled with the memory store.
+     */
+    private Map<String, Integer> shares = new LinkedHashMap<>(Map.of(
+            "userCache", 10,
+            "todoSearchCache", 50,
+            "aiInsightCache", 30,
+            "rateLimitCache", 10,
+            "todoSummaryCache", 5,
+            "productivityAnalyticsCache", 5,
+            "verifiedTokenCache", 5,
+            "l2MemoryStore", 10
+    ));
+}
@@ -0,0 +1,48 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for cross-node cache invalidation over PostgreSQL LISTEN/NOTIFY.
+ * Leave disabled for single-instance deployments. When several instances run with sync disabled,
+ * token revocations and token version changes reach the other nodes only after
+ * {@code jwt.revocation.unsynced-staleness-seconds}, through polling and expiry.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.sync")
+public class CacheSyncProperties {
+
+    /**
+     * Whether local cache evictions are broadcast to, and received from, other nodes.
+     */
+    private boolean enabled = false;
+
+    /**
+     * NOTIFY channel shared by all nodes of the application.
+     */
+    private String channel = "cache_invalidation";
+
+    /**
+     * How long evictions are collected before being sent as one notification, and how long
+     * the listener waits for incoming notifications per poll.
+     */
+    private long batchWindowMillis = 50;
+
+    /**
+     * Upper bound on one notification payload. PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    private int maxPayloadBytes = 7900;
+
+    /**
+     * Evictions buffered beyond this count are collapsed into a single "clear everything" message.
+     */
+    private int maxPending = 10_000;
+
+    /**
+     * Delay before reconnecting after the listener connection fails, doubled up to a minute.
+     */
+    private long reconnectBackoffMillis = 1000;
+}
@@ -0,0 +1,51 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the startup cache warm-up.
+ * While warm-up runs, the readiness probe reports OUT_OF_SERVICE.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.warmup")
+public class CacheWarmupProperties {
+
+    /**
+     * Whether caches are preloaded after startup. When disabled the application is ready immediately.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of recently active users to preload.
+     */
+    private int maxUsers = 200;
+
+    /**
+     * Users who changed a todo within this many days count as recently active.
+     */
+    private int activeWithinDays = 7;
+
+    /**
+     * Number of users warmed concurrently. Keep well below the database connection pool size.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Size of the preloaded first todo page. Should match spring.data.web.pageable.default-page-size
+     * so warmed pages are hit by the default search.
+     */
+    private int pageSize = 20;
+
+    /**
+     * Passes over the request hot paths after preloading, to get them compiled before real traffic.
+     */
+    private int jitIterations = 500;
+
+    /**
+     * The application reports ready after this many seconds even if warm-up has not finished.
+     */
+    private long deadlineSeconds = 60;
+}
@@ -41,5 +41,10 @@ public class GeminiProperties {
      * Request timeout in seconds.
      */
     private int timeoutSeconds;
+
+    /**
+     * Base URL of the Gemini API. Point it at the local AI stub to load test offline.
+     */
+    private String baseUrl = "https://generativelanguage.googleapis.com/v1beta";
 }
 
@@ -6,7 +6,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.domains.enums.TokenType;
 import org.duckdns.todosummarized.service.JwtService;
+import org.duckdns.todosummarized.service.VerifiedToken;
+import org.duckdns.todosummarized.service.VerifiedTokenCacheService;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter that processes each request to validate JWT tokens.
@@ -31,6 +35,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCacheService verifiedTokenCacheService;
 
     /**
      * Filters each request to validate and process JWT tokens.
@@ -52,13 +57,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt = authHeader.substring(BEARER_PREFIX.length());
 
         try {
-            final String userEmail = jwtService.extractUsername(jwt);
+            // Verified once per token; repeat requests with the same token are served from memory.
+            // Refresh tokens live much longer and are only good for the refresh endpoint
+            final Optional<VerifiedToken> verified = verifiedTokenCacheService.verify(jwt)
+                    .filter(token -> token.type() == TokenType.ACCESS);
+            final String userEmail = verified.map(VerifiedToken::subject).orElse(null);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                // Current tokens carry the user's id and role, so the principal needs no lookup;
+                // older tokens without them still load the user
+                UserDetails userDetails = verified.get().carriesIdentity()
+                        ? verified.get().toPrincipal()
+                        : userDetailsService.loadUserByUsername(userEmail);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(verified.get(), userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
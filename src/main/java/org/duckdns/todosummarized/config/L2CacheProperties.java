@@ -0,0 +1,96 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the optional shared (L2) cache tier behind the in-process caches.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache.l2")
+public class L2CacheProperties {
+
+    /**
+     * Backing store for the shared tier.
+     */
+    public enum Store {
+        /** Process-local, bounded by the {@code l2MemoryStore} memory share; for tests and single-node setups. */
+        MEMORY,
+        /** Any server speaking the Redis protocol (Redis, Valkey, KeyDB, ...). */
+        REDIS
+    }
+
+    /**
+     * Whether cached users and AI insights are read through and written through the shared tier.
+     */
+    private boolean enabled = false;
+
+    private Store store = Store.MEMORY;
+
+    /**
+     * Prefix for every key written to the store, so several applications can share one server.
+     */
+    private String keyPrefix = "todo-insight:";
+
+    /**
+     * Time to live of cached users in the shared tier.
+     */
+    private int userTtlSeconds = 3600;
+
+    /**
+     * Time to live of cached AI insights in the shared tier.
+     */
+    private int insightTtlSeconds = 86400;
+
+    /**
+     * Connection settings used when {@link #store} is {@link Store#REDIS}.
+     */
+    private Redis redis = new Redis();
+
+    /**
+     * Redis connection settings.
+     * The shared tier holds cached users, including their BCrypt password hashes and token versions, so
+     * those leave the JVM: unless Redis runs on a trusted private network, enable {@link #ssl} and use
+     * a dedicated ACL user limited to {@code cache.l2.key-prefix} keys.
+     */
+    @Data
+    public static class Redis {
+        private String host = "localhost";
+        private int port = 6379;
+
+        /**
+         * ACL user sent with AUTH on connect. Empty authenticates as the default user.
+         */
+        private String username;
+
+        /**
+         * Password sent with AUTH on connect. Empty skips authentication.
+         */
+        private String password;
+
+        private int database = 0;
+
+        /**
+         * Connect and read timeout. The shared tier is treated as a miss when it is slower than this.
+         */
+        private int timeoutMillis = 200;
+
+        /**
+         * How long the shared tier is skipped after a failed connect, before the next attempt.
+         * Until then every access is an immediate miss instead of waiting for another connect timeout.
+         */
+        private int connectRetryMillis = 5000;
+
+        /**
+         * Whether the connection uses TLS.
+         */
+        private boolean ssl = false;
+
+        /**
+         * Whether the server certificate and host name are verified when {@link #ssl} is on.
+         */
+        private boolean verifyPeer = true;
+    }
+}
@@ -0,0 +1,99 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local AI provider stand-in.
+ * Shapes the simulated latency and failure modes so load tests can run fully offline.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai.stub")
+public class LocalStubProperties {
+
+    /**
+     * Whether the stub HTTP server runs and the LOCAL_STUB provider is available.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port for the stub HTTP server on the loopback interface. Zero picks a free port.
+     */
+    private int port = 0;
+
+    /**
+     * Model name reported in stub responses.
+     */
+    private String model = "local-stub";
+
+    /**
+     * Seed for the simulation so runs with the same traffic are reproducible.
+     */
+    private long seed = 42;
+
+    /**
+     * Shape of the simulated latency distribution.
+     */
+    private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+
+    /**
+     * Fixed latency, uniform center or log-normal median in milliseconds.
+     */
+    private long latencyMillis = 800;
+
+    /**
+     * Half-width of the uniform latency range in milliseconds.
+     */
+    private long latencySpreadMillis = 400;
+
+    /**
+     * Shape parameter of the log-normal latency; larger values give a heavier tail.
+     */
+    private double latencySigma = 0.5;
+
+    /**
+     * Upper bound on any simulated latency in milliseconds.
+     */
+    private long maxLatencyMillis = 30_000;
+
+    /**
+     * Fraction of requests (0.0 - 1.0) answered with a 500 error.
+     */
+    private double errorRate = 0.0;
+
+    /**
+     * Length in seconds of the 429 burst cycle. Zero disables rate-limit bursts.
+     */
+    private int rateLimitBurstPeriodSeconds = 0;
+
+    /**
+     * Seconds at the start of each cycle during which every request gets a 429.
+     */
+    private int rateLimitBurstSeconds = 5;
+
+    /**
+     * Size of each chunk when dripping the response body. Zero sends the body at once.
+     */
+    private int slowDripChunkBytes = 0;
+
+    /**
+     * Delay between dripped chunks in milliseconds.
+     */
+    private long slowDripDelayMillis = 50;
+
+    /**
+     * Request timeout in seconds used by the LOCAL_STUB adapter.
+     */
+    private int timeoutSeconds = 30;
+
+    /**
+     * Supported latency distributions.
+     */
+    public enum LatencyDistribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+}
@@ -41,4 +41,9 @@ public class OpenAiProperties {
      * Request timeout in seconds.
      */
     private int timeoutSeconds;
+
+    /**
+     * Base URL of the OpenAI-compatible API. Point it at the local AI stub to load test offline.
+     */
+    private String baseUrl = "https://api.openai.com/v1";
 }
@@ -0,0 +1,40 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for password hashing.
+ * BCrypt runs on a dedicated bounded pool so sign-in bursts cannot take every CPU from the rest of the API.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Whether hashing runs on the dedicated pool. When disabled it runs on the request thread.
+     */
+    private boolean enabled = true;
+
+    /**
+     * BCrypt cost factor. Raising it rehashes each user's password on their next sign-in.
+     */
+    private int strength = 10;
+
+    /**
+     * Hashing threads. 0 uses half the available cores, leaving the rest to other endpoints.
+     */
+    private int threads = 0;
+
+    /**
+     * Maximum number of hashes waiting for a thread. Requests beyond it are shed immediately.
+     */
+    private int maxQueueSize = 64;
+
+    /**
+     * Maximum time in milliseconds a hash may wait for a thread before the request is shed.
+     */
+    private long maxQueueWaitMillis = 2_000;
+}
@@ -29,6 +29,17 @@ public class RateLimitProperties {
      */
     private EndpointLimit dailySummary = new EndpointLimit();
 
+    /**
+     * Rate limit per client IP on the authentication endpoints, checked before any work is done.
+     */
+    private EndpointLimit authIp = new EndpointLimit(30, 60);
+
+    /**
+     * Failed sign-ins allowed per account, whichever IPs they come from. Only failures are counted,
+     * so sending requests for a known email cannot lock its owner out without guessing passwords.
+     */
+    private EndpointLimit authEmail = new EndpointLimit(10, 300);
+
     /**
      * Configuration for a specific endpoint's rate limit.
      */
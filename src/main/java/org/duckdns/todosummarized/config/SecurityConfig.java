@@ -2,6 +2,7 @@ package org.duckdns.todosummarized.config;
 
 import lombok.RequiredArgsConstructor;
 import org.duckdns.todosummarized.service.CustomUserDetailsService;
+import org.duckdns.todosummarized.service.PasswordHashingExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -61,12 +62,15 @@ public class SecurityConfig {
     // Actuator endpoints
     private static final String[] ACTUATOR_ENDPOINTS = {
             "/actuator/health",
+            "/actuator/health/**",
             "/actuator/info"
     };
 
     // Admin-only endpoints
     private static final String[] ADMIN_ENDPOINTS = {
-            "/api/admin/**"
+            "/api/admin/**",
+            "/actuator/metrics/**",
+            "/actuator/prometheus"
     };
 
     private final CustomUserDetailsService userDetailsService;
@@ -76,7 +80,8 @@ public class SecurityConfig {
      * Configures the security filter chain with JWT authentication.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
+            throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session
@@ -89,27 +94,29 @@ public class SecurityConfig {
                         .requestMatchers(ADMIN_ENDPOINTS).hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     /**
-     * BCrypt password encoder with default strength (10 rounds).
+     * BCrypt password encoder with the configured strength, run on the bounded hashing pool.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, PasswordHashingExecutor executor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.getStrength()), executor);
     }
 
     /**
      * DAO authentication provider using custom user details service.
+     * Hashes weaker than the configured strength are replaced on successful sign-in.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -0,0 +1,35 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the nightly summary snapshots behind the trend endpoint.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "summary.snapshot")
+public class SummarySnapshotProperties {
+
+    /**
+     * Whether this node takes part in writing the nightly snapshots. Trends are served either way.
+     * Enabled nodes take turns through a database lock, so only one writes them each night.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When the job runs, in UTC. It snapshots the day that just ended.
+     */
+    private String cron = "0 10 0 * * *";
+
+    /**
+     * Users aggregated per statement. Each batch commits on its own.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest range a single trend request may cover.
+     */
+    private int maxTrendDays = 731;
+}
@@ -0,0 +1,39 @@
+package org.duckdns.todosummarized.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the token denylist and the Bloom filter in front of it.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "jwt.revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Revocations the filter is sized for. More still work, at a rising false positive rate,
+     * until the next rebuild sizes the filter for the actual count.
+     */
+    private long expectedRevocations = 100_000;
+
+    /**
+     * Share of not-revoked tokens that still need a database lookup.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * When expired revocations are deleted and the filter is rebuilt without them, in UTC.
+     */
+    private String cleanupCron = "0 40 * * * *";
+
+    /**
+     * Only used while {@code cache.sync} is disabled. Revocations and token version changes then do not
+     * reach other nodes directly, and this is the longest those nodes keep accepting a revoked or outdated
+     * token. Each node polls for new revocations at this interval. Its cached token versions and
+     * verified tokens also expire at this interval. With sync enabled, changes reach every node within
+     * the sync batch window instead.
+     */
+    private long unsyncedStalenessSeconds = 30;
+}
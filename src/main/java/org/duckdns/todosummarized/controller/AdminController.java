@@ -0,0 +1,95 @@
+package org.duckdns.todosummarized.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.dto.CacheStatsDTO;
+import org.duckdns.todosummarized.dto.PlatformStatsDTO;
+import org.duckdns.todosummarized.service.CacheStatsService;
+import org.duckdns.todosummarized.service.PlatformStatsService;
+import org.duckdns.todosummarized.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for operational endpoints. Restricted to administrators by SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operational statistics and account actions for administrators")
+public class AdminController {
+
+    private final CacheStatsService cacheStatsService;
+    private final PlatformStatsService platformStatsService;
+    private final UserService userService;
+
+    /**
+     * Get hit rate, eviction and memory statistics for every in-process cache.
+     */
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Returns hits, misses, hit rate, evictions and estimated memory use per cache since startup. " +
+                    "The same figures are exported as cache.* meters on /actuator/prometheus."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Statistics retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CacheStatsDTO.class)))
+    )
+    @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+
+    /**
+     * Get platform-wide user, todo, overdue and AI usage statistics.
+     */
+    @Operation(
+            summary = "Get platform statistics",
+            description = "Returns registered and active users, todos by status and priority, open todos by how long " +
+                    "they are overdue, and stored AI insights by provider. Computed in parallel over user-id ranges " +
+                    "and cached for a short time, so figures may be up to a minute old."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = PlatformStatsDTO.class))
+    )
+    @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    @ApiResponse(responseCode = "503", description = "Statistics took too long to compute; retry after the Retry-After delay")
+    @GetMapping("/stats")
+    public ResponseEntity<PlatformStatsDTO> getPlatformStats() {
+        return ResponseEntity.ok(platformStatsService.getStats());
+    }
+
+    /**
+     * Revoke every access and refresh token issued to a user so far.
+     */
+    @Operation(
+            summary = "Revoke a user's tokens",
+            description = "Moves the user to a new token version. Every token issued before is rejected from the " +
+                    "next request on, on every node; the user has to sign in again."
+    )
+    @ApiResponse(responseCode = "204", description = "Tokens revoked")
+    @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    @ApiResponse(responseCode = "404", description = "No user has this id")
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable UUID userId) {
+        return userService.revokeTokens(userId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
@@ -14,10 +14,15 @@ import org.duckdns.todosummarized.dto.RefreshTokenRequestDTO;
 import org.duckdns.todosummarized.dto.UserLoginDTO;
 import org.duckdns.todosummarized.dto.UserRegistrationDTO;
 import org.duckdns.todosummarized.dto.UserResponseDTO;
+import org.duckdns.todosummarized.domains.enums.TokenType;
 import org.duckdns.todosummarized.exception.ErrorResponse;
 import org.duckdns.todosummarized.exception.InvalidJwtTokenException;
 import org.duckdns.todosummarized.service.JwtService;
+import org.duckdns.todosummarized.service.TokenRevocationService;
 import org.duckdns.todosummarized.service.UserService;
+import org.duckdns.todosummarized.service.VerifiedToken;
+import org.duckdns.todosummarized.service.VerifiedTokenCacheService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +31,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -35,14 +41,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
-@Tag(name = "Authentication", description = "JWT-based authentication API for sign up, sign in, and token refresh")
+@Tag(name = "Authentication", description = "JWT-based authentication API for sign up, sign in, token refresh and sign out")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final UserService userService;
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCacheService verifiedTokenCacheService;
 
     /**
      * Register a new user and return JWT tokens.
@@ -105,22 +115,49 @@ public class AuthController {
     public ResponseEntity<AuthTokenResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO request) {
         String refreshToken = request.getRefreshToken();
 
-        String userEmail = jwtService.extractUsername(refreshToken);
-
-        if (userEmail == null) {
-            throw new InvalidJwtTokenException("Invalid refresh token");
-        }
+        // Access tokens are not accepted here, and tokens without an id predate rotation and cannot be
+        // rotated safely; their users sign in again
+        VerifiedToken verified = jwtService.validate(refreshToken)
+                .filter(token -> token.type() == TokenType.REFRESH)
+                .filter(token -> token.subject() != null && token.tokenId() != null)
+                .orElseThrow(() -> new InvalidJwtTokenException("Invalid or expired refresh token"));
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verified.subject());
 
-        if (!jwtService.isTokenValid(refreshToken, userDetails)) {
+        if (!jwtService.isTokenValid(verified, userDetails)) {
             throw new InvalidJwtTokenException("Invalid or expired refresh token");
         }
 
-        // Generate new tokens
+        // Rotate: revoking is an insert-if-absent in the database, so a token already used, or used by a
+        // concurrent refresh, is rejected here and only one caller ever gets new tokens for it
+        if (!tokenRevocationService.revoke(verified)) {
+            throw new InvalidJwtTokenException("Invalid or expired refresh token");
+        }
         return ResponseEntity.ok(buildTokenResponse(userDetails));
     }
 
+    /**
+     * Revoke the refresh token and, if sent, the access token of the current session.
+     */
+    @Operation(summary = "Sign out", description = "Revokes the refresh token and the bearer access token, if any, " +
+            "until they expire. Tokens that are already invalid are ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @Valid @RequestBody RefreshTokenRequestDTO request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        jwtService.validate(request.getRefreshToken()).ifPresent(tokenRevocationService::revoke);
+
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            verifiedTokenCacheService.revoke(authorization.substring(BEARER_PREFIX.length()));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Builds JWT token response for the authenticated user.
      */
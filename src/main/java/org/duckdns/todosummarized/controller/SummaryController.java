@@ -11,13 +11,20 @@ import lombok.RequiredArgsConstructor;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.AiProvider;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.domains.enums.TrendGranularity;
 import org.duckdns.todosummarized.dto.AiSummaryDTO;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
 import org.duckdns.todosummarized.dto.SummaryTypeDTO;
+import org.duckdns.todosummarized.dto.TrendPointDTO;
 import org.duckdns.todosummarized.ratelimit.RateLimit;
+import org.duckdns.todosummarized.service.AiGenerationBulkhead;
 import org.duckdns.todosummarized.service.AiSummaryService;
 import org.duckdns.todosummarized.service.AiProviderSelector;
+import org.duckdns.todosummarized.service.ProductivityAnalyticsService;
 import org.duckdns.todosummarized.service.SummaryService;
+import org.duckdns.todosummarized.service.SummarySnapshotService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +49,9 @@ public class SummaryController {
 
     private final SummaryService summaryService;
     private final AiSummaryService aiSummaryService;
+    private final AiGenerationBulkhead aiGenerationBulkhead;
+    private final SummarySnapshotService summarySnapshotService;
+    private final ProductivityAnalyticsService productivityAnalyticsService;
 
     /**
      * Get the daily summary with deterministic metrics for the authenticated user.
@@ -61,10 +72,70 @@ public class SummaryController {
         return ResponseEntity.ok(summary);
     }
 
+    /**
+     * Get weekly or monthly trend lines for the authenticated user from the nightly snapshots.
+     */
+    @Operation(
+            summary = "Get summary trends",
+            description = "Returns the authenticated user's todo counts and completion rate per week or month, " +
+                    "taken from the last nightly snapshot in each period. Periods without snapshots are omitted. " +
+                    "Defaults to the last 12 periods up to today."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Trend retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = TrendPointDTO.class)))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Range is reversed or too long"
+    )
+    @GetMapping("/trends")
+    public ResponseEntity<List<TrendPointDTO>> getTrends(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "First day of the range (ISO date)", example = "2026-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (ISO date)", example = "2026-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Period of one trend point (WEEK, MONTH)", example = "WEEK")
+            @RequestParam(defaultValue = "WEEK") TrendGranularity granularity
+    ) {
+        return ResponseEntity.ok(summarySnapshotService.getTrends(user, from, to, granularity));
+    }
+
+    /**
+     * Get completion velocity, burndown and lead time for the authenticated user.
+     */
+    @Operation(
+            summary = "Get productivity analytics",
+            description = "Returns todos completed per week with a four-week rolling average, open todos at the end " +
+                    "of each day, and created-to-completed lead time percentiles for the range. " +
+                    "Defaults to the last 12 weeks up to today; ranges may span at most 366 days."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Analytics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ProductivityAnalyticsDTO.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Range is reversed or too long"
+    )
+    @GetMapping("/analytics")
+    public ResponseEntity<ProductivityAnalyticsDTO> getAnalytics(
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "First day of the range (ISO date)", example = "2026-01-05")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (ISO date)", example = "2026-03-29")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(productivityAnalyticsService.getAnalytics(user, from, to));
+    }
+
     /**
      * Get AI-generated summary for the authenticated user.
      * Returns cached insight if available and matches the requested type.
-     * Otherwise generates a new insight and caches it.
+     * Otherwise generates a new insight through the AI generation bulkhead and caches it.
      * Falls back to metrics-only if AI is disabled or fails.
      */
     @Operation(
@@ -84,6 +155,10 @@ public class SummaryController {
             responseCode = "429",
             description = "Rate limit exceeded"
     )
+    @ApiResponse(
+            responseCode = "503",
+            description = "AI generation is at capacity; retry after the Retry-After delay"
+    )
     @GetMapping("/ai")
     @RateLimit(key = "ai-summary")
     public ResponseEntity<AiSummaryDTO> getAiSummary(
@@ -93,7 +168,9 @@ public class SummaryController {
             @Parameter(description = "AI provider (AUTO, OPENAI, GEMINI)", example = "AUTO")
             @RequestParam(defaultValue = "AUTO") AiProvider provider
     ) {
-        AiSummaryDTO summary = aiSummaryService.getAiSummary(user, type, provider);
+        AiSummaryDTO summary = aiSummaryService.getCachedInsight(user, type)
+                .orElseGet(() -> aiGenerationBulkhead.execute(user,
+                        () -> aiSummaryService.getAiSummary(user, type, provider)));
         return ResponseEntity.ok(summary);
     }
 
@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.duckdns.todosummarized.domains.enums.AiProvider;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -54,6 +57,14 @@ public class AiInsight {
     @Column(nullable = false)
     private LocalDate summaryDate;
 
+    /**
+     * Metrics snapshot taken when the insight was generated.
+     * Stored alongside the insight so cold reads don't need to recompute the daily summary.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private DailySummaryDTO metrics;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
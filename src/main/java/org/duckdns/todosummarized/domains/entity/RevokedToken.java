@@ -0,0 +1,39 @@
+package org.duckdns.todosummarized.domains.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A token revoked before its expiry, identified by its {@code jti} claim.
+ * Kept only until the token would have expired anyway; the cleanup job deletes it after that.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /** When the token expires, in UTC. */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** When the token was revoked, in UTC; lets nodes without cache sync poll for new revocations. */
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,59 @@
+package org.duckdns.todosummarized.domains.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * End-of-day todo counts of one user, written by the nightly snapshot job.
+ * One row per user and day, so trend queries read a handful of rows instead of the todo history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(SummarySnapshot.Key.class)
+@Table(name = "summary_snapshots")
+public class SummarySnapshot {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    private int total;
+
+    private int completed;
+
+    private int inProgress;
+
+    private int notStarted;
+
+    private int cancelled;
+
+    private int overdue;
+
+    /**
+     * Completed todos as a percentage of non-cancelled todos, rounded to two decimals.
+     */
+    private double completionRate;
+
+    /**
+     * Composite primary key of a snapshot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate snapshotDate;
+    }
+}
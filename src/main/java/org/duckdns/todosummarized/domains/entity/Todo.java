@@ -25,6 +25,11 @@ public class Todo {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * When the todo last moved to COMPLETED; cleared when it is reopened.
+     */
+    private LocalDateTime completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -36,6 +41,7 @@ public class Todo {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        trackCompletion(this.createdAt);
     }
 
     /**
@@ -44,5 +50,17 @@ public class Todo {
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        trackCompletion(this.updatedAt);
+    }
+
+    /**
+     * Stamps completedAt on the transition to COMPLETED and clears it on any transition away.
+     */
+    void trackCompletion(LocalDateTime now) {
+        if (status != TaskStatus.COMPLETED) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = now;
+        }
     }
 }
@@ -3,6 +3,7 @@ package org.duckdns.todosummarized.domains.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.duckdns.todosummarized.domains.enums.Role;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -50,6 +51,11 @@ public class User implements UserDetails {
     @Column(nullable = false)
     @Builder.Default
     private boolean credentialsNonExpired = true;
+    /** Bumped on account changes; tokens issued under an older version are rejected. */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int tokenVersion = 0;
 
     @PrePersist
     void prePersist() {
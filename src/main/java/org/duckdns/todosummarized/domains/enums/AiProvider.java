@@ -18,6 +18,11 @@ public enum AiProvider {
      */
     GEMINI("Google Gemini", "Uses Google Gemini models for AI-powered summaries"),
 
+    /**
+     * Offline stand-in with simulated latency and failures, for load and resilience testing.
+     */
+    LOCAL_STUB("Local Stub", "Uses a local simulated provider for offline load testing"),
+
     /**
      * Automatic selection - tries providers in order of priority.
      */
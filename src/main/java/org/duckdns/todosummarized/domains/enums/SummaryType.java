@@ -15,7 +15,8 @@ public enum SummaryType {
     EXECUTIVE(
             "Executive / Manager",
             "High-level, outcome-focused, no task noise.",
-            "Summarize today's todo list into a high-level progress update. Focus on outcomes, risks, and what still needs attention. Keep it concise and suitable for leadership review."
+            "Summarize today's todo list into a high-level progress update. Focus on outcomes, risks, and what still needs attention. Keep it concise and suitable for leadership review.",
+            150
     ),
 
     /**
@@ -24,7 +25,8 @@ public enum SummaryType {
     DEVELOPER(
             "Software Engineer / Developer",
             "Structured, technical, standup-ready.",
-            "Convert my todo list into a daily engineering summary. Separate completed work, in-progress tasks, and carry-overs. Highlight blockers, decisions made, and next technical steps."
+            "Convert my todo list into a daily engineering summary. Separate completed work, in-progress tasks, and carry-overs. Highlight blockers, decisions made, and next technical steps.",
+            600
     ),
 
     /**
@@ -33,7 +35,8 @@ public enum SummaryType {
     STUDENT(
             "Student",
             "Learning-oriented, clarity-first.",
-            "Summarize my daily tasks with a focus on learning progress. Identify what was completed, what needs review, and what should be prioritized tomorrow. Keep the language simple and clear."
+            "Summarize my daily tasks with a focus on learning progress. Identify what was completed, what needs review, and what should be prioritized tomorrow. Keep the language simple and clear.",
+            300
     ),
 
     /**
@@ -42,7 +45,8 @@ public enum SummaryType {
     FOCUS_SUPPORT(
             "Focus Support",
             "Low cognitive load, actionable.",
-            "Simplify my todo list into a clear and calm daily summary. Reduce it to the most important tasks only. Suggest the next single action to start tomorrow."
+            "Simplify my todo list into a clear and calm daily summary. Reduce it to the most important tasks only. Suggest the next single action to start tomorrow.",
+            150
     ),
 
     /**
@@ -51,7 +55,8 @@ public enum SummaryType {
     CREATIVE(
             "Creative (Designer, Writer, Artist)",
             "Flow-oriented, non-rigid.",
-            "Summarize my daily tasks in a way that reflects creative progress. Highlight what was created, what is evolving, and what ideas should be revisited. Avoid rigid structure."
+            "Summarize my daily tasks in a way that reflects creative progress. Highlight what was created, what is evolving, and what ideas should be revisited. Avoid rigid structure.",
+            300
     ),
 
     /**
@@ -60,7 +65,8 @@ public enum SummaryType {
     OPERATIONS(
             "Operations / Support / Logistics",
             "Process, throughput, accountability.",
-            "Turn my todo list into an operational daily report. Show completed tasks, pending items, and any delays or dependencies. Keep it factual and process-focused."
+            "Turn my todo list into an operational daily report. Show completed tasks, pending items, and any delays or dependencies. Keep it factual and process-focused.",
+            500
     ),
 
     /**
@@ -69,7 +75,8 @@ public enum SummaryType {
     PERSONAL(
             "Personal Life / Home Tasks",
             "Friendly but practical.",
-            "Summarize my personal todo list for the day. Highlight what got done, what can wait, and the top priorities for tomorrow. Keep it short and encouraging."
+            "Summarize my personal todo list for the day. Highlight what got done, what can wait, and the top priorities for tomorrow. Keep it short and encouraging.",
+            250
     ),
 
     /**
@@ -78,7 +85,8 @@ public enum SummaryType {
     STANDUP(
             "Team Standup (Shared)",
             "Collaborative and transparent.",
-            "Create a standup-style summary from my todo list. Include what was completed, what I'm working on, and anything blocking progress. Keep it brief and team-friendly."
+            "Create a standup-style summary from my todo list. Include what was completed, what I'm working on, and anything blocking progress. Keep it brief and team-friendly.",
+            400
     ),
 
     /**
@@ -87,7 +95,8 @@ public enum SummaryType {
     WEEKLY_REVIEW(
             "Weekly Review (Individual)",
             "Reflective but concrete.",
-            "Review my todo list for the week and summarize progress. Identify patterns, recurring delays, and key accomplishments. Suggest one improvement for next week."
+            "Review my todo list for the week and summarize progress. Identify patterns, recurring delays, and key accomplishments. Suggest one improvement for next week.",
+            400
     ),
 
     /**
@@ -96,17 +105,25 @@ public enum SummaryType {
     MINIMAL(
             "Ultra-Minimal",
             "For dashboards or notifications.",
-            "Summarize my todo list in under 5 bullet points. Prioritize clarity and action over detail."
+            "Summarize my todo list in under 5 bullet points. Prioritize clarity and action over detail.",
+            0
     );
 
     private final String displayName;
     private final String description;
     private final String prompt;
 
-    SummaryType(String displayName, String description, String prompt) {
+    /**
+     * Approximate token budget for task-level detail added to the prompt.
+     * Zero means only aggregate metrics are sent.
+     */
+    private final int taskTokenBudget;
+
+    SummaryType(String displayName, String description, String prompt, int taskTokenBudget) {
         this.displayName = displayName;
         this.description = description;
         this.prompt = prompt;
+        this.taskTokenBudget = taskTokenBudget;
     }
 }
 
@@ -0,0 +1,10 @@
+package org.duckdns.todosummarized.domains.enums;
+
+/**
+ * Enum representing the kinds of JWT the application issues.
+ * Access tokens authenticate requests; refresh tokens are only accepted by the refresh endpoint.
+ */
+public enum TokenType {
+    ACCESS,
+    REFRESH
+}
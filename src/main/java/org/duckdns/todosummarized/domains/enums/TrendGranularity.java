@@ -0,0 +1,51 @@
+package org.duckdns.todosummarized.domains.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Period length of one point on a summary trend line.
+ */
+public enum TrendGranularity {
+
+    /**
+     * ISO weeks, starting on Monday.
+     */
+    WEEK {
+        @Override
+        public LocalDate periodStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate defaultFrom(LocalDate to) {
+            return to.minusWeeks(12);
+        }
+    },
+
+    /**
+     * Calendar months.
+     */
+    MONTH {
+        @Override
+        public LocalDate periodStart(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate defaultFrom(LocalDate to) {
+            return to.minusMonths(12);
+        }
+    };
+
+    /**
+     * First day of the period containing the given date.
+     */
+    public abstract LocalDate periodStart(LocalDate date);
+
+    /**
+     * Start of the range shown when the client does not pass one.
+     */
+    public abstract LocalDate defaultFrom(LocalDate to);
+}
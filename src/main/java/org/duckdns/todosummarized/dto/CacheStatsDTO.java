@@ -0,0 +1,40 @@
+package org.duckdns.todosummarized.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+/**
+ * Point-in-time statistics of one in-process cache.
+ */
+@Builder
+@Schema(description = "In-process cache statistics")
+public record CacheStatsDTO(
+
+        @Schema(description = "Cache bean name", example = "todoSearchCache")
+        String name,
+
+        @Schema(description = "Approximate number of entries", example = "1520")
+        long estimatedSize,
+
+        @Schema(description = "Estimated bytes held, if the cache is weighted", example = "7340032")
+        Long weightedSizeBytes,
+
+        @Schema(description = "Byte budget, if the cache is weighted", example = "26843545")
+        Long maximumWeightBytes,
+
+        @Schema(description = "Lookups answered from the cache", example = "9120")
+        long hitCount,
+
+        @Schema(description = "Lookups that missed", example = "1310")
+        long missCount,
+
+        @Schema(description = "Hits divided by lookups (1.0 when there were none)", example = "0.874")
+        double hitRate,
+
+        @Schema(description = "Entries removed to stay within the budget", example = "42")
+        long evictionCount,
+
+        @Schema(description = "Estimated bytes removed to stay within the budget", example = "215040")
+        long evictionWeight
+) {
+}
@@ -0,0 +1,91 @@
+package org.duckdns.todosummarized.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Platform-wide usage statistics for administrators.
+ */
+@Builder
+@Schema(description = "Platform-wide usage statistics")
+public record PlatformStatsDTO(
+        @Schema(description = "When the statistics were computed; they are cached briefly", example = "2026-01-09T12:00:00")
+        LocalDateTime computedAt,
+
+        @Schema(description = "Time taken to compute the statistics, in milliseconds", example = "420")
+        long computeMillis,
+
+        @Schema(description = "Registered and active users")
+        Users users,
+
+        @Schema(description = "Todos across all users")
+        Todos todos,
+
+        @Schema(description = "Open todos by how long they have been overdue")
+        Overdue overdue,
+
+        @Schema(description = "Stored AI insights")
+        AiUsage ai
+) {
+
+    @Schema(description = "Registered and active users")
+    public record Users(
+            @Schema(description = "Registered users", example = "1200")
+            long total,
+
+            @Schema(description = "Users who changed a todo in the last 7 days", example = "310")
+            long activeLastWeek,
+
+            @Schema(description = "Users who changed a todo in the last 30 days", example = "640")
+            long activeLastMonth
+    ) {
+    }
+
+    @Schema(description = "Todos across all users")
+    public record Todos(
+            @Schema(description = "Total number of todos", example = "48000")
+            long total,
+
+            @Schema(description = "Todos by status")
+            Map<String, Long> byStatus,
+
+            @Schema(description = "Todos by priority")
+            Map<String, Long> byPriority
+    ) {
+    }
+
+    @Schema(description = "Open todos by how long they have been overdue")
+    public record Overdue(
+            @Schema(description = "Overdue by up to a day", example = "140")
+            long upToDay,
+
+            @Schema(description = "Overdue by one to seven days", example = "420")
+            long upToWeek,
+
+            @Schema(description = "Overdue by one week to 30 days", example = "380")
+            long upToMonth,
+
+            @Schema(description = "Overdue by more than 30 days", example = "910")
+            long older
+    ) {
+    }
+
+    @Schema(description = "Stored AI insights")
+    public record AiUsage(
+            @Schema(description = "Users with a stored insight", example = "530")
+            long insights,
+
+            @Schema(description = "Insights generated by a model rather than the metrics-only fallback", example = "480")
+            long aiGenerated,
+
+            @Schema(description = "Insights generated or regenerated in the last 24 hours", example = "95")
+            long updatedLastDay,
+
+            @Schema(description = "Insights by provider")
+            Map<String, Long> byProvider
+    ) {
+    }
+}
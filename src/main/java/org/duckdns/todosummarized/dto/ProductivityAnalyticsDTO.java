@@ -0,0 +1,72 @@
+package org.duckdns.todosummarized.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO with completion velocity, burndown and lead time of one user over a date range.
+ */
+@Builder
+@Schema(description = "Productivity analytics over a date range")
+public record ProductivityAnalyticsDTO(
+        @Schema(description = "First day of the range", example = "2026-01-05")
+        LocalDate from,
+
+        @Schema(description = "Last day of the range", example = "2026-03-29")
+        LocalDate to,
+
+        @Schema(description = "Todos completed per week, Monday-based, covering the range")
+        List<VelocityPoint> velocity,
+
+        @Schema(description = "Average todos completed per week over the range", example = "4.5")
+        double averageCompletedPerWeek,
+
+        @Schema(description = "Open todos at the end of each day of the range")
+        List<BurndownPoint> burndown,
+
+        @Schema(description = "Created-to-completed lead time of todos completed in the range")
+        LeadTime leadTime
+) {
+
+    @Schema(description = "Completions in one week")
+    public record VelocityPoint(
+            @Schema(description = "Monday of the week", example = "2026-01-05")
+            LocalDate weekStart,
+
+            @Schema(description = "Todos completed that week", example = "5")
+            long completed,
+
+            @Schema(description = "Average per week over this and the three previous weeks", example = "4.25")
+            double rollingAverage
+    ) {
+    }
+
+    @Schema(description = "Open todos at the end of one day")
+    public record BurndownPoint(
+            @Schema(description = "Day", example = "2026-01-05")
+            LocalDate date,
+
+            @Schema(description = "Created, not completed and not cancelled todos", example = "12")
+            long remaining
+    ) {
+    }
+
+    @Schema(description = "Lead time percentiles in hours; null when nothing was completed")
+    public record LeadTime(
+            @Schema(description = "Todos completed in the range", example = "18")
+            long completedCount,
+
+            @Schema(description = "Median lead time in hours", example = "26.5")
+            Double p50Hours,
+
+            @Schema(description = "75th percentile lead time in hours", example = "52.0")
+            Double p75Hours,
+
+            @Schema(description = "90th percentile lead time in hours", example = "120.25")
+            Double p90Hours
+    ) {
+    }
+}
@@ -0,0 +1,41 @@
+package org.duckdns.todosummarized.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * One point of a summary trend line: the user's counts at the end of a week or month.
+ */
+@Builder
+@Schema(description = "Todo counts at the end of one trend period")
+public record TrendPointDTO(
+        @Schema(description = "First day of the period", example = "2026-01-05")
+        LocalDate periodStart,
+
+        @Schema(description = "Day of the snapshot the counts come from, the last one in the period", example = "2026-01-11")
+        LocalDate asOf,
+
+        @Schema(description = "Total number of todos", example = "25")
+        long totalTodos,
+
+        @Schema(description = "Number of completed todos", example = "10")
+        long completedCount,
+
+        @Schema(description = "Number of todos in progress", example = "8")
+        long inProgressCount,
+
+        @Schema(description = "Number of todos not started", example = "5")
+        long notStartedCount,
+
+        @Schema(description = "Number of cancelled todos", example = "2")
+        long cancelledCount,
+
+        @Schema(description = "Number of overdue todos", example = "3")
+        long overdueCount,
+
+        @Schema(description = "Completion rate as percentage (0-100)", example = "43.48")
+        double completionRate
+) {
+}
@@ -39,6 +39,12 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
     }
 
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRange(InvalidDateRangeException ex, HttpServletRequest request) {
+        log.warn("Invalid date range: {}", ex.getMessage());
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+    }
+
     @ExceptionHandler(DuplicateTodoException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateTodo(DuplicateTodoException ex, HttpServletRequest request) {
         log.warn("Duplicate todo: {}", ex.getMessage());
@@ -102,6 +108,14 @@ public class GlobalExceptionHandler {
         return buildWithRetryAfter(ex.getMessage(), request, ex.getRetryAfterSeconds());
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex, HttpServletRequest request) {
+        log.warn("Service overloaded: {} - retry after {} seconds", ex.getMessage(), ex.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorBody(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request, null));
+    }
+
     @ExceptionHandler(InvalidJwtTokenException.class)
     public ResponseEntity<ErrorResponse> handleInvalidJwtToken(InvalidJwtTokenException ex, HttpServletRequest request) {
         log.warn("Invalid JWT token: {}", ex.getMessage());
@@ -124,7 +138,16 @@ public class GlobalExceptionHandler {
             HttpServletRequest request,
             List<ErrorResponse.FieldError> fieldErrors
     ) {
-        ErrorResponse body = ErrorResponse.builder()
+        return ResponseEntity.status(status).body(errorBody(status, message, request, fieldErrors));
+    }
+
+    private ErrorResponse errorBody(
+            HttpStatus status,
+            String message,
+            HttpServletRequest request,
+            List<ErrorResponse.FieldError> fieldErrors
+    ) {
+        return ErrorResponse.builder()
                 .timestamp(LocalDateTime.now(clock))
                 .status(status.value())
                 .error(status.getReasonPhrase())
@@ -132,8 +155,6 @@ public class GlobalExceptionHandler {
                 .path(request.getRequestURI())
                 .fieldErrors(fieldErrors)
                 .build();
-
-        return ResponseEntity.status(status).body(body);
     }
 
     private ResponseEntity<ErrorResponse> buildWithRetryAfter(
@@ -141,17 +162,9 @@ public class GlobalExceptionHandler {
             HttpServletRequest request,
             long retryAfterSeconds
     ) {
-        ErrorResponse body = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(clock))
-                .status(HttpStatus.TOO_MANY_REQUESTS.value())
-                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
-                .message(message)
-                .path(request.getRequestURI())
-                .build();
-
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                 .header("Retry-After", String.valueOf(retryAfterSeconds))
                 .header("X-RateLimit-Retry-After-Seconds", String.valueOf(retryAfterSeconds))
-                .body(body);
+                .body(errorBody(HttpStatus.TOO_MANY_REQUESTS, message, request, null));
     }
 }
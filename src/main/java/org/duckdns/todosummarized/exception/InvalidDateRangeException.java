@@ -0,0 +1,11 @@
+package org.duckdns.todosummarized.exception;
+
+/**
+ * Exception thrown when a requested date range is reversed or too long.
+ */
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package org.duckdns.todosummarized.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a bounded resource sheds load instead of queueing more work.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
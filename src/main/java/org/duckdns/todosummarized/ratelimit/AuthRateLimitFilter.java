@@ -0,0 +1,252 @@
+package org.duckdns.todosummarized.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.exception.RateLimitExceededException;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the authentication endpoints before Spring Security and the controllers run.
+ * {@link RateLimitAspect} only limits authenticated users, which leaves sign-in, sign-up and refresh
+ * open; each of those costs a BCrypt hash or a database lookup. Every request is charged to its client
+ * IP. Failed sign-ins are also charged to the target account, and once its bucket is spent sign-in
+ * requests for that account are refused here, so a distributed password guessing attack cannot keep
+ * the hashing pool busy either. Only failures count, so knowing an email is not enough to lock its
+ * owner out.
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the forwarded address.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/api/auth/signin", "/api/auth/signup", "/api/auth/refresh", "/api/auth/logout");
+    private static final String SIGN_IN_PATH = "/api/auth/signin";
+
+    /** Largest body read ahead for the email; auth bodies are far smaller, larger ones are only IP limited. */
+    private static final int MAX_BUFFERED_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public AuthRateLimitFilter(
+            RateLimitService rateLimitService,
+            ObjectMapper objectMapper,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver
+    ) {
+        this.rateLimitService = rateLimitService;
+        this.objectMapper = objectMapper;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String clientIp = request.getRemoteAddr();
+        if (!consume(clientIp, RateLimitService.AUTH_IP_KEY, request, response)) {
+            return;
+        }
+
+        if (SIGN_IN_PATH.equals(request.getServletPath())) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            Optional<String> email = buffered.isComplete() ? readEmail(buffered.head()) : Optional.empty();
+            if (email.isPresent()) {
+                long nanosToWait = rateLimitService.nanosUntilAvailable(email.get(), RateLimitService.AUTH_EMAIL_KEY);
+                if (nanosToWait > 0) {
+                    reject(email.get(), RateLimitService.AUTH_EMAIL_KEY, nanosToWait, request, response);
+                    return;
+                }
+            }
+            filterChain.doFilter(buffered, response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Only POSTs to the authentication endpoints are limited; everything else passes untouched.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitService.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    /**
+     * Charges a failed sign-in to the target account. Unknown emails fail the same way, so they are
+     * charged too and cannot be told apart by the limit.
+     */
+    @EventListener
+    public void onSignInFailed(AuthenticationFailureBadCredentialsEvent event) {
+        Optional<String> email = normalizeEmail(event.getAuthentication().getName());
+        if (rateLimitService.isEnabled() && email.isPresent()) {
+            rateLimitService.tryConsume(email.get(), RateLimitService.AUTH_EMAIL_KEY);
+        }
+    }
+
+    /**
+     * Takes a token from the caller's bucket, or answers 429 with Retry-After through the
+     * application's exception handler and returns false.
+     */
+    private boolean consume(String caller, String endpointKey, HttpServletRequest request,
+                            HttpServletResponse response) {
+        RateLimitService.ConsumptionResult result = rateLimitService.tryConsume(caller, endpointKey);
+        if (result.consumed()) {
+            return true;
+        }
+        reject(caller, endpointKey, result.nanosToWait(), request, response);
+        return false;
+    }
+
+    /**
+     * Answers 429 with Retry-After through the application's exception handler.
+     */
+    private void reject(String caller, String endpointKey, long nanosToWait, HttpServletRequest request,
+                        HttpServletResponse response) {
+        long waitTimeSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosToWait));
+        log.warn("Rate limit exceeded for '{}' on '{}' ({}). Retry after: {} seconds",
+                caller, endpointKey, request.getServletPath(), waitTimeSeconds);
+        handlerExceptionResolver.resolveException(request, response, null,
+                new RateLimitExceededException("Too many authentication attempts. Please try again later.",
+                        waitTimeSeconds));
+    }
+
+    /**
+     * Reads the normalized email from a JSON body; malformed bodies are left for validation to reject.
+     */
+    private Optional<String> readEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? normalizeEmail(email.asText()) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> normalizeEmail(String email) {
+        return email == null || email.isBlank()
+                ? Optional.empty()
+                : Optional.of(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Reads the start of the body ahead so it can be inspected, and replays it, followed by any
+     * unread remainder, to the rest of the chain.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final boolean complete;
+        private final InputStream body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            InputStream original = request.getInputStream();
+            byte[] read = original.readNBytes(MAX_BUFFERED_BODY_BYTES + 1);
+            this.complete = read.length <= MAX_BUFFERED_BODY_BYTES;
+            this.head = read;
+            this.body = complete
+                    ? new ByteArrayInputStream(read)
+                    : new SequenceInputStream(new ByteArrayInputStream(read), original);
+        }
+
+        byte[] head() {
+            return head;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = body.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte @NonNull [] b, int off, int len) throws IOException {
+                    int n = body.read(b, off, len);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The buffered part is already in memory and the remainder is read blocking, so the
+                 * body is always ready: the listener is told so at once and reads it all.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class RateLimitService {
 
     private static final String AI_SUMMARY_KEY = "ai-summary";
     private static final String DAILY_SUMMARY_KEY = "daily-summary";
+    public static final String AUTH_IP_KEY = "auth-ip";
+    public static final String AUTH_EMAIL_KEY = "auth-email";
 
     // Array indices for token bucket state
     private static final int TOKENS_INDEX = 0;
@@ -35,12 +37,17 @@ public class RateLimitService {
 
     @PostConstruct
     void init() {
-        log.info("Rate limiting initialized - enabled: {}, AI summary: {}/{} req/sec, Daily summary: {}/{} req/sec",
+        log.info("Rate limiting initialized - enabled: {}, AI summary: {}/{} req/sec, Daily summary: {}/{} req/sec, "
+                        + "Auth per IP: {}/{} req/sec, Auth per email: {}/{} req/sec",
                 properties.isEnabled(),
                 properties.getAiSummary().getMaxRequests(),
                 properties.getAiSummary().getWindowSeconds(),
                 properties.getDailySummary().getMaxRequests(),
-                properties.getDailySummary().getWindowSeconds());
+                properties.getDailySummary().getWindowSeconds(),
+                properties.getAuthIp().getMaxRequests(),
+                properties.getAuthIp().getWindowSeconds(),
+                properties.getAuthEmail().getMaxRequests(),
+                properties.getAuthEmail().getWindowSeconds());
     }
 
     /**
@@ -129,6 +136,29 @@ public class RateLimitService {
         return (long) currentTokens;
     }
 
+    /**
+     * Returns how long until the bucket holds a whole token, without consuming one; 0 if it already does.
+     */
+    public long nanosUntilAvailable(String userId, String endpointKey) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        double[] state = rateLimitCache.getIfPresent(buildBucketKey(userId, endpointKey));
+        if (state == null) {
+            return 0;
+        }
+
+        EndpointLimit limit = getLimitConfig(endpointKey);
+        long capacity = limit.getMaxRequests();
+        long windowNanos = (long) limit.getWindowSeconds() * 1_000_000_000L;
+        double refillRatePerNano = (double) capacity / windowNanos;
+        long elapsedNanos = System.nanoTime() - (long) state[LAST_REFILL_NANOS_INDEX];
+        double currentTokens = Math.min(capacity, state[TOKENS_INDEX] + elapsedNanos * refillRatePerNano);
+
+        return currentTokens >= 1.0 ? 0 : (long) ((1.0 - currentTokens) / refillRatePerNano);
+    }
+
     /**
      * Builds the bucket cache key combining user ID and endpoint.
      */
@@ -143,6 +173,8 @@ public class RateLimitService {
         return switch (endpointKey) {
             case AI_SUMMARY_KEY -> properties.getAiSummary();
             case DAILY_SUMMARY_KEY -> properties.getDailySummary();
+            case AUTH_IP_KEY -> properties.getAuthIp();
+            case AUTH_EMAIL_KEY -> properties.getAuthEmail();
             default -> {
                 log.warn("Unknown rate limit key '{}', using AI summary defaults", endpointKey);
                 yield properties.getAiSummary();
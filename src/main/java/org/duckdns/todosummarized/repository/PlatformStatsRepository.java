@@ -0,0 +1,91 @@
+package org.duckdns.todosummarized.repository;
+
+import jakarta.persistence.QueryHint;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.repository.projection.AiUsageProjection;
+import org.duckdns.todosummarized.repository.projection.TodoBreakdownProjection;
+import org.duckdns.todosummarized.repository.projection.UserActivityProjection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only aggregates over one inclusive range of user ids, for platform statistics.
+ * Ranges partition the users, so results of disjoint ranges can simply be added up.
+ * Each call is its own short read-only transaction unless the caller already runs one.
+ */
+@Transactional(readOnly = true)
+public interface PlatformStatsRepository extends Repository<User, UUID> {
+
+    /**
+     * Caps every later statement of the caller's transaction at the given duration, e.g. {@code "5000ms"}.
+     * The database cancels statements that run longer, so abandoned aggregates stop holding connections.
+     */
+    @Query(value = "select set_config('statement_timeout', :timeout, true)", nativeQuery = true)
+    String limitStatementTime(@Param("timeout") String timeout);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = """
+            select (select count(*) from users u where u.id between :first and :last) as "users",
+                   count(distinct t.user_id) filter (where t.updated_at >= :weekAgo) as "activeLastWeek",
+                   count(distinct t.user_id) as "activeLastMonth"
+            from todo t
+            where t.user_id between :first and :last
+              and t.updated_at >= :monthAgo
+            """, nativeQuery = true)
+    UserActivityProjection summarizeUserActivity(
+            @Param("first") UUID first,
+            @Param("last") UUID last,
+            @Param("weekAgo") LocalDateTime weekAgo,
+            @Param("monthAgo") LocalDateTime monthAgo
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = """
+            select t.status as "status",
+                   t.priority as "priority",
+                   count(*) as "todos",
+                   count(*) filter (where t.status not in ('COMPLETED', 'CANCELLED')
+                                      and t.due_date < :now and t.due_date >= :dayAgo) as "overdueUpToDay",
+                   count(*) filter (where t.status not in ('COMPLETED', 'CANCELLED')
+                                      and t.due_date < :dayAgo and t.due_date >= :weekAgo) as "overdueUpToWeek",
+                   count(*) filter (where t.status not in ('COMPLETED', 'CANCELLED')
+                                      and t.due_date < :weekAgo and t.due_date >= :monthAgo) as "overdueUpToMonth",
+                   count(*) filter (where t.status not in ('COMPLETED', 'CANCELLED')
+                                      and t.due_date < :monthAgo) as "overdueOlder"
+            from todo t
+            where t.user_id between :first and :last
+            group by t.status, t.priority
+            """, nativeQuery = true)
+    List<TodoBreakdownProjection> summarizeTodos(
+            @Param("first") UUID first,
+            @Param("last") UUID last,
+            @Param("now") LocalDateTime now,
+            @Param("dayAgo") LocalDateTime dayAgo,
+            @Param("weekAgo") LocalDateTime weekAgo,
+            @Param("monthAgo") LocalDateTime monthAgo
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = """
+            select a.provider as "provider",
+                   count(*) as "insights",
+                   count(*) filter (where a.ai_generated) as "aiGenerated",
+                   count(*) filter (where a.updated_at >= :dayAgo) as "updatedLastDay"
+            from ai_insights a
+            where a.user_id between :first and :last
+            group by a.provider
+            """, nativeQuery = true)
+    List<AiUsageProjection> summarizeAiUsage(
+            @Param("first") UUID first,
+            @Param("last") UUID last,
+            @Param("dayAgo") LocalDateTime dayAgo
+    );
+}
@@ -0,0 +1,60 @@
+package org.duckdns.todosummarized.repository;
+
+import org.duckdns.todosummarized.domains.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the token denylist.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Whether the token is revoked and has not expired yet.
+     */
+    boolean existsByTokenIdAndExpiresAtAfter(String tokenId, LocalDateTime now);
+
+    /**
+     * Ids of revoked tokens that have not expired yet, to rebuild the in-memory filter.
+     */
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") LocalDateTime now);
+
+    /**
+     * Revokes the token unless it is already revoked, in one statement, so concurrent callers cannot
+     * both see it as unrevoked.
+     *
+     * @return 1 if this call revoked the token, 0 if it was already revoked
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "insert into revoked_tokens (token_id, user_id, expires_at, revoked_at)"
+            + " values (:tokenId, :userId, :expiresAt, :revokedAt) on conflict (token_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("userId") UUID userId,
+                       @Param("expiresAt") LocalDateTime expiresAt, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Ids of tokens revoked since the given time that have not expired yet.
+     */
+    @Query("select r.tokenId from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findTokenIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes revocations of tokens that have expired; they would be rejected anyway.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
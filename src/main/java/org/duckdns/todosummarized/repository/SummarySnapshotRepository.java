@@ -0,0 +1,68 @@
+package org.duckdns.todosummarized.repository;
+
+import org.duckdns.todosummarized.domains.entity.SummarySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for per-user daily summary snapshots.
+ */
+public interface SummarySnapshotRepository extends JpaRepository<SummarySnapshot, SummarySnapshot.Key> {
+
+    /**
+     * Writes the snapshot of every given user for one day in a single statement, aggregating their
+     * todos with conditional counts. Users without todos get an all-zero row. Re-running for the same
+     * day overwrites the rows, so the job is safe to retry and to run on several nodes.
+     * Runs in its own transaction, so each batch commits independently.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into summary_snapshots (user_id, snapshot_date, total, completed, in_progress, not_started,
+                                           cancelled, overdue, completion_rate)
+            select s.user_id, :snapshotDate, s.total, s.completed, s.in_progress, s.not_started,
+                   s.cancelled, s.overdue,
+                   case when s.total - s.cancelled = 0 then 0
+                        else round(s.completed * 100.0 / (s.total - s.cancelled), 2) end
+            from (select u.id as user_id,
+                         count(t.id) as total,
+                         count(t.id) filter (where t.status = 'COMPLETED') as completed,
+                         count(t.id) filter (where t.status = 'IN_PROGRESS') as in_progress,
+                         count(t.id) filter (where t.status = 'NOT_STARTED') as not_started,
+                         count(t.id) filter (where t.status = 'CANCELLED') as cancelled,
+                         count(t.id) filter (where t.due_date < :asOf
+                                               and t.status not in ('COMPLETED', 'CANCELLED')) as overdue
+                  from users u
+                  left join todo t on t.user_id = u.id
+                  where u.id in (:userIds)
+                  group by u.id) s
+            on conflict (user_id, snapshot_date) do update
+               set total = excluded.total,
+                   completed = excluded.completed,
+                   in_progress = excluded.in_progress,
+                   not_started = excluded.not_started,
+                   cancelled = excluded.cancelled,
+                   overdue = excluded.overdue,
+                   completion_rate = excluded.completion_rate
+            """, nativeQuery = true)
+    int upsertSnapshots(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("snapshotDate") LocalDate snapshotDate,
+            @Param("asOf") LocalDateTime asOf
+    );
+
+    /**
+     * The user's snapshots between both dates inclusive, oldest first.
+     */
+    List<SummarySnapshot> findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+            UUID userId, LocalDate from, LocalDate to);
+}
@@ -1,20 +1,32 @@
 package org.duckdns.todosummarized.repository;
 
+import jakarta.persistence.QueryHint;
 import org.duckdns.todosummarized.domains.entity.Todo;
 import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
 import org.duckdns.todosummarized.domains.enums.TaskStatus;
-import org.duckdns.todosummarized.repository.projection.PriorityCountProjection;
-import org.duckdns.todosummarized.repository.projection.StatusCountProjection;
+import org.duckdns.todosummarized.repository.projection.BurndownProjection;
+import org.duckdns.todosummarized.repository.projection.DailySummaryProjection;
+import org.duckdns.todosummarized.repository.projection.LeadTimeProjection;
+import org.duckdns.todosummarized.repository.projection.TodoDataVersionProjection;
+import org.duckdns.todosummarized.repository.projection.TodoPromptProjection;
+import org.duckdns.todosummarized.repository.projection.TodoSummaryFactsProjection;
+import org.duckdns.todosummarized.repository.projection.VelocityProjection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Todo entity.
@@ -32,39 +44,200 @@ public interface TodoRepository extends JpaRepository<Todo, UUID>, JpaSpecificat
     long deleteByIdAndUser(UUID id, User user);
 
     /**
-     * Count todos by user.
+     * Every daily summary metric of one user in a single scan, using conditional aggregation.
+     * Aliases are quoted so they match the projection's property names.
+     * Shared with the summary benchmark so both measure the same statement.
      */
-    long countByUser(User user);
+    String DAILY_SUMMARY_SQL = """
+            select count(*) as "total",
+                   count(*) filter (where t.status = 'COMPLETED') as "completed",
+                   count(*) filter (where t.status = 'IN_PROGRESS') as "inProgress",
+                   count(*) filter (where t.status = 'NOT_STARTED') as "notStarted",
+                   count(*) filter (where t.status = 'CANCELLED') as "cancelled",
+                   count(*) filter (where t.priority = 'LOW') as "lowPriority",
+                   count(*) filter (where t.priority = 'MEDIUM') as "mediumPriority",
+                   count(*) filter (where t.priority = 'HIGH') as "highPriority",
+                   count(*) filter (where t.priority = 'CRITICAL') as "criticalPriority",
+                   count(*) filter (where t.due_date < :now
+                                      and t.status not in ('COMPLETED', 'CANCELLED')) as "overdue",
+                   count(*) filter (where t.due_date >= :startOfDay and t.due_date < :endOfDay) as "dueToday",
+                   count(*) filter (where t.due_date >= :startOfTomorrow and t.due_date < :endOfUpcoming) as "upcoming"
+            from todo t
+            where t.user_id = :userId
+            """;
 
-    @Query("select t.status as status, count(t) as count from Todo t where t.user = :user group by t.status")
-    List<StatusCountProjection> countGroupedByStatusAndUser(@Param("user") User user);
+    @Query(value = DAILY_SUMMARY_SQL, nativeQuery = true)
+    DailySummaryProjection summarizeByUser(
+            @Param("userId") UUID userId,
+            @Param("now") LocalDateTime now,
+            @Param("startOfDay") LocalDateTime startOfDay,
+            @Param("endOfDay") LocalDateTime endOfDay,
+            @Param("startOfTomorrow") LocalDateTime startOfTomorrow,
+            @Param("endOfUpcoming") LocalDateTime endOfUpcoming
+    );
 
-    @Query("select t.priority as priority, count(t) as count from Todo t where t.user = :user group by t.priority")
-    List<PriorityCountProjection> countGroupedByPriorityAndUser(@Param("user") User user);
+    /**
+     * Fingerprint of the user's todos, used as the version of cached analytics.
+     */
+    @Query("select count(t) as todoCount, max(t.updatedAt) as lastUpdated from Todo t where t.user = :user")
+    TodoDataVersionProjection findDataVersionByUser(@Param("user") User user);
 
+    /**
+     * Completions per week from {@code firstWeek} to {@code lastWeek} (both Mondays), weeks without
+     * completions included, with the rolling average over each week and the three before it (fewer at
+     * the start of the range). Todos completed before completedAt was tracked fall back to their last
+     * update.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "64"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            with recursive weeks (week_start) as (
+                select cast(:firstWeek as date)
+                union all
+                select cast(week_start + 7 as date) from weeks where week_start < :lastWeek
+            ),
+            completions (week_start, completed) as (
+                select w.week_start, count(t.id)
+                from weeks w
+                left join todo t
+                       on t.user_id = :userId
+                      and t.status = 'COMPLETED'
+                      and coalesce(t.completed_at, t.updated_at) >= w.week_start
+                      and coalesce(t.completed_at, t.updated_at) < cast(w.week_start + 7 as date)
+                group by w.week_start
+            )
+            select c.week_start as "weekStart",
+                   c.completed as "completed",
+                   avg(c.completed * 1.0)
+                       over (order by c.week_start rows between 3 preceding and current row) as "rollingAverage"
+            from completions c
+            order by c.week_start
+            """, nativeQuery = true)
+    Stream<VelocityProjection> streamWeeklyVelocity(
+            @Param("userId") UUID userId,
+            @Param("firstWeek") LocalDate firstWeek,
+            @Param("lastWeek") LocalDate lastWeek
+    );
+
+    /**
+     * Open (created, not yet completed) todos at the end of each day from {@code from} to {@code to},
+     * as a running sum of daily created and completed events. Events before {@code from} are folded
+     * into the first day; cancelled todos are out of scope.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "64"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            with recursive days (calendar_day) as (
+                select cast(:from as date)
+                union all
+                select cast(calendar_day + 1 as date) from days where calendar_day < :to
+            ),
+            events (calendar_day, delta) as (
+                select cast(t.created_at as date) as calendar_day, 1 as delta
+                from todo t
+                where t.user_id = :userId and t.status <> 'CANCELLED' and t.created_at < :end
+                union all
+                select cast(coalesce(t.completed_at, t.updated_at) as date), -1
+                from todo t
+                where t.user_id = :userId and t.status = 'COMPLETED'
+                  and coalesce(t.completed_at, t.updated_at) < :end
+            ),
+            daily (calendar_day, delta) as (
+                select f.calendar_day, sum(f.delta)
+                from (select greatest(e.calendar_day, cast(:from as date)) as calendar_day, e.delta
+                      from events e) f
+                group by f.calendar_day
+            )
+            select d.calendar_day as "day",
+                   sum(coalesce(x.delta, 0))
+                       over (order by d.calendar_day rows between unbounded preceding and current row) as "remaining"
+            from days d
+            left join daily x on x.calendar_day = d.calendar_day
+            order by d.calendar_day
+            """, nativeQuery = true)
+    Stream<BurndownProjection> streamDailyBurndown(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Lead time percentiles of the user's todos completed in {@code [start, end)}.
+     */
+    @Query(value = """
+            select count(*) as "completed",
+                   percentile_cont(0.5) within group (order by l.hours) as "p50Hours",
+                   percentile_cont(0.75) within group (order by l.hours) as "p75Hours",
+                   percentile_cont(0.9) within group (order by l.hours) as "p90Hours"
+            from (select cast(extract(epoch from coalesce(t.completed_at, t.updated_at) - t.created_at)
+                              as double precision) / 3600 as hours
+                  from todo t
+                  where t.user_id = :userId
+                    and t.status = 'COMPLETED'
+                    and coalesce(t.completed_at, t.updated_at) >= :start
+                    and coalesce(t.completed_at, t.updated_at) < :end) l
+            """, nativeQuery = true)
+    LeadTimeProjection findLeadTimePercentiles(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Status, priority and due date of every todo of the user, used to rebuild the summary counters.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select t.status as status, t.priority as priority, t.dueDate as dueDate from Todo t where t.user = :user")
+    List<TodoSummaryFactsProjection> findSummaryFactsByUser(@Param("user") User user);
+
+    /**
+     * Ids of users who changed a todo since the given time, most recently active first.
+     * The pageable only bounds the number of ids returned.
+     */
     @Query("""
-            select count(t)
+            select t.user.id
             from Todo t
-            where t.user = :user
-              and t.dueDate < :now
-              and t.status not in :excludedStatuses
+            where t.updatedAt >= :since
+            group by t.user.id
+            order by max(t.updatedAt) desc
             """)
-    long countOverdueByUser(
-            @Param("user") User user,
-            @Param("now") LocalDateTime now,
-            @Param("excludedStatuses") Collection<TaskStatus> excludedStatuses
-    );
+    List<UUID> findRecentlyActiveUserIds(@Param("since") LocalDateTime since, Pageable limit);
 
+    /**
+     * Streams the user's non-cancelled todos ordered by prompt relevance:
+     * overdue first, then urgent priorities, then due soon, with closed todos last.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
-            select count(t)
+            select t.title as title, t.status as status, t.priority as priority, t.dueDate as dueDate
             from Todo t
             where t.user = :user
-              and t.dueDate >= :start
-              and t.dueDate < :end
+              and t.status <> :cancelled
+            order by
+              case
+                when t.status in :closedStatuses then 4
+                when t.dueDate < :now then 0
+                when t.priority in :urgentPriorities then 1
+                when t.dueDate < :soon then 2
+                else 3
+              end,
+              t.dueDate asc nulls last
             """)
-    long countDueBetweenByUser(
+    Stream<TodoPromptProjection> streamByRelevance(
             @Param("user") User user,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+            @Param("now") LocalDateTime now,
+            @Param("soon") LocalDateTime soon,
+            @Param("cancelled") TaskStatus cancelled,
+            @Param("closedStatuses") Collection<TaskStatus> closedStatuses,
+            @Param("urgentPriorities") Collection<TaskPriority> urgentPriorities
     );
 }
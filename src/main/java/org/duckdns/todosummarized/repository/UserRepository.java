@@ -1,9 +1,15 @@
 package org.duckdns.todosummarized.repository;
 
 import org.duckdns.todosummarized.domains.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,5 +32,37 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return true if a user exists with this email
      */
     boolean existsByEmail(String email);
-}
 
+    /**
+     * User ids greater than the given one in id order, for walking all users in keyset batches.
+     * The pageable only bounds the number of ids returned.
+     */
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable limit);
+
+    /**
+     * Current token version of the user with this email, without loading the user.
+     */
+    @Query("select u.tokenVersion from User u where u.email = :email")
+    Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
+
+    /**
+     * Moves the user to the next token version, invalidating every token issued so far.
+     *
+     * @return the number of users updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") UUID id);
+
+    /**
+     * Replaces the user's password hash without loading the user.
+     *
+     * @return the number of users updated
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+}
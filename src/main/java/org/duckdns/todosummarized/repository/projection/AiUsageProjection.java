@@ -0,0 +1,15 @@
+package org.duckdns.todosummarized.repository.projection;
+
+/**
+ * Stored AI insights of one provider in one user-id range.
+ */
+public interface AiUsageProjection {
+
+    String getProvider();
+
+    long getInsights();
+
+    long getAiGenerated();
+
+    long getUpdatedLastDay();
+}
@@ -0,0 +1,13 @@
+package org.duckdns.todosummarized.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Open todos of one user at the end of one day.
+ */
+public interface BurndownProjection {
+
+    LocalDate getDay();
+
+    long getRemaining();
+}
@@ -0,0 +1,31 @@
+package org.duckdns.todosummarized.repository.projection;
+
+/**
+ * Projection for the single-pass daily summary aggregate of one user.
+ */
+public interface DailySummaryProjection {
+
+    long getTotal();
+
+    long getCompleted();
+
+    long getInProgress();
+
+    long getNotStarted();
+
+    long getCancelled();
+
+    long getLowPriority();
+
+    long getMediumPriority();
+
+    long getHighPriority();
+
+    long getCriticalPriority();
+
+    long getOverdue();
+
+    long getDueToday();
+
+    long getUpcoming();
+}
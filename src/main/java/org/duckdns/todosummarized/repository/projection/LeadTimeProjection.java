@@ -0,0 +1,16 @@
+package org.duckdns.todosummarized.repository.projection;
+
+/**
+ * Created-to-completed lead time percentiles, in hours, of the todos completed in a range.
+ * Percentiles are null when nothing was completed.
+ */
+public interface LeadTimeProjection {
+
+    long getCompleted();
+
+    Double getP50Hours();
+
+    Double getP75Hours();
+
+    Double getP90Hours();
+}
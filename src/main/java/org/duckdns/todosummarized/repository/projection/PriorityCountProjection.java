@@ -1,13 +0,0 @@
-package org.duckdns.todosummarized.repository.projection;
-
-import org.duckdns.todosummarized.domains.enums.TaskPriority;
-
-/**
- * Projection for priority count aggregation query results.
- */
-public interface PriorityCountProjection {
-
-    TaskPriority getPriority();
-
-    Long getCount();
-}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.duckdns.todosummarized.repository.projection;
+
+/**
+ * Todo count of one status and priority combination in one user-id range, with open todos
+ * broken down by how long they have been overdue.
+ */
+public interface TodoBreakdownProjection {
+
+    String getStatus();
+
+    String getPriority();
+
+    long getTodos();
+
+    long getOverdueUpToDay();
+
+    long getOverdueUpToWeek();
+
+    long getOverdueUpToMonth();
+
+    long getOverdueOlder();
+}
@@ -0,0 +1,14 @@
+package org.duckdns.todosummarized.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a user's todos. Any insert, update or delete changes at least one of the two,
+ * so results derived from the todos can be cached under it without explicit invalidation.
+ */
+public interface TodoDataVersionProjection {
+
+    long getTodoCount();
+
+    LocalDateTime getLastUpdated();
+}
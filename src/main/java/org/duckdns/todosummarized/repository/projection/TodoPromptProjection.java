@@ -0,0 +1,20 @@
+package org.duckdns.todosummarized.repository.projection;
+
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the todo fields included in AI prompts.
+ */
+public interface TodoPromptProjection {
+
+    String getTitle();
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    LocalDateTime getDueDate();
+}
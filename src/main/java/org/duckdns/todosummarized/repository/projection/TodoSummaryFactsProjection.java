@@ -0,0 +1,18 @@
+package org.duckdns.todosummarized.repository.projection;
+
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the todo fields counted by the daily summary.
+ */
+public interface TodoSummaryFactsProjection {
+
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    LocalDateTime getDueDate();
+}
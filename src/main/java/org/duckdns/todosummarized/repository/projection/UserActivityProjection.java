@@ -0,0 +1,13 @@
+package org.duckdns.todosummarized.repository.projection;
+
+/**
+ * Registered and recently active users of one user-id range.
+ */
+public interface UserActivityProjection {
+
+    long getUsers();
+
+    long getActiveLastWeek();
+
+    long getActiveLastMonth();
+}
@@ -0,0 +1,15 @@
+package org.duckdns.todosummarized.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Completions of one user in one week, with the four-week rolling average ending at that week.
+ */
+public interface VelocityProjection {
+
+    LocalDate getWeekStart();
+
+    long getCompleted();
+
+    double getRollingAverage();
+}
@@ -0,0 +1,295 @@
+package org.duckdns.todosummarized.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AiBulkheadProperties;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead that isolates AI generation from the rest of the application.
+ * Runs generations on a dedicated bounded pool and queues excess work per user,
+ * dispatching with deficit round robin so each user gets slots in proportion to their weight.
+ * Requests are shed with a 503 when queues are full or the wait for a slot exceeds the limit.
+ */
+@Slf4j
+@Service
+public class AiGenerationBulkhead {
+
+    private static final double SERVICE_TIME_SMOOTHING = 0.2;
+    private static final long INITIAL_SERVICE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+
+    private final AiBulkheadProperties properties;
+    private final ExecutorService executor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final Map<UUID, UserQueue> queues = new HashMap<>();
+    private final Deque<UserQueue> ring = new ArrayDeque<>();
+    private int queued;
+    private int running;
+    private double avgServiceNanos = INITIAL_SERVICE_NANOS;
+
+    public AiGenerationBulkhead(AiBulkheadProperties properties) {
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(
+                Math.max(1, properties.getMaxConcurrent()),
+                Thread.ofPlatform().name("ai-generation-", 0).daemon(true).factory()
+        );
+        log.info("AI generation bulkhead initialized - enabled: {}, max concurrent: {}, max queue: {}, per user: {}",
+                properties.isEnabled(), properties.getMaxConcurrent(),
+                properties.getMaxQueueSize(), properties.getMaxQueuedPerUser());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the task inside the bulkhead on behalf of the given user and returns its result.
+     * Throws {@link ServiceOverloadedException} if the work cannot be admitted or does not start in time.
+     */
+    public <T> T execute(User user, Supplier<T> task) {
+        if (!properties.isEnabled()) {
+            return task.get();
+        }
+
+        Job<T> job = new Job<>(task);
+        enqueue(user, job);
+        return await(job);
+    }
+
+    /**
+     * Returns the number of generations currently running.
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of generations currently waiting for a slot.
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(User user, Job<?> job) {
+        lock.lock();
+        try {
+            UserQueue queue = queues.get(user.getId());
+            int userQueued = queue == null ? 0 : queue.jobs.size();
+
+            if (queued >= properties.getMaxQueueSize() || userQueued >= properties.getMaxQueuedPerUser()) {
+                log.warn("AI generation shed for user '{}': queued={}, user queued={}, running={}",
+                        user.getId(), queued, userQueued, running);
+                throw overloaded("AI generation is at capacity. Please try again later.");
+            }
+
+            if (queue == null) {
+                queue = new UserQueue(user.getId(), weightOf(user));
+                queues.put(user.getId(), queue);
+                ring.addLast(queue);
+            }
+            job.owner = queue;
+            queue.jobs.addLast(job);
+            queued++;
+
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T await(Job<T> job) {
+        try {
+            try {
+                return job.future.get(properties.getMaxQueueWaitSeconds(), TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                if (cancelIfQueued(job)) {
+                    log.warn("AI generation shed after waiting {}s for a slot", properties.getMaxQueueWaitSeconds());
+                    throw overloaded("AI generation queue wait exceeded. Please try again later.");
+                }
+                // Already running: the provider call is bounded by its own HTTP timeout
+                return job.future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelIfQueued(job);
+            throw new IllegalStateException("Interrupted while waiting for AI generation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("AI generation failed", cause);
+        }
+    }
+
+    /**
+     * Removes the job if it has not started yet. Returns true if it was removed.
+     */
+    private boolean cancelIfQueued(Job<?> job) {
+        lock.lock();
+        try {
+            if (job.started || !job.owner.jobs.remove(job)) {
+                return false;
+            }
+            queued--;
+            if (job.owner.jobs.isEmpty()) {
+                removeQueue(job.owner);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts queued jobs while slots are free. Must be called with the lock held.
+     */
+    private void dispatch() {
+        while (running < properties.getMaxConcurrent()) {
+            Job<?> next = pollNext();
+            if (next == null) {
+                return;
+            }
+            next.started = true;
+            queued--;
+            running++;
+            executor.execute(() -> run(next));
+        }
+    }
+
+    /**
+     * Deficit round robin across user queues: each visit grants a queue credit equal to its weight,
+     * and a queue keeps the head of the ring until its credit is spent.
+     */
+    private Job<?> pollNext() {
+        UserQueue queue = ring.peekFirst();
+        if (queue == null) {
+            return null;
+        }
+
+        if (queue.deficit < 1) {
+            queue.deficit += queue.weight;
+        }
+        Job<?> job = queue.jobs.pollFirst();
+        queue.deficit--;
+
+        if (queue.jobs.isEmpty()) {
+            removeQueue(queue);
+        } else if (queue.deficit < 1) {
+            ring.addLast(ring.pollFirst());
+        }
+        return job;
+    }
+
+    private void removeQueue(UserQueue queue) {
+        ring.remove(queue);
+        queues.remove(queue.userId);
+        queue.deficit = 0;
+    }
+
+    private void run(Job<?> job) {
+        long start = System.nanoTime();
+        try {
+            job.run();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lock.lock();
+            try {
+                running--;
+                avgServiceNanos += SERVICE_TIME_SMOOTHING * (elapsed - avgServiceNanos);
+                dispatch();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int weightOf(User user) {
+        Integer weight = properties.getRoleWeights().get(user.getRole());
+        return weight == null ? 1 : Math.max(1, weight);
+    }
+
+    /**
+     * Builds the shed exception with a Retry-After estimated from queue depth and recent service time.
+     */
+    private ServiceOverloadedException overloaded(String message) {
+        lock.lock();
+        try {
+            double waves = (queued + 1.0) / Math.max(1, properties.getMaxConcurrent());
+            long seconds = (long) Math.ceil(waves * avgServiceNanos / 1_000_000_000.0);
+            return new ServiceOverloadedException(message, Math.clamp(seconds, 1, MAX_RETRY_AFTER_SECONDS));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Per-user FIFO queue with its scheduling weight and deficit counter.
+     */
+    private static final class UserQueue {
+        private final UUID userId;
+        private final int weight;
+        private final Deque<Job<?>> jobs = new ArrayDeque<>();
+        private int deficit;
+
+        private UserQueue(UUID userId, int weight) {
+            this.userId = userId;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A unit of queued work and the future its caller waits on.
+     */
+    private static final class Job<T> {
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private UserQueue owner;
+        private boolean started;
+
+        private Job(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -3,16 +3,21 @@ package org.duckdns.todosummarized.service;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.L2Cache;
 import org.duckdns.todosummarized.domains.entity.AiInsight;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.AiProvider;
 import org.duckdns.todosummarized.dto.AiSummaryDTO;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
 import org.duckdns.todosummarized.repository.AiInsightRepository;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service responsible for AI insight persistence and caching operations.
@@ -28,38 +33,80 @@ public class AiInsightCacheService {
     private final CacheKeyBuilder cacheKeyBuilder;
     private final SummaryService summaryService;
     private final Cache<String, AiSummaryDTO> aiInsightCache;
+    private final L2Cache<AiSummaryDTO> aiInsightL2Cache;
+    private final CacheInvalidationBus invalidationBus;
+    private final AiMetrics aiMetrics;
 
     /**
-     * Gets the cached AI insight for a user, checking in-memory cache first, then database.
+     * Gets the cached AI insight for a user, checking in-memory cache first, then the shared tier, then database.
      */
     @Transactional(readOnly = true)
     public Optional<AiSummaryDTO> getCachedInsight(User user) {
+        return lookup(user, aiMetrics::recordInsightCache);
+    }
+
+    /**
+     * Loads the user's insight into the in-memory cache and the shared tier, like {@link #getCachedInsight(User)}
+     * but without counting towards the cache metrics, so warming many users does not skew the hit ratio.
+     */
+    @Transactional(readOnly = true)
+    public void preloadInsight(User user) {
+        lookup(user, result -> {
+            // Not a user request
+        });
+    }
+
+    private Optional<AiSummaryDTO> lookup(User user, Consumer<AiMetrics.CacheResult> recordResult) {
         String cacheKey = cacheKeyBuilder.forAiInsight(user);
 
         // Check in-memory cache first
         AiSummaryDTO cached = aiInsightCache.getIfPresent(cacheKey);
         if (cached != null) {
             log.debug("Cache hit for AI insight, user: {}", user.getUsername());
+            recordResult.accept(AiMetrics.CacheResult.MEMORY_HIT);
             return Optional.of(cached);
         }
 
+        // Then the shared tier, which survives restarts and is filled by other nodes
+        Optional<AiSummaryDTO> shared = aiInsightL2Cache.get(cacheKey);
+        if (shared.isPresent()) {
+            log.debug("Shared cache hit for AI insight, user: {}", user.getUsername());
+            recordResult.accept(AiMetrics.CacheResult.SHARED_HIT);
+            aiInsightCache.put(cacheKey, shared.get());
+            return shared;
+        }
+
         // Fall back to database
         Optional<AiInsight> dbInsight = aiInsightRepository.findByUser(user);
         if (dbInsight.isPresent()) {
             log.debug("Database hit for AI insight, user: {}", user.getUsername());
-            DailySummaryDTO metrics = summaryService.getDailySummary(user);
-            AiSummaryDTO dto = aiInsightMapper.toDTO(dbInsight.get(), metrics);
-            // Populate the cache for future requests
+            recordResult.accept(AiMetrics.CacheResult.DATABASE_HIT);
+            AiSummaryDTO dto = toDTO(dbInsight.get(), user);
+            // Populate the caches for future requests
             aiInsightCache.put(cacheKey, dto);
+            aiInsightL2Cache.put(cacheKey, dto);
             return Optional.of(dto);
         }
 
         log.debug("No stored AI insight found for user: {}", user.getUsername());
+        recordResult.accept(AiMetrics.CacheResult.MISS);
         return Optional.empty();
     }
 
     /**
-     * Saves an AI insight to both database and in-memory cache.
+     * Maps a stored insight using its metrics snapshot.
+     * Rows written before snapshots were stored fall back to recomputing the daily summary.
+     */
+    private AiSummaryDTO toDTO(AiInsight insight, User user) {
+        if (insight.getMetrics() != null) {
+            return aiInsightMapper.toDTO(insight);
+        }
+        DailySummaryDTO metrics = summaryService.getDailySummary(user);
+        return aiInsightMapper.toDTO(insight, metrics);
+    }
+
+    /**
+     * Saves an AI insight to the database, the in-memory cache and the shared tier.
      * Replaces any existing insight for the user.
      */
     @Transactional
@@ -71,16 +118,21 @@ public class AiInsightCacheService {
         aiInsightMapper.updateEntity(entity, insight, provider);
         aiInsightRepository.save(entity);
 
-        // Update in-memory cache
+        // Caches are filled only once the row is committed, so a rolled-back save is never served;
+        // other nodes drop their copy and reload
         String cacheKey = cacheKeyBuilder.forAiInsight(user);
-        aiInsightCache.put(cacheKey, insight);
+        afterCommit(() -> {
+            aiInsightCache.put(cacheKey, insight);
+            aiInsightL2Cache.put(cacheKey, insight);
+        });
+        invalidationBus.publish(CacheInvalidation.insight(cacheKey));
 
         log.debug("AI insight saved for user: {}", user.getUsername());
     }
 
     /**
      * Invalidates the stored AI insight for a user.
-     * Removes from both the database and in-memory cache.
+     * Removes from the database, the in-memory cache and the shared tier.
      */
     @Transactional
     public void invalidateCache(User user) {
@@ -88,11 +140,45 @@ public class AiInsightCacheService {
         aiInsightRepository.findByUser(user)
                 .ifPresent(insight -> aiInsightRepository.deleteByIdAndUser(insight.getId(), user));
 
-        // Remove from in-memory cache
+        // Evicted only once the delete is committed; evicting earlier lets a concurrent read put the
+        // still-committed row back into both tiers
         String cacheKey = cacheKeyBuilder.forAiInsight(user);
-        aiInsightCache.invalidate(cacheKey);
+        afterCommit(() -> {
+            aiInsightCache.invalidate(cacheKey);
+            aiInsightL2Cache.evict(cacheKey);
+        });
+        invalidationBus.publish(CacheInvalidation.insight(cacheKey));
 
         log.debug("AI insight invalidated for user: {}", user.getUsername());
     }
-}
 
+    /**
+     * Applies an insight eviction received from another node.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case INSIGHT -> aiInsightCache.invalidate(invalidation.key());
+            case ALL -> aiInsightCache.invalidateAll();
+            default -> {
+                // Owned by CacheService
+            }
+        }
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or at once outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
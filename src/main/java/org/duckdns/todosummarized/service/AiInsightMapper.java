@@ -13,6 +13,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class AiInsightMapper {
 
+    /**
+     * Converts an AiInsight entity to AiSummaryDTO using its stored metrics snapshot.
+     */
+    public AiSummaryDTO toDTO(AiInsight entity) {
+        if (entity == null) {
+            return null;
+        }
+        return toDTO(entity, entity.getMetrics());
+    }
+
     /**
      * Converts an AiInsight entity to AiSummaryDTO.
      */
@@ -71,5 +81,6 @@ public class AiInsightMapper {
         entity.setSummary(dto.summary());
         entity.setModel(dto.model());
         entity.setFallbackReason(dto.fallbackReason());
+        entity.setMetrics(dto.metrics());
     }
 }
\ No newline at end of file
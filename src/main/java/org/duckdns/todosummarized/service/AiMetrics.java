@@ -0,0 +1,143 @@
+package org.duckdns.todosummarized.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.duckdns.todosummarized.domains.enums.AiProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Micrometer instrumentation for AI summary generation.
+ * Records provider latency, token usage, selection outcomes and AI insight cache effectiveness.
+ */
+@Component
+public class AiMetrics {
+
+    static final String PROVIDER_LATENCY = "ai.provider.latency";
+    static final String TOKENS = "ai.tokens";
+    static final String SUMMARY_OUTCOME = "ai.summary.outcome";
+    static final String INSIGHT_CACHE = "ai.insight.cache";
+    static final String INSIGHT_CACHE_HIT_RATIO = "ai.insight.cache.hit.ratio";
+
+    /**
+     * Result of a summary request across providers.
+     */
+    public enum Outcome {
+        /** The first provider tried produced the summary. */
+        SUCCESS,
+        /** A later provider produced the summary after an earlier one failed. */
+        FALLBACK,
+        /** No provider produced a summary. */
+        ERROR
+    }
+
+    /**
+     * Where an AI insight lookup was answered from.
+     */
+    public enum CacheResult {
+        MEMORY_HIT,
+        SHARED_HIT,
+        DATABASE_HIT,
+        MISS
+    }
+
+    private final MeterRegistry registry;
+    private final Counter memoryHits;
+    private final Counter sharedHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public AiMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.memoryHits = cacheCounter(CacheResult.MEMORY_HIT);
+        this.sharedHits = cacheCounter(CacheResult.SHARED_HIT);
+        this.databaseHits = cacheCounter(CacheResult.DATABASE_HIT);
+        this.misses = cacheCounter(CacheResult.MISS);
+        Gauge.builder(INSIGHT_CACHE_HIT_RATIO, this, AiMetrics::insightCacheHitRatio)
+                .description("Share of AI insight lookups answered from memory, the shared tier or database")
+                .register(registry);
+    }
+
+    /**
+     * Starts timing a provider call.
+     */
+    public Timer.Sample startProviderCall() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stops timing a provider call and records it under the provider, model and success tags.
+     */
+    public void recordProviderCall(Timer.Sample sample, String provider, String model, boolean success) {
+        sample.stop(Timer.builder(PROVIDER_LATENCY)
+                .description("Latency of AI provider calls")
+                .tag("provider", provider)
+                .tag("model", String.valueOf(model))
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry));
+    }
+
+    /**
+     * Adds the prompt and completion token counts reported by a provider. Non-positive counts are ignored.
+     */
+    public void recordTokens(String provider, String model, long promptTokens, long completionTokens) {
+        if (promptTokens > 0) {
+            tokenCounter(provider, model, "prompt").increment(promptTokens);
+        }
+        if (completionTokens > 0) {
+            tokenCounter(provider, model, "completion").increment(completionTokens);
+        }
+    }
+
+    /**
+     * Counts the outcome of a summary request for the provider that was asked for.
+     */
+    public void recordOutcome(AiProvider requestedProvider, Outcome outcome) {
+        Counter.builder(SUMMARY_OUTCOME)
+                .description("AI summary requests by outcome")
+                .tag("provider", requestedProvider.name())
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Counts where an AI insight lookup was answered from.
+     */
+    public void recordInsightCache(CacheResult result) {
+        switch (result) {
+            case MEMORY_HIT -> memoryHits.increment();
+            case SHARED_HIT -> sharedHits.increment();
+            case DATABASE_HIT -> databaseHits.increment();
+            case MISS -> misses.increment();
+        }
+    }
+
+    private double insightCacheHitRatio() {
+        double hits = memoryHits.count() + sharedHits.count() + databaseHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    private Counter cacheCounter(CacheResult result) {
+        return Counter.builder(INSIGHT_CACHE)
+                .description("AI insight lookups by result")
+                .tag("result", result.name().toLowerCase())
+                .register(registry);
+    }
+
+    private Counter tokenCounter(String provider, String model, String type) {
+        return Counter.builder(TOKENS)
+                .description("Tokens reported by AI providers")
+                .tag("provider", provider)
+                .tag("model", String.valueOf(model))
+                .tag("type", type)
+                .register(registry);
+    }
+}
@@ -24,6 +24,8 @@ public class AiProviderSelector {
     private final AiProperties aiProperties;
     private final OpenAiSummaryAdapter openAiAdapter;
     private final GeminiSummaryAdapter geminiAdapter;
+    private final LocalStubSummaryAdapter localStubAdapter;
+    private final AiMetrics aiMetrics;
 
     @PostConstruct
     void logConfiguration() {
@@ -58,6 +60,15 @@ public class AiProviderSelector {
      * Uses the global preferred provider setting, but can be overridden.
      */
     public AiGenerationResult generateSummary(DailySummaryDTO metrics, SummaryType summaryType, AiProvider preferredProvider) {
+        return generateSummary(metrics, summaryType, preferredProvider, null);
+    }
+
+    /**
+     * Generates an AI summary using a prebuilt user message (e.g. with task-level detail).
+     * When the message is null, adapters build it from the aggregate metrics.
+     */
+    public AiGenerationResult generateSummary(DailySummaryDTO metrics, SummaryType summaryType,
+                                              AiProvider preferredProvider, String userMessage) {
         // Check if AI is globally disabled
         if (!aiProperties.isEnabled()) {
             return AiGenerationResult.failure("AI-powered summary feature is disabled");
@@ -70,22 +81,30 @@ public class AiProviderSelector {
             log.debug("Using globally configured provider: {}", effectiveProvider);
         }
 
-        return switch (effectiveProvider) {
-            case OPENAI -> tryOpenAi(metrics, summaryType);
-            case GEMINI -> tryGemini(metrics, summaryType);
-            case AUTO -> tryAutoSelect(metrics, summaryType);
+        if (effectiveProvider == AiProvider.AUTO) {
+            // Records its own outcome since it knows whether the fallback provider was needed
+            return tryAutoSelect(metrics, summaryType, userMessage);
+        }
+
+        AiGenerationResult result = switch (effectiveProvider) {
+            case OPENAI -> tryOpenAi(metrics, summaryType, userMessage);
+            case GEMINI -> tryGemini(metrics, summaryType, userMessage);
+            case LOCAL_STUB -> tryLocalStub(metrics, summaryType, userMessage);
+            case AUTO -> throw new IllegalStateException("AUTO is handled above");
         };
+        aiMetrics.recordOutcome(effectiveProvider, result.success() ? AiMetrics.Outcome.SUCCESS : AiMetrics.Outcome.ERROR);
+        return result;
     }
 
     /**
      * Tries OpenAI as the primary provider.
      */
-    private AiGenerationResult tryOpenAi(DailySummaryDTO metrics, SummaryType summaryType) {
+    private AiGenerationResult tryOpenAi(DailySummaryDTO metrics, SummaryType summaryType, String userMessage) {
         if (!openAiAdapter.isEnabled()) {
             return AiGenerationResult.failure(openAiAdapter.getUnavailableReason());
         }
 
-        Optional<String> result = openAiAdapter.generateSummary(metrics, summaryType);
+        Optional<String> result = openAiAdapter.generateSummary(metrics, summaryType, userMessage);
         if (result.isPresent()) {
             return AiGenerationResult.success(result.get(), openAiAdapter.getModel(), AiProvider.OPENAI);
         }
@@ -95,46 +114,68 @@ public class AiProviderSelector {
     /**
      * Tries Gemini as the primary provider.
      */
-    private AiGenerationResult tryGemini(DailySummaryDTO metrics, SummaryType summaryType) {
+    private AiGenerationResult tryGemini(DailySummaryDTO metrics, SummaryType summaryType, String userMessage) {
         if (!geminiAdapter.isEnabled()) {
             return AiGenerationResult.failure(geminiAdapter.getUnavailableReason());
         }
 
-        Optional<String> result = geminiAdapter.generateSummary(metrics, summaryType);
+        Optional<String> result = geminiAdapter.generateSummary(metrics, summaryType, userMessage);
         if (result.isPresent()) {
             return AiGenerationResult.success(result.get(), geminiAdapter.getModel(), AiProvider.GEMINI);
         }
         return AiGenerationResult.failure(geminiAdapter.getUnavailableReason());
     }
 
+    /**
+     * Tries the local stub provider. Never part of AUTO selection; it must be requested explicitly.
+     */
+    private AiGenerationResult tryLocalStub(DailySummaryDTO metrics, SummaryType summaryType, String userMessage) {
+        if (!localStubAdapter.isEnabled()) {
+            return AiGenerationResult.failure(localStubAdapter.getUnavailableReason());
+        }
+
+        Optional<String> result = localStubAdapter.generateSummary(metrics, summaryType, userMessage);
+        if (result.isPresent()) {
+            return AiGenerationResult.success(result.get(), localStubAdapter.getModel(), AiProvider.LOCAL_STUB);
+        }
+        return AiGenerationResult.failure(localStubAdapter.getUnavailableReason());
+    }
+
     /**
      * Automatically selects the best available provider.
      * Priority: OpenAI first, then Gemini as fallback.
      */
-    private AiGenerationResult tryAutoSelect(DailySummaryDTO metrics, SummaryType summaryType) {
+    private AiGenerationResult tryAutoSelect(DailySummaryDTO metrics, SummaryType summaryType, String userMessage) {
+        boolean openAiFailed = false;
+
         // Try OpenAI first if enabled
         if (openAiAdapter.isEnabled()) {
             log.debug("AUTO mode: Trying OpenAI first");
-            Optional<String> openAiResult = openAiAdapter.generateSummary(metrics, summaryType);
+            Optional<String> openAiResult = openAiAdapter.generateSummary(metrics, summaryType, userMessage);
             if (openAiResult.isPresent()) {
                 log.info("AUTO mode: OpenAI succeeded");
+                aiMetrics.recordOutcome(AiProvider.AUTO, AiMetrics.Outcome.SUCCESS);
                 return AiGenerationResult.success(openAiResult.get(), openAiAdapter.getModel(), AiProvider.OPENAI);
             }
             log.warn("AUTO mode: OpenAI failed, trying Gemini fallback");
+            openAiFailed = true;
         }
 
         // Try Gemini as fallback
         if (geminiAdapter.isEnabled()) {
             log.debug("AUTO mode: Trying Gemini");
-            Optional<String> geminiResult = geminiAdapter.generateSummary(metrics, summaryType);
+            Optional<String> geminiResult = geminiAdapter.generateSummary(metrics, summaryType, userMessage);
             if (geminiResult.isPresent()) {
                 log.info("AUTO mode: Gemini succeeded");
+                aiMetrics.recordOutcome(AiProvider.AUTO,
+                        openAiFailed ? AiMetrics.Outcome.FALLBACK : AiMetrics.Outcome.SUCCESS);
                 return AiGenerationResult.success(geminiResult.get(), geminiAdapter.getModel(), AiProvider.GEMINI);
             }
             log.warn("AUTO mode: Gemini also failed");
         }
 
         // Both failed
+        aiMetrics.recordOutcome(AiProvider.AUTO, AiMetrics.Outcome.ERROR);
         return AiGenerationResult.failure(getAggregatedUnavailableReason());
     }
 
@@ -160,6 +201,7 @@ public class AiProviderSelector {
         return switch (provider) {
             case OPENAI -> openAiAdapter.isEnabled();
             case GEMINI -> geminiAdapter.isEnabled();
+            case LOCAL_STUB -> localStubAdapter.isEnabled();
             case AUTO -> isAnyProviderAvailable();
         };
     }
@@ -185,12 +227,19 @@ public class AiProviderSelector {
 
     /**
      * Gets information about available providers for the API.
+     * The local stub is listed only while it is running.
      */
     public ProviderInfo[] getProviderInfo() {
         boolean globalEnabled = aiProperties.isEnabled();
+        ProviderInfo openAi = new ProviderInfo(AiProvider.OPENAI, globalEnabled && openAiAdapter.isEnabled(), openAiAdapter.getModel());
+        ProviderInfo gemini = new ProviderInfo(AiProvider.GEMINI, globalEnabled && geminiAdapter.isEnabled(), geminiAdapter.getModel());
+        if (!localStubAdapter.isEnabled()) {
+            return new ProviderInfo[]{openAi, gemini};
+        }
         return new ProviderInfo[]{
-                new ProviderInfo(AiProvider.OPENAI, globalEnabled && openAiAdapter.isEnabled(), openAiAdapter.getModel()),
-                new ProviderInfo(AiProvider.GEMINI, globalEnabled && geminiAdapter.isEnabled(), geminiAdapter.getModel())
+                openAi,
+                gemini,
+                new ProviderInfo(AiProvider.LOCAL_STUB, globalEnabled, localStubAdapter.getModel())
         };
     }
 
@@ -37,6 +37,7 @@ public class AiSummaryService {
     private final SummaryService summaryService;
     private final AiProviderSelector providerSelector;
     private final AiInsightCacheService cacheService;
+    private final BudgetedPromptBuilder promptBuilder;
     private final Clock clock;
 
     /**
@@ -47,6 +48,15 @@ public class AiSummaryService {
         return cacheService.getCachedInsight(user);
     }
 
+    /**
+     * Gets the stored AI insight for a user only if it matches the requested summary type.
+     * Lets callers serve reusable insights without entering the generation path.
+     */
+    public Optional<AiSummaryDTO> getCachedInsight(User user, SummaryType summaryType) {
+        return cacheService.getCachedInsight(user)
+                .filter(insight -> insight.summaryType() == summaryType);
+    }
+
     /**
      * Generates an AI-powered summary for the authenticated user using automatic provider selection.
      * Falls back to metrics-only if all AI providers are disabled or fail.
@@ -109,7 +119,9 @@ public class AiSummaryService {
             return AiSummaryDTO.fallback(today, summaryType, providerSelector.getAggregatedUnavailableReason(), metrics);
         }
 
-        AiProviderSelector.AiGenerationResult result = providerSelector.generateSummary(metrics, summaryType, provider);
+        String userMessage = promptBuilder.buildUserMessage(user, metrics, summaryType);
+        AiProviderSelector.AiGenerationResult result =
+                providerSelector.generateSummary(metrics, summaryType, provider, userMessage);
 
         if (result.success()) {
             log.info("AI summary generated successfully for user: {}, type: {}, provider: {}",
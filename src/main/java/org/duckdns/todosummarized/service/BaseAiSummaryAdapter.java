@@ -3,53 +3,119 @@ package org.duckdns.todosummarized.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
 
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract base class for AI summary adapters.
  * Provides common functionality for HTTP client lifecycle management,
- * validation, and summary generation flow.
+ * validation, and summary generation flow, both blocking and non-blocking.
  */
 @Slf4j
 public abstract class BaseAiSummaryAdapter {
 
     protected final ObjectMapper objectMapper;
     protected final AiSummaryMessageBuilder messageBuilder;
+    protected final AiHttpClientProperties httpProperties;
+    protected final AiMetrics aiMetrics;
     protected HttpClient httpClient;
+    private ExecutorService asyncExecutor;
+    private ScheduledExecutorService keepAliveScheduler;
 
-    protected BaseAiSummaryAdapter(ObjectMapper objectMapper, AiSummaryMessageBuilder messageBuilder) {
+    protected BaseAiSummaryAdapter(ObjectMapper objectMapper, AiSummaryMessageBuilder messageBuilder,
+                                   AiHttpClientProperties httpProperties, AiMetrics aiMetrics) {
         this.objectMapper = objectMapper;
         this.messageBuilder = messageBuilder;
+        this.httpProperties = httpProperties;
+        this.aiMetrics = aiMetrics;
     }
 
     /**
      * Initializes the shared HttpClient after dependency injection.
-     * Subclasses should call this in their @PostConstruct method.
+     * Optionally pre-warms the provider connection and schedules keep-alive requests.
      */
     @PostConstruct
     public void initHttpClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(getTimeoutSeconds()))
-                .build();
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(getTimeoutSeconds()));
+        if (httpProperties.getAsyncThreads() > 0) {
+            asyncExecutor = Executors.newFixedThreadPool(httpProperties.getAsyncThreads(),
+                    Thread.ofPlatform().name(getProviderName().toLowerCase() + "-http-", 0).daemon(true).factory());
+            builder.executor(asyncExecutor);
+        }
+        this.httpClient = builder.build();
         log.info("{} adapter initialized with model: {}, enabled: {}",
                 getProviderName(), getModel(), isEnabled());
+
+        if (isEnabled() && isApiKeyConfigured()) {
+            if (httpProperties.isPrewarm()) {
+                warmUp();
+            }
+            if (httpProperties.getKeepAliveSeconds() > 0) {
+                scheduleKeepAlive(httpProperties.getKeepAliveSeconds());
+            }
+        }
     }
 
     /**
-     * Closes the HttpClient when the bean is destroyed.
+     * Closes the HttpClient and its executors when the bean is destroyed.
      */
     @PreDestroy
     public void destroyHttpClient() {
+        if (keepAliveScheduler != null) {
+            keepAliveScheduler.shutdownNow();
+        }
         if (httpClient != null) {
             httpClient.close();
             log.info("{} adapter HttpClient closed", getProviderName());
         }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a pooled connection to the provider without waiting for the result.
+     * Any HTTP status counts as success since only the TLS and HTTP/2 setup matter.
+     */
+    public CompletableFuture<Void> warmUp() {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(getWarmUpUri())
+                .timeout(Duration.ofSeconds(getTimeoutSeconds()))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> log.debug("{} connection warm (status {})",
+                        getProviderName(), response.statusCode()))
+                .exceptionally(ex -> {
+                    log.warn("{} connection warm-up failed: {}", getProviderName(), ex.getMessage());
+                    return null;
+                });
+    }
+
+    private void scheduleKeepAlive(int intervalSeconds) {
+        keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(getProviderName().toLowerCase() + "-keepalive").daemon(true).factory());
+        keepAliveScheduler.scheduleWithFixedDelay(this::warmUp, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        log.info("{} keep-alive scheduled every {}s", getProviderName(), intervalSeconds);
     }
 
     /**
@@ -57,6 +123,14 @@ public abstract class BaseAiSummaryAdapter {
      * Returns empty Optional if AI is disabled or an error occurs.
      */
     public Optional<String> generateSummary(DailySummaryDTO metrics, SummaryType summaryType) {
+        return generateSummary(metrics, summaryType, null);
+    }
+
+    /**
+     * Generates an AI summary using a prebuilt user message.
+     * When the message is null, it is built from the aggregate metrics.
+     */
+    public Optional<String> generateSummary(DailySummaryDTO metrics, SummaryType summaryType, String userMessage) {
         if (!isEnabled()) {
             log.info("{} AI summary is disabled by configuration", getProviderName());
             return Optional.empty();
@@ -67,16 +141,106 @@ public abstract class BaseAiSummaryAdapter {
             return Optional.empty();
         }
 
+        Timer.Sample sample = aiMetrics.startProviderCall();
         try {
-            String userMessage = messageBuilder.buildUserMessage(metrics);
-            String response = callApi(summaryType.getPrompt(), userMessage);
+            String message = userMessage != null ? userMessage : messageBuilder.buildUserMessage(metrics);
+            String response = callApi(summaryType.getPrompt(), message);
+            aiMetrics.recordProviderCall(sample, getProviderName(), getModel(), true);
             return Optional.ofNullable(response);
         } catch (Exception e) {
+            aiMetrics.recordProviderCall(sample, getProviderName(), getModel(), false);
             log.error("Failed to generate {} AI summary: {}", getProviderName(), e.getMessage(), e);
             return Optional.empty();
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #generateSummary(DailySummaryDTO, SummaryType, String)}.
+     * The future never completes exceptionally; failures complete it with an empty Optional.
+     */
+    public CompletableFuture<Optional<String>> generateSummaryAsync(DailySummaryDTO metrics, SummaryType summaryType,
+                                                                   String userMessage) {
+        if (!isEnabled()) {
+            log.info("{} AI summary is disabled by configuration", getProviderName());
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        if (!isApiKeyConfigured()) {
+            log.warn("{} API key is not configured", getProviderName());
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        Timer.Sample sample = aiMetrics.startProviderCall();
+        try {
+            String message = userMessage != null ? userMessage : messageBuilder.buildUserMessage(metrics);
+            return callApiAsync(summaryType.getPrompt(), message)
+                    .thenApply(response -> {
+                        aiMetrics.recordProviderCall(sample, getProviderName(), getModel(), true);
+                        return Optional.ofNullable(response);
+                    })
+                    .exceptionally(ex -> {
+                        aiMetrics.recordProviderCall(sample, getProviderName(), getModel(), false);
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        log.error("Failed to generate {} AI summary: {}", getProviderName(), cause.getMessage(), cause);
+                        return Optional.empty();
+                    });
+        } catch (Exception e) {
+            aiMetrics.recordProviderCall(sample, getProviderName(), getModel(), false);
+            log.error("Failed to generate {} AI summary: {}", getProviderName(), e.getMessage(), e);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+
+    /**
+     * Calls the AI provider's API with the given prompts, blocking until the response arrives.
+     */
+    protected String callApi(String systemPrompt, String userMessage) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(buildRequest(systemPrompt, userMessage),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return handleResponse(response);
+    }
+
+    /**
+     * Calls the AI provider's API with the given prompts without blocking the caller.
+     */
+    protected CompletableFuture<String> callApiAsync(String systemPrompt, String userMessage) throws Exception {
+        return httpClient.sendAsync(buildRequest(systemPrompt, userMessage), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return handleResponse(response);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private String handleResponse(HttpResponse<byte[]> response) throws Exception {
+        if (response.statusCode() != 200) {
+            log.error("{} API error: status={}, body={}", getProviderName(), response.statusCode(),
+                    new String(response.body(), StandardCharsets.UTF_8));
+            throw new RuntimeException(getProviderName() + " API returned status " + response.statusCode());
+        }
+        Completion completion = parseResponse(response.body());
+        aiMetrics.recordTokens(getProviderName(), getModel(), completion.promptTokens(), completion.completionTokens());
+        return completion.content();
+    }
+
+    /**
+     * Parses a token count reported by a provider, returning zero when absent or malformed.
+     */
+    protected static long parseTokens(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Returns the reason why this AI provider is unavailable.
      */
@@ -126,8 +290,23 @@ public abstract class BaseAiSummaryAdapter {
     protected abstract int getTimeoutSeconds();
 
     /**
-     * Calls the AI provider's API with the given prompts.
+     * Returns a cheap endpoint on the provider's host used to open and keep connections warm.
+     */
+    protected abstract URI getWarmUpUri();
+
+    /**
+     * Builds the provider-specific HTTP request for the given prompts.
+     */
+    protected abstract HttpRequest buildRequest(String systemPrompt, String userMessage) throws Exception;
+
+    /**
+     * Extracts the generated content and token usage from a successful provider response body.
+     */
+    protected abstract Completion parseResponse(byte[] responseBody) throws Exception;
+
+    /**
+     * Generated content with the token usage the provider reported (zero when not reported).
      */
-    protected abstract String callApi(String systemPrompt, String userMessage) throws Exception;
+    protected record Completion(String content, long promptTokens, long completionTokens) {}
 }
 
@@ -0,0 +1,106 @@
+package org.duckdns.todosummarized.service;
+
+import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.TodoPromptProjection;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Builds AI user messages with task-level detail bounded by a per-{@link SummaryType} token budget.
+ * Starts from the aggregate metrics message and appends the most relevant todos
+ * (overdue, high priority, due soon) streamed from the database until the budget is spent.
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetedPromptBuilder {
+
+    static final String TASKS_HEADER = "\nMost relevant tasks:\n";
+    static final String TRUNCATED_NOTE = "  (more tasks omitted)\n";
+
+    private static final int MAX_TITLE_LENGTH = 120;
+    private static final int DUE_SOON_DAYS = 3;
+    private static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+    private static final Set<TaskPriority> URGENT_PRIORITIES = EnumSet.of(TaskPriority.HIGH, TaskPriority.CRITICAL);
+
+    private final AiSummaryMessageBuilder messageBuilder;
+    private final TokenEstimator tokenEstimator;
+    private final TodoRepository todoRepository;
+    private final Clock clock;
+
+    /**
+     * Builds the user message for the given user and summary type.
+     * Summary types with a zero budget receive the aggregate metrics only.
+     */
+    @Transactional(readOnly = true)
+    public String buildUserMessage(User user, DailySummaryDTO metrics, SummaryType summaryType) {
+        String base = messageBuilder.buildUserMessage(metrics);
+        int budget = summaryType.getTaskTokenBudget();
+        if (budget <= 0 || metrics.totalTodos() == 0) {
+            return base;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        StringBuilder sb = new StringBuilder(base).append(TASKS_HEADER);
+        int remaining = budget - tokenEstimator.estimate(TASKS_HEADER) - tokenEstimator.estimate(TRUNCATED_NOTE);
+        int included = 0;
+
+        try (Stream<TodoPromptProjection> todos = todoRepository.streamByRelevance(
+                user, now, now.plusDays(DUE_SOON_DAYS), TaskStatus.CANCELLED, CLOSED_STATUSES, URGENT_PRIORITIES)) {
+
+            Iterator<TodoPromptProjection> it = todos.iterator();
+            while (it.hasNext()) {
+                String line = formatLine(it.next(), now);
+                int cost = tokenEstimator.estimate(line);
+                if (cost > remaining) {
+                    sb.append(TRUNCATED_NOTE);
+                    break;
+                }
+                sb.append(line);
+                remaining -= cost;
+                included++;
+            }
+        }
+
+        return included == 0 ? base : sb.toString();
+    }
+
+    /**
+     * Formats a single todo as a compact prompt line.
+     */
+    private static String formatLine(TodoPromptProjection todo, LocalDateTime now) {
+        StringBuilder line = new StringBuilder("  - [")
+                .append(todo.getStatus()).append('/').append(todo.getPriority()).append("] ")
+                .append(truncate(todo.getTitle()));
+
+        LocalDateTime due = todo.getDueDate();
+        if (due != null) {
+            line.append(" (due ").append(due.toLocalDate());
+            if (due.isBefore(now) && !CLOSED_STATUSES.contains(todo.getStatus())) {
+                line.append(", overdue");
+            }
+            line.append(')');
+        }
+        return line.append('\n').toString();
+    }
+
+    private static String truncate(String title) {
+        if (title == null) {
+            return "";
+        }
+        String trimmed = title.strip();
+        return trimmed.length() <= MAX_TITLE_LENGTH ? trimmed : trimmed.substring(0, MAX_TITLE_LENGTH - 3) + "...";
+    }
+}
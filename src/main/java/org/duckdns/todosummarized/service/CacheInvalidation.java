@@ -0,0 +1,81 @@
+package org.duckdns.todosummarized.service;
+
+import java.util.UUID;
+
+/**
+ * A cache eviction that must be applied on every node.
+ * Published as a Spring application event when received from another node, so caches
+ * handle it with an {@code @EventListener} instead of the bus depending on every cache.
+ */
+public record CacheInvalidation(Kind kind, String key) {
+
+    private static final CacheInvalidation ALL = new CacheInvalidation(Kind.ALL, "");
+
+    /**
+     * What the key identifies.
+     */
+    public enum Kind {
+        /** A user cached by normalized email. */
+        USER('U'),
+        /** Every cached todo page of the user with this ID. */
+        TODOS('T'),
+        /** An AI insight cache key. */
+        INSIGHT('I'),
+        /** The id ({@code jti}) of a revoked token. */
+        TOKEN('R'),
+        /** Every cache entry; sent when evictions may have been lost. */
+        ALL('*');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind fromCode(char code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind: " + code);
+        }
+    }
+
+    public static CacheInvalidation user(String normalizedEmail) {
+        return new CacheInvalidation(Kind.USER, normalizedEmail);
+    }
+
+    public static CacheInvalidation todos(UUID userId) {
+        return new CacheInvalidation(Kind.TODOS, userId.toString());
+    }
+
+    public static CacheInvalidation insight(String cacheKey) {
+        return new CacheInvalidation(Kind.INSIGHT, cacheKey);
+    }
+
+    public static CacheInvalidation token(String tokenId) {
+        return new CacheInvalidation(Kind.TOKEN, tokenId);
+    }
+
+    public static CacheInvalidation all() {
+        return ALL;
+    }
+
+    /**
+     * Compact wire form, e.g. {@code T:6f1c...}.
+     */
+    String encode() {
+        return kind == Kind.ALL ? "*" : kind.code + ":" + key;
+    }
+
+    static CacheInvalidation decode(String message) {
+        if ("*".equals(message)) {
+            return ALL;
+        }
+        if (message.length() < 2 || message.charAt(1) != ':') {
+            throw new IllegalArgumentException("Malformed invalidation: " + message);
+        }
+        return new CacheInvalidation(Kind.fromCode(message.charAt(0)), message.substring(2));
+    }
+}
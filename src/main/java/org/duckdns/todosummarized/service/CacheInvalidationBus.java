@@ -0,0 +1,271 @@
+package org.duckdns.todosummarized.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.CacheSyncProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the per-node Caffeine caches coherent across instances using PostgreSQL LISTEN/NOTIFY.
+ * Local evictions are queued by {@link #publish}, collected for a short window, deduplicated and
+ * sent as a few NOTIFY payloads. Evictions received from other nodes are re-published locally as
+ * {@link CacheInvalidation} application events. A single daemon thread owns one dedicated connection
+ * for both directions. After a connection loss every local cache is cleared, since notifications
+ * sent in the meantime are gone.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final CacheSyncProperties properties;
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 13);
+
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile boolean resyncRequired;
+
+    private volatile boolean running;
+    private Thread listener;
+    private Connection connection;
+
+    public CacheInvalidationBus(CacheSyncProperties properties, DataSource dataSource,
+                                ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!CHANNEL_NAME.matcher(properties.getChannel()).matches()) {
+            throw new IllegalStateException("Invalid cache sync channel name: " + properties.getChannel());
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cache-sync").daemon(true).start(this::run);
+        log.info("Cache invalidation bus started on channel '{}' as node {}", properties.getChannel(), nodeId);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (listener != null) {
+            running = false;
+            listener.join(properties.getBatchWindowMillis() + 5000);
+            listener = null;
+        }
+    }
+
+    /**
+     * Queues an eviction for the other nodes. Inside a transaction it is queued only after commit,
+     * so a rolled-back write never makes other nodes drop valid entries. No-op when sync is disabled.
+     */
+    public void publish(CacheInvalidation invalidation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(invalidation);
+                }
+            });
+        } else {
+            enqueue(invalidation);
+        }
+    }
+
+    private void enqueue(CacheInvalidation invalidation) {
+        if (pendingCount.incrementAndGet() > properties.getMaxPending()) {
+            pendingCount.decrementAndGet();
+            resyncRequired = true;
+            return;
+        }
+        pending.add(invalidation.encode());
+    }
+
+    /**
+     * Drains the queue into NOTIFY payloads: the sender's node ID followed by one eviction per line.
+     */
+    List<String> drainPayloads() {
+        Set<String> messages = new LinkedHashSet<>();
+        String message;
+        while ((message = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            messages.add(message);
+        }
+        if (resyncRequired) {
+            resyncRequired = false;
+            messages = Set.of(CacheInvalidation.all().encode());
+        }
+        return toPayloads(nodeId, messages, properties.getMaxPayloadBytes());
+    }
+
+    static List<String> toPayloads(String nodeId, Collection<String> messages, int maxPayloadBytes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        int headerBytes = nodeId.length();
+        int bytes = headerBytes;
+
+        for (String message : messages) {
+            int messageBytes = 1 + message.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > headerBytes && bytes + messageBytes > maxPayloadBytes) {
+                payloads.add(payload.toString());
+                payload.setLength(headerBytes);
+                bytes = headerBytes;
+            }
+            payload.append('\n').append(message);
+            bytes += messageBytes;
+        }
+        if (bytes > headerBytes) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Applies a payload received on the channel, ignoring the ones this node sent.
+     */
+    void receive(String payload) {
+        int newline = payload.indexOf('\n');
+        if (newline < 0 || nodeId.equals(payload.substring(0, newline))) {
+            return;
+        }
+        for (String message : payload.substring(newline + 1).split("\n")) {
+            try {
+                eventPublisher.publishEvent(CacheInvalidation.decode(message));
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply cache invalidation '{}': {}", message, e.getMessage());
+            }
+        }
+    }
+
+    private void run() {
+        long backoff = properties.getReconnectBackoffMillis();
+        boolean reconnecting = false;
+
+        while (running) {
+            try {
+                PGConnection pgConnection = connect();
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected, clearing local caches");
+                    eventPublisher.publishEvent(CacheInvalidation.all());
+                }
+                reconnecting = false;
+                backoff = properties.getReconnectBackoffMillis();
+
+                while (running) {
+                    flush();
+                    PGNotification[] notifications = pgConnection.getNotifications((int) properties.getBatchWindowMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+                flush();
+            } catch (SQLException e) {
+                closeConnection();
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation connection failed, retrying in {} ms: {}", backoff, e.getMessage());
+                reconnecting = true;
+                if (!sleep(backoff)) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } catch (IllegalStateException e) {
+                log.error("Cache invalidation bus disabled: {}", e.getMessage());
+                running = false;
+            }
+        }
+        closeConnection();
+    }
+
+    private PGConnection connect() throws SQLException {
+        connection = dataSource.getConnection();
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            closeConnection();
+            throw new IllegalStateException("cache sync requires a PostgreSQL datasource");
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + properties.getChannel());
+        }
+        return connection.unwrap(PGConnection.class);
+    }
+
+    private void flush() throws SQLException {
+        List<String> payloads = drainPayloads();
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, properties.getChannel());
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            // Other nodes may have missed some of these evictions
+            resyncRequired = true;
+            throw e;
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try (Connection toClose = connection) {
+            if (!toClose.isClosed()) {
+                try (Statement statement = toClose.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Error closing cache invalidation connection: {}", e.getMessage());
+        }
+        connection = null;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
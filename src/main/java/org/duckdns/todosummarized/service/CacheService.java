@@ -1,14 +1,17 @@
 package org.duckdns.todosummarized.service;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.L2Cache;
+import org.duckdns.todosummarized.cache.TodoSearchKey;
 import org.duckdns.todosummarized.domains.entity.Todo;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.repository.TodoQuery;
 import org.duckdns.todosummarized.repository.TodoRepository;
-import org.duckdns.todosummarized.repository.UserRepository;
 import org.duckdns.todosummarized.repository.spec.TodoSpecs;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.Clock;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Unified caching service with for Users and Todos.
@@ -26,117 +30,121 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CacheService {
 
-    private final Cache<String, User> userCache;
-    private final Cache<String, Page<Todo>> todoSearchCache;
-    private final UserRepository userRepository;
+    private final LoadingCache<String, User> userCache;
+    private final L2Cache<User> userL2Cache;
+    private final Cache<TodoSearchKey, Page<Todo>> todoSearchCache;
+    private final Cache<UUID, Long> todoGenerationCache;
     private final TodoRepository todoRepository;
     private final Clock clock;
+    private final CacheInvalidationBus invalidationBus;
+    private final VerifiedTokenCacheService verifiedTokenCacheService;
+
+    /**
+     * Source of todo cache generations. Global rather than per user so a value is never reused,
+     * even after a user's generation entry expires.
+     */
+    private final AtomicLong generationSequence = new AtomicLong();
 
     /**
      * Get a user by email with cache lookup.
-     * Falls back to database if not in cache.
+     * Misses load through {@link org.duckdns.todosummarized.cache.UserCacheLoader}; stale entries are
+     * refreshed in the background while the cached value keeps being served.
      */
     public Optional<User> findUserByEmail(String email) {
         if (email == null) {
             return Optional.empty();
         }
 
-        String normalizedEmail = email.toLowerCase();
-
-        User cachedUser = userCache.getIfPresent(normalizedEmail);
-        if (cachedUser != null) {
-            log.info("USER CACHE HIT: {} (no database query)", normalizedEmail);
-            return Optional.of(cachedUser);
-        }
-
-        log.info("USER CACHE MISS: {} (fetching from database)", normalizedEmail);
-        Optional<User> userOpt = userRepository.findByEmail(normalizedEmail);
-        userOpt.ifPresent(user -> userCache.put(normalizedEmail, user));
-
-        return userOpt;
+        return Optional.ofNullable(userCache.get(email.toLowerCase()));
     }
 
     /**
-     * Put a user into the cache.
+     * Put a user into the local and shared caches.
      */
     public void putUser(User user) {
         if (user != null && user.getEmail() != null) {
-            userCache.put(user.getEmail().toLowerCase(), user);
+            String normalizedEmail = user.getEmail().toLowerCase();
+            userCache.put(normalizedEmail, user);
+            userL2Cache.put(normalizedEmail, user);
             log.debug("Cached user: {}", user.getEmail());
         }
     }
 
     /**
-     * Invalidate a user from cache.
+     * Invalidate a user from cache on this and every other node.
+     * Also forgets the user's verified tokens, so the change applies to their next request.
      */
     public void evictUser(String email) {
         if (email != null) {
-            userCache.invalidate(email.toLowerCase());
+            String normalizedEmail = email.toLowerCase();
+            userCache.invalidate(normalizedEmail);
+            userL2Cache.evict(normalizedEmail);
+            verifiedTokenCacheService.evictUser(normalizedEmail);
+            invalidationBus.publish(CacheInvalidation.user(normalizedEmail));
             log.debug("Evicted user from cache: {}", email);
         }
     }
 
     /**
      * Search todos with cache lookup.
-     * Falls back to database if not in cache.
+     * Falls back to database if not in cache; concurrent misses for the same page share one query.
      */
     public Page<Todo> searchTodos(TodoQuery query, Pageable pageable, User user) {
-        String cacheKey = buildTodoCacheKey(user.getId(), query, pageable);
-
-        Page<Todo> cachedResult = todoSearchCache.getIfPresent(cacheKey);
-        if (cachedResult != null) {
-            log.info("TODO CACHE HIT: {} (no database query)", cacheKey);
-            return cachedResult;
-        }
+        TodoSearchKey cacheKey = TodoSearchKey.of(user.getId(), currentGeneration(user.getId()), query, pageable);
 
-        log.info("TODO CACHE MISS: {} (fetching from database)", cacheKey);
-        Page<Todo> result = todoRepository.findAll(
-                TodoSpecs.byQueryAndUser(query, clock, user),
-                pageable
-        );
-        todoSearchCache.put(cacheKey, result);
-
-        return result;
+        return todoSearchCache.get(cacheKey, key -> {
+            log.debug("Todo search {} loaded from database", key);
+            return todoRepository.findAll(TodoSpecs.byQueryAndUser(query, clock, user), pageable);
+        });
     }
 
     /**
-     * Invalidate all cached todos for a specific user.
+     * Invalidate all cached todos for a specific user on this and every other node.
      * Call this when any todo is created, updated, or deleted.
      */
     public void evictTodosByUser(UUID userId) {
         if (userId != null) {
-            todoSearchCache.asMap().keySet().removeIf(key -> key.startsWith(userId.toString()));
-            log.info("TODO CACHE EVICTED: all entries for user {}", userId);
+            evictTodosLocally(userId);
+            invalidationBus.publish(CacheInvalidation.todos(userId));
         }
     }
 
     /**
-     * Clear all caches.
+     * Applies an eviction received from another node.
      */
-    public void clearAll() {
-        userCache.invalidateAll();
-        todoSearchCache.invalidateAll();
-        log.info("ALL CACHES CLEARED");
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case USER -> userCache.invalidate(invalidation.key());
+            case TODOS -> evictTodosLocally(UUID.fromString(invalidation.key()));
+            case ALL -> clearAll();
+            case INSIGHT, TOKEN -> {
+                // Owned by AiInsightCacheService and VerifiedTokenCacheService
+            }
+        }
     }
 
     /**
-     * Get cache statistics for monitoring.
+     * Moves the user to a fresh generation; pages cached under the old one are no longer reachable.
+     * A search that started before the bump stores its page under the old generation, so it cannot
+     * resurrect pre-write results either.
      */
-    public String getStats() {
-        return String.format("UserCache: %s | TodoCache: %s",
-                userCache.stats().toString(),
-                todoSearchCache.stats().toString());
+    private void evictTodosLocally(UUID userId) {
+        todoGenerationCache.put(userId, generationSequence.incrementAndGet());
+        log.debug("Todo cache evicted for user {}", userId);
     }
 
-    private String buildTodoCacheKey(UUID userId, TodoQuery query, Pageable pageable) {
-        return String.format("%s|%s|%s|%d|%d|%s",
-                userId,
-                query.status(),
-                query.priority(),
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                pageable.getSort().toString()
-        );
+    private long currentGeneration(UUID userId) {
+        Long generation = todoGenerationCache.getIfPresent(userId);
+        return generation == null ? 0L : generation;
     }
-}
 
+    /**
+     * Clear all caches on this node.
+     */
+    public void clearAll() {
+        userCache.invalidateAll();
+        todoSearchCache.invalidateAll();
+        log.info("ALL CACHES CLEARED");
+    }
+}
@@ -0,0 +1,53 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.dto.CacheStatsDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reports hit rates, evictions and memory use of every Caffeine cache bean.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    /**
+     * All Caffeine cache beans, keyed by bean name.
+     */
+    private final Map<String, Cache<?, ?>> caches;
+
+    /**
+     * Returns statistics for every cache, ordered by name.
+     */
+    public List<CacheStatsDTO> getStats() {
+        return caches.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static CacheStatsDTO toDTO(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Optional<? extends Policy.Eviction<?, ?>> eviction = cache.policy().eviction();
+        boolean weighted = eviction.map(Policy.Eviction::isWeighted).orElse(false);
+
+        return CacheStatsDTO.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .weightedSizeBytes(weighted ? eviction.get().weightedSize().orElse(0) : null)
+                .maximumWeightBytes(weighted ? eviction.get().getMaximum() : null)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .build();
+    }
+}
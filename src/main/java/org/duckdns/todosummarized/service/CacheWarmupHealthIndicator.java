@@ -0,0 +1,27 @@
+package org.duckdns.todosummarized.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE while startup cache warm-up is still running.
+ * Included in the readiness group, so load balancers only route traffic to warm nodes. Like every
+ * indicator it also counts towards the root {@code /actuator/health} status, which therefore answers
+ * 503 during warm-up; container health checks use {@code /actuator/health/liveness}, which leaves it out.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        if (cacheWarmupService.isComplete()) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("reason", "cache warm-up in progress").build();
+    }
+}
@@ -0,0 +1,170 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.CacheWarmupProperties;
+import org.duckdns.todosummarized.domains.entity.Todo;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.dto.TodoMapper;
+import org.duckdns.todosummarized.dto.TodoResponseDTO;
+import org.duckdns.todosummarized.repository.TodoQuery;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preloads the in-process caches after startup so the first requests after a deploy do not all miss.
+ * Recently active users are warmed with bounded parallelism: the user itself, their first unfiltered
+ * todo page and their stored AI insight. The request hot paths are then exercised a number of times
+ * so they are JIT-compiled before real traffic arrives. Readiness is held back by
+ * {@link CacheWarmupHealthIndicator} until warm-up finishes or the deadline passes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheWarmupService {
+
+    private static final TodoQuery FIRST_PAGE_QUERY = new TodoQuery(null, null, null, null, null, null);
+
+    private final CacheWarmupProperties properties;
+    private final UserRepository userRepository;
+    private final TodoRepository todoRepository;
+    private final CacheService cacheService;
+    private final TodoService todoService;
+    private final AiInsightCacheService aiInsightCacheService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private volatile boolean complete;
+    private volatile Instant deadline;
+
+    /**
+     * Starts warm-up in the background once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            complete = true;
+            return;
+        }
+        startDeadline();
+        Thread.ofPlatform().name("cache-warmup").daemon(true).start(this::warmUp);
+    }
+
+    /**
+     * Whether warm-up has finished, was skipped, or ran past its deadline.
+     */
+    public boolean isComplete() {
+        Instant currentDeadline = deadline;
+        return complete || (currentDeadline != null && !clock.instant().isBefore(currentDeadline));
+    }
+
+    void startDeadline() {
+        deadline = clock.instant().plusSeconds(properties.getDeadlineSeconds());
+    }
+
+    void warmUp() {
+        long started = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()),
+                Thread.ofPlatform().name("cache-warmup-", 0).daemon(true).factory());
+        try {
+            List<User> users = findRecentlyActiveUsers();
+            List<Callable<Void>> tasks = users.stream()
+                    .map(user -> (Callable<Void>) () -> {
+                        warmUser(user);
+                        return null;
+                    })
+                    .toList();
+            int warmed = countWarmed(pool.invokeAll(tasks, remainingNanos(), TimeUnit.NANOSECONDS));
+            int iterations = users.isEmpty() ? 0 : warmHotPaths(users.getFirst());
+            log.info("Cache warm-up finished in {} ms: {}/{} users preloaded, {} hot path iterations",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), warmed, users.size(), iterations);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Cache warm-up interrupted");
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed, continuing with cold caches: {}", e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            complete = true;
+        }
+    }
+
+    private List<User> findRecentlyActiveUsers() {
+        LocalDateTime since = LocalDateTime.now(clock).minusDays(properties.getActiveWithinDays());
+        List<UUID> ids = todoRepository.findRecentlyActiveUserIds(since, PageRequest.of(0, properties.getMaxUsers()));
+        return ids.isEmpty() ? List.of() : userRepository.findAllById(ids);
+    }
+
+    private void warmUser(User user) {
+        cacheService.putUser(user);
+        todoService.search(FIRST_PAGE_QUERY, firstPage(), user);
+        aiInsightCacheService.preloadInsight(user);
+    }
+
+    /**
+     * Runs what an authenticated search request does, minus HTTP: token issue and check, cached user
+     * and page lookups, mapping and serialization. Stops early at the deadline.
+     */
+    private int warmHotPaths(User user) {
+        int iterations = 0;
+        try {
+            for (; iterations < properties.getJitIterations() && remainingNanos() > 0; iterations++) {
+                String token = jwtService.generateAccessToken(user);
+                jwtService.isTokenValid(token, user);
+                cacheService.findUserByEmail(user.getEmail());
+                Page<Todo> page = todoService.search(FIRST_PAGE_QUERY, firstPage(), user);
+                List<TodoResponseDTO> body = page.getContent().stream().map(TodoMapper::toResponseDTO).toList();
+                objectMapper.writeValueAsBytes(body);
+            }
+        } catch (JsonProcessingException e) {
+            log.debug("Hot path warm-up stopped: {}", e.getMessage());
+        }
+        return iterations;
+    }
+
+    private Pageable firstPage() {
+        return PageRequest.of(0, properties.getPageSize());
+    }
+
+    private long remainingNanos() {
+        return Math.max(0, Duration.between(clock.instant(), deadline).toNanos());
+    }
+
+    private static int countWarmed(List<Future<Void>> results) throws InterruptedException {
+        int warmed = 0;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+                warmed++;
+            } catch (CancellationException e) {
+                // Still running at the deadline
+            } catch (ExecutionException e) {
+                log.debug("Warm-up of one user failed: {}", e.getCause().getMessage());
+            }
+        }
+        return warmed;
+    }
+}
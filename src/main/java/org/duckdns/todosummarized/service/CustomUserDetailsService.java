@@ -1,25 +1,42 @@
 package org.duckdns.todosummarized.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
- * Spring Security adapter responsible for loading users by email.
+ * Spring Security adapter responsible for loading users by email and storing rehashed passwords.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final String USER_NOT_FOUND = "User not found with email: ";
 
     private final CacheService cacheService;
+    private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) {
         return cacheService.findUserByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException(USER_NOT_FOUND + email));
     }
+
+    /**
+     * Stores a password rehashed at the configured strength after a successful sign-in.
+     * Only the hash changes, so tokens already issued stay valid.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        cacheService.evictUser(user.getUsername());
+        log.info("Rehashed password of user {} at the configured strength", user.getUsername());
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -1,14 +1,14 @@
 package org.duckdns.todosummarized.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
 import org.duckdns.todosummarized.config.GeminiProperties;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -22,14 +22,22 @@ import java.util.Map;
 @Service
 public class GeminiSummaryAdapter extends BaseAiSummaryAdapter {
 
-    private static final String GEMINI_API_BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models/";
+    private static final String DEFAULT_BASE_URL = "https://generativelanguage.googleapis.com/v1beta";
     private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String PROMPT_PLACEHOLDER = "${prompt}";
+    private static final JsonContentExtractor RESPONSE_EXTRACTOR = new JsonContentExtractor(new JsonFactory(),
+            new String[]{"candidates", "content", "parts", "text"},
+            new String[]{"usageMetadata", "promptTokenCount"},
+            new String[]{"usageMetadata", "candidatesTokenCount"});
 
     private final GeminiProperties geminiProperties;
+    private volatile JsonRequestTemplate requestTemplate;
+    private volatile URI apiUri;
 
     public GeminiSummaryAdapter(GeminiProperties geminiProperties, ObjectMapper objectMapper,
-                                 AiSummaryMessageBuilder messageBuilder) {
-        super(objectMapper, messageBuilder);
+                                 AiSummaryMessageBuilder messageBuilder, AiHttpClientProperties httpProperties,
+                                AiMetrics aiMetrics) {
+        super(objectMapper, messageBuilder, httpProperties, aiMetrics);
         this.geminiProperties = geminiProperties;
     }
 
@@ -59,67 +67,78 @@ public class GeminiSummaryAdapter extends BaseAiSummaryAdapter {
     }
 
     @Override
-    protected String callApi(String systemPrompt, String userMessage) throws Exception {
+    protected URI getWarmUpUri() {
+        return URI.create(baseUrl() + "/models");
+    }
+
+    @Override
+    protected HttpRequest buildRequest(String systemPrompt, String userMessage) throws Exception {
         Duration requestTimeout = Duration.ofSeconds(geminiProperties.getTimeoutSeconds());
 
         // Gemini API uses a different structure than OpenAI
         // Combine system prompt and user message into content parts
         String combinedPrompt = messageBuilder.combinedPrompt(systemPrompt, userMessage);
 
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of(
-                                "parts", List.of(
-                                        Map.of("text", combinedPrompt)
-                                )
-                        )
-                ),
-                "generationConfig", Map.of(
-                        "maxOutputTokens", geminiProperties.getMaxTokens(),
-                        "temperature", geminiProperties.getTemperature()
-                )
-        );
-
-        String jsonBody = objectMapper.writeValueAsString(requestBody);
-
-        // Gemini API URL format: https://generativelanguage.googleapis.com/v1beta/models/{model}:generateContent?key={API_KEY}
-        String apiUrl = GEMINI_API_BASE_URL + geminiProperties.getModel() + ":generateContent?key=" + geminiProperties.getApiKey();
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(apiUrl))
+        return HttpRequest.newBuilder()
+                .uri(apiUri())
                 .header("Content-Type", CONTENT_TYPE_JSON)
                 .timeout(requestTimeout)
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestTemplate().render(combinedPrompt)))
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() != 200) {
-            log.error("Gemini API error: status={}, body={}", response.statusCode(), response.body());
-            throw new RuntimeException("Gemini API returned status " + response.statusCode());
+    /**
+     * Parses the Gemini API response and extracts the generated content.
+     */
+    @Override
+    protected Completion parseResponse(byte[] responseBody) throws Exception {
+        String[] values = RESPONSE_EXTRACTOR.extractAll(responseBody);
+        if (values[0] == null) {
+            throw new RuntimeException("Unexpected Gemini response format");
         }
+        return new Completion(values[0], parseTokens(values[1]), parseTokens(values[2]));
+    }
 
-        return parseGeminiResponse(response.body());
+    private String baseUrl() {
+        String baseUrl = geminiProperties.getBaseUrl();
+        return baseUrl == null || baseUrl.isBlank() ? DEFAULT_BASE_URL : baseUrl;
     }
 
     /**
-     * Parses the Gemini API response and extracts the generated content.
+     * Builds the endpoint URI once.
+     * Gemini API URL format: https://generativelanguage.googleapis.com/v1beta/models/{model}:generateContent?key={API_KEY}
+     */
+    private URI apiUri() {
+        URI uri = apiUri;
+        if (uri == null) {
+            uri = URI.create(baseUrl() + "/models/" + geminiProperties.getModel() + ":generateContent?key=" + geminiProperties.getApiKey());
+            apiUri = uri;
+        }
+        return uri;
+    }
+
+    /**
+     * Compiles the request body once; generation settings are fixed after startup.
      */
-    private String parseGeminiResponse(String responseBody) throws Exception {
-        JsonNode root = objectMapper.readTree(responseBody);
-        JsonNode candidates = root.get("candidates");
-        if (candidates != null && candidates.isArray() && !candidates.isEmpty()) {
-            JsonNode content = candidates.get(0).get("content");
-            if (content != null) {
-                JsonNode parts = content.get("parts");
-                if (parts != null && parts.isArray() && !parts.isEmpty()) {
-                    JsonNode text = parts.get(0).get("text");
-                    if (text != null) {
-                        return text.asText();
-                    }
-                }
-            }
+    private JsonRequestTemplate requestTemplate() throws Exception {
+        JsonRequestTemplate template = requestTemplate;
+        if (template == null) {
+            Map<String, Object> requestBody = Map.of(
+                    "contents", List.of(
+                            Map.of(
+                                    "parts", List.of(
+                                            Map.of("text", PROMPT_PLACEHOLDER)
+                                    )
+                            )
+                    ),
+                    "generationConfig", Map.of(
+                            "maxOutputTokens", geminiProperties.getMaxTokens(),
+                            "temperature", geminiProperties.getTemperature()
+                    )
+            );
+            template = JsonRequestTemplate.compile(objectMapper, requestBody, PROMPT_PLACEHOLDER);
+            requestTemplate = template;
         }
-        throw new RuntimeException("Unexpected Gemini response format");
+        return template;
     }
 }
@@ -0,0 +1,58 @@
+package org.duckdns.todosummarized.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Runs scheduled jobs that every node schedules on one node at a time, under a PostgreSQL session
+ * advisory lock. The lock lives on a connection held for the length of the job, so it is released
+ * when the job ends or, if the node dies, when the database drops the connection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private final DataSource dataSource;
+
+    /**
+     * Runs the task unless another node holds the named lock. The run is skipped, not queued, so
+     * tasks must tolerate running on whichever node wins.
+     *
+     * @return whether the task ran here
+     */
+    public boolean runExclusively(String lockName, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!call(connection, "select pg_try_advisory_lock(hashtext(?))", lockName)) {
+                log.debug("Skipping job '{}': another node holds its lock", lockName);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                // Pooled connections outlive this call, so the session lock must be released explicitly
+                call(connection, "select pg_advisory_unlock(hashtext(?))", lockName);
+            }
+        } catch (SQLException e) {
+            log.warn("Job lock '{}' failed: {}", lockName, e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, lockName);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
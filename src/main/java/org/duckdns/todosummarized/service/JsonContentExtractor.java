@@ -0,0 +1,119 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Pulls scalar values out of a JSON document with the streaming parser instead of building a tree.
+ * Each path lists field names from the root; arrays met along the way are entered at their first element,
+ * and every field not on a path is skipped without being materialized. All paths are read in one pass.
+ */
+public final class JsonContentExtractor {
+
+    private final JsonFactory jsonFactory;
+    private final String[][] paths;
+
+    public JsonContentExtractor(JsonFactory jsonFactory, String... path) {
+        this(jsonFactory, new String[][]{path});
+    }
+
+    public JsonContentExtractor(JsonFactory jsonFactory, String[]... paths) {
+        if (paths.length == 0 || paths.length > Long.SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + Long.SIZE + " paths are supported");
+        }
+        for (String[] path : paths) {
+            if (path.length == 0) {
+                throw new IllegalArgumentException("Path must not be empty");
+            }
+        }
+        this.jsonFactory = jsonFactory;
+        this.paths = paths.clone();
+    }
+
+    /**
+     * Returns the string at the first path, or null if the document does not contain it.
+     */
+    public String extract(byte[] json) throws IOException {
+        return extractAll(json)[0];
+    }
+
+    /**
+     * Returns the scalar text at each path, in path order, with null for paths the document does not contain.
+     */
+    public String[] extractAll(byte[] json) throws IOException {
+        String[] values = new String[paths.length];
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                long all = paths.length == Long.SIZE ? -1L : (1L << paths.length) - 1;
+                walk(parser, 0, all, values);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Consumes the current object, following only the paths whose bits are set in the active mask.
+     */
+    private void walk(JsonParser parser, int depth, long active, String[] values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            long matching = matching(active, depth, parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (matching == 0) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (value != JsonToken.START_ARRAY) {
+                visit(parser, depth, matching, value, values);
+                continue;
+            }
+            // Follow the first element only, then skip the rest of the array
+            value = parser.nextToken();
+            if (value == JsonToken.END_ARRAY) {
+                continue;
+            }
+            visit(parser, depth, matching, value, values);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Handles the value of a matched field: records paths that end here and descends for the rest.
+     */
+    private void visit(JsonParser parser, int depth, long matching, JsonToken value, String[] values) throws IOException {
+        long continuing = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if ((matching & (1L << i)) == 0) {
+                continue;
+            }
+            if (paths[i].length == depth + 1) {
+                if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    values[i] = parser.getText();
+                }
+            } else {
+                continuing |= 1L << i;
+            }
+        }
+
+        if (value == JsonToken.START_OBJECT && continuing != 0) {
+            walk(parser, depth + 1, continuing, values);
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private long matching(long active, int depth, String name) {
+        long matching = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if ((active & (1L << i)) != 0 && paths[i].length > depth && paths[i][depth].equals(name)) {
+                matching |= 1L << i;
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,149 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body serialized once with placeholder strings, then rendered by splicing escaped values
+ * into the precomputed UTF-8 segments. Rendering allocates nothing but the result array.
+ */
+public final class JsonRequestTemplate {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] segments;
+
+    private JsonRequestTemplate(byte[][] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Serializes the body and splits it at each placeholder string value, in the given order.
+     * Each placeholder must appear exactly once in the serialized body.
+     */
+    public static JsonRequestTemplate compile(ObjectMapper objectMapper, Object body, String... placeholders)
+            throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(body);
+        List<byte[]> segments = new ArrayList<>(placeholders.length + 1);
+        int from = 0;
+        for (String placeholder : placeholders) {
+            String quoted = "\"" + placeholder + "\"";
+            int at = json.indexOf(quoted, from);
+            if (at < 0 || json.indexOf(quoted, at + quoted.length()) >= 0) {
+                throw new IllegalArgumentException("Placeholder must appear exactly once: " + placeholder);
+            }
+            segments.add(json.substring(from, at + 1).getBytes(StandardCharsets.UTF_8));
+            from = at + quoted.length() - 1;
+        }
+        segments.add(json.substring(from).getBytes(StandardCharsets.UTF_8));
+        return new JsonRequestTemplate(segments.toArray(byte[][]::new));
+    }
+
+    /**
+     * Renders the body with the given values, one per placeholder, as UTF-8 JSON.
+     * Sizes the output exactly in a first pass so the result array is the only allocation.
+     */
+    public byte[] render(String... values) {
+        if (values.length != segments.length - 1) {
+            throw new IllegalArgumentException("Expected " + (segments.length - 1) + " values, got " + values.length);
+        }
+
+        int length = segments[0].length;
+        for (int i = 0; i < values.length; i++) {
+            length += escapedLength(values[i]) + segments[i + 1].length;
+        }
+
+        byte[] out = new byte[length];
+        int pos = copy(segments[0], out, 0);
+        for (int i = 0; i < values.length; i++) {
+            pos = writeEscaped(values[i], out, pos);
+            pos = copy(segments[i + 1], out, pos);
+        }
+        return out;
+    }
+
+    private static int copy(byte[] src, byte[] dest, int pos) {
+        System.arraycopy(src, 0, dest, pos, src.length);
+        return pos + src.length;
+    }
+
+    private static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int writeEscaped(String value, byte[] out, int pos) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> pos = escape(out, pos, '"');
+                case '\\' -> pos = escape(out, pos, '\\');
+                case '\n' -> pos = escape(out, pos, 'n');
+                case '\r' -> pos = escape(out, pos, 'r');
+                case '\t' -> pos = escape(out, pos, 't');
+                case '\b' -> pos = escape(out, pos, 'b');
+                case '\f' -> pos = escape(out, pos, 'f');
+                default -> {
+                    if (c < 0x20) {
+                        out[pos++] = '\\';
+                        out[pos++] = 'u';
+                        out[pos++] = '0';
+                        out[pos++] = '0';
+                        out[pos++] = HEX[c >> 4];
+                        out[pos++] = HEX[c & 0xF];
+                    } else if (c < 0x80) {
+                        out[pos++] = (byte) c;
+                    } else if (c < 0x800) {
+                        out[pos++] = (byte) (0xC0 | (c >> 6));
+                        out[pos++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, value.charAt(++i));
+                        out[pos++] = (byte) (0xF0 | (cp >> 18));
+                        out[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        out[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        out[pos++] = (byte) (0x80 | (cp & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        // Unpaired surrogate: replace like String.getBytes(UTF_8) does
+                        out[pos++] = '?';
+                    } else {
+                        out[pos++] = (byte) (0xE0 | (c >> 12));
+                        out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        out[pos++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+            }
+        }
+        return pos;
+    }
+
+    private static int escape(byte[] out, int pos, char c) {
+        out[pos] = '\\';
+        out[pos + 1] = (byte) c;
+        return pos + 2;
+    }
+}
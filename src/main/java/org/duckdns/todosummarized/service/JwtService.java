@@ -3,10 +3,13 @@ package org.duckdns.todosummarized.service;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.duckdns.todosummarized.config.JwtProperties;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.TokenType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -15,22 +18,33 @@ import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Service for JWT token generation, validation, and parsing.
+ * Tokens are verified by one immutable, thread-safe parser built at startup; callers that need
+ * several claims should use {@link #validate(String)} so the signature is checked only once.
  */
 @Slf4j
 @Service
 public class JwtService {
 
+    static final String ROLE_CLAIM = "role";
+    static final String USER_ID_CLAIM = "uid";
+    static final String VERSION_CLAIM = "ver";
+    static final String TYPE_CLAIM = "typ";
+
     private final JwtProperties jwtProperties;
     private final SecretKey signingKey;
+    private final JwtParser parser;
     private final Clock clock;
 
     /**
-     * Constructor initializes the signing key once.
+     * Constructor initializes the signing key and parser once.
      */
     public JwtService(JwtProperties jwtProperties, Clock clock) {
         this.jwtProperties = jwtProperties;
@@ -39,14 +53,18 @@ public class JwtService {
         this.signingKey = Keys.hmacShaKeyFor(
                 jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8)
         );
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
     }
 
     /**
      * Generates an access token for the given user.
      */
     public String generateAccessToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities().iterator().next().getAuthority());
+        Map<String, Object> claims = identityClaims(userDetails, TokenType.ACCESS);
+        claims.put(ROLE_CLAIM, userDetails.getAuthorities().iterator().next().getAuthority());
         return buildToken(claims, userDetails, jwtProperties.getAccessTokenExpiration());
     }
 
@@ -54,7 +72,43 @@ public class JwtService {
      * Generates a refresh token for the given user.
      */
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, jwtProperties.getRefreshTokenExpiration());
+        return buildToken(identityClaims(userDetails, TokenType.REFRESH), userDetails, jwtProperties.getRefreshTokenExpiration());
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * Returns empty for any malformed, tampered or expired token.
+     */
+    public Optional<VerifiedToken> validate(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            String userId = claims.get(USER_ID_CLAIM, String.class);
+            Integer version = claims.get(VERSION_CLAIM, Integer.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            return Optional.of(new VerifiedToken(
+                    claims.getId(),
+                    claims.getSubject(),
+                    userId != null ? UUID.fromString(userId) : null,
+                    role,
+                    tokenType(claims.get(TYPE_CLAIM, String.class), role),
+                    version != null ? version : 0,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Checks that a verified token belongs to the given user and was issued under their current token version.
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        if (token.subject() == null || !token.subject().equals(userDetails.getUsername())) {
+            return false;
+        }
+        return !(userDetails instanceof User user) || user.getTokenVersion() == token.version();
     }
 
     /**
@@ -83,13 +137,7 @@ public class JwtService {
      * Validates if the token is valid for the given user.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            log.debug("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return validate(token).map(verified -> isTokenValid(verified, userDetails)).orElse(false);
     }
 
     /**
@@ -110,6 +158,7 @@ public class JwtService {
         long currentTimeMillis = clock.millis();
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuer(jwtProperties.getIssuer())
                 .issuedAt(new Date(currentTimeMillis))
@@ -119,14 +168,34 @@ public class JwtService {
     }
 
     /**
-     * Parses and extracts all claims from the token.
+     * Reads the token type. Tokens issued before the type claim are told apart by the role claim,
+     * which only access tokens carry; unknown types fail validation.
+     */
+    private static TokenType tokenType(String type, String role) {
+        if (type == null) {
+            return role != null ? TokenType.ACCESS : TokenType.REFRESH;
+        }
+        return TokenType.valueOf(type.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Token type, user id and token version, so requests authenticate from the token alone, account
+     * changes revoke it and a refresh token cannot stand in for an access token.
+     */
+    private Map<String, Object> identityClaims(UserDetails userDetails, TokenType type) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, type.name().toLowerCase(Locale.ROOT));
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId().toString());
+            claims.put(VERSION_CLAIM, user.getTokenVersion());
+        }
+        return claims;
+    }
+
+    /**
+     * Verifies the token and extracts all claims from it.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .clock(() -> Date.from(clock.instant()))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,71 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
+import org.duckdns.todosummarized.config.LocalStubProperties;
+import org.duckdns.todosummarized.stub.LocalAiStubServer;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+
+/**
+ * Adapter for the LOCAL_STUB provider.
+ * Talks the OpenAI wire format to the embedded {@link LocalAiStubServer}, so the full
+ * HTTP, parsing and orchestration path runs offline with simulated latency and failures.
+ */
+@Slf4j
+@Service
+public class LocalStubSummaryAdapter extends OpenAiCompatibleSummaryAdapter {
+
+    private static final String STUB_API_KEY = "local-stub";
+
+    private final LocalStubProperties stubProperties;
+    private final LocalAiStubServer stubServer;
+
+    public LocalStubSummaryAdapter(LocalStubProperties stubProperties, LocalAiStubServer stubServer,
+                                   ObjectMapper objectMapper, AiSummaryMessageBuilder messageBuilder,
+                                   AiHttpClientProperties httpProperties, AiMetrics aiMetrics) {
+        super(objectMapper, messageBuilder, httpProperties, aiMetrics);
+        this.stubProperties = stubProperties;
+        this.stubServer = stubServer;
+    }
+
+    @Override
+    protected String getProviderName() {
+        return "LocalStub";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return stubProperties.isEnabled() && stubServer.isRunning();
+    }
+
+    @Override
+    public String getModel() {
+        return stubProperties.getModel();
+    }
+
+    @Override
+    protected String getApiKey() {
+        return STUB_API_KEY;
+    }
+
+    @Override
+    protected int getTimeoutSeconds() {
+        return stubProperties.getTimeoutSeconds();
+    }
+
+    @Override
+    protected URI getWarmUpUri() {
+        return URI.create(stubServer.getBaseUrl() + "/v1/models");
+    }
+
+    /**
+     * Resolved per request, since the stub may be restarted on another port.
+     */
+    @Override
+    protected URI getChatCompletionsUri() {
+        return URI.create(stubServer.getBaseUrl() + "/v1/chat/completions");
+    }
+}
@@ -0,0 +1,91 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract base class for providers that speak the OpenAI chat completions format.
+ * Builds the request from a template compiled once and reads the content and token usage
+ * from the response without binding it to a tree.
+ */
+public abstract class OpenAiCompatibleSummaryAdapter extends BaseAiSummaryAdapter {
+
+    private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final String AUTH_HEADER_PREFIX = "Bearer ";
+    private static final String SYSTEM_PROMPT_PLACEHOLDER = "${systemPrompt}";
+    private static final String USER_MESSAGE_PLACEHOLDER = "${userMessage}";
+    private static final JsonContentExtractor RESPONSE_EXTRACTOR = new JsonContentExtractor(new JsonFactory(),
+            new String[]{"choices", "message", "content"},
+            new String[]{"usage", "prompt_tokens"},
+            new String[]{"usage", "completion_tokens"});
+
+    private volatile JsonRequestTemplate requestTemplate;
+
+    protected OpenAiCompatibleSummaryAdapter(ObjectMapper objectMapper, AiSummaryMessageBuilder messageBuilder,
+                                             AiHttpClientProperties httpProperties, AiMetrics aiMetrics) {
+        super(objectMapper, messageBuilder, httpProperties, aiMetrics);
+    }
+
+    @Override
+    protected HttpRequest buildRequest(String systemPrompt, String userMessage) throws Exception {
+        return HttpRequest.newBuilder()
+                .uri(getChatCompletionsUri())
+                .header("Content-Type", CONTENT_TYPE_JSON)
+                .header("Authorization", AUTH_HEADER_PREFIX + getApiKey())
+                .timeout(Duration.ofSeconds(getTimeoutSeconds()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestTemplate().render(systemPrompt, userMessage)))
+                .build();
+    }
+
+    /**
+     * Extracts the first choice's content and the reported token usage.
+     */
+    @Override
+    protected Completion parseResponse(byte[] responseBody) throws Exception {
+        String[] values = RESPONSE_EXTRACTOR.extractAll(responseBody);
+        if (values[0] == null) {
+            throw new RuntimeException("Unexpected " + getProviderName() + " response format");
+        }
+        return new Completion(values[0], parseTokens(values[1]), parseTokens(values[2]));
+    }
+
+    /**
+     * Returns the provider's chat completions endpoint.
+     */
+    protected abstract URI getChatCompletionsUri();
+
+    /**
+     * Returns request settings sent next to the model and messages, such as sampling parameters.
+     */
+    protected Map<String, Object> getRequestOptions() {
+        return Map.of();
+    }
+
+    /**
+     * Compiles the request body once; model and request settings are fixed after startup.
+     */
+    private JsonRequestTemplate requestTemplate() throws Exception {
+        JsonRequestTemplate template = requestTemplate;
+        if (template == null) {
+            Map<String, Object> requestBody = new LinkedHashMap<>();
+            requestBody.put("model", getModel());
+            requestBody.put("messages", List.of(
+                    Map.of("role", "system", "content", SYSTEM_PROMPT_PLACEHOLDER),
+                    Map.of("role", "user", "content", USER_MESSAGE_PLACEHOLDER)
+            ));
+            requestBody.putAll(getRequestOptions());
+            template = JsonRequestTemplate.compile(objectMapper, requestBody,
+                    SYSTEM_PROMPT_PLACEHOLDER, USER_MESSAGE_PLACEHOLDER);
+            requestTemplate = template;
+        }
+        return template;
+    }
+}
@@ -1,16 +1,12 @@
 package org.duckdns.todosummarized.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
 import org.duckdns.todosummarized.config.OpenAiProperties;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,17 +16,17 @@ import java.util.Map;
  */
 @Slf4j
 @Service
-public class OpenAiSummaryAdapter extends BaseAiSummaryAdapter {
+public class OpenAiSummaryAdapter extends OpenAiCompatibleSummaryAdapter {
 
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
-    private static final String CONTENT_TYPE_JSON = "application/json";
-    private static final String AUTH_HEADER_PREFIX = "Bearer ";
+    private static final String DEFAULT_BASE_URL = "https://api.openai.com/v1";
 
     private final OpenAiProperties openAiProperties;
+    private volatile URI apiUri;
 
     public OpenAiSummaryAdapter(OpenAiProperties openAiProperties, ObjectMapper objectMapper,
-                                AiSummaryMessageBuilder messageBuilder) {
-        super(objectMapper, messageBuilder);
+                                AiSummaryMessageBuilder messageBuilder, AiHttpClientProperties httpProperties,
+                                AiMetrics aiMetrics) {
+        super(objectMapper, messageBuilder, httpProperties, aiMetrics);
         this.openAiProperties = openAiProperties;
     }
 
@@ -60,52 +56,30 @@ public class OpenAiSummaryAdapter extends BaseAiSummaryAdapter {
     }
 
     @Override
-    protected String callApi(String systemPrompt, String userMessage) throws Exception {
-        Duration requestTimeout = Duration.ofSeconds(openAiProperties.getTimeoutSeconds());
+    protected URI getWarmUpUri() {
+        return URI.create(baseUrl() + "/models");
+    }
 
-        Map<String, Object> requestBody = Map.of(
-                "model", openAiProperties.getModel(),
-                "messages", List.of(
-                        Map.of("role", "system", "content", systemPrompt),
-                        Map.of("role", "user", "content", userMessage)
-                ),
+    @Override
+    protected URI getChatCompletionsUri() {
+        URI uri = apiUri;
+        if (uri == null) {
+            uri = URI.create(baseUrl() + "/chat/completions");
+            apiUri = uri;
+        }
+        return uri;
+    }
+
+    @Override
+    protected Map<String, Object> getRequestOptions() {
+        return Map.of(
                 "max_tokens", openAiProperties.getMaxTokens(),
                 "temperature", openAiProperties.getTemperature()
         );
-
-        String jsonBody = objectMapper.writeValueAsString(requestBody);
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(OPENAI_API_URL))
-                .header("Content-Type", CONTENT_TYPE_JSON)
-                .header("Authorization", AUTH_HEADER_PREFIX + openAiProperties.getApiKey())
-                .timeout(requestTimeout)
-                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() != 200) {
-            log.error("OpenAI API error: status={}, body={}", response.statusCode(), response.body());
-            throw new RuntimeException("OpenAI API returned status " + response.statusCode());
-        }
-
-        return parseOpenAiResponse(response.body());
     }
 
-    /**
-     * Parses the OpenAI API response and extracts the generated content.
-     */
-    private String parseOpenAiResponse(String responseBody) throws Exception {
-        JsonNode root = objectMapper.readTree(responseBody);
-        JsonNode choices = root.get("choices");
-        if (choices != null && choices.isArray() && !choices.isEmpty()) {
-            JsonNode message = choices.get(0).get("message");
-            if (message != null && message.has("content")) {
-                return message.get("content").asText();
-            }
-        }
-        throw new RuntimeException("Unexpected OpenAI response format");
+    private String baseUrl() {
+        String baseUrl = openAiProperties.getBaseUrl();
+        return baseUrl == null || baseUrl.isBlank() ? DEFAULT_BASE_URL : baseUrl;
     }
 }
-
@@ -0,0 +1,129 @@
+package org.duckdns.todosummarized.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.PasswordHashingProperties;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the CPU, with a bounded queue.
+ * Work that finds the queue full, or does not start within the wait limit, is shed with a 503 so a
+ * burst of sign-ins fails fast instead of queueing behind itself and starving other requests.
+ */
+@Slf4j
+@Service
+public class PasswordHashingExecutor {
+
+    private static final long INITIAL_SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(80);
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    /** Smoothed time one hash takes, for the Retry-After estimate. */
+    private final AtomicLong avgServiceNanos = new AtomicLong(INITIAL_SERVICE_NANOS);
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        this.properties = properties;
+        this.threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getMaxQueueSize())),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing pool initialized - enabled: {}, threads: {}, max queue: {}, max wait: {} ms",
+                properties.isEnabled(), threads, properties.getMaxQueueSize(), properties.getMaxQueueWaitMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the hashing task on the pool and returns its result.
+     * Throws {@link ServiceOverloadedException} if it cannot be queued or does not start in time.
+     */
+    public <T> T execute(Supplier<T> task) {
+        if (!properties.isEnabled()) {
+            return task.get();
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing shed: queue full ({} waiting)", executor.getQueue().size());
+            throw overloaded();
+        }
+        return await(future);
+    }
+
+    /**
+     * Returns the number of hashes waiting for a thread.
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            try {
+                return future.get(properties.getMaxQueueWaitMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (executor.remove((Runnable) future)) {
+                    log.warn("Password hashing shed after waiting {} ms for a thread", properties.getMaxQueueWaitMillis());
+                    throw overloaded();
+                }
+                // Already running: a single hash finishes in well under a second
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            avgServiceNanos.updateAndGet(avg -> avg + (elapsed - avg) / 5);
+        }
+    }
+
+    /**
+     * Builds the shed exception with a Retry-After estimated from queue depth and recent hash time.
+     */
+    private ServiceOverloadedException overloaded() {
+        double waves = (executor.getQueue().size() + 1.0) / threads;
+        long seconds = (long) Math.ceil(waves * avgServiceNanos.get() / 1_000_000_000.0);
+        return new ServiceOverloadedException("Authentication is at capacity. Please try again later.",
+                Math.clamp(seconds, 1, MAX_RETRY_AFTER_SECONDS));
+    }
+}
@@ -0,0 +1,222 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.AdminStatsProperties;
+import org.duckdns.todosummarized.dto.PlatformStatsDTO;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.duckdns.todosummarized.repository.PlatformStatsRepository;
+import org.duckdns.todosummarized.repository.projection.AiUsageProjection;
+import org.duckdns.todosummarized.repository.projection.TodoBreakdownProjection;
+import org.duckdns.todosummarized.repository.projection.UserActivityProjection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-wide statistics for administrators.
+ * The user-id space is split into ranges that are aggregated in parallel on a small dedicated
+ * fork-join pool, each range in its own short read-only transaction, so no single statement scans
+ * every table at once and request threads are never borrowed. Partial results are added up on the
+ * calling thread. The result is cached briefly and concurrent requests share one computation.
+ * Each chunk caps its statements at the time left until the request's deadline, so when a request
+ * gives up the database abandons its queries too instead of running them on behind a retry.
+ */
+@Slf4j
+@Service
+public class PlatformStatsService {
+
+    private static final String CACHE_KEY = "platform";
+
+    private final AdminStatsProperties properties;
+    private final PlatformStatsRepository repository;
+    private final Cache<String, PlatformStatsDTO> platformStatsCache;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final List<UserIdRange> ranges;
+
+    public PlatformStatsService(
+            AdminStatsProperties properties,
+            PlatformStatsRepository repository,
+            Cache<String, PlatformStatsDTO> platformStatsCache,
+            PlatformTransactionManager transactionManager,
+            Clock clock
+    ) {
+        this.properties = properties;
+        this.repository = repository;
+        this.platformStatsCache = platformStatsCache;
+        this.clock = clock;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("admin-stats-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.ranges = UserIdRange.split(Math.max(1, properties.getChunks()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Returns the platform statistics, computing them if the cached copy has expired.
+     *
+     * @throws ServiceOverloadedException if the aggregation does not finish within the configured timeout
+     */
+    public PlatformStatsDTO getStats() {
+        return platformStatsCache.get(CACHE_KEY, key -> compute());
+    }
+
+    private PlatformStatsDTO compute() {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(properties.getTimeoutSeconds());
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Callable<ChunkResult>> tasks = ranges.stream()
+                .<Callable<ChunkResult>>map(range -> () -> aggregate(range, now, deadline))
+                .toList();
+
+        Totals totals = new Totals();
+        try {
+            for (Future<ChunkResult> future : pool.invokeAll(tasks, properties.getTimeoutSeconds(), TimeUnit.SECONDS)) {
+                totals.add(future.get());
+            }
+        } catch (CancellationException e) {
+            throw new ServiceOverloadedException("Platform statistics are taking too long; try again later",
+                    properties.getCacheTtlSeconds());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Platform statistics chunk failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing platform statistics", e);
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Computed platform statistics over {} user-id ranges in {} ms", ranges.size(), millis);
+        return totals.toDTO(now, millis);
+    }
+
+    /**
+     * Aggregates one range in a single read-only transaction whose statements may not outlive the deadline.
+     */
+    private ChunkResult aggregate(UserIdRange range, LocalDateTime now, long deadline) {
+        LocalDateTime dayAgo = now.minusDays(1);
+        LocalDateTime weekAgo = now.minusDays(7);
+        LocalDateTime monthAgo = now.minusDays(30);
+        return transactionTemplate.execute(status -> {
+            long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            repository.limitStatementTime(remainingMillis + "ms");
+            return new ChunkResult(
+                    repository.summarizeUserActivity(range.first(), range.last(), weekAgo, monthAgo),
+                    repository.summarizeTodos(range.first(), range.last(), now, dayAgo, weekAgo, monthAgo),
+                    repository.summarizeAiUsage(range.first(), range.last(), dayAgo)
+            );
+        });
+    }
+
+    /**
+     * Inclusive range of user ids. Ranges are compared the way PostgreSQL orders uuids, byte by byte
+     * as unsigned values, which for version 4 uuids spreads users evenly over equal-width ranges.
+     */
+    record UserIdRange(UUID first, UUID last) {
+
+        static List<UserIdRange> split(int count) {
+            long width = Long.divideUnsigned(-1L, count) + 1;
+            List<UserIdRange> ranges = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID first = new UUID(i * width, 0L);
+                UUID last = i == count - 1 ? new UUID(-1L, -1L) : new UUID((i + 1) * width - 1, -1L);
+                ranges.add(new UserIdRange(first, last));
+            }
+            return ranges;
+        }
+    }
+
+    private record ChunkResult(
+            UserActivityProjection activity,
+            List<TodoBreakdownProjection> todos,
+            List<AiUsageProjection> ai
+    ) {
+    }
+
+    /**
+     * Running sums over chunk results. Only touched by the calling thread.
+     */
+    private static final class Totals {
+        private long users;
+        private long activeLastWeek;
+        private long activeLastMonth;
+        private long todos;
+        private final Map<String, Long> byStatus = new TreeMap<>();
+        private final Map<String, Long> byPriority = new TreeMap<>();
+        private long overdueUpToDay;
+        private long overdueUpToWeek;
+        private long overdueUpToMonth;
+        private long overdueOlder;
+        private long insights;
+        private long aiGenerated;
+        private long insightsUpdatedLastDay;
+        private final Map<String, Long> byProvider = new TreeMap<>();
+
+        void add(ChunkResult chunk) {
+            users += chunk.activity().getUsers();
+            activeLastWeek += chunk.activity().getActiveLastWeek();
+            activeLastMonth += chunk.activity().getActiveLastMonth();
+            for (TodoBreakdownProjection row : chunk.todos()) {
+                todos += row.getTodos();
+                addTo(byStatus, row.getStatus(), row.getTodos());
+                addTo(byPriority, row.getPriority(), row.getTodos());
+                overdueUpToDay += row.getOverdueUpToDay();
+                overdueUpToWeek += row.getOverdueUpToWeek();
+                overdueUpToMonth += row.getOverdueUpToMonth();
+                overdueOlder += row.getOverdueOlder();
+            }
+            for (AiUsageProjection row : chunk.ai()) {
+                insights += row.getInsights();
+                aiGenerated += row.getAiGenerated();
+                insightsUpdatedLastDay += row.getUpdatedLastDay();
+                addTo(byProvider, row.getProvider(), row.getInsights());
+            }
+        }
+
+        PlatformStatsDTO toDTO(LocalDateTime computedAt, long computeMillis) {
+            return PlatformStatsDTO.builder()
+                    .computedAt(computedAt)
+                    .computeMillis(computeMillis)
+                    .users(new PlatformStatsDTO.Users(users, activeLastWeek, activeLastMonth))
+                    .todos(new PlatformStatsDTO.Todos(todos, byStatus, byPriority))
+                    .overdue(new PlatformStatsDTO.Overdue(overdueUpToDay, overdueUpToWeek, overdueUpToMonth, overdueOlder))
+                    .ai(new PlatformStatsDTO.AiUsage(insights, aiGenerated, insightsUpdatedLastDay, byProvider))
+                    .build();
+        }
+
+        /**
+         * Rows without a status, priority or provider are counted in the totals only.
+         */
+        private static void addTo(Map<String, Long> counts, String key, long value) {
+            if (key != null) {
+                counts.merge(key, value, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.ProductivityAnalyticsKey;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
+import org.duckdns.todosummarized.exception.InvalidDateRangeException;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.BurndownProjection;
+import org.duckdns.todosummarized.repository.projection.LeadTimeProjection;
+import org.duckdns.todosummarized.repository.projection.VelocityProjection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Completion velocity, burndown and lead time of a user over a date range.
+ * Every metric is computed in the database with window and ordered-set aggregates and streamed back
+ * as one row per week or day; no todo entity is loaded. Results are cached per user and range under
+ * the user's todo data version, which costs one indexed aggregate per request to read.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductivityAnalyticsService {
+
+    /** Longest range a single request may cover. */
+    static final int MAX_RANGE_DAYS = 366;
+
+    /** Weeks read before the range so the first rolling averages span full four-week windows. */
+    private static final int ROLLING_LEAD_IN_WEEKS = 3;
+
+    private final TodoRepository todoRepository;
+    private final Cache<ProductivityAnalyticsKey, ProductivityAnalyticsDTO> productivityAnalyticsCache;
+    private final Clock clock;
+
+    /**
+     * Returns the user's analytics for the range, defaulting to the twelve weeks up to today.
+     *
+     * @throws InvalidDateRangeException if the range is reversed or longer than {@value #MAX_RANGE_DAYS} days
+     */
+    @Transactional(readOnly = true)
+    public ProductivityAnalyticsDTO getAnalytics(User user, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        LocalDate start = from != null ? from : end.minusWeeks(12).plusDays(1);
+        if (start.isAfter(end)) {
+            throw new InvalidDateRangeException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new InvalidDateRangeException("Analytics range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        ProductivityAnalyticsKey key = ProductivityAnalyticsKey.of(
+                user.getId(), todoRepository.findDataVersionByUser(user), start, end);
+        return productivityAnalyticsCache.get(key, k -> compute(k, start, end));
+    }
+
+    private ProductivityAnalyticsDTO compute(ProductivityAnalyticsKey key, LocalDate from, LocalDate to) {
+        log.debug("Computing productivity analytics {}", key);
+        LocalDate firstWeek = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate lastWeek = to.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        List<ProductivityAnalyticsDTO.VelocityPoint> velocity;
+        try (Stream<VelocityProjection> rows = todoRepository.streamWeeklyVelocity(
+                key.userId(), firstWeek.minusWeeks(ROLLING_LEAD_IN_WEEKS), lastWeek)) {
+            velocity = rows.skip(ROLLING_LEAD_IN_WEEKS)
+                    .map(row -> new ProductivityAnalyticsDTO.VelocityPoint(
+                            row.getWeekStart(), row.getCompleted(), round2(row.getRollingAverage())))
+                    .toList();
+        }
+
+        List<ProductivityAnalyticsDTO.BurndownPoint> burndown;
+        try (Stream<BurndownProjection> rows = todoRepository.streamDailyBurndown(
+                key.userId(), from, to, to.plusDays(1).atStartOfDay())) {
+            burndown = rows.map(row -> new ProductivityAnalyticsDTO.BurndownPoint(row.getDay(), row.getRemaining()))
+                    .toList();
+        }
+
+        LeadTimeProjection leadTime = todoRepository.findLeadTimePercentiles(
+                key.userId(), from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        long completedInWeeks = velocity.stream().mapToLong(ProductivityAnalyticsDTO.VelocityPoint::completed).sum();
+        return ProductivityAnalyticsDTO.builder()
+                .from(from)
+                .to(to)
+                .velocity(velocity)
+                .averageCompletedPerWeek(velocity.isEmpty() ? 0.0 : round2((double) completedInWeeks / velocity.size()))
+                .burndown(burndown)
+                .leadTime(new ProductivityAnalyticsDTO.LeadTime(
+                        leadTime.getCompleted(),
+                        round2(leadTime.getP50Hours()),
+                        round2(leadTime.getP75Hours()),
+                        round2(leadTime.getP90Hours())))
+                .build();
+    }
+
+    private static Double round2(Double value) {
+        return value == null ? null : Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,48 +1,59 @@
 package org.duckdns.todosummarized.service;
 
 import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.cache.TodoSummaryCounters;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.TaskPriority;
 import org.duckdns.todosummarized.domains.enums.TaskStatus;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
 import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.DailySummaryProjection;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class SummaryService {
 
     private static final int UPCOMING_DAYS_AHEAD = 8;
-    private static final Set<TaskStatus> EXCLUDED_FROM_OVERDUE = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
 
+    private final TodoSummaryCounterService summaryCounters;
     private final TodoRepository todoRepository;
     private final Clock clock;
 
     /**
      * Generates a daily summary of todos for the specified user with metrics and breakdowns.
      * Includes counts by status, priority, overdue items, and completion rate.
+     * Read from the user's in-memory counters when cached. Otherwise answered by one aggregate query
+     * while the counters are built in the background for the next read.
      */
     @Transactional(readOnly = true)
     public DailySummaryDTO getDailySummary(User user) {
         LocalDate today = LocalDate.now(clock);
-        SummaryWindow summaryWindow = SummaryWindow.of(today, clock);
+        Optional<TodoSummaryCounters> cached = summaryCounters.cachedCountersFor(user);
+        if (cached.isPresent()) {
+            return fromCounters(cached.get(), today);
+        }
+        DailySummaryDTO summary = fromDatabase(user, today);
+        summaryCounters.rebuildInBackground(user);
+        return summary;
+    }
 
-        Map<TaskStatus, Long> statusCounts = countsByStatus(user);
-        Map<TaskPriority, Long> priorityCounts = countsByPriority(user);
+    private DailySummaryDTO fromCounters(TodoSummaryCounters counters, LocalDate today) {
+        Map<TaskStatus, Long> statusCounts = counters.byStatus();
+        Map<TaskPriority, Long> priorityCounts = counters.byPriority();
 
-        long totalTodos = todoRepository.countByUser(user);
+        long totalTodos = counters.total();
         long cancelledCount = getOrZero(statusCounts, TaskStatus.CANCELLED);
         long completedCount = getOrZero(statusCounts, TaskStatus.COMPLETED);
 
-        double completionRate = completionRate(totalTodos, completedCount, cancelledCount);
-
         return DailySummaryDTO.builder()
                 .date(today)
                 .totalTodos(totalTodos)
@@ -50,46 +61,54 @@ public class SummaryService {
                 .inProgressCount(getOrZero(statusCounts, TaskStatus.IN_PROGRESS))
                 .notStartedCount(getOrZero(statusCounts, TaskStatus.NOT_STARTED))
                 .cancelledCount(cancelledCount)
-                .overdueCount(todoRepository.countOverdueByUser(user, summaryWindow.now(), EXCLUDED_FROM_OVERDUE))
-                .dueTodayCount(todoRepository.countDueBetweenByUser(user, summaryWindow.startOfDay(), summaryWindow.endOfDay()))
-                .upcomingCount(todoRepository.countDueBetweenByUser(user, summaryWindow.startOfTomorrow(), summaryWindow.endOfUpcoming()))
-                .completionRate(completionRate)
+                .overdueCount(counters.overdueAt(LocalDateTime.now(clock)))
+                .dueTodayCount(counters.dueBetween(today, today.plusDays(1)))
+                .upcomingCount(counters.dueBetween(today.plusDays(1), today.plusDays(UPCOMING_DAYS_AHEAD)))
+                .completionRate(completionRate(totalTodos, completedCount, cancelledCount))
                 .byPriority(toNameKeyedMap(priorityCounts))
                 .byStatus(toNameKeyedMap(statusCounts))
                 .build();
     }
 
     /**
-     * Fetches todo counts grouped by status for the specified user in a single query.
-     * Initializes all status values to 0 before populating from the database.
-     */
-    private Map<TaskStatus, Long> countsByStatus(User user) {
-        EnumMap<TaskStatus, Long> counts = initEnumCounts(TaskStatus.class, TaskStatus.values());
-        todoRepository.countGroupedByStatusAndUser(user)
-                .forEach(row -> counts.put(row.getStatus(), row.getCount()));
-        return counts;
-    }
-
-    /**
-     * Fetches todo counts grouped by priority for the specified user in a single query.
-     * Initializes all priority values to 0 before populating from the database.
+     * Computes every metric in a single round trip using {@link TodoRepository#DAILY_SUMMARY_SQL}.
      */
-    private Map<TaskPriority, Long> countsByPriority(User user) {
-        EnumMap<TaskPriority, Long> counts = initEnumCounts(TaskPriority.class, TaskPriority.values());
-        todoRepository.countGroupedByPriorityAndUser(user)
-                .forEach(row -> counts.put(row.getPriority(), row.getCount()));
-        return counts;
-    }
+    private DailySummaryDTO fromDatabase(User user, LocalDate today) {
+        DailySummaryProjection row = todoRepository.summarizeByUser(
+                user.getId(),
+                LocalDateTime.now(clock),
+                today.atStartOfDay(),
+                today.plusDays(1).atStartOfDay(),
+                today.plusDays(1).atStartOfDay(),
+                today.plusDays(UPCOMING_DAYS_AHEAD).atStartOfDay()
+        );
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        byStatus.put(TaskStatus.COMPLETED.name(), row.getCompleted());
+        byStatus.put(TaskStatus.IN_PROGRESS.name(), row.getInProgress());
+        byStatus.put(TaskStatus.NOT_STARTED.name(), row.getNotStarted());
+        byStatus.put(TaskStatus.CANCELLED.name(), row.getCancelled());
+
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        byPriority.put(TaskPriority.LOW.name(), row.getLowPriority());
+        byPriority.put(TaskPriority.MEDIUM.name(), row.getMediumPriority());
+        byPriority.put(TaskPriority.HIGH.name(), row.getHighPriority());
+        byPriority.put(TaskPriority.CRITICAL.name(), row.getCriticalPriority());
 
-    /**
-     * Initializes an EnumMap with all enum values set to zero.
-     */
-    private static <E extends Enum<E>> EnumMap<E, Long> initEnumCounts(Class<E> type, E[] values) {
-        EnumMap<E, Long> counts = new EnumMap<>(type);
-        for (E v : values) {
-            counts.put(v, 0L);
-        }
-        return counts;
+        return DailySummaryDTO.builder()
+                .date(today)
+                .totalTodos(row.getTotal())
+                .completedCount(row.getCompleted())
+                .inProgressCount(row.getInProgress())
+                .notStartedCount(row.getNotStarted())
+                .cancelledCount(row.getCancelled())
+                .overdueCount(row.getOverdue())
+                .dueTodayCount(row.getDueToday())
+                .upcomingCount(row.getUpcoming())
+                .completionRate(completionRate(row.getTotal(), row.getCompleted(), row.getCancelled()))
+                .byPriority(byPriority)
+                .byStatus(byStatus)
+                .build();
     }
 
     /**
@@ -125,29 +144,4 @@ public class SummaryService {
     private static double round2(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
-
-    /**
-     * Immutable record representing the time boundaries for daily summary calculations.
-     * Contains the current time and date range boundaries for today, tomorrow, and upcoming period.
-     */
-    private record SummaryWindow(
-            LocalDateTime now,
-            LocalDateTime startOfDay,
-            LocalDateTime endOfDay,
-            LocalDateTime startOfTomorrow,
-            LocalDateTime endOfUpcoming
-    ) {
-        /**
-         * Factory method to create a SummaryWindow for the given date.
-         */
-        static SummaryWindow of(LocalDate today, Clock clock) {
-            return new SummaryWindow(
-                    LocalDateTime.now(clock),
-                    today.atStartOfDay(),
-                    today.atTime(LocalTime.MAX),
-                    today.plusDays(1).atStartOfDay(),
-                    today.plusDays(UPCOMING_DAYS_AHEAD).atStartOfDay()
-            );
-        }
-    }
 }
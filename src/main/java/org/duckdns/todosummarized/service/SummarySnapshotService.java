@@ -0,0 +1,127 @@
+package org.duckdns.todosummarized.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.SummarySnapshotProperties;
+import org.duckdns.todosummarized.domains.entity.SummarySnapshot;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.TrendGranularity;
+import org.duckdns.todosummarized.dto.TrendPointDTO;
+import org.duckdns.todosummarized.exception.InvalidDateRangeException;
+import org.duckdns.todosummarized.repository.SummarySnapshotRepository;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes nightly per-user summary snapshots and serves trend lines from them.
+ * Snapshots are aggregated in the database, one statement per batch of users, so the job never
+ * loads todos into memory. Every node schedules the job, and a database advisory lock lets one run it
+ * at a time; the writes are idempotent upserts, so a node whose clock lags and runs it again later
+ * only rewrites the same rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SummarySnapshotService {
+
+    /** Smallest UUID in PostgreSQL's byte order, the keyset start. */
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private static final String JOB_LOCK = "summary-snapshot";
+
+    private final SummarySnapshotProperties properties;
+    private final SummarySnapshotRepository snapshotRepository;
+    private final UserRepository userRepository;
+    private final JobLockService jobLockService;
+    private final Clock clock;
+
+    /**
+     * Snapshots the day that just ended, unless another node is already doing so.
+     */
+    @Scheduled(cron = "${summary.snapshot.cron:0 10 0 * * *}", zone = "UTC")
+    public void snapshotYesterday() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        jobLockService.runExclusively(JOB_LOCK, () -> snapshot(yesterday));
+    }
+
+    /**
+     * Writes every user's snapshot for the day that just ended, counting todos overdue at the end of
+     * that day. The other counts are read when the job runs, so changes made between midnight and the
+     * run (00:10 by default) are recorded under that day. They are always current counts, which is why
+     * only the nightly run may write a snapshot; past days cannot be backfilled.
+     * A failed batch is logged and skipped so one bad batch does not cost everyone their snapshot.
+     */
+    private void snapshot(LocalDate date) {
+        long started = System.nanoTime();
+        int written = 0;
+        int failedBatches = 0;
+        UUID after = FIRST_ID;
+        PageRequest batch = PageRequest.ofSize(properties.getBatchSize());
+        List<UUID> userIds;
+        while (!(userIds = userRepository.findIdsAfter(after, batch)).isEmpty()) {
+            try {
+                written += snapshotRepository.upsertSnapshots(userIds, date, date.plusDays(1).atStartOfDay());
+            } catch (RuntimeException e) {
+                failedBatches++;
+                log.warn("Summary snapshot batch for {} after user {} failed: {}", date, after, e.getMessage());
+            }
+            after = userIds.getLast();
+        }
+        log.info("Wrote {} summary snapshots for {} in {} ms ({} failed batches)",
+                written, date, (System.nanoTime() - started) / 1_000_000, failedBatches);
+    }
+
+    /**
+     * Returns one point per week or month in the range, each holding the counts of the last snapshot
+     * in that period. Periods without snapshots are left out. Dates default to the last twelve periods
+     * up to today.
+     *
+     * @throws InvalidDateRangeException if the range is reversed or longer than the configured maximum
+     */
+    public List<TrendPointDTO> getTrends(User user, LocalDate from, LocalDate to, TrendGranularity granularity) {
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        LocalDate start = from != null ? from : granularity.defaultFrom(end);
+        if (start.isAfter(end)) {
+            throw new InvalidDateRangeException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > properties.getMaxTrendDays()) {
+            throw new InvalidDateRangeException(
+                    "Trend range must not exceed " + properties.getMaxTrendDays() + " days");
+        }
+
+        Map<LocalDate, SummarySnapshot> lastByPeriod = new LinkedHashMap<>();
+        snapshotRepository.findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(user.getId(), start, end)
+                .forEach(snapshot -> lastByPeriod.put(granularity.periodStart(snapshot.getSnapshotDate()), snapshot));
+
+        return lastByPeriod.entrySet().stream()
+                .map(entry -> toTrendPoint(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static TrendPointDTO toTrendPoint(LocalDate periodStart, SummarySnapshot snapshot) {
+        return TrendPointDTO.builder()
+                .periodStart(periodStart)
+                .asOf(snapshot.getSnapshotDate())
+                .totalTodos(snapshot.getTotal())
+                .completedCount(snapshot.getCompleted())
+                .inProgressCount(snapshot.getInProgress())
+                .notStartedCount(snapshot.getNotStarted())
+                .cancelledCount(snapshot.getCancelled())
+                .overdueCount(snapshot.getOverdue())
+                .completionRate(snapshot.getCompletionRate())
+                .build();
+    }
+}
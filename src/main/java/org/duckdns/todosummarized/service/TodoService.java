@@ -1,6 +1,7 @@
 package org.duckdns.todosummarized.service;
 
 import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.cache.TodoFacts;
 import org.duckdns.todosummarized.domains.entity.Todo;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.TaskStatus;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class TodoService {
     private final TodoRepository todoRepository;
     private final CacheService cacheService;
+    private final TodoSummaryCounterService summaryCounters;
 
     /**
      * Create a new todo for the specified user.
@@ -31,6 +33,7 @@ public class TodoService {
     public Todo createTodo(TodoRequestDTO todo, User user) {
         Todo created = todoRepository.save(TodoMapper.toNewEntity(todo, user));
         cacheService.evictTodosByUser(user.getId());
+        summaryCounters.onCreated(user.getId(), TodoFacts.of(created));
         return created;
     }
 
@@ -49,8 +52,10 @@ public class TodoService {
     @Transactional
     public Todo updateTodo(UUID id, TodoRequestDTO updatedTodo, User user) {
         Todo existingTodo = getTodoById(id, user);
+        TodoFacts before = TodoFacts.of(existingTodo);
         TodoMapper.patchEntity(updatedTodo, existingTodo);
         cacheService.evictTodosByUser(user.getId());
+        summaryCounters.onUpdated(user.getId(), before, TodoFacts.of(existingTodo));
         return existingTodo;
     }
 
@@ -59,12 +64,11 @@ public class TodoService {
      */
     @Transactional
     public void deleteTodo(UUID id, User user) {
-        long deleted = todoRepository.deleteByIdAndUser(id, user);
-
-        if (deleted == 0) {
-            throw new TodoNotFoundException(id);
-        }
+        // Loaded first for its counted fields; a derived delete would load it anyway
+        Todo todo = getTodoById(id, user);
+        todoRepository.delete(todo);
         cacheService.evictTodosByUser(user.getId());
+        summaryCounters.onDeleted(user.getId(), TodoFacts.of(todo));
     }
 
     /**
@@ -73,8 +77,10 @@ public class TodoService {
     @Transactional
     public Todo updateStatus(UUID id, TaskStatus status, User user) {
         Todo todo = getTodoById(id, user);
+        TodoFacts before = TodoFacts.of(todo);
         todo.setStatus(status);
         cacheService.evictTodosByUser(user.getId());
+        summaryCounters.onUpdated(user.getId(), before, TodoFacts.of(todo));
         return todo;
     }
 
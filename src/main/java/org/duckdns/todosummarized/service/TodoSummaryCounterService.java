@@ -0,0 +1,162 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.TodoFacts;
+import org.duckdns.todosummarized.cache.TodoSummaryCounters;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps per-user {@link TodoSummaryCounters} in memory. Counters are built from one query on a miss
+ * and then maintained with deltas from {@link TodoService}; deltas are applied after commit and only
+ * to counters already cached, so a user without counters simply rebuilds on the next read.
+ * Writes on other nodes arrive as todo invalidations and drop the counters instead.
+ * Background rebuilds run on a small dedicated pool and are dropped when it is saturated; the
+ * summary read that asked for one is already answered without it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoSummaryCounterService {
+
+    private static final int REBUILD_THREADS = 2;
+    private static final int REBUILD_QUEUE_SIZE = 64;
+
+    private final Cache<UUID, TodoSummaryCounters> todoSummaryCache;
+    private final TodoRepository todoRepository;
+
+    /** Users whose rebuild is queued or running, so repeated cold reads do not queue it again. */
+    private final Set<UUID> rebuildsInFlight = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor rebuildExecutor = newRebuildExecutor();
+
+    /**
+     * Returns the user's counters, rebuilding them from the database if they are not cached.
+     */
+    public TodoSummaryCounters countersFor(User user) {
+        return todoSummaryCache.get(user.getId(), id -> {
+            log.debug("Rebuilding summary counters for user {}", id);
+            return TodoSummaryCounters.of(todoRepository.findSummaryFactsByUser(user).stream()
+                    .map(TodoFacts::of)
+                    .toList());
+        });
+    }
+
+    /**
+     * Returns the user's counters only if they are already cached.
+     */
+    public Optional<TodoSummaryCounters> cachedCountersFor(User user) {
+        return Optional.ofNullable(todoSummaryCache.getIfPresent(user.getId()));
+    }
+
+    /**
+     * Builds the user's counters off the request thread, so the next summary read is served from memory.
+     */
+    public void rebuildInBackground(User user) {
+        UUID userId = user.getId();
+        if (!rebuildsInFlight.add(userId)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    countersFor(user);
+                } catch (RuntimeException e) {
+                    log.warn("Rebuilding summary counters for user {} failed: {}", userId, e.getMessage());
+                } finally {
+                    rebuildsInFlight.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildsInFlight.remove(userId);
+            log.debug("Summary counter rebuild queue is full, skipping user {}", userId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public void onCreated(UUID userId, TodoFacts created) {
+        applyAfterCommit(userId, counters -> counters.add(created));
+    }
+
+    public void onUpdated(UUID userId, TodoFacts before, TodoFacts after) {
+        if (!before.equals(after)) {
+            applyAfterCommit(userId, counters -> counters.replace(before, after));
+        }
+    }
+
+    public void onDeleted(UUID userId, TodoFacts deleted) {
+        applyAfterCommit(userId, counters -> counters.remove(deleted));
+    }
+
+    /**
+     * Drops the user's counters on this node; the next read rebuilds them.
+     */
+    public void evict(UUID userId) {
+        todoSummaryCache.invalidate(userId);
+    }
+
+    /**
+     * Applies a todo eviction received from another node.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case TODOS -> evict(UUID.fromString(invalidation.key()));
+            case ALL -> todoSummaryCache.invalidateAll();
+            case USER, INSIGHT, TOKEN -> {
+                // Not counted here
+            }
+        }
+    }
+
+    /**
+     * Applies the delta once the write is committed, so a rolled back write never skews the counts.
+     * Runs under the cache's per-key lock, so it waits for a rebuild in progress instead of being lost.
+     */
+    private void applyAfterCommit(UUID userId, Consumer<TodoSummaryCounters> delta) {
+        Runnable apply = () -> todoSummaryCache.asMap().computeIfPresent(userId, (id, counters) -> {
+            delta.accept(counters);
+            return counters;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static ThreadPoolExecutor newRebuildExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REBUILD_THREADS, REBUILD_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REBUILD_QUEUE_SIZE),
+                Thread.ofPlatform().name("summary-rebuild-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
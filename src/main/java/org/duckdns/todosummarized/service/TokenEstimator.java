@@ -0,0 +1,36 @@
+package org.duckdns.todosummarized.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Local, dependency-free approximation of LLM token counts.
+ * Uses the common ~4 characters per token heuristic, with at least one token per word,
+ * which is close enough to keep prompts inside a budget without calling a tokenizer.
+ */
+@Component
+public class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    /**
+     * Estimates the number of tokens in the given text.
+     */
+    public int estimate(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+
+        int byChars = (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+        return Math.max(byChars, words);
+    }
+}
@@ -0,0 +1,195 @@
+package org.duckdns.todosummarized.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.cache.BloomFilter;
+import org.duckdns.todosummarized.config.CacheSyncProperties;
+import org.duckdns.todosummarized.config.TokenRevocationProperties;
+import org.duckdns.todosummarized.repository.RevokedTokenRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Denylist of tokens revoked before their expiry, by {@code jti}.
+ * Revocations are stored in the database and mirrored into an in-memory Bloom filter, so the common
+ * case of a token that was never revoked is answered without a query; only filter hits are checked
+ * against the database. Revocations on other nodes arrive as token invalidations; without cache sync,
+ * each node instead polls for recent revocations every {@code jwt.revocation.unsynced-staleness-seconds}.
+ * Rows expire with their tokens and are purged by a scheduled job, which also rebuilds the filter
+ * without them.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    /** Look-back added to each poll, for revocations committed late or stamped by a node with a skewed clock. */
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationProperties properties;
+    private final CacheSyncProperties syncProperties;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Clock clock;
+
+    /** Empty until the first load; until then every check goes to the database. */
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    /** Ids added while a rebuild loads, replayed into the new filter so none is lost in the swap. */
+    private final Set<String> addedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    /** When the filter was last brought up to date with the database. */
+    private volatile LocalDateTime loadedAt;
+
+    public TokenRevocationService(TokenRevocationProperties properties, CacheSyncProperties syncProperties,
+                                  RevokedTokenRepository revokedTokenRepository,
+                                  CacheInvalidationBus invalidationBus, Clock clock) {
+        this.properties = properties;
+        this.syncProperties = syncProperties;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.invalidationBus = invalidationBus;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether the token has been revoked. Tokens without an id predate revocation and never are.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            return false;
+        }
+        BloomFilter current = filter.get();
+        if (current != null && !current.mightContain(token.tokenId())) {
+            return false;
+        }
+        return revokedTokenRepository.existsByTokenIdAndExpiresAtAfter(token.tokenId(), now());
+    }
+
+    /**
+     * Revokes the token on every node until it expires. The insert is atomic, so of several concurrent
+     * calls for one token exactly one returns true; refresh rotation relies on that to stop replays.
+     *
+     * @return true if this call revoked the token, false if it was already revoked or has no id
+     */
+    public boolean revoke(VerifiedToken token) {
+        if (token.tokenId() == null || token.expiresAt() == null) {
+            return false;
+        }
+        int inserted = revokedTokenRepository.insertIfAbsent(token.tokenId(), token.userId(),
+                LocalDateTime.ofInstant(token.expiresAt(), ZoneOffset.UTC), now());
+        addToFilter(token.tokenId());
+        if (inserted == 0) {
+            log.debug("Token {} of {} was already revoked", token.tokenId(), token.subject());
+            return false;
+        }
+        invalidationBus.publish(CacheInvalidation.token(token.tokenId()));
+        log.debug("Revoked token {} of {}", token.tokenId(), token.subject());
+        return true;
+    }
+
+    /**
+     * Loads the filter once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFilter() {
+        rebuildFilter();
+    }
+
+    /**
+     * Deletes revocations of expired tokens and rebuilds the filter from the rest.
+     */
+    @Scheduled(cron = "${jwt.revocation.cleanup-cron:0 40 * * * *}", zone = "UTC")
+    public void purgeExpired() {
+        try {
+            int deleted = revokedTokenRepository.deleteExpired(now());
+            log.debug("Deleted {} expired token revocations", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Deleting expired token revocations failed: {}", e.getMessage());
+        }
+        rebuildFilter();
+    }
+
+    /**
+     * Without cache sync, adds revocations made on other nodes since the last load to the filter.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.unsynced-staleness-seconds:30}",
+            initialDelayString = "${jwt.revocation.unsynced-staleness-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void pollRecentRevocations() {
+        LocalDateTime since = loadedAt;
+        if (syncProperties.isEnabled() || since == null) {
+            return;
+        }
+        LocalDateTime started = now();
+        try {
+            List<String> recent = revokedTokenRepository.findTokenIdsRevokedSince(since.minus(POLL_OVERLAP), started);
+            recent.forEach(this::addToFilter);
+            loadedAt = started;
+            log.debug("Added {} recent token revocations to the filter", recent.size());
+        } catch (RuntimeException e) {
+            log.warn("Polling recent token revocations failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a revocation from another node; after lost notifications, reloads from the database.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case TOKEN -> addToFilter(invalidation.key());
+            case ALL -> rebuildFilter();
+            case USER, TODOS, INSIGHT -> {
+                // Not revocations
+            }
+        }
+    }
+
+    /**
+     * Builds a new filter from the database and swaps it in. On failure the current filter stays.
+     */
+    synchronized void rebuildFilter() {
+        rebuilding = true;
+        LocalDateTime started = now();
+        try {
+            List<String> active = revokedTokenRepository.findActiveTokenIds(now());
+            BloomFilter rebuilt = BloomFilter.create(
+                    Math.max(properties.getExpectedRevocations(), 2L * active.size()), properties.getFalsePositiveRate());
+            active.forEach(rebuilt::add);
+            filter.set(rebuilt);
+            addedDuringRebuild.forEach(rebuilt::add);
+            loadedAt = started;
+            log.info("Token revocation filter loaded: {} active revocations, {} KB",
+                    active.size(), rebuilt.bitSize() / 8 / 1024);
+        } catch (RuntimeException e) {
+            log.warn("Loading the token revocation filter failed, keeping the current one: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            addedDuringRebuild.clear();
+        }
+    }
+
+    private void addToFilter(String tokenId) {
+        if (rebuilding) {
+            addedDuringRebuild.add(tokenId);
+        }
+        BloomFilter current = filter.get();
+        if (current != null) {
+            current.add(tokenId);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
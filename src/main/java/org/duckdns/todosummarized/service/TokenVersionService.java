@@ -0,0 +1,60 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Tracks each user's current token version, the {@code ver} claim every token carries.
+ * Account changes bump the version, so tokens issued before the change stop being accepted
+ * without the user having to be loaded on every request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private final Cache<String, Integer> tokenVersionCache;
+    private final UserRepository userRepository;
+
+    /**
+     * Whether the token was issued under its user's current version. Unknown users are never current.
+     */
+    public boolean isCurrent(VerifiedToken token) {
+        if (token.subject() == null) {
+            return false;
+        }
+        Integer current = tokenVersionCache.get(token.subject().toLowerCase(Locale.ROOT),
+                email -> userRepository.findTokenVersionByEmail(email).orElse(null));
+        return current != null && current == token.version();
+    }
+
+    /**
+     * Forgets the user's version on this node; the next verification reads it again.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            tokenVersionCache.invalidate(email.toLowerCase(Locale.ROOT));
+            log.debug("Evicted token version of user {}", email);
+        }
+    }
+
+    /**
+     * Applies a user eviction received from another node.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case USER -> evict(invalidation.key());
+            case ALL -> tokenVersionCache.invalidateAll();
+            case TODOS, INSIGHT, TOKEN -> {
+                // Token versions do not depend on todos or insights
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Service for user account management operations.
@@ -23,6 +24,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final CacheService cacheService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
 
     /**
      * Register a new user.
@@ -53,6 +55,22 @@ public class UserService {
         return UserResponseDTO.fromEntity(user);
     }
 
+    /**
+     * Signs the user out everywhere by moving them to a new token version.
+     * The bump is committed before any cache is evicted, so no node can reload the old version.
+     *
+     * @return false if no user has this id
+     */
+    public boolean revokeTokens(UUID userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || userRepository.incrementTokenVersion(userId) == 0) {
+            return false;
+        }
+        tokenVersionService.evict(user.getEmail());
+        cacheService.evictUser(user.getEmail());
+        return true;
+    }
+
     private User toNewUser(String email, String rawPassword) {
         return User.builder()
                 .email(email)
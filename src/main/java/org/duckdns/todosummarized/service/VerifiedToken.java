@@ -0,0 +1,44 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.TokenType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature and expiry have been verified.
+ *
+ * @param tokenId   the token's unique id ({@code jti}), absent on tokens issued before it was added
+ * @param subject   the user's email
+ * @param userId    the user's id, absent on tokens issued before it was embedded
+ * @param role      the granted authority, present on access tokens only
+ * @param type      whether this is an access or a refresh token
+ * @param version   the user's token version when the token was issued
+ * @param issuedAt  when the token was issued
+ * @param expiresAt when the token stops being accepted
+ */
+public record VerifiedToken(String tokenId, String subject, UUID userId, String role, TokenType type, int version,
+                            Instant issuedAt, Instant expiresAt) {
+
+    /**
+     * Whether the token carries everything needed to authenticate without loading the user.
+     */
+    public boolean carriesIdentity() {
+        return subject != null && userId != null && role != null;
+    }
+
+    /**
+     * Builds a detached, claims-only principal: id, email, role and token version, no password.
+     * Services only read the id and email from it, and JPA treats it as a reference by id.
+     */
+    public User toPrincipal() {
+        return User.builder()
+                .id(userId)
+                .email(subject)
+                .role(Role.valueOf(role))
+                .tokenVersion(version)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Remembers bearer tokens that already passed {@link JwtService#validate(String)}, so a client
+ * reusing its access token skips signature verification and claims parsing on every later request.
+ * Entries are keyed by a SHA-256 digest of the token and expire with the token; only tokens that
+ * verify, carry their user's current token version and are not revoked are cached, so garbage
+ * cannot fill the cache.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VerifiedTokenCacheService {
+
+    private final Cache<String, VerifiedToken> verifiedTokenCache;
+    private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Clock clock;
+
+    /**
+     * Returns the token's verified claims, from memory when the token was seen before.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return Optional.of(cached);
+        }
+
+        Optional<VerifiedToken> verified = jwtService.validate(token)
+                .filter(tokenVersionService::isCurrent)
+                .filter(t -> !tokenRevocationService.isRevoked(t));
+        verified.filter(t -> t.subject() != null && t.expiresAt() != null)
+                .ifPresentOrElse(t -> verifiedTokenCache.put(digest, t), () -> verifiedTokenCache.invalidate(digest));
+        return verified;
+    }
+
+    /**
+     * Revokes the token until it expires and forgets it here; other nodes forget it through the revocation.
+     *
+     * @return the revoked token's claims, or empty if the token was not valid to begin with
+     */
+    public Optional<VerifiedToken> revoke(String token) {
+        Optional<VerifiedToken> verified = verify(token);
+        verified.ifPresent(tokenRevocationService::revoke);
+        evict(token);
+        return verified;
+    }
+
+    /**
+     * Forgets a single token.
+     */
+    public void evict(String token) {
+        verifiedTokenCache.invalidate(digest(token));
+    }
+
+    /**
+     * Forgets every token issued to the user, so changes to the account apply to the next request.
+     * Scans the cache, which is cheap next to how rarely accounts change.
+     */
+    public void evictUser(String email) {
+        if (email != null) {
+            verifiedTokenCache.asMap().values().removeIf(token -> email.equalsIgnoreCase(token.subject()));
+            log.debug("Evicted verified tokens of user {}", email);
+        }
+    }
+
+    /**
+     * Applies a user eviction or token revocation received from another node.
+     * Revocations carry only the token id, so they scan the cache like user evictions.
+     */
+    @EventListener
+    public void onRemoteInvalidation(CacheInvalidation invalidation) {
+        switch (invalidation.kind()) {
+            case USER -> evictUser(invalidation.key());
+            case TOKEN -> verifiedTokenCache.asMap().values()
+                    .removeIf(token -> invalidation.key().equals(token.tokenId()));
+            case ALL -> verifiedTokenCache.invalidateAll();
+            case TODOS, INSIGHT -> {
+                // Tokens do not depend on todos or insights
+            }
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            // MessageDigest instances are not thread-safe; creating one is cheap next to verifying a signature
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
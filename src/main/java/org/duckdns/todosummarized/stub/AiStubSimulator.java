@@ -0,0 +1,100 @@
+package org.duckdns.todosummarized.stub;
+
+import lombok.RequiredArgsConstructor;
+import org.duckdns.todosummarized.config.LocalStubProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.SplittableRandom;
+
+/**
+ * Decides how the local stub answers each request: how long it takes and whether it
+ * succeeds, fails or is rate limited. Draws come from a seeded generator so the same
+ * sequence of requests always sees the same sequence of outcomes.
+ */
+@Component
+@RequiredArgsConstructor
+public class AiStubSimulator {
+
+    private final LocalStubProperties properties;
+    private final Clock clock;
+    private SplittableRandom random;
+
+    /**
+     * Kind of response the stub should send.
+     */
+    public enum Kind {
+        OK,
+        ERROR,
+        RATE_LIMITED
+    }
+
+    /**
+     * Simulated outcome for one request.
+     */
+    public record Outcome(Kind kind, long latencyMillis, long retryAfterSeconds) {}
+
+    /**
+     * Draws the outcome for the next request.
+     */
+    public synchronized Outcome next() {
+        if (random == null) {
+            random = new SplittableRandom(properties.getSeed());
+        }
+
+        long retryAfter = rateLimitRetryAfter();
+        if (retryAfter > 0) {
+            return new Outcome(Kind.RATE_LIMITED, 0, retryAfter);
+        }
+
+        long latency = Math.clamp(sampleLatency(), 0, properties.getMaxLatencyMillis());
+        Kind kind = random.nextDouble() < properties.getErrorRate() ? Kind.ERROR : Kind.OK;
+        return new Outcome(kind, latency, 0);
+    }
+
+    /**
+     * Builds a deterministic summary for the given prompt.
+     */
+    public String summarize(String prompt) {
+        String text = prompt == null ? "" : prompt;
+        long lines = text.lines().count();
+        return "Local stub summary for a %d-line prompt (%d chars, fingerprint %08x). Focus on overdue and high-priority tasks first."
+                .formatted(lines, text.length(), text.hashCode());
+    }
+
+    private long sampleLatency() {
+        return switch (properties.getLatencyDistribution()) {
+            case FIXED -> properties.getLatencyMillis();
+            case UNIFORM -> {
+                long spread = properties.getLatencySpreadMillis();
+                yield properties.getLatencyMillis() + (spread == 0 ? 0 : random.nextLong(-spread, spread + 1));
+            }
+            case LOG_NORMAL -> {
+                double gaussian = gaussian();
+                yield Math.round(properties.getLatencyMillis() * Math.exp(properties.getLatencySigma() * gaussian));
+            }
+        };
+    }
+
+    /**
+     * Standard normal draw via Box-Muller, using the seeded generator.
+     */
+    private double gaussian() {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    /**
+     * Returns the seconds left in the current 429 burst, or zero outside a burst.
+     */
+    private long rateLimitRetryAfter() {
+        int period = properties.getRateLimitBurstPeriodSeconds();
+        if (period <= 0) {
+            return 0;
+        }
+        long phase = Math.floorMod(clock.instant().getEpochSecond(), period);
+        long remaining = properties.getRateLimitBurstSeconds() - phase;
+        return remaining > 0 ? remaining : 0;
+    }
+}
@@ -0,0 +1,216 @@
+package org.duckdns.todosummarized.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.duckdns.todosummarized.config.LocalStubProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embeddable HTTP server that speaks the OpenAI chat completions and Gemini generateContent
+ * wire formats, answering from {@link AiStubSimulator} instead of a real model.
+ * Binds to loopback only and needs no network access. Started automatically when
+ * {@code ai.stub.enabled} is set, or manually via {@link #start()} in tests and tools.
+ */
+@Slf4j
+@Component
+public class LocalAiStubServer {
+
+    static final String OPENAI_PATH = "/v1/chat/completions";
+    static final String GEMINI_PATH_PREFIX = "/v1beta/models/";
+    static final String GEMINI_PATH_SUFFIX = ":generateContent";
+
+    private final LocalStubProperties properties;
+    private final AiStubSimulator simulator;
+    private final ObjectMapper objectMapper;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public LocalAiStubServer(LocalStubProperties properties, AiStubSimulator simulator, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.simulator = simulator;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void startIfEnabled() throws IOException {
+        if (properties.isEnabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the server if it is not already running.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), properties.getPort()), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("Local AI stub listening on {}", getBaseUrl());
+    }
+
+    /**
+     * Stops the server and releases its threads.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("Local AI stub stopped");
+        }
+    }
+
+    /**
+     * Returns true while the server is accepting requests.
+     */
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the base URL clients should target, e.g. {@code http://127.0.0.1:54321}.
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Local AI stub is not running");
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                // Warm-up and keep-alive probes
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+
+            boolean openAi = OPENAI_PATH.equals(path);
+            boolean gemini = path.startsWith(GEMINI_PATH_PREFIX) && path.endsWith(GEMINI_PATH_SUFFIX);
+            if (!openAi && !gemini) {
+                send(exchange, 404, error(404, "Unknown stub endpoint: " + path), 0);
+                return;
+            }
+
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            AiStubSimulator.Outcome outcome = simulator.next();
+            sleep(outcome.latencyMillis());
+
+            switch (outcome.kind()) {
+                case RATE_LIMITED -> {
+                    exchange.getResponseHeaders().set("Retry-After", String.valueOf(outcome.retryAfterSeconds()));
+                    send(exchange, 429, error(429, "Rate limit reached (simulated)"), 0);
+                }
+                case ERROR -> send(exchange, 500, error(500, "Internal error (simulated)"), 0);
+                case OK -> {
+                    String prompt = openAi ? openAiPrompt(request) : geminiPrompt(request);
+                    String summary = simulator.summarize(prompt);
+                    Object body = openAi ? openAiResponse(prompt, summary) : geminiResponse(prompt, summary);
+                    send(exchange, 200, body, properties.getSlowDripChunkBytes());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body, int chunkBytes)
+            throws IOException, InterruptedException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+        if (chunkBytes <= 0) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            return;
+        }
+
+        // Chunked transfer, flushing each slice after a delay to simulate a slow upstream
+        exchange.sendResponseHeaders(status, 0);
+        OutputStream out = exchange.getResponseBody();
+        for (int offset = 0; offset < bytes.length; offset += chunkBytes) {
+            out.write(bytes, offset, Math.min(chunkBytes, bytes.length - offset));
+            out.flush();
+            sleep(properties.getSlowDripDelayMillis());
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static String openAiPrompt(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        return messages.isArray() && !messages.isEmpty() ? messages.get(messages.size() - 1).path("content").asText() : "";
+    }
+
+    private static String geminiPrompt(JsonNode request) {
+        return request.path("contents").path(0).path("parts").path(0).path("text").asText();
+    }
+
+    private Map<String, Object> openAiResponse(String prompt, String summary) {
+        return Map.of(
+                "id", "chatcmpl-stub",
+                "object", "chat.completion",
+                "model", properties.getModel(),
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", summary),
+                        "finish_reason", "stop"
+                )),
+                "usage", Map.of(
+                        "prompt_tokens", approximateTokens(prompt),
+                        "completion_tokens", approximateTokens(summary)
+                )
+        );
+    }
+
+    private static Map<String, Object> geminiResponse(String prompt, String summary) {
+        return Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("role", "model", "parts", List.of(Map.of("text", summary))),
+                        "finishReason", "STOP"
+                )),
+                "usageMetadata", Map.of(
+                        "promptTokenCount", approximateTokens(prompt),
+                        "candidatesTokenCount", approximateTokens(summary)
+                )
+        );
+    }
+
+    /**
+     * Roughly four characters per token, close enough for budgeting dashboards.
+     */
+    private static int approximateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private static Map<String, Object> error(int code, String message) {
+        return Map.of("error", Map.of("code", code, "message", message));
+    }
+}
@@ -0,0 +1,61 @@
+package org.duckdns.todosummarized.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("should report every added value")
+    void shouldNeverMissAddedValues() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String value = UUID.randomUUID().toString();
+            filter.add(value);
+            added.add(value);
+        }
+
+        assertTrue(added.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("should keep false positives near the configured rate")
+    void shouldBoundFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("should not lose values added concurrently")
+    void shouldBeThreadSafe() {
+        BloomFilter filter = BloomFilter.create(50_000, 0.01);
+        List<String> values = IntStream.range(0, 50_000).mapToObj(i -> "token-" + i).toList();
+
+        values.parallelStream().forEach(filter::add);
+
+        assertTrue(values.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("should reject nonsensical sizing")
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.0));
+    }
+}
@@ -0,0 +1,148 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.config.CacheMemoryProperties;
+import org.duckdns.todosummarized.domains.entity.Todo;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.repository.TodoQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheMemoryBudgetTest {
+
+    private static final long HEAP = 512L * 1024 * 1024;
+
+    private static Page<Todo> page(int todos, int descriptionLength) {
+        List<Todo> content = IntStream.range(0, todos)
+                .mapToObj(i -> {
+                    Todo todo = new Todo();
+                    todo.setId(UUID.randomUUID());
+                    todo.setTitle("Task " + i);
+                    todo.setDescription("d".repeat(descriptionLength));
+                    return todo;
+                })
+                .toList();
+        return new PageImpl<>(content, PageRequest.of(0, 20), todos);
+    }
+
+    private static TodoSearchKey key() {
+        return new TodoSearchKey(UUID.randomUUID(), 0, new TodoQuery(null, null, null, null, null, null),
+                0, 20, PageRequest.of(0, 20).getSort());
+    }
+
+    @Nested
+    @DisplayName("from")
+    class FromTests {
+
+        @Test
+        @DisplayName("should split the heap percentage across caches by share")
+        void shouldSplitByShare() {
+            CacheMemoryProperties properties = new CacheMemoryProperties();
+            properties.setHeapPercent(10);
+            properties.setShares(Map.of("a", 3, "b", 1));
+
+            CacheMemoryBudget budget = CacheMemoryBudget.from(properties, HEAP);
+
+            assertEquals(HEAP / 10, budget.totalBytes());
+            assertEquals(budget.totalBytes() * 3 / 4, budget.bytesFor("a"));
+            assertEquals(budget.totalBytes() / 4, budget.bytesFor("b"));
+        }
+
+        @Test
+        @DisplayName("should give every cache at least the minimum budget")
+        void shouldApplyFloor() {
+            CacheMemoryProperties properties = new CacheMemoryProperties();
+            properties.setHeapPercent(1);
+            properties.setShares(Map.of("big", 1000, "tiny", 1));
+
+            CacheMemoryBudget budget = CacheMemoryBudget.from(properties, HEAP);
+
+            assertEquals(CacheMemoryBudget.MIN_CACHE_BYTES, budget.bytesFor("tiny"));
+        }
+
+        @Test
+        @DisplayName("should give the shares of caches that are never created to the others")
+        void shouldSkipAbsentCaches() {
+            CacheMemoryProperties properties = new CacheMemoryProperties();
+            properties.setHeapPercent(10);
+            properties.setShares(Map.of("a", 3, "b", 1, "absent", 4));
+
+            CacheMemoryBudget budget = CacheMemoryBudget.from(properties, HEAP, Set.of("absent"));
+
+            assertEquals(budget.totalBytes() * 3 / 4, budget.bytesFor("a"));
+            assertEquals(budget.totalBytes() / 4, budget.bytesFor("b"));
+            assertThrows(IllegalStateException.class, () -> budget.bytesFor("absent"));
+        }
+
+        @Test
+        @DisplayName("should reject an out-of-range heap percentage")
+        void shouldRejectInvalidPercent() {
+            CacheMemoryProperties properties = new CacheMemoryProperties();
+            properties.setHeapPercent(95);
+
+            assertThrows(IllegalArgumentException.class, () -> CacheMemoryBudget.from(properties, HEAP));
+        }
+
+        @Test
+        @DisplayName("should fail fast for a cache without a share")
+        void shouldRejectUnknownCache() {
+            CacheMemoryBudget budget = CacheMemoryBudget.from(new CacheMemoryProperties(), HEAP);
+
+            assertThrows(IllegalStateException.class, () -> budget.bytesFor("unknown"));
+        }
+    }
+
+    @Nested
+    @DisplayName("EntryWeighers")
+    class WeigherTests {
+
+        @Test
+        @DisplayName("should weigh a full page with descriptions far above a user")
+        void shouldWeighByContent() {
+            User user = User.builder().id(UUID.randomUUID()).email("a@example.com").password("x".repeat(60)).build();
+
+            int userWeight = EntryWeighers.user().weigh("a@example.com", user);
+            int pageWeight = EntryWeighers.todoPage().weigh(key(), page(20, 500));
+
+            assertTrue(pageWeight > 20 * userWeight, "page=" + pageWeight + " user=" + userWeight);
+        }
+
+        @Test
+        @DisplayName("should hold fewer heavy pages than light ones within the same budget")
+        void shouldEvictByWeight() {
+            Cache<TodoSearchKey, Page<Todo>> cache = Caffeine.newBuilder()
+                    .maximumWeight(200_000)
+                    .weigher(EntryWeighers.todoPage())
+                    .executor(Runnable::run)
+                    .build();
+
+            for (int i = 0; i < 100; i++) {
+                cache.put(key(), page(20, 1000));
+            }
+            cache.cleanUp();
+            long heavyEntries = cache.estimatedSize();
+
+            cache.invalidateAll();
+            for (int i = 0; i < 100; i++) {
+                cache.put(key(), page(1, 10));
+            }
+            cache.cleanUp();
+
+            assertTrue(heavyEntries < 10, "heavy entries: " + heavyEntries);
+            assertEquals(100, cache.estimatedSize());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheMetricsBinderTest {
+
+    private SimpleMeterRegistry registry;
+    private Cache<String, String> weighted;
+    private Cache<String, String> sized;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        weighted = Caffeine.newBuilder()
+                .maximumWeight(1000)
+                .weigher((String key, String value) -> value.length())
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        sized = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        new CacheMetricsBinder(Map.of("weightedCache", weighted, "sizedCache", sized)).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("should publish hits and misses per cache")
+    void shouldPublishHitsAndMisses() {
+        weighted.put("a", "value");
+        weighted.getIfPresent("a");
+        weighted.getIfPresent("b");
+        sized.getIfPresent("c");
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", "weightedCache", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "weightedCache", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "sizedCache", "result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should publish weighted size and budget only for weighted caches")
+    void shouldPublishWeightGauges() {
+        weighted.put("a", "12345");
+
+        assertEquals(5, registry.get(CacheMetricsBinder.WEIGHTED_SIZE).tag("cache", "weightedCache").gauge().value());
+        assertEquals(1000, registry.get(CacheMetricsBinder.MAX_WEIGHT).tag("cache", "weightedCache").gauge().value());
+        assertNull(registry.find(CacheMetricsBinder.WEIGHTED_SIZE).tag("cache", "sizedCache").gauge());
+    }
+}
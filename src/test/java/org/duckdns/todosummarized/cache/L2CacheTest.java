@@ -0,0 +1,238 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.dto.AiSummaryDTO;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class L2CacheTest {
+
+    private static final LocalDate FIXED_DATE = LocalDate.of(2026, 1, 9);
+
+    private MutableClock clock;
+    private InMemoryL2CacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-09T10:00:00Z"));
+        store = new InMemoryL2CacheStore(1 << 20, clock);
+    }
+
+    private static User sampleUser() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("$2a$10$hash")
+                .role(Role.ROLE_ADMIN)
+                .enabled(true)
+                .accountNonLocked(false)
+                .tokenVersion(7)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 8, 30, 15, 123_000_000))
+                .updatedAt(LocalDateTime.of(2026, 1, 9, 9, 0))
+                .build();
+    }
+
+    private static AiSummaryDTO sampleInsight() {
+        DailySummaryDTO metrics = DailySummaryDTO.builder()
+                .date(FIXED_DATE)
+                .totalTodos(25)
+                .completedCount(10)
+                .overdueCount(3)
+                .completionRate(43.48)
+                .byPriority(Map.of("HIGH", 5L))
+                .byStatus(Map.of("COMPLETED", 10L, "IN_PROGRESS", 8L))
+                .build();
+        return AiSummaryDTO.aiGenerated(FIXED_DATE, SummaryType.DEVELOPER, "Résumé ✓", "gpt-5-nano", metrics);
+    }
+
+    @Nested
+    @DisplayName("codecs")
+    class CodecTests {
+
+        @Test
+        @DisplayName("should round-trip a user including account flags and token version")
+        void shouldRoundTripUser() {
+            L2Cache<User> cache = new L2Cache<>(store, "u:", new UserCacheCodec(), Duration.ofMinutes(5));
+            User user = sampleUser();
+
+            cache.put("test@example.com", user);
+            User restored = cache.get("test@example.com").orElseThrow();
+
+            assertEquals(user.getId(), restored.getId());
+            assertEquals(user.getEmail(), restored.getEmail());
+            assertEquals(user.getPassword(), restored.getPassword());
+            assertEquals(Role.ROLE_ADMIN, restored.getRole());
+            assertEquals(user.getCreatedAt(), restored.getCreatedAt());
+            assertEquals(user.getUpdatedAt(), restored.getUpdatedAt());
+            assertTrue(restored.isEnabled());
+            assertFalse(restored.isAccountNonLocked());
+            assertTrue(restored.isAccountNonExpired());
+            assertEquals(7, restored.getTokenVersion());
+        }
+
+        @Test
+        @DisplayName("should round-trip an insight with its metrics snapshot")
+        void shouldRoundTripInsight() {
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+            AiSummaryDTO insight = sampleInsight();
+
+            cache.put("key", insight);
+
+            assertEquals(Optional.of(insight), cache.get("key"));
+        }
+
+        @Test
+        @DisplayName("should round-trip a fallback insight without metrics")
+        void shouldRoundTripFallback() {
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+            AiSummaryDTO insight = AiSummaryDTO.fallback(FIXED_DATE, SummaryType.EXECUTIVE, "AI is disabled", null);
+
+            cache.put("key", insight);
+
+            assertEquals(Optional.of(insight), cache.get("key"));
+        }
+
+        @Test
+        @DisplayName("should encode an insight far smaller than its JSON form")
+        void shouldEncodeCompactly() throws Exception {
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+
+            byte[] encoded = cache.encode(sampleInsight());
+
+            assertTrue(encoded.length < 100, "encoded size was " + encoded.length);
+        }
+    }
+
+    @Nested
+    @DisplayName("get")
+    class GetTests {
+
+        @Test
+        @DisplayName("should miss once the entry expires")
+        void shouldExpire() {
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+            cache.put("key", sampleInsight());
+
+            clock.advance(Duration.ofMinutes(5));
+
+            assertTrue(cache.get("key").isEmpty());
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("should drop expired entries that are never read again and stay within its byte budget")
+        void shouldBoundMemoryStore() {
+            InMemoryL2CacheStore bounded = new InMemoryL2CacheStore(64 * 1024, clock);
+            for (int i = 0; i < 1_000; i++) {
+                bounded.put("user:" + i, new byte[512], Duration.ofMinutes(5));
+            }
+            assertTrue(bounded.size() < 1_000, "size was " + bounded.size());
+
+            clock.advance(Duration.ofMinutes(5));
+
+            assertEquals(0, bounded.size());
+        }
+
+        @Test
+        @DisplayName("should ignore entries written with another codec version")
+        void shouldIgnoreOtherVersion() {
+            store.put("i:key", new byte[]{99, 1, 2}, Duration.ofMinutes(5));
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+
+            assertTrue(cache.get("key").isEmpty());
+        }
+
+        @Test
+        @DisplayName("should drop undecodable entries")
+        void shouldDropCorruptEntries() {
+            store.put("i:key", new byte[]{1, 2}, Duration.ofMinutes(5));
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(store, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+
+            assertTrue(cache.get("key").isEmpty());
+            assertNull(store.get("i:key"));
+        }
+
+        @Test
+        @DisplayName("should treat store failures as misses")
+        void shouldSurviveStoreFailure() {
+            L2CacheStore failing = new L2CacheStore() {
+                @Override
+                public byte[] get(String key) {
+                    throw new IllegalStateException("down");
+                }
+
+                @Override
+                public void put(String key, byte[] value, Duration ttl) {
+                    throw new IllegalStateException("down");
+                }
+
+                @Override
+                public void delete(String key) {
+                    throw new IllegalStateException("down");
+                }
+            };
+            L2Cache<AiSummaryDTO> cache = new L2Cache<>(failing, "i:", new AiSummaryCacheCodec(), Duration.ofMinutes(5));
+
+            assertDoesNotThrow(() -> cache.put("key", sampleInsight()));
+            assertTrue(cache.get("key").isEmpty());
+            assertDoesNotThrow(() -> cache.evict("key"));
+        }
+
+        @Test
+        @DisplayName("should hold nothing when disabled")
+        void shouldDoNothingWhenDisabled() {
+            L2Cache<AiSummaryDTO> cache = L2Cache.disabled();
+
+            cache.put("key", sampleInsight());
+
+            assertFalse(cache.isEnabled());
+            assertTrue(cache.get("key").isEmpty());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.config.L2CacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisL2CacheStoreTest {
+
+    private FakeRedisServer server;
+    private L2CacheProperties.Redis properties;
+    private RedisL2CacheStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRedisServer();
+        properties = new L2CacheProperties.Redis();
+        properties.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        properties.setPort(server.port());
+        properties.setTimeoutMillis(2000);
+        store = new RedisL2CacheStore(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("should set, get and delete binary values")
+    void shouldRoundTripBinaryValues() {
+        byte[] value = {0, 13, 10, (byte) 0xFF, 42};
+
+        store.put("k", value, Duration.ofSeconds(30));
+
+        assertArrayEquals(value, store.get("k"));
+        store.delete("k");
+        assertNull(store.get("k"));
+    }
+
+    @Test
+    @DisplayName("should send the TTL in milliseconds and share one connection")
+    void shouldSendTtlAndReuseConnection() {
+        store.put("k", new byte[]{1}, Duration.ofSeconds(30));
+        store.get("k");
+
+        assertEquals(List.of("SET", "k", "\u0001", "PX", "30000"), server.command("SET"));
+        assertEquals(1, server.connections);
+    }
+
+    @Test
+    @DisplayName("should authenticate and select the database on connect")
+    void shouldAuthenticateOnConnect() {
+        properties.setPassword("secret");
+        properties.setDatabase(2);
+
+        store.get("k");
+
+        assertEquals(List.of("AUTH", "secret"), server.command("AUTH"));
+        assertEquals(List.of("SELECT", "2"), server.command("SELECT"));
+    }
+
+    @Test
+    @DisplayName("should authenticate as the configured ACL user")
+    void shouldAuthenticateAsAclUser() {
+        properties.setUsername("todo-insight");
+        properties.setPassword("secret");
+
+        store.get("k");
+
+        assertEquals(List.of("AUTH", "todo-insight", "secret"), server.command("AUTH"));
+    }
+
+    @Test
+    @DisplayName("should surface server errors and keep using the connection")
+    void shouldSurfaceServerErrors() {
+        assertThrows(RuntimeException.class, () -> store.put("fail", new byte[]{1}, Duration.ofSeconds(1)));
+
+        store.put("k", new byte[]{1}, Duration.ofSeconds(1));
+
+        assertArrayEquals(new byte[]{1}, store.get("k"));
+    }
+
+    @Test
+    @DisplayName("should fail fast without reconnecting while the server is unreachable")
+    void shouldBackOffAfterFailedConnect() throws IOException {
+        // Accepts connections but never answers, so every connect runs into the timeout
+        try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            List<Socket> accepted = new CopyOnWriteArrayList<>();
+            Thread acceptor = Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        accepted.add(silent.accept());
+                    }
+                } catch (IOException e) {
+                    // Socket closed
+                }
+            });
+            properties.setPort(silent.getLocalPort());
+            properties.setTimeoutMillis(300);
+            properties.setConnectRetryMillis(60_000);
+            RedisL2CacheStore unreachable = new RedisL2CacheStore(properties);
+            try {
+                assertThrows(RuntimeException.class, () -> unreachable.get("k"));
+
+                long started = System.nanoTime();
+                for (int i = 0; i < 20; i++) {
+                    assertThrows(RuntimeException.class, () -> unreachable.get("k"));
+                    assertThrows(RuntimeException.class, () -> unreachable.put("k", new byte[]{1}, Duration.ofSeconds(1)));
+                }
+
+                assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 300);
+                assertEquals(1, accepted.size());
+            } finally {
+                unreachable.close();
+                acceptor.interrupt();
+                for (Socket socket : accepted) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Minimal RESP server supporting the commands the store uses. Keys named "fail" produce an error reply.
+     */
+    private static final class FakeRedisServer implements AutoCloseable {
+
+        private final ServerSocket socket;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final Map<String, byte[]> data = new ConcurrentHashMap<>();
+        final List<List<String>> commands = new CopyOnWriteArrayList<>();
+        volatile int connections;
+
+        FakeRedisServer() throws IOException {
+            socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            executor.submit(this::accept);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        List<String> command(String name) {
+            return commands.stream().filter(command -> command.get(0).equals(name)).findFirst().orElse(null);
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections++;
+                    executor.submit(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+                OutputStream out = client.getOutputStream();
+                while (true) {
+                    List<byte[]> args = readCommand(in);
+                    if (args == null) {
+                        return;
+                    }
+                    List<String> command = new ArrayList<>();
+                    args.forEach(arg -> command.add(new String(arg, StandardCharsets.ISO_8859_1)));
+                    commands.add(command);
+                    out.write(reply(command.get(0), args));
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // Client went away
+            }
+        }
+
+        private byte[] reply(String name, List<byte[]> args) {
+            String key = args.size() > 1 ? new String(args.get(1), StandardCharsets.UTF_8) : "";
+            if ("fail".equals(key)) {
+                return ascii("-ERR simulated\r\n");
+            }
+            return switch (name) {
+                case "GET" -> {
+                    byte[] value = data.get(key);
+                    if (value == null) {
+                        yield ascii("$-1\r\n");
+                    }
+                    byte[] header = ascii("$" + value.length + "\r\n");
+                    byte[] reply = new byte[header.length + value.length + 2];
+                    System.arraycopy(header, 0, reply, 0, header.length);
+                    System.arraycopy(value, 0, reply, header.length, value.length);
+                    reply[reply.length - 2] = '\r';
+                    reply[reply.length - 1] = '\n';
+                    yield reply;
+                }
+                case "SET" -> {
+                    data.put(key, args.get(2));
+                    yield ascii("+OK\r\n");
+                }
+                case "DEL" -> ascii(":" + (data.remove(key) == null ? 0 : 1) + "\r\n");
+                default -> ascii("+OK\r\n");
+            };
+        }
+
+        private static List<byte[]> readCommand(DataInputStream in) throws IOException {
+            int type = in.read();
+            if (type == -1) {
+                return null;
+            }
+            int count = Integer.parseInt(readLine(in));
+            List<byte[]> args = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                in.read(); // '$'
+                byte[] arg = new byte[Integer.parseInt(readLine(in))];
+                in.readFully(arg);
+                in.readFully(new byte[2]);
+                args.add(arg);
+            }
+            return args;
+        }
+
+        private static String readLine(DataInputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\r') {
+                line.append((char) b);
+            }
+            in.read();
+            return line.toString();
+        }
+
+        private static byte[] ascii(String value) {
+            return value.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            executor.shutdownNow();
+        }
+    }
+}
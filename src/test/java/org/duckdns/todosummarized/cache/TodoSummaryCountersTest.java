@@ -0,0 +1,86 @@
+package org.duckdns.todosummarized.cache;
+
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSummaryCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 9);
+    private static final LocalDateTime NOW = TODAY.atTime(12, 0);
+
+    private static TodoFacts open(LocalDateTime dueDate) {
+        return new TodoFacts(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, dueDate);
+    }
+
+    private static TodoFacts completed(LocalDateTime dueDate) {
+        return new TodoFacts(TaskStatus.COMPLETED, TaskPriority.LOW, dueDate);
+    }
+
+    @Test
+    @DisplayName("should count open todos due before now as overdue, to the minute")
+    void shouldCountOverdue() {
+        TodoSummaryCounters counters = TodoSummaryCounters.of(List.of(
+                open(TODAY.minusDays(3).atStartOfDay()),
+                open(TODAY.atTime(11, 59)),
+                open(TODAY.atTime(12, 0)),
+                completed(TODAY.minusDays(1).atStartOfDay()),
+                open(null)
+        ));
+
+        assertEquals(2, counters.overdueAt(NOW));
+        assertEquals(5, counters.total());
+    }
+
+    @Test
+    @DisplayName("should count todos of any status by due day")
+    void shouldCountDueDays() {
+        TodoSummaryCounters counters = TodoSummaryCounters.of(List.of(
+                open(TODAY.atTime(9, 0)),
+                completed(TODAY.atTime(23, 59)),
+                open(TODAY.plusDays(1).atStartOfDay()),
+                open(TODAY.plusDays(7).atTime(23, 0)),
+                open(TODAY.plusDays(8).atStartOfDay())
+        ));
+
+        assertEquals(2, counters.dueBetween(TODAY, TODAY.plusDays(1)));
+        assertEquals(2, counters.dueBetween(TODAY.plusDays(1), TODAY.plusDays(8)));
+    }
+
+    @Test
+    @DisplayName("should move a todo between buckets when it is completed")
+    void shouldApplyReplaceDelta() {
+        TodoFacts before = open(TODAY.minusDays(1).atStartOfDay());
+        TodoFacts after = new TodoFacts(TaskStatus.COMPLETED, TaskPriority.HIGH, before.dueDate());
+        TodoSummaryCounters counters = TodoSummaryCounters.of(List.of(before));
+
+        counters.replace(before, after);
+
+        assertEquals(0, counters.overdueAt(NOW));
+        assertEquals(0L, counters.byStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1L, counters.byStatus().get(TaskStatus.COMPLETED));
+        assertEquals(1L, counters.byPriority().get(TaskPriority.HIGH));
+        assertEquals(1, counters.total());
+    }
+
+    @Test
+    @DisplayName("should return to empty after removing everything that was added")
+    void shouldDropEmptyBuckets() {
+        TodoFacts todo = open(TODAY.atTime(8, 0));
+        TodoSummaryCounters counters = new TodoSummaryCounters();
+
+        counters.add(todo);
+        counters.remove(todo);
+
+        assertEquals(0, counters.total());
+        assertEquals(0, counters.histogramSize());
+        assertTrue(counters.byStatus().values().stream().allMatch(count -> count == 0));
+    }
+}
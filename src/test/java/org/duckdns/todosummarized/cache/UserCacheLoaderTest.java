@@ -0,0 +1,137 @@
+package org.duckdns.todosummarized.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheLoaderTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private L2Cache<User> userL2Cache;
+    private UserCacheLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        userL2Cache = new L2Cache<>(new InMemoryL2CacheStore(1 << 20, Clock.systemUTC()), "u:", new UserCacheCodec(),
+                Duration.ofHours(1));
+        loader = new UserCacheLoader(userRepository, userL2Cache);
+    }
+
+    private static User user(Role role) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(EMAIL)
+                .password("password")
+                .role(role)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("load")
+    class LoadTests {
+
+        @Test
+        @DisplayName("should prefer the shared tier over the database")
+        void shouldUseSharedTier() {
+            userL2Cache.put(EMAIL, user(Role.ROLE_USER));
+
+            assertEquals(EMAIL, loader.load(EMAIL).getEmail());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("should load from the database and write through to the shared tier")
+        void shouldLoadFromDatabase() {
+            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(Role.ROLE_USER)));
+
+            assertNotNull(loader.load(EMAIL));
+            assertTrue(userL2Cache.get(EMAIL).isPresent());
+        }
+
+        @Test
+        @DisplayName("should return null for unknown users")
+        void shouldReturnNullWhenMissing() {
+            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+            assertNull(loader.load(EMAIL));
+        }
+    }
+
+    @Nested
+    @DisplayName("refresh")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("should keep serving the cached user while a refresh runs in the background")
+        void shouldServeStaleWhileRefreshing() throws Exception {
+            AtomicLong ticker = new AtomicLong();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            CountDownLatch releaseReload = new CountDownLatch(1);
+            LoadingCache<String, User> cache = Caffeine.newBuilder()
+                    .refreshAfterWrite(Duration.ofMinutes(10))
+                    .ticker(ticker::get)
+                    .executor(executor)
+                    .build(loader);
+
+            when(userRepository.findByEmail(EMAIL))
+                    .thenReturn(Optional.of(user(Role.ROLE_USER)))
+                    .thenAnswer(invocation -> {
+                        releaseReload.await(5, TimeUnit.SECONDS);
+                        return Optional.of(user(Role.ROLE_ADMIN));
+                    });
+
+            try {
+                assertEquals(Role.ROLE_USER, cache.get(EMAIL).getRole());
+                ticker.addAndGet(Duration.ofMinutes(11).toNanos());
+
+                // Triggers the refresh but returns immediately with the previous value
+                assertEquals(Role.ROLE_USER, cache.get(EMAIL).getRole());
+
+                releaseReload.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+                assertEquals(Role.ROLE_ADMIN, cache.get(EMAIL).getRole());
+            } finally {
+                releaseReload.countDown();
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("should bypass the shared tier so refreshed entries see database changes")
+        void shouldReloadFromDatabase() {
+            userL2Cache.put(EMAIL, user(Role.ROLE_USER));
+            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(Role.ROLE_ADMIN)));
+
+            assertEquals(Role.ROLE_ADMIN, loader.reload(EMAIL, user(Role.ROLE_USER)).getRole());
+            assertEquals(Role.ROLE_ADMIN, userL2Cache.get(EMAIL).orElseThrow().getRole());
+        }
+    }
+}
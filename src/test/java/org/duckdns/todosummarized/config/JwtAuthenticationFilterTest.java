@@ -0,0 +1,91 @@
+package org.duckdns.todosummarized.config;
+
+import org.duckdns.todosummarized.domains.enums.TokenType;
+import org.duckdns.todosummarized.service.JwtService;
+import org.duckdns.todosummarized.service.VerifiedToken;
+import org.duckdns.todosummarized.service.VerifiedTokenCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-09T12:00:00Z");
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private VerifiedTokenCacheService verifiedTokenCacheService;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, verifiedTokenCacheService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static VerifiedToken token(String role, TokenType type) {
+        return new VerifiedToken("jti-1", "alice@example.com", UUID.randomUUID(), role, type, 0,
+                NOW, NOW.plusSeconds(900));
+    }
+
+    private void filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/todos");
+        request.setServletPath("/api/todos");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Test
+    @DisplayName("should authenticate requests bearing an access token")
+    void shouldAuthenticateAccessToken() throws Exception {
+        VerifiedToken access = token("ROLE_USER", TokenType.ACCESS);
+        when(verifiedTokenCacheService.verify("access-token")).thenReturn(Optional.of(access));
+        when(jwtService.isTokenValid(eq(access), any())).thenReturn(true);
+
+        filter("access-token");
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("should not authenticate requests bearing a refresh token")
+    void shouldRejectRefreshToken() throws Exception {
+        when(verifiedTokenCacheService.verify("refresh-token")).thenReturn(Optional.of(token(null, TokenType.REFRESH)));
+
+        filter("refresh-token");
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+        verify(jwtService, never()).isTokenValid(any(VerifiedToken.class), any());
+    }
+}
@@ -1,6 +1,7 @@
 package org.duckdns.todosummarized.config;
 
 import org.duckdns.todosummarized.service.CustomUserDetailsService;
+import org.duckdns.todosummarized.service.PasswordHashingExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,10 +27,20 @@ class SecurityConfigTest {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private SecurityConfig securityConfig;
+    private PasswordHashingProperties hashingProperties;
+    private PasswordHashingExecutor hashingExecutor;
 
     @BeforeEach
     void setUp() {
         securityConfig = new SecurityConfig(userDetailsService, jwtAuthenticationFilter);
+        hashingProperties = new PasswordHashingProperties();
+        hashingProperties.setStrength(4);
+        hashingProperties.setThreads(1);
+        hashingExecutor = new PasswordHashingExecutor(hashingProperties);
+    }
+
+    private PasswordEncoder passwordEncoder() {
+        return securityConfig.passwordEncoder(hashingProperties, hashingExecutor);
     }
 
     @Nested
@@ -37,18 +48,30 @@ class SecurityConfigTest {
     class PasswordEncoderTests {
 
         @Test
-        @DisplayName("should return BCryptPasswordEncoder instance")
-        void passwordEncoderShouldReturnBCryptInstance() {
-            PasswordEncoder encoder = securityConfig.passwordEncoder();
+        @DisplayName("should return a BCrypt encoder bounded by the hashing pool")
+        void passwordEncoderShouldReturnBoundedBCrypt() {
+            PasswordEncoder encoder = passwordEncoder();
 
-            assertThat(encoder).isNotNull();
-            assertThat(encoder).isInstanceOf(BCryptPasswordEncoder.class);
+            assertThat(encoder).isInstanceOf(BoundedPasswordEncoder.class);
+            assertThat(encoder.encode("password")).startsWith("$2a$04$");
+        }
+
+        @Test
+        @DisplayName("should ask for a rehash of passwords hashed below the configured strength")
+        void passwordEncoderShouldUpgradeWeakerHashes() {
+            String weaker = new BCryptPasswordEncoder(4).encode("password");
+            hashingProperties.setStrength(5);
+            PasswordEncoder encoder = passwordEncoder();
+
+            assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+            assertThat(encoder.matches("password", weaker)).isTrue();
         }
 
         @Test
         @DisplayName("should encode passwords correctly")
         void passwordEncoderShouldEncodePasswordsCorrectly() {
-            PasswordEncoder encoder = securityConfig.passwordEncoder();
+            PasswordEncoder encoder = passwordEncoder();
             String rawPassword = "testPassword123";
 
             String encodedPassword = encoder.encode(rawPassword);
@@ -60,7 +83,7 @@ class SecurityConfigTest {
         @Test
         @DisplayName("should reject wrong passwords")
         void passwordEncoderShouldRejectWrongPasswords() {
-            PasswordEncoder encoder = securityConfig.passwordEncoder();
+            PasswordEncoder encoder = passwordEncoder();
             String rawPassword = "testPassword123";
             String wrongPassword = "wrongPassword";
 
@@ -72,7 +95,7 @@ class SecurityConfigTest {
         @Test
         @DisplayName("should generate different hashes for same password")
         void passwordEncoderShouldGenerateDifferentHashes() {
-            PasswordEncoder encoder = securityConfig.passwordEncoder();
+            PasswordEncoder encoder = passwordEncoder();
             String password = "samePassword";
 
             String hash1 = encoder.encode(password);
@@ -91,7 +114,7 @@ class SecurityConfigTest {
         @Test
         @DisplayName("should return DaoAuthenticationProvider instance")
         void authenticationProviderShouldReturnDaoAuthenticationProvider() {
-            AuthenticationProvider provider = securityConfig.authenticationProvider();
+            AuthenticationProvider provider = securityConfig.authenticationProvider(passwordEncoder());
 
             assertThat(provider).isNotNull();
             assertThat(provider).isInstanceOf(DaoAuthenticationProvider.class);
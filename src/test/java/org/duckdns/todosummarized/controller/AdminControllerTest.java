@@ -0,0 +1,75 @@
+package org.duckdns.todosummarized.controller;
+
+import org.duckdns.todosummarized.dto.CacheStatsDTO;
+import org.duckdns.todosummarized.dto.PlatformStatsDTO;
+import org.duckdns.todosummarized.service.CacheStatsService;
+import org.duckdns.todosummarized.service.PlatformStatsService;
+import org.duckdns.todosummarized.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+    @Mock
+    private CacheStatsService cacheStatsService;
+
+    @Mock
+    private PlatformStatsService platformStatsService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private AdminController adminController;
+
+    @Test
+    @DisplayName("getCacheStats returns 200 with per-cache statistics")
+    void getCacheStats_returnsOkWithStats() {
+        List<CacheStatsDTO> stats = List.of(CacheStatsDTO.builder().name("userCache").hitCount(3).hitRate(0.75).build());
+        when(cacheStatsService.getStats()).thenReturn(stats);
+
+        ResponseEntity<List<CacheStatsDTO>> response = adminController.getCacheStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+
+    @Test
+    @DisplayName("getPlatformStats returns 200 with platform statistics")
+    void getPlatformStats_returnsOkWithStats() {
+        PlatformStatsDTO stats = PlatformStatsDTO.builder()
+                .users(new PlatformStatsDTO.Users(10, 3, 6))
+                .build();
+        when(platformStatsService.getStats()).thenReturn(stats);
+
+        ResponseEntity<PlatformStatsDTO> response = adminController.getPlatformStats();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
+
+    @Test
+    @DisplayName("revokeTokens returns 204 when the user exists and 404 otherwise")
+    void revokeTokens_returnsNoContentOrNotFound() {
+        UUID known = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(userService.revokeTokens(known)).thenReturn(true);
+        when(userService.revokeTokens(unknown)).thenReturn(false);
+
+        assertEquals(HttpStatus.NO_CONTENT, adminController.revokeTokens(known).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, adminController.revokeTokens(unknown).getStatusCode());
+    }
+}
@@ -1,13 +1,19 @@
 package org.duckdns.todosummarized.controller;
 
 import org.duckdns.todosummarized.config.JwtProperties;
+import org.duckdns.todosummarized.domains.enums.TokenType;
 import org.duckdns.todosummarized.dto.AuthTokenResponseDTO;
+import org.duckdns.todosummarized.dto.RefreshTokenRequestDTO;
 import org.duckdns.todosummarized.dto.UserLoginDTO;
 import org.duckdns.todosummarized.dto.UserRegistrationDTO;
 import org.duckdns.todosummarized.dto.UserResponseDTO;
+import org.duckdns.todosummarized.exception.InvalidJwtTokenException;
 import org.duckdns.todosummarized.exception.UserAlreadyExistsException;
 import org.duckdns.todosummarized.service.JwtService;
+import org.duckdns.todosummarized.service.TokenRevocationService;
 import org.duckdns.todosummarized.service.UserService;
+import org.duckdns.todosummarized.service.VerifiedToken;
+import org.duckdns.todosummarized.service.VerifiedTokenCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,8 +31,10 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -52,6 +60,12 @@ class AuthControllerTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private VerifiedTokenCacheService verifiedTokenCacheService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -160,5 +174,122 @@ class AuthControllerTest {
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userDetailsService, never()).loadUserByUsername(any());
     }
-}
 
+    /**
+     * refreshToken verifies the refresh token once and issues new tokens
+     */
+    @Test
+    void refreshToken_returnsOk() {
+        VerifiedToken verified = new VerifiedToken("jti-1", "test@example.com", UUID.randomUUID(), null, TokenType.REFRESH, 0,
+                Instant.parse("2026-01-09T12:00:00Z"), Instant.parse("2026-01-16T12:00:00Z"));
+        when(jwtService.validate("refresh-token")).thenReturn(Optional.of(verified));
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+        when(jwtService.isTokenValid(verified, userDetails)).thenReturn(true);
+        when(tokenRevocationService.revoke(verified)).thenReturn(true);
+        when(jwtService.generateAccessToken(any(UserDetails.class))).thenReturn("new-access-token");
+        when(jwtService.generateRefreshToken(any(UserDetails.class))).thenReturn("new-refresh-token");
+        when(jwtProperties.getAccessTokenExpiration()).thenReturn(900000L);
+
+        ResponseEntity<AuthTokenResponseDTO> response =
+                authController.refreshToken(new RefreshTokenRequestDTO("refresh-token"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("new-access-token", response.getBody().getAccessToken());
+        verify(jwtService, times(1)).validate("refresh-token");
+        verify(tokenRevocationService).revoke(verified);
+    }
+
+    /**
+     * refreshToken rejects a refresh token that was already used, or used by a concurrent refresh
+     */
+    @Test
+    void refreshToken_throwsWhenTokenAlreadyRevoked() {
+        VerifiedToken verified = new VerifiedToken("jti-1", "test@example.com", UUID.randomUUID(), null, TokenType.REFRESH, 0,
+                Instant.parse("2026-01-09T12:00:00Z"), Instant.parse("2026-01-16T12:00:00Z"));
+        when(jwtService.validate("refresh-token")).thenReturn(Optional.of(verified));
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+        when(jwtService.isTokenValid(verified, userDetails)).thenReturn(true);
+        when(tokenRevocationService.revoke(verified)).thenReturn(false);
+
+        assertThrows(InvalidJwtTokenException.class,
+                () -> authController.refreshToken(new RefreshTokenRequestDTO("refresh-token")));
+
+        verify(jwtService, never()).generateAccessToken(any());
+        verify(jwtService, never()).generateRefreshToken(any());
+    }
+
+    /**
+     * refreshToken rejects access tokens
+     */
+    @Test
+    void refreshToken_throwsForAccessToken() {
+        VerifiedToken verified = new VerifiedToken("jti-1", "test@example.com", UUID.randomUUID(), "ROLE_USER",
+                TokenType.ACCESS, 0, Instant.parse("2026-01-09T12:00:00Z"), Instant.parse("2026-01-09T12:15:00Z"));
+        when(jwtService.validate("access-token")).thenReturn(Optional.of(verified));
+
+        assertThrows(InvalidJwtTokenException.class,
+                () -> authController.refreshToken(new RefreshTokenRequestDTO("access-token")));
+
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    /**
+     * refreshToken rejects refresh tokens without an id, which cannot be rotated atomically
+     */
+    @Test
+    void refreshToken_throwsWhenTokenHasNoId() {
+        VerifiedToken verified = new VerifiedToken(null, "test@example.com", UUID.randomUUID(), null, TokenType.REFRESH, 0,
+                Instant.parse("2026-01-09T12:00:00Z"), Instant.parse("2026-01-16T12:00:00Z"));
+        when(jwtService.validate("refresh-token")).thenReturn(Optional.of(verified));
+
+        assertThrows(InvalidJwtTokenException.class,
+                () -> authController.refreshToken(new RefreshTokenRequestDTO("refresh-token")));
+
+        verify(userDetailsService, never()).loadUserByUsername(any());
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    /**
+     * logout revokes the refresh token and the bearer access token
+     */
+    @Test
+    void logout_revokesBothTokens() {
+        VerifiedToken verified = new VerifiedToken("jti-1", "test@example.com", UUID.randomUUID(), null, TokenType.REFRESH, 0,
+                Instant.parse("2026-01-09T12:00:00Z"), Instant.parse("2026-01-16T12:00:00Z"));
+        when(jwtService.validate("refresh-token")).thenReturn(Optional.of(verified));
+
+        ResponseEntity<Void> response =
+                authController.logout(new RefreshTokenRequestDTO("refresh-token"), "Bearer access-token");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(tokenRevocationService).revoke(verified);
+        verify(verifiedTokenCacheService).revoke("access-token");
+    }
+
+    /**
+     * logout succeeds without revoking anything when the tokens are already invalid
+     */
+    @Test
+    void logout_ignoresInvalidTokens() {
+        when(jwtService.validate("bad-token")).thenReturn(Optional.empty());
+
+        ResponseEntity<Void> response = authController.logout(new RefreshTokenRequestDTO("bad-token"), null);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verifyNoInteractions(tokenRevocationService, verifiedTokenCacheService);
+    }
+
+    /**
+     * refreshToken throws InvalidJwtTokenException without loading the user when the token does not verify
+     */
+    @Test
+    void refreshToken_throwsWhenTokenInvalid() {
+        when(jwtService.validate("bad-token")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidJwtTokenException.class,
+                () -> authController.refreshToken(new RefreshTokenRequestDTO("bad-token")));
+
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+}
@@ -4,12 +4,18 @@ import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.AiProvider;
 import org.duckdns.todosummarized.domains.enums.Role;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.domains.enums.TrendGranularity;
 import org.duckdns.todosummarized.dto.AiSummaryDTO;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
 import org.duckdns.todosummarized.dto.SummaryTypeDTO;
+import org.duckdns.todosummarized.dto.TrendPointDTO;
+import org.duckdns.todosummarized.service.AiGenerationBulkhead;
 import org.duckdns.todosummarized.service.AiProviderSelector;
+import org.duckdns.todosummarized.service.ProductivityAnalyticsService;
 import org.duckdns.todosummarized.service.AiSummaryService;
 import org.duckdns.todosummarized.service.SummaryService;
+import org.duckdns.todosummarized.service.SummarySnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,9 +30,12 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +47,15 @@ class SummaryControllerTest {
     @Mock
     private AiSummaryService aiSummaryService;
 
+    @Mock
+    private AiGenerationBulkhead aiGenerationBulkhead;
+
+    @Mock
+    private SummarySnapshotService summarySnapshotService;
+
+    @Mock
+    private ProductivityAnalyticsService productivityAnalyticsService;
+
     @InjectMocks
     private SummaryController summaryController;
 
@@ -51,6 +69,9 @@ class SummaryControllerTest {
                 .password("password")
                 .role(Role.ROLE_USER)
                 .build();
+
+        lenient().when(aiGenerationBulkhead.execute(any(), any()))
+                .thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
     }
 
     @Test
@@ -110,6 +131,47 @@ class SummaryControllerTest {
         assertEquals(0.0, response.getBody().completionRate());
     }
 
+    @Test
+    @DisplayName("getTrends returns 200 with the trend points for the requested range")
+    void getTrends_returnsOkWithPoints() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        List<TrendPointDTO> points = List.of(TrendPointDTO.builder()
+                .periodStart(LocalDate.of(2026, 1, 1))
+                .asOf(LocalDate.of(2026, 1, 31))
+                .totalTodos(12)
+                .completedCount(6)
+                .completionRate(50.0)
+                .build());
+        when(summarySnapshotService.getTrends(user, from, to, TrendGranularity.MONTH)).thenReturn(points);
+
+        ResponseEntity<List<TrendPointDTO>> response = summaryController.getTrends(user, from, to, TrendGranularity.MONTH);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(points, response.getBody());
+    }
+
+    @Test
+    @DisplayName("getAnalytics returns 200 with the analytics for the requested range")
+    void getAnalytics_returnsOkWithAnalytics() {
+        LocalDate from = LocalDate.of(2026, 1, 5);
+        LocalDate to = LocalDate.of(2026, 1, 11);
+        ProductivityAnalyticsDTO analytics = ProductivityAnalyticsDTO.builder()
+                .from(from)
+                .to(to)
+                .velocity(List.of(new ProductivityAnalyticsDTO.VelocityPoint(from, 4, 4.0)))
+                .averageCompletedPerWeek(4.0)
+                .burndown(List.of())
+                .leadTime(new ProductivityAnalyticsDTO.LeadTime(4, 12.0, 20.0, 30.0))
+                .build();
+        when(productivityAnalyticsService.getAnalytics(user, from, to)).thenReturn(analytics);
+
+        ResponseEntity<ProductivityAnalyticsDTO> response = summaryController.getAnalytics(user, from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(analytics, response.getBody());
+    }
+
     @Test
     @DisplayName("getDailySummary calls service exactly once")
     void getDailySummary_callsServiceOnce() {
@@ -181,6 +243,26 @@ class SummaryControllerTest {
             assertFalse(response.getBody().aiGenerated());
             assertEquals("AI summary feature is disabled", response.getBody().fallbackReason());
         }
+
+        @Test
+        @DisplayName("returns cached insight without entering the generation bulkhead")
+        void getAiSummary_returnsCachedInsightWithoutBulkhead() {
+            AiSummaryDTO cached = AiSummaryDTO.aiGenerated(
+                    LocalDate.of(2026, 1, 9),
+                    SummaryType.DEVELOPER,
+                    "Cached summary",
+                    "gpt-5-nano",
+                    createSampleMetrics()
+            );
+
+            when(aiSummaryService.getCachedInsight(user, SummaryType.DEVELOPER)).thenReturn(Optional.of(cached));
+
+            ResponseEntity<AiSummaryDTO> response = summaryController.getAiSummary(user, SummaryType.DEVELOPER, AiProvider.AUTO);
+
+            assertEquals("Cached summary", response.getBody().summary());
+            verifyNoInteractions(aiGenerationBulkhead);
+            verify(aiSummaryService, never()).getAiSummary(any(), any(), any());
+        }
     }
 
     @Nested
@@ -0,0 +1,43 @@
+package org.duckdns.todosummarized.domains.entity;
+
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 1, 9, 10, 0);
+    private static final LocalDateTime T2 = T1.plusHours(5);
+
+    @Test
+    @DisplayName("should stamp completedAt on the transition to COMPLETED and keep it on later updates")
+    void shouldStampCompletion() {
+        Todo todo = new Todo();
+        todo.setStatus(TaskStatus.IN_PROGRESS);
+        todo.trackCompletion(T1);
+        assertNull(todo.getCompletedAt());
+
+        todo.setStatus(TaskStatus.COMPLETED);
+        todo.trackCompletion(T1);
+        todo.trackCompletion(T2);
+
+        assertEquals(T1, todo.getCompletedAt());
+    }
+
+    @Test
+    @DisplayName("should clear completedAt when a completed todo is reopened")
+    void shouldClearOnReopen() {
+        Todo todo = new Todo();
+        todo.setStatus(TaskStatus.COMPLETED);
+        todo.trackCompletion(T1);
+
+        todo.setStatus(TaskStatus.NOT_STARTED);
+        todo.trackCompletion(T2);
+
+        assertNull(todo.getCompletedAt());
+    }
+}
@@ -99,6 +99,28 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("handleInvalidDateRange tests")
+    class HandleInvalidDateRangeTests {
+
+        @Test
+        @DisplayName("Should return 400 BAD_REQUEST with the range error")
+        void shouldReturnBadRequestStatus() {
+            // Given
+            InvalidDateRangeException ex = new InvalidDateRangeException("'from' must not be after 'to'");
+
+            // When
+            ResponseEntity<ErrorResponse> response = handler.handleInvalidDateRange(ex, request);
+
+            // Then
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            ErrorResponse body = response.getBody();
+            assertNotNull(body);
+            assertEquals(400, body.getStatus());
+            assertEquals("'from' must not be after 'to'", body.getMessage());
+        }
+    }
+
     @Nested
     @DisplayName("handleDuplicateTodo tests")
     class HandleDuplicateTodoTests {
@@ -328,6 +350,31 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("handleServiceOverloaded tests")
+    class HandleServiceOverloadedTests {
+
+        @Test
+        @DisplayName("Should return 503 SERVICE_UNAVAILABLE with Retry-After header")
+        void shouldReturn503WithRetryAfter() {
+            // Given
+            when(request.getRequestURI()).thenReturn("/api/summary/ai");
+            ServiceOverloadedException ex = new ServiceOverloadedException("AI generation is at capacity.", 7);
+
+            // When
+            ResponseEntity<ErrorResponse> response = handler.handleServiceOverloaded(ex, request);
+
+            // Then
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("7", response.getHeaders().getFirst("Retry-After"));
+            ErrorResponse body = response.getBody();
+            assertNotNull(body);
+            assertEquals(503, body.getStatus());
+            assertEquals("AI generation is at capacity.", body.getMessage());
+            assertEquals("/api/summary/ai", body.getPath());
+        }
+    }
+
     @Nested
     @DisplayName("Response structure tests")
     class ResponseStructureTests {
@@ -0,0 +1,246 @@
+package org.duckdns.todosummarized.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.duckdns.todosummarized.config.RateLimitProperties;
+import org.duckdns.todosummarized.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthRateLimitFilterTest {
+
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private RateLimitProperties properties;
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setAuthIp(new RateLimitProperties.EndpointLimit(3, 60));
+        properties.setAuthEmail(new RateLimitProperties.EndpointLimit(2, 60));
+        RateLimitService rateLimitService = new RateLimitService(properties, Caffeine.newBuilder().build());
+        filter = new AuthRateLimitFilter(rateLimitService, new ObjectMapper(), handlerExceptionResolver);
+    }
+
+    private static MockHttpServletRequest post(String path, String ip, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        if (body != null) {
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    private static String signIn(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"secret\"}";
+    }
+
+    private static AuthenticationFailureBadCredentialsEvent failure(String email) {
+        return new AuthenticationFailureBadCredentialsEvent(
+                new UsernamePasswordAuthenticationToken(email, "secret"), new BadCredentialsException("Bad credentials"));
+    }
+
+    /**
+     * Runs the request through the filter and returns whether it reached the rest of the chain.
+     */
+    private boolean passes(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest() != null;
+    }
+
+    @Nested
+    @DisplayName("per IP")
+    class PerIpTests {
+
+        @Test
+        @DisplayName("should reject requests from an IP over its limit with a retry-after")
+        void shouldRejectOverIpLimit() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(passes(post("/api/auth/refresh", "10.0.0.1", "{}")));
+            }
+
+            assertFalse(passes(post("/api/auth/refresh", "10.0.0.1", "{}")));
+
+            ArgumentCaptor<Exception> exception = ArgumentCaptor.forClass(Exception.class);
+            verify(handlerExceptionResolver).resolveException(any(), any(), isNull(), exception.capture());
+            RateLimitExceededException rejected = assertInstanceOf(RateLimitExceededException.class, exception.getValue());
+            assertTrue(rejected.getRetryAfterSeconds() >= 1);
+            assertTrue(passes(post("/api/auth/refresh", "10.0.0.2", "{}")));
+        }
+
+        @Test
+        @DisplayName("should leave other endpoints and methods alone")
+        void shouldSkipOtherRequests() throws Exception {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(passes(post("/api/todos", "10.0.0.1", "{}")));
+                MockHttpServletRequest get = post("/api/auth/signin", "10.0.0.1", null);
+                get.setMethod("GET");
+                assertTrue(passes(get));
+            }
+
+            verifyNoInteractions(handlerExceptionResolver);
+        }
+
+        @Test
+        @DisplayName("should not limit anything when rate limiting is disabled")
+        void shouldSkipWhenDisabled() throws Exception {
+            properties.setEnabled(false);
+
+            for (int i = 0; i < 5; i++) {
+                assertTrue(passes(post("/api/auth/signin", "10.0.0.1", signIn("a@example.com"))));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("per email")
+    class PerEmailTests {
+
+        @Test
+        @DisplayName("should refuse sign-ins to an account once its failures are spent, across IPs, ignoring case")
+        void shouldRejectOverEmailLimit() throws Exception {
+            filter.onSignInFailed(failure("victim@example.com"));
+            assertTrue(passes(post("/api/auth/signin", "10.0.0.1", signIn("victim@example.com"))));
+            filter.onSignInFailed(failure("Victim@Example.com "));
+
+            assertFalse(passes(post("/api/auth/signin", "10.0.0.3", signIn("victim@example.com"))));
+            assertTrue(passes(post("/api/auth/signin", "10.0.0.3", signIn("other@example.com"))));
+        }
+
+        @Test
+        @DisplayName("should not charge the account for sign-in attempts that did not fail")
+        void shouldNotChargeAttempts() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(passes(post("/api/auth/signin", "10.0.0." + i, signIn("victim@example.com"))));
+            }
+
+            verifyNoInteractions(handlerExceptionResolver);
+        }
+
+        @Test
+        @DisplayName("should not limit sign-up per email")
+        void shouldSkipSignUp() throws Exception {
+            filter.onSignInFailed(failure("a@example.com"));
+            filter.onSignInFailed(failure("a@example.com"));
+
+            assertTrue(passes(post("/api/auth/signup", "10.0.0.1", signIn("a@example.com"))));
+        }
+
+        @Test
+        @DisplayName("should replay the body it read to the rest of the chain")
+        void shouldReplayBody() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(post("/api/auth/signin", "10.0.0.1", signIn("a@example.com")),
+                    new MockHttpServletResponse(), chain);
+
+            byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+            assertEquals(signIn("a@example.com"), new String(replayed, StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("should replay the body to a non-blocking reader")
+        void shouldReplayBodyToReadListener() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post("/api/auth/signin", "10.0.0.1", signIn("a@example.com")),
+                    new MockHttpServletResponse(), chain);
+            ServletInputStream in = chain.getRequest().getInputStream();
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            AtomicBoolean done = new AtomicBoolean();
+
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        int b = in.read();
+                        if (b >= 0) {
+                            read.write(b);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    done.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+
+            assertTrue(done.get());
+            assertEquals(signIn("a@example.com"), read.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("should hand read failures to the listener")
+        void shouldReportListenerErrors() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(post("/api/auth/signin", "10.0.0.1", signIn("a@example.com")),
+                    new MockHttpServletResponse(), chain);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            chain.getRequest().getInputStream().setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    throw new IOException("boom");
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    fail("must not complete");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error.set(t);
+                }
+            });
+
+            assertEquals("boom", error.get().getMessage());
+        }
+
+        @Test
+        @DisplayName("should only apply the IP limit to bodies without a readable email")
+        void shouldPassMalformedBodies() throws Exception {
+            assertTrue(passes(post("/api/auth/signin", "10.0.0.1", "not json")));
+            assertTrue(passes(post("/api/auth/signin", "10.0.0.2", "{\"email\":42}")));
+
+            verifyNoInteractions(handlerExceptionResolver);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.config.AiBulkheadProperties;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AiGenerationBulkheadTest {
+
+    private AiBulkheadProperties properties;
+    private AiGenerationBulkhead bulkhead;
+    private ExecutorService callers;
+
+    private User userA;
+    private User userB;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AiBulkheadProperties();
+        properties.setMaxConcurrent(1);
+        properties.setMaxQueuedPerUser(2);
+        properties.setMaxQueueWaitSeconds(5);
+        callers = Executors.newCachedThreadPool();
+
+        userA = user();
+        userB = user();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (bulkhead != null) {
+            bulkhead.shutdown();
+        }
+    }
+
+    private static User user() {
+        return user(Role.ROLE_USER);
+    }
+
+    private static User user(Role role) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(role)
+                .build();
+    }
+
+    /**
+     * Occupies the only slot until the returned latch is released.
+     */
+    private CountDownLatch occupySlot() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> bulkhead.execute(userA, () -> {
+            started.countDown();
+            await(release);
+            return "blocker";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private Future<String> submit(User user, String name, List<String> order) throws InterruptedException {
+        int before = bulkhead.getQueued();
+        Future<String> future = callers.submit(() -> bulkhead.execute(user, () -> {
+            order.add(name);
+            return name;
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getQueued() == before && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(before + 1, bulkhead.getQueued());
+        return future;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("should run the task directly when disabled")
+        void shouldBypassWhenDisabled() {
+            properties.setEnabled(false);
+            bulkhead = new AiGenerationBulkhead(properties);
+
+            assertEquals("done", bulkhead.execute(userA, () -> "done"));
+        }
+
+        @Test
+        @DisplayName("should shed once the user's queue is full")
+        void shouldShedWhenUserQueueFull() throws Exception {
+            bulkhead = new AiGenerationBulkhead(properties);
+            List<String> order = new CopyOnWriteArrayList<>();
+            CountDownLatch release = occupySlot();
+
+            submit(userA, "A2", order);
+            submit(userA, "A3", order);
+
+            ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                    () -> bulkhead.execute(userA, () -> "A4"));
+            assertTrue(ex.getRetryAfterSeconds() >= 1);
+
+            release.countDown();
+        }
+
+        @Test
+        @DisplayName("should shed a request that does not get a slot within the wait limit")
+        void shouldShedAfterQueueWait() throws Exception {
+            properties.setMaxQueueWaitSeconds(1);
+            bulkhead = new AiGenerationBulkhead(properties);
+            CountDownLatch release = occupySlot();
+
+            assertThrows(ServiceOverloadedException.class, () -> bulkhead.execute(userB, () -> "late"));
+            assertEquals(0, bulkhead.getQueued());
+
+            release.countDown();
+        }
+
+        @Test
+        @DisplayName("should propagate task exceptions to the caller")
+        void shouldPropagateTaskException() {
+            bulkhead = new AiGenerationBulkhead(properties);
+
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> bulkhead.execute(userA, () -> {
+                        throw new IllegalArgumentException("boom");
+                    }));
+            assertEquals("boom", ex.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("scheduling")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("should interleave users instead of draining one user's queue first")
+        void shouldInterleaveUsers() throws Exception {
+            bulkhead = new AiGenerationBulkhead(properties);
+            List<String> order = new CopyOnWriteArrayList<>();
+            CountDownLatch release = occupySlot();
+
+            Future<String> a2 = submit(userA, "A2", order);
+            Future<String> a3 = submit(userA, "A3", order);
+            Future<String> b1 = submit(userB, "B1", order);
+
+            release.countDown();
+            a2.get(5, TimeUnit.SECONDS);
+            a3.get(5, TimeUnit.SECONDS);
+            b1.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("A2", "B1", "A3"), order);
+        }
+
+        @Test
+        @DisplayName("should give heavier roles proportionally more slots")
+        void shouldHonorRoleWeights() throws Exception {
+            properties.getRoleWeights().put(Role.ROLE_ADMIN, 2);
+            bulkhead = new AiGenerationBulkhead(properties);
+            User admin = user(Role.ROLE_ADMIN);
+            List<String> order = new CopyOnWriteArrayList<>();
+            CountDownLatch release = occupySlot();
+
+            Future<String> x1 = submit(admin, "X1", order);
+            Future<String> x2 = submit(admin, "X2", order);
+            Future<String> b1 = submit(userB, "B1", order);
+            Future<String> b2 = submit(userB, "B2", order);
+
+            release.countDown();
+            for (Future<String> f : List.of(x1, x2, b1, b2)) {
+                f.get(5, TimeUnit.SECONDS);
+            }
+
+            assertEquals(List.of("X1", "X2", "B1", "B2"), order);
+        }
+    }
+}
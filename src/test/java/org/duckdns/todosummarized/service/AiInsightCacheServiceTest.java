@@ -0,0 +1,333 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.duckdns.todosummarized.cache.AiSummaryCacheCodec;
+import org.duckdns.todosummarized.cache.InMemoryL2CacheStore;
+import org.duckdns.todosummarized.cache.L2Cache;
+import org.duckdns.todosummarized.domains.entity.AiInsight;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.AiProvider;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.dto.AiSummaryDTO;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.repository.AiInsightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AiInsightCacheServiceTest {
+
+    private static final LocalDate FIXED_DATE = LocalDate.of(2026, 1, 9);
+
+    @Mock
+    private AiInsightRepository aiInsightRepository;
+
+    @Mock
+    private SummaryService summaryService;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private Cache<String, AiSummaryDTO> aiInsightCache;
+
+    private L2Cache<AiSummaryDTO> aiInsightL2Cache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AiInsightCacheService cacheService;
+
+    private User user;
+    private DailySummaryDTO sampleMetrics;
+
+    @BeforeEach
+    void setUp() {
+        aiInsightCache = Caffeine.newBuilder().build();
+        aiInsightL2Cache = new L2Cache<>(new InMemoryL2CacheStore(1 << 20, Clock.systemUTC()), "test:",
+                new AiSummaryCacheCodec(), Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = newCacheService(aiInsightCache);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+
+        sampleMetrics = DailySummaryDTO.builder()
+                .date(FIXED_DATE)
+                .totalTodos(25)
+                .completedCount(10)
+                .completionRate(43.48)
+                .byPriority(Map.of("HIGH", 5L))
+                .byStatus(Map.of("COMPLETED", 10L))
+                .build();
+    }
+
+    private AiInsightCacheService newCacheService(Cache<String, AiSummaryDTO> localCache) {
+        return new AiInsightCacheService(
+                aiInsightRepository,
+                new AiInsightMapper(),
+                new CacheKeyBuilder(),
+                summaryService,
+                localCache,
+                aiInsightL2Cache,
+                invalidationBus,
+                new AiMetrics(meterRegistry)
+        );
+    }
+
+    private AiInsight storedInsight(DailySummaryDTO metrics) {
+        return AiInsight.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .summaryType(SummaryType.DEVELOPER)
+                .provider(AiProvider.OPENAI)
+                .summary("Stored summary")
+                .aiGenerated(true)
+                .model("gpt-5-nano")
+                .summaryDate(FIXED_DATE)
+                .metrics(metrics)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("getCachedInsight")
+    class GetCachedInsightTests {
+
+        @Test
+        @DisplayName("should use stored metrics snapshot without recomputing the daily summary")
+        void shouldUseStoredSnapshot() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.of(storedInsight(sampleMetrics)));
+
+            Optional<AiSummaryDTO> result = cacheService.getCachedInsight(user);
+
+            assertTrue(result.isPresent());
+            assertEquals("Stored summary", result.get().summary());
+            assertEquals(sampleMetrics, result.get().metrics());
+            verifyNoInteractions(summaryService);
+        }
+
+        @Test
+        @DisplayName("should recompute metrics for rows stored without a snapshot")
+        void shouldRecomputeMetricsForLegacyRows() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.of(storedInsight(null)));
+            when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
+
+            Optional<AiSummaryDTO> result = cacheService.getCachedInsight(user);
+
+            assertTrue(result.isPresent());
+            assertEquals(sampleMetrics, result.get().metrics());
+            verify(summaryService).getDailySummary(user);
+        }
+
+        @Test
+        @DisplayName("should serve from memory after the first database hit")
+        void shouldPopulateMemoryCache() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.of(storedInsight(sampleMetrics)));
+
+            cacheService.getCachedInsight(user);
+            cacheService.getCachedInsight(user);
+
+            verify(aiInsightRepository, times(1)).findByUser(user);
+        }
+
+        @Test
+        @DisplayName("should serve another node's insight from the shared tier without a database query")
+        void shouldReadThroughSharedTier() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.of(storedInsight(sampleMetrics)));
+            cacheService.getCachedInsight(user);
+
+            AiInsightCacheService coldNode = newCacheService(Caffeine.newBuilder().build());
+            Optional<AiSummaryDTO> result = coldNode.getCachedInsight(user);
+
+            assertTrue(result.isPresent());
+            assertEquals("Stored summary", result.get().summary());
+            assertEquals(sampleMetrics, result.get().metrics());
+            verify(aiInsightRepository, times(1)).findByUser(user);
+        }
+
+        @Test
+        @DisplayName("should count memory hits, database hits and misses")
+        void shouldRecordCacheMetrics() {
+            when(aiInsightRepository.findByUser(user))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(storedInsight(sampleMetrics)));
+
+            cacheService.getCachedInsight(user);
+            cacheService.getCachedInsight(user);
+            cacheService.getCachedInsight(user);
+
+            assertEquals(1, cacheCount("miss"));
+            assertEquals(1, cacheCount("database_hit"));
+            assertEquals(1, cacheCount("memory_hit"));
+            assertEquals(2.0 / 3.0, meterRegistry.get(AiMetrics.INSIGHT_CACHE_HIT_RATIO).gauge().value(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("should preload both tiers without counting towards the cache metrics")
+        void shouldPreloadWithoutMetrics() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.of(storedInsight(sampleMetrics)));
+            String key = "ai-insight:" + user.getId();
+
+            cacheService.preloadInsight(user);
+
+            assertEquals("Stored summary", aiInsightCache.getIfPresent(key).summary());
+            assertTrue(aiInsightL2Cache.get(key).isPresent());
+            assertEquals(0, meterRegistry.find(AiMetrics.INSIGHT_CACHE).counters().stream()
+                    .mapToDouble(Counter::count).sum());
+        }
+
+        private double cacheCount(String result) {
+            return meterRegistry.get(AiMetrics.INSIGHT_CACHE).tag("result", result).counter().count();
+        }
+    }
+
+    @Nested
+    @DisplayName("saveInsight")
+    class SaveInsightTests {
+
+        @Test
+        @DisplayName("should persist the metrics snapshot with the insight")
+        void shouldPersistMetricsSnapshot() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.empty());
+            AiSummaryDTO insight = AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "New summary", "gpt-5-nano", sampleMetrics);
+
+            cacheService.saveInsight(user, insight, AiProvider.OPENAI);
+
+            ArgumentCaptor<AiInsight> captor = ArgumentCaptor.forClass(AiInsight.class);
+            verify(aiInsightRepository).save(captor.capture());
+            assertEquals(sampleMetrics, captor.getValue().getMetrics());
+        }
+
+        @Test
+        @DisplayName("should tell other nodes to drop their copy of the insight")
+        void shouldPublishInvalidation() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.empty());
+            AiSummaryDTO insight = AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "New summary", "gpt-5-nano", sampleMetrics);
+
+            cacheService.saveInsight(user, insight, AiProvider.OPENAI);
+
+            verify(invalidationBus).publish(CacheInvalidation.insight("ai-insight:" + user.getId()));
+        }
+
+        @Test
+        @DisplayName("should write the insight through to the shared tier")
+        void shouldWriteThroughSharedTier() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.empty());
+            AiSummaryDTO insight = AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "New summary", "gpt-5-nano", sampleMetrics);
+
+            cacheService.saveInsight(user, insight, AiProvider.OPENAI);
+
+            assertEquals(Optional.of(insight), aiInsightL2Cache.get("ai-insight:" + user.getId()));
+        }
+
+        @Test
+        @DisplayName("should fill the caches only after the transaction commits")
+        void shouldWriteCachesAfterCommit() {
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.empty());
+            AiSummaryDTO insight = AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "New summary", "gpt-5-nano", sampleMetrics);
+            String key = "ai-insight:" + user.getId();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cacheService.saveInsight(user, insight, AiProvider.OPENAI);
+
+                assertNull(aiInsightCache.getIfPresent(key));
+                assertTrue(aiInsightL2Cache.get(key).isEmpty());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertEquals(insight, aiInsightCache.getIfPresent(key));
+                assertEquals(Optional.of(insight), aiInsightL2Cache.get(key));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidateCache")
+    class InvalidateCacheTests {
+
+        @Test
+        @DisplayName("should evict both tiers only after the delete commits")
+        void shouldEvictAfterCommit() {
+            AiSummaryDTO insight = AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "Old summary", "gpt-5-nano", sampleMetrics);
+            String key = "ai-insight:" + user.getId();
+            aiInsightCache.put(key, insight);
+            aiInsightL2Cache.put(key, insight);
+            when(aiInsightRepository.findByUser(user)).thenReturn(Optional.empty());
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cacheService.invalidateCache(user);
+
+                assertEquals(insight, aiInsightCache.getIfPresent(key));
+                assertEquals(Optional.of(insight), aiInsightL2Cache.get(key));
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertNull(aiInsightCache.getIfPresent(key));
+                assertTrue(aiInsightL2Cache.get(key).isEmpty());
+                verify(invalidationBus).publish(CacheInvalidation.insight(key));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("onRemoteInvalidation")
+    class OnRemoteInvalidationTests {
+
+        @Test
+        @DisplayName("should evict the insight named by another node")
+        void shouldEvictInsight() {
+            String key = "ai-insight:" + user.getId();
+            aiInsightCache.put(key, AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "Stale", "gpt-5-nano", sampleMetrics));
+
+            cacheService.onRemoteInvalidation(CacheInvalidation.insight(key));
+
+            assertNull(aiInsightCache.getIfPresent(key));
+            verifyNoInteractions(invalidationBus);
+        }
+
+        @Test
+        @DisplayName("should ignore evictions for other caches")
+        void shouldIgnoreOtherKinds() {
+            String key = "ai-insight:" + user.getId();
+            aiInsightCache.put(key, AiSummaryDTO.aiGenerated(
+                    FIXED_DATE, SummaryType.DEVELOPER, "Fresh", "gpt-5-nano", sampleMetrics));
+
+            cacheService.onRemoteInvalidation(CacheInvalidation.todos(user.getId()));
+
+            assertNotNull(aiInsightCache.getIfPresent(key));
+        }
+    }
+}
@@ -32,6 +32,12 @@ class AiProviderSelectorTest {
     @Mock
     private GeminiSummaryAdapter geminiAdapter;
 
+    @Mock
+    private LocalStubSummaryAdapter localStubAdapter;
+
+    @Mock
+    private AiMetrics aiMetrics;
+
     @InjectMocks
     private AiProviderSelector providerSelector;
 
@@ -67,7 +73,7 @@ class AiProviderSelectorTest {
         @DisplayName("should return success when OpenAI succeeds")
         void shouldReturnSuccessWhenOpenAiSucceeds() {
             when(openAiAdapter.isEnabled()).thenReturn(true);
-            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("OpenAI summary"));
             when(openAiAdapter.getModel()).thenReturn("gpt-5-nano");
 
@@ -102,7 +108,7 @@ class AiProviderSelectorTest {
         @DisplayName("should return success when Gemini succeeds")
         void shouldReturnSuccessWhenGeminiSucceeds() {
             when(geminiAdapter.isEnabled()).thenReturn(true);
-            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("Gemini summary"));
             when(geminiAdapter.getModel()).thenReturn("gemini-2.5-flash-lite");
 
@@ -137,7 +143,7 @@ class AiProviderSelectorTest {
         @DisplayName("should use OpenAI when both are enabled and OpenAI succeeds")
         void shouldUseOpenAiWhenBothEnabledAndOpenAiSucceeds() {
             when(openAiAdapter.isEnabled()).thenReturn(true);
-            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("OpenAI summary"));
             when(openAiAdapter.getModel()).thenReturn("gpt-5-nano");
 
@@ -147,17 +153,17 @@ class AiProviderSelectorTest {
             assertTrue(result.success());
             assertEquals("OpenAI summary", result.summary());
             assertEquals(AiProvider.OPENAI, result.provider());
-            verify(geminiAdapter, never()).generateSummary(any(), any());
+            verify(geminiAdapter, never()).generateSummary(any(), any(), any());
         }
 
         @Test
         @DisplayName("should fallback to Gemini when OpenAI fails")
         void shouldFallbackToGeminiWhenOpenAiFails() {
             when(openAiAdapter.isEnabled()).thenReturn(true);
-            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.empty());
             when(geminiAdapter.isEnabled()).thenReturn(true);
-            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("Gemini summary"));
             when(geminiAdapter.getModel()).thenReturn("gemini-2.5-flash-lite");
 
@@ -167,6 +173,7 @@ class AiProviderSelectorTest {
             assertTrue(result.success());
             assertEquals("Gemini summary", result.summary());
             assertEquals(AiProvider.GEMINI, result.provider());
+            verify(aiMetrics).recordOutcome(AiProvider.AUTO, AiMetrics.Outcome.FALLBACK);
         }
 
         @Test
@@ -174,7 +181,7 @@ class AiProviderSelectorTest {
         void shouldUseGeminiWhenOpenAiDisabled() {
             when(openAiAdapter.isEnabled()).thenReturn(false);
             when(geminiAdapter.isEnabled()).thenReturn(true);
-            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("Gemini summary"));
             when(geminiAdapter.getModel()).thenReturn("gemini-2.5-flash-lite");
 
@@ -190,10 +197,10 @@ class AiProviderSelectorTest {
         @DisplayName("should return failure when both providers fail")
         void shouldReturnFailureWhenBothFail() {
             when(openAiAdapter.isEnabled()).thenReturn(true);
-            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.empty());
             when(geminiAdapter.isEnabled()).thenReturn(true);
-            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.empty());
 
             AiProviderSelector.AiGenerationResult result =
@@ -286,6 +293,40 @@ class AiProviderSelectorTest {
         }
     }
 
+    @Nested
+    @DisplayName("generateSummary with LOCAL_STUB provider")
+    class LocalStubProviderTests {
+
+        @Test
+        @DisplayName("should return success from the local stub when requested explicitly")
+        void shouldReturnSuccessFromLocalStub() {
+            when(localStubAdapter.isEnabled()).thenReturn(true);
+            when(localStubAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
+                    .thenReturn(Optional.of("Stub summary"));
+            when(localStubAdapter.getModel()).thenReturn("local-stub");
+
+            AiProviderSelector.AiGenerationResult result =
+                    providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.LOCAL_STUB);
+
+            assertTrue(result.success());
+            assertEquals(AiProvider.LOCAL_STUB, result.provider());
+            assertEquals("local-stub", result.model());
+        }
+
+        @Test
+        @DisplayName("should not use the local stub in AUTO mode")
+        void shouldSkipLocalStubInAutoMode() {
+            when(openAiAdapter.isEnabled()).thenReturn(false);
+            when(geminiAdapter.isEnabled()).thenReturn(false);
+
+            AiProviderSelector.AiGenerationResult result =
+                    providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO);
+
+            assertFalse(result.success());
+            verifyNoInteractions(localStubAdapter);
+        }
+    }
+
     @Nested
     @DisplayName("getProviderInfo")
     class GetProviderInfoTests {
@@ -337,8 +378,8 @@ class AiProviderSelectorTest {
 
             assertFalse(result.success());
             assertEquals("AI-powered summary feature is disabled", result.failureReason());
-            verify(openAiAdapter, never()).generateSummary(any(), any());
-            verify(geminiAdapter, never()).generateSummary(any(), any());
+            verify(openAiAdapter, never()).generateSummary(any(), any(), any());
+            verify(geminiAdapter, never()).generateSummary(any(), any(), any());
         }
 
         @Test
@@ -372,7 +413,7 @@ class AiProviderSelectorTest {
         void shouldUseGlobalProviderOpenAi() {
             when(aiProperties.getProvider()).thenReturn(AiProvider.OPENAI);
             when(openAiAdapter.isEnabled()).thenReturn(true);
-            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(openAiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("OpenAI summary"));
             when(openAiAdapter.getModel()).thenReturn("gpt-5-nano");
 
@@ -382,7 +423,7 @@ class AiProviderSelectorTest {
             assertTrue(result.success());
             assertEquals(AiProvider.OPENAI, result.provider());
             verify(geminiAdapter, never()).isEnabled();
-            verify(geminiAdapter, never()).generateSummary(any(), any());
+            verify(geminiAdapter, never()).generateSummary(any(), any(), any());
         }
 
         @Test
@@ -390,7 +431,7 @@ class AiProviderSelectorTest {
         void shouldUseGlobalProviderGemini() {
             when(aiProperties.getProvider()).thenReturn(AiProvider.GEMINI);
             when(geminiAdapter.isEnabled()).thenReturn(true);
-            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER))
+            when(geminiAdapter.generateSummary(sampleMetrics, SummaryType.DEVELOPER, null))
                     .thenReturn(Optional.of("Gemini summary"));
             when(geminiAdapter.getModel()).thenReturn("gemini-2.5-flash-lite");
 
@@ -400,7 +441,7 @@ class AiProviderSelectorTest {
             assertTrue(result.success());
             assertEquals(AiProvider.GEMINI, result.provider());
             verify(openAiAdapter, never()).isEnabled();
-            verify(openAiAdapter, never()).generateSummary(any(), any());
+            verify(openAiAdapter, never()).generateSummary(any(), any(), any());
         }
     }
 }
@@ -1,6 +1,10 @@
 package org.duckdns.todosummarized.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.sun.net.httpserver.HttpServer;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
 import org.duckdns.todosummarized.config.OpenAiProperties;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
@@ -10,9 +14,15 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -28,6 +38,10 @@ class AiSummaryAdapterTest {
 
     private AiSummaryMessageBuilder messageBuilder = new AiSummaryMessageBuilder();
 
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AiMetrics aiMetrics = new AiMetrics(meterRegistry);
+
     private OpenAiSummaryAdapter aiSummaryAdapter;
 
     private DailySummaryDTO sampleMetrics;
@@ -39,7 +53,8 @@ class AiSummaryAdapterTest {
         when(openAiProperties.getModel()).thenReturn("gpt-5-nano");
         when(openAiProperties.isEnabled()).thenReturn(true);
 
-        aiSummaryAdapter = new OpenAiSummaryAdapter(openAiProperties, objectMapper, messageBuilder);
+        aiSummaryAdapter = new OpenAiSummaryAdapter(openAiProperties, objectMapper, messageBuilder,
+                new AiHttpClientProperties(), aiMetrics);
         aiSummaryAdapter.initHttpClient();
 
         sampleMetrics = DailySummaryDTO.builder()
@@ -136,6 +151,140 @@ class AiSummaryAdapterTest {
         }
     }
 
+    @Nested
+    @DisplayName("generateSummaryAsync")
+    class GenerateSummaryAsyncTests {
+
+        private HttpServer server;
+
+        @AfterEach
+        void stopServer() {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+
+        /**
+         * Starts a local server answering every request with the given status and body,
+         * and returns an adapter whose requests are sent to it.
+         */
+        private OpenAiSummaryAdapter adapterAgainstLocalServer(int status, String body) throws Exception {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(status, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                exchange.close();
+            });
+            server.start();
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+
+            when(openAiProperties.getApiKey()).thenReturn("sk-test-key");
+            aiSummaryAdapter.destroyHttpClient();
+            aiSummaryAdapter = new OpenAiSummaryAdapter(openAiProperties, objectMapper, messageBuilder,
+                    new AiHttpClientProperties(), aiMetrics) {
+                @Override
+                protected HttpRequest buildRequest(String systemPrompt, String userMessage) {
+                    return HttpRequest.newBuilder(uri)
+                            .POST(HttpRequest.BodyPublishers.ofString(userMessage))
+                            .build();
+                }
+            };
+            aiSummaryAdapter.initHttpClient();
+            return aiSummaryAdapter;
+        }
+
+        @Test
+        @DisplayName("should complete with empty when AI is disabled")
+        void shouldCompleteEmptyWhenDisabled() {
+            when(openAiProperties.isEnabled()).thenReturn(false);
+
+            Optional<String> result = aiSummaryAdapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, null).join();
+
+            assertTrue(result.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should complete with empty when API key is missing")
+        void shouldCompleteEmptyWhenApiKeyMissing() {
+            when(openAiProperties.getApiKey()).thenReturn(null);
+
+            Optional<String> result = aiSummaryAdapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, null).join();
+
+            assertTrue(result.isEmpty());
+        }
+
+        @Test
+        @DisplayName("should parse the provider response without blocking the caller")
+        void shouldParseResponse() throws Exception {
+            OpenAiSummaryAdapter adapter = adapterAgainstLocalServer(200,
+                    "{\"choices\":[{\"message\":{\"content\":\"Async summary\"}}]}");
+
+            Optional<String> result = adapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, "msg")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(Optional.of("Async summary"), result);
+        }
+
+        @Test
+        @DisplayName("should record latency and reported token usage")
+        void shouldRecordMetrics() throws Exception {
+            OpenAiSummaryAdapter adapter = adapterAgainstLocalServer(200,
+                    "{\"choices\":[{\"message\":{\"content\":\"Summary\"}}],"
+                            + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":45}}");
+
+            adapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, "msg").get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, meterRegistry.get(AiMetrics.PROVIDER_LATENCY)
+                    .tag("provider", "OpenAI").tag("outcome", "success").timer().count());
+            assertEquals(120, meterRegistry.get(AiMetrics.TOKENS).tag("type", "prompt").counter().count());
+            assertEquals(45, meterRegistry.get(AiMetrics.TOKENS).tag("type", "completion").counter().count());
+        }
+
+        @Test
+        @DisplayName("should send the chat completions body with the configured sampling settings")
+        void shouldSendOpenAiRequest() throws Exception {
+            AtomicReference<String> requestBody = new AtomicReference<>();
+            AtomicReference<String> authorization = new AtomicReference<>();
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/v1/chat/completions", exchange -> {
+                requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                byte[] bytes = "{\"choices\":[{\"message\":{\"content\":\"Summary\"}}]}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                exchange.close();
+            });
+            server.start();
+            when(openAiProperties.getBaseUrl()).thenReturn("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+            when(openAiProperties.getApiKey()).thenReturn("sk-test-key");
+            when(openAiProperties.getMaxTokens()).thenReturn(300);
+            when(openAiProperties.getTemperature()).thenReturn(0.2);
+
+            Optional<String> result = aiSummaryAdapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, "msg")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(Optional.of("Summary"), result);
+            assertEquals("Bearer sk-test-key", authorization.get());
+            JsonNode body = objectMapper.readTree(requestBody.get());
+            assertEquals("gpt-5-nano", body.path("model").asText());
+            assertEquals("msg", body.path("messages").path(1).path("content").asText());
+            assertEquals(300, body.path("max_tokens").asInt());
+            assertEquals(0.2, body.path("temperature").asDouble());
+        }
+
+        @Test
+        @DisplayName("should complete with empty on a non-200 response")
+        void shouldCompleteEmptyOnErrorStatus() throws Exception {
+            OpenAiSummaryAdapter adapter = adapterAgainstLocalServer(500, "{}");
+
+            Optional<String> result = adapter.generateSummaryAsync(sampleMetrics, SummaryType.DEVELOPER, "msg")
+                    .get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.isEmpty());
+        }
+    }
+
     @Nested
     @DisplayName("getUnavailableReason")
     class GetUnavailableReasonTests {
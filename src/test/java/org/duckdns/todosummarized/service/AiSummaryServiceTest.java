@@ -39,6 +39,9 @@ class AiSummaryServiceTest {
     @Mock
     private AiInsightCacheService cacheService;
 
+    @Mock
+    private BudgetedPromptBuilder promptBuilder;
+
     @Mock
     private Clock clock;
 
@@ -49,12 +52,14 @@ class AiSummaryServiceTest {
 
     private static final LocalDate FIXED_DATE = LocalDate.of(2026, 1, 9);
     private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+    private static final String USER_MESSAGE = "Here are my todo metrics for today";
 
     @BeforeEach
     void setUp() {
         Instant fixedInstant = FIXED_DATE.atStartOfDay(ZONE_ID).toInstant();
         lenient().when(clock.instant()).thenReturn(fixedInstant);
         lenient().when(clock.getZone()).thenReturn(ZONE_ID);
+        lenient().when(promptBuilder.buildUserMessage(any(), any(), any())).thenReturn(USER_MESSAGE);
 
         user = User.builder()
                 .id(UUID.randomUUID())
@@ -67,6 +72,7 @@ class AiSummaryServiceTest {
                 summaryService,
                 providerSelector,
                 cacheService,
+                promptBuilder,
                 clock
         );
 
@@ -96,7 +102,7 @@ class AiSummaryServiceTest {
             when(cacheService.getCachedInsight(user)).thenReturn(Optional.empty());
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO))
+            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO, USER_MESSAGE))
                     .thenReturn(AiProviderSelector.AiGenerationResult.success(
                             "AI generated summary text", "gpt-5-nano", AiProvider.OPENAI));
 
@@ -136,7 +142,7 @@ class AiSummaryServiceTest {
             when(cacheService.getCachedInsight(user)).thenReturn(Optional.empty());
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(sampleMetrics, SummaryType.STUDENT, AiProvider.AUTO))
+            when(providerSelector.generateSummary(sampleMetrics, SummaryType.STUDENT, AiProvider.AUTO, USER_MESSAGE))
                     .thenReturn(AiProviderSelector.AiGenerationResult.failure("AI service encountered an error"));
 
             AiSummaryDTO result = aiSummaryService.getAiSummary(user, SummaryType.STUDENT);
@@ -152,7 +158,7 @@ class AiSummaryServiceTest {
             when(cacheService.getCachedInsight(user)).thenReturn(Optional.empty());
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(any(), any(), any()))
+            when(providerSelector.generateSummary(any(), any(), any(), any()))
                     .thenReturn(AiProviderSelector.AiGenerationResult.success(
                             "Summary", "gpt-5-nano", AiProvider.OPENAI));
 
@@ -173,7 +179,7 @@ class AiSummaryServiceTest {
             assertEquals("Cached summary", result.summary());
             assertEquals(SummaryType.DEVELOPER, result.summaryType());
             // Should NOT call AI provider or save
-            verify(providerSelector, never()).generateSummary(any(), any(), any());
+            verify(providerSelector, never()).generateSummary(any(), any(), any(), any());
             verify(cacheService, never()).saveInsight(any(), any(), any());
         }
 
@@ -188,7 +194,7 @@ class AiSummaryServiceTest {
             // But user requests EXECUTIVE type
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(sampleMetrics, SummaryType.EXECUTIVE, AiProvider.AUTO))
+            when(providerSelector.generateSummary(sampleMetrics, SummaryType.EXECUTIVE, AiProvider.AUTO, USER_MESSAGE))
                     .thenReturn(AiProviderSelector.AiGenerationResult.success(
                             "New executive summary", "gpt-5-nano", AiProvider.OPENAI));
 
@@ -307,7 +313,7 @@ class AiSummaryServiceTest {
         void shouldGenerateAndStoreNewInsight() {
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO))
+            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO, USER_MESSAGE))
                     .thenReturn(AiProviderSelector.AiGenerationResult.success(
                             "New insight", "gpt-5-nano", AiProvider.OPENAI));
 
@@ -322,7 +328,7 @@ class AiSummaryServiceTest {
         void shouldGenerateFallbackInsightWhenAiFails() {
             when(summaryService.getDailySummary(user)).thenReturn(sampleMetrics);
             when(providerSelector.isProviderAvailable(AiProvider.AUTO)).thenReturn(true);
-            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO))
+            when(providerSelector.generateSummary(sampleMetrics, SummaryType.DEVELOPER, AiProvider.AUTO, USER_MESSAGE))
                     .thenReturn(AiProviderSelector.AiGenerationResult.failure("AI error"));
 
             AiSummaryDTO result = aiSummaryService.generateNewInsight(user, SummaryType.DEVELOPER, AiProvider.AUTO);
@@ -0,0 +1,161 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.TodoPromptProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetedPromptBuilderTest {
+
+    private static final LocalDate FIXED_DATE = LocalDate.of(2026, 1, 9);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private final AiSummaryMessageBuilder messageBuilder = new AiSummaryMessageBuilder();
+    private final TokenEstimator tokenEstimator = new TokenEstimator();
+
+    private BudgetedPromptBuilder promptBuilder;
+    private User user;
+    private DailySummaryDTO sampleMetrics;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(FIXED_DATE.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        promptBuilder = new BudgetedPromptBuilder(messageBuilder, tokenEstimator, todoRepository, clock);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+
+        sampleMetrics = DailySummaryDTO.builder()
+                .date(FIXED_DATE)
+                .totalTodos(25)
+                .completedCount(10)
+                .byPriority(Map.of("HIGH", 5L))
+                .byStatus(Map.of("COMPLETED", 10L))
+                .build();
+    }
+
+    private static TodoPromptProjection todo(String title, TaskStatus status, TaskPriority priority, LocalDateTime due) {
+        return new TodoPromptProjection() {
+            public String getTitle() { return title; }
+            public TaskStatus getStatus() { return status; }
+            public TaskPriority getPriority() { return priority; }
+            public LocalDateTime getDueDate() { return due; }
+        };
+    }
+
+    private void mockStream(Stream<TodoPromptProjection> stream) {
+        when(todoRepository.streamByRelevance(eq(user), any(), any(), eq(TaskStatus.CANCELLED), any(), any()))
+                .thenReturn(stream);
+    }
+
+    @Nested
+    @DisplayName("buildUserMessage")
+    class BuildUserMessageTests {
+
+        @Test
+        @DisplayName("should send metrics only for summary types without a task budget")
+        void shouldSkipTasksForZeroBudget() {
+            String message = promptBuilder.buildUserMessage(user, sampleMetrics, SummaryType.MINIMAL);
+
+            assertEquals(messageBuilder.buildUserMessage(sampleMetrics), message);
+            verifyNoInteractions(todoRepository);
+        }
+
+        @Test
+        @DisplayName("should include task titles with status, priority and overdue marker")
+        void shouldIncludeTaskLines() {
+            mockStream(Stream.of(
+                    todo("Fix login bug", TaskStatus.IN_PROGRESS, TaskPriority.HIGH, FIXED_DATE.minusDays(1).atStartOfDay()),
+                    todo("Write docs", TaskStatus.NOT_STARTED, TaskPriority.LOW, null)
+            ));
+
+            String message = promptBuilder.buildUserMessage(user, sampleMetrics, SummaryType.DEVELOPER);
+
+            assertTrue(message.startsWith(messageBuilder.buildUserMessage(sampleMetrics)));
+            assertTrue(message.contains("[IN_PROGRESS/HIGH] Fix login bug (due 2026-01-08, overdue)"));
+            assertTrue(message.contains("[NOT_STARTED/LOW] Write docs\n"));
+            assertFalse(message.contains(BudgetedPromptBuilder.TRUNCATED_NOTE));
+        }
+
+        @Test
+        @DisplayName("should stop streaming once the token budget is spent")
+        void shouldRespectBudget() {
+            List<TodoPromptProjection> many = new ArrayList<>();
+            IntStream.range(0, 1_000).forEach(i ->
+                    many.add(todo("Task number " + i, TaskStatus.NOT_STARTED, TaskPriority.MEDIUM, null)));
+            AtomicBoolean closed = new AtomicBoolean();
+            mockStream(many.stream().onClose(() -> closed.set(true)));
+
+            String message = promptBuilder.buildUserMessage(user, sampleMetrics, SummaryType.EXECUTIVE);
+            String base = messageBuilder.buildUserMessage(sampleMetrics);
+
+            int taskTokens = tokenEstimator.estimate(message.substring(base.length()));
+            assertTrue(taskTokens <= SummaryType.EXECUTIVE.getTaskTokenBudget());
+            assertTrue(message.endsWith(BudgetedPromptBuilder.TRUNCATED_NOTE));
+            assertTrue(closed.get());
+        }
+
+        @Test
+        @DisplayName("should return metrics only when the user has no todos to list")
+        void shouldReturnBaseWhenNoTodos() {
+            mockStream(Stream.empty());
+
+            String message = promptBuilder.buildUserMessage(user, sampleMetrics, SummaryType.DEVELOPER);
+
+            assertEquals(messageBuilder.buildUserMessage(sampleMetrics), message);
+        }
+    }
+
+    @Nested
+    @DisplayName("TokenEstimator")
+    class TokenEstimatorTests {
+
+        @Test
+        @DisplayName("should estimate roughly four characters per token")
+        void shouldEstimateByCharacters() {
+            assertEquals(0, tokenEstimator.estimate(""));
+            assertEquals(3, tokenEstimator.estimate("abcdefghij"));
+        }
+
+        @Test
+        @DisplayName("should count at least one token per word")
+        void shouldCountWords() {
+            assertEquals(5, tokenEstimator.estimate("a b c d e"));
+        }
+    }
+}
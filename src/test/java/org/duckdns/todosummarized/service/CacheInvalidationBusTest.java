@@ -0,0 +1,162 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.config.CacheSyncProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CacheSyncProperties properties;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheSyncProperties();
+        properties.setEnabled(true);
+        bus = new CacheInvalidationBus(properties, dataSource, eventPublisher);
+    }
+
+    private static List<String> lines(String payload) {
+        return List.of(payload.split("\n"));
+    }
+
+    @Nested
+    @DisplayName("publish")
+    class PublishTests {
+
+        @Test
+        @DisplayName("should do nothing when sync is disabled")
+        void shouldIgnoreWhenDisabled() {
+            properties.setEnabled(false);
+
+            bus.publish(CacheInvalidation.user("a@example.com"));
+
+            assertTrue(bus.drainPayloads().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should batch and deduplicate evictions into one payload")
+        void shouldBatchEvictions() {
+            UUID userId = UUID.randomUUID();
+            bus.publish(CacheInvalidation.todos(userId));
+            bus.publish(CacheInvalidation.user("a@example.com"));
+            bus.publish(CacheInvalidation.todos(userId));
+
+            List<String> payloads = bus.drainPayloads();
+
+            assertEquals(1, payloads.size());
+            List<String> lines = lines(payloads.getFirst());
+            assertEquals(List.of("T:" + userId, "U:a@example.com"), lines.subList(1, lines.size()));
+            assertTrue(bus.drainPayloads().isEmpty());
+        }
+
+        @Test
+        @DisplayName("should collapse an overflowing queue into a single clear-all message")
+        void shouldCollapseOverflow() {
+            properties.setMaxPending(2);
+            bus.publish(CacheInvalidation.user("a@example.com"));
+            bus.publish(CacheInvalidation.user("b@example.com"));
+            bus.publish(CacheInvalidation.user("c@example.com"));
+
+            List<String> payloads = bus.drainPayloads();
+
+            assertEquals(1, payloads.size());
+            assertEquals("*", lines(payloads.getFirst()).get(1));
+            assertEquals(2, lines(payloads.getFirst()).size());
+        }
+
+        @Test
+        @DisplayName("should queue evictions made in a transaction only after commit")
+        void shouldWaitForCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bus.publish(CacheInvalidation.user("a@example.com"));
+                assertTrue(bus.drainPayloads().isEmpty());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertEquals(1, bus.drainPayloads().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("toPayloads")
+    class ToPayloadsTests {
+
+        @Test
+        @DisplayName("should split messages so no payload exceeds the byte limit")
+        void shouldSplitBySize() {
+            List<String> messages = List.of("U:aaaaaaaaaa", "U:bbbbbbbbbb", "U:cccccccccc");
+
+            List<String> payloads = CacheInvalidationBus.toPayloads("node", messages, 30);
+
+            assertEquals(List.of("node\nU:aaaaaaaaaa\nU:bbbbbbbbbb", "node\nU:cccccccccc"), payloads);
+        }
+
+        @Test
+        @DisplayName("should produce nothing when there is nothing to send")
+        void shouldReturnEmptyForNoMessages() {
+            assertTrue(CacheInvalidationBus.toPayloads("node", List.of(), 100).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("receive")
+    class ReceiveTests {
+
+        @Test
+        @DisplayName("should publish each eviction sent by another node as an event")
+        void shouldPublishRemoteEvictions() {
+            UUID userId = UUID.randomUUID();
+
+            bus.receive("other-node\nT:" + userId + "\nI:ai-insight:" + userId);
+
+            verify(eventPublisher).publishEvent(CacheInvalidation.todos(userId));
+            verify(eventPublisher).publishEvent(CacheInvalidation.insight("ai-insight:" + userId));
+        }
+
+        @Test
+        @DisplayName("should ignore payloads this node sent")
+        void shouldIgnoreOwnPayloads() {
+            bus.publish(CacheInvalidation.user("a@example.com"));
+
+            bus.receive(bus.drainPayloads().getFirst());
+
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("should skip malformed messages and apply the rest")
+        void shouldSkipMalformedMessages() {
+            bus.receive("other-node\n?bad\nU:a@example.com");
+
+            verify(eventPublisher).publishEvent(CacheInvalidation.user("a@example.com"));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.cache.L2Cache;
+import org.duckdns.todosummarized.cache.TodoSearchKey;
+import org.duckdns.todosummarized.domains.entity.Todo;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.duckdns.todosummarized.repository.TodoQuery;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheServiceTest {
+
+    private static final TodoQuery ALL = new TodoQuery(null, null, null, null, null, null);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private VerifiedTokenCacheService verifiedTokenCacheService;
+
+    private Cache<TodoSearchKey, Page<Todo>> todoSearchCache;
+    private CacheService cacheService;
+
+    private User userA;
+    private User userB;
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @BeforeEach
+    void setUp() {
+        todoSearchCache = Caffeine.newBuilder().build();
+        cacheService = new CacheService(
+                Caffeine.newBuilder().build(email -> null),
+                L2Cache.disabled(),
+                todoSearchCache,
+                Caffeine.newBuilder().build(),
+                todoRepository,
+                Clock.systemUTC(),
+                invalidationBus,
+                verifiedTokenCacheService
+        );
+        userA = user();
+        userB = user();
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSearch() {
+        when(todoRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<Todo>(List.of()));
+    }
+
+    @Nested
+    @DisplayName("searchTodos")
+    class SearchTodosTests {
+
+        @Test
+        @DisplayName("should serve a repeated search from the cache")
+        @SuppressWarnings("unchecked")
+        void shouldCacheSearch() {
+            stubSearch();
+
+            cacheService.searchTodos(ALL, pageable, userA);
+            cacheService.searchTodos(ALL, pageable, userA);
+
+            verify(todoRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should cache searches that differ only in filters separately")
+        @SuppressWarnings("unchecked")
+        void shouldKeyOnWholeQuery() {
+            stubSearch();
+
+            cacheService.searchTodos(ALL, pageable, userA);
+            cacheService.searchTodos(new TodoQuery(null, null, null, null, true, null), pageable, userA);
+
+            verify(todoRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("evictTodosByUser")
+    class EvictTodosByUserTests {
+
+        @Test
+        @DisplayName("should make the user's cached pages unreachable without touching other users")
+        @SuppressWarnings("unchecked")
+        void shouldEvictOnlyThatUser() {
+            stubSearch();
+            cacheService.searchTodos(ALL, pageable, userA);
+            cacheService.searchTodos(new TodoQuery(TaskStatus.COMPLETED, null, null, null, null, null), pageable, userA);
+            cacheService.searchTodos(ALL, pageable, userB);
+
+            cacheService.evictTodosByUser(userA.getId());
+            cacheService.searchTodos(ALL, pageable, userA);
+            cacheService.searchTodos(ALL, pageable, userB);
+
+            verify(todoRepository, times(4)).findAll(any(Specification.class), any(Pageable.class));
+            verify(invalidationBus).publish(CacheInvalidation.todos(userA.getId()));
+        }
+
+        @Test
+        @DisplayName("should not scan the cache")
+        void shouldNotScanCache() {
+            Cache<TodoSearchKey, Page<Todo>> spyCache = spy(todoSearchCache);
+            cacheService = new CacheService(Caffeine.newBuilder().build(email -> null), L2Cache.disabled(), spyCache,
+                    Caffeine.newBuilder().build(), todoRepository, Clock.systemUTC(), invalidationBus,
+                    verifiedTokenCacheService);
+
+            cacheService.evictTodosByUser(userA.getId());
+
+            verifyNoInteractions(spyCache);
+        }
+
+        @Test
+        @DisplayName("should apply evictions received from other nodes without re-broadcasting")
+        @SuppressWarnings("unchecked")
+        void shouldApplyRemoteEviction() {
+            stubSearch();
+            cacheService.searchTodos(ALL, pageable, userA);
+
+            cacheService.onRemoteInvalidation(CacheInvalidation.todos(userA.getId()));
+            cacheService.searchTodos(ALL, pageable, userA);
+
+            verify(todoRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
+            verifyNoInteractions(invalidationBus);
+        }
+    }
+
+    @Nested
+    @DisplayName("evictUser")
+    class EvictUserTests {
+
+        @Test
+        @DisplayName("should forget the user's verified tokens and tell other nodes")
+        void shouldEvictTokensAndBroadcast() {
+            cacheService.evictUser("A@Example.com");
+
+            verify(verifiedTokenCacheService).evictUser("a@example.com");
+            verify(invalidationBus).publish(CacheInvalidation.user("a@example.com"));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.dto.CacheStatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsServiceTest {
+
+    @Test
+    @DisplayName("should report hits, misses and weight per cache in name order")
+    void shouldReportPerCache() {
+        Cache<String, String> weighted = Caffeine.newBuilder()
+                .maximumWeight(1000)
+                .weigher((String key, String value) -> value.length())
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        Cache<String, String> sized = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        weighted.put("a", "12345");
+        weighted.getIfPresent("a");
+        weighted.getIfPresent("missing");
+
+        List<CacheStatsDTO> stats = new CacheStatsService(Map.of("zCache", sized, "aCache", weighted)).getStats();
+
+        assertEquals(List.of("aCache", "zCache"), stats.stream().map(CacheStatsDTO::name).toList());
+        CacheStatsDTO a = stats.getFirst();
+        assertEquals(1, a.hitCount());
+        assertEquals(1, a.missCount());
+        assertEquals(0.5, a.hitRate());
+        assertEquals(5L, a.weightedSizeBytes());
+        assertEquals(1000L, a.maximumWeightBytes());
+        assertNull(stats.get(1).weightedSizeBytes());
+    }
+}
@@ -0,0 +1,190 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.duckdns.todosummarized.config.CacheWarmupProperties;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.repository.TodoQuery;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC);
+    private static final TodoQuery FIRST_PAGE = new TodoQuery(null, null, null, null, null, null);
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TodoRepository todoRepository;
+    @Mock
+    private CacheService cacheService;
+    @Mock
+    private TodoService todoService;
+    @Mock
+    private AiInsightCacheService aiInsightCacheService;
+    @Mock
+    private JwtService jwtService;
+
+    private CacheWarmupProperties properties;
+    private CacheWarmupService warmupService;
+
+    private User userA;
+    private User userB;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheWarmupProperties();
+        properties.setJitIterations(3);
+        warmupService = new CacheWarmupService(properties, userRepository, todoRepository, cacheService,
+                todoService, aiInsightCacheService, jwtService, new ObjectMapper(), CLOCK);
+        userA = user();
+        userB = user();
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    private void stubActiveUsers(User... users) {
+        List<UUID> ids = Arrays.stream(users).map(User::getId).toList();
+        when(todoRepository.findRecentlyActiveUserIds(
+                LocalDateTime.of(2026, 1, 8, 10, 0), PageRequest.of(0, properties.getMaxUsers())))
+                .thenReturn(ids);
+        when(userRepository.findAllById(ids)).thenReturn(List.of(users));
+    }
+
+    @Nested
+    @DisplayName("warmUp")
+    class WarmUpTests {
+
+        @Test
+        @DisplayName("should preload user, first todo page and insight for each recently active user")
+        void shouldPreloadActiveUsers() {
+            stubActiveUsers(userA, userB);
+            when(todoService.search(eq(FIRST_PAGE), any(Pageable.class), any(User.class)))
+                    .thenReturn(new PageImpl<>(List.of()));
+            warmupService.startDeadline();
+
+            warmupService.warmUp();
+
+            for (User user : List.of(userA, userB)) {
+                verify(cacheService).putUser(user);
+                verify(aiInsightCacheService).preloadInsight(user);
+            }
+            verify(todoService).search(FIRST_PAGE, PageRequest.of(0, 20), userB);
+            assertTrue(warmupService.isComplete());
+        }
+
+        @Test
+        @DisplayName("should exercise the request hot paths the configured number of times")
+        void shouldWarmHotPaths() {
+            stubActiveUsers(userA);
+            when(todoService.search(eq(FIRST_PAGE), any(Pageable.class), any(User.class)))
+                    .thenReturn(new PageImpl<>(List.of()));
+            when(jwtService.generateAccessToken(userA)).thenReturn("token");
+            warmupService.startDeadline();
+
+            warmupService.warmUp();
+
+            verify(jwtService, times(3)).isTokenValid("token", userA);
+            verify(cacheService, times(3)).findUserByEmail(userA.getEmail());
+        }
+
+        @Test
+        @DisplayName("should keep warming other users when one fails")
+        void shouldSurviveUserFailure() {
+            properties.setJitIterations(0);
+            stubActiveUsers(userA, userB);
+            when(todoService.search(eq(FIRST_PAGE), any(Pageable.class), eq(userA)))
+                    .thenThrow(new IllegalStateException("boom"));
+            when(todoService.search(eq(FIRST_PAGE), any(Pageable.class), eq(userB)))
+                    .thenReturn(new PageImpl<>(List.of()));
+            warmupService.startDeadline();
+
+            warmupService.warmUp();
+
+            verify(aiInsightCacheService).preloadInsight(userB);
+            assertTrue(warmupService.isComplete());
+        }
+
+        @Test
+        @DisplayName("should complete without touching the caches when nobody was active")
+        void shouldHandleNoActiveUsers() {
+            when(todoRepository.findRecentlyActiveUserIds(any(), any())).thenReturn(List.of());
+            warmupService.startDeadline();
+
+            warmupService.warmUp();
+
+            verifyNoInteractions(cacheService, todoService, jwtService);
+            assertTrue(warmupService.isComplete());
+        }
+    }
+
+    @Nested
+    @DisplayName("readiness")
+    class ReadinessTests {
+
+        @Test
+        @DisplayName("should report out of service until warm-up completes")
+        void shouldGateReadiness() {
+            CacheWarmupHealthIndicator indicator = new CacheWarmupHealthIndicator(warmupService);
+            when(todoRepository.findRecentlyActiveUserIds(any(), any())).thenReturn(List.of());
+            warmupService.startDeadline();
+
+            assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+            warmupService.warmUp();
+            assertEquals(Status.UP, indicator.health().getStatus());
+        }
+
+        @Test
+        @DisplayName("should report ready once the deadline has passed")
+        void shouldBeReadyAfterDeadline() {
+            properties.setDeadlineSeconds(0);
+            warmupService.startDeadline();
+
+            assertTrue(warmupService.isComplete());
+        }
+
+        @Test
+        @DisplayName("should be ready immediately when warm-up is disabled")
+        void shouldSkipWhenDisabled() {
+            properties.setEnabled(false);
+
+            warmupService.onApplicationReady();
+
+            assertTrue(warmupService.isComplete());
+            verifyNoInteractions(todoRepository);
+        }
+    }
+}
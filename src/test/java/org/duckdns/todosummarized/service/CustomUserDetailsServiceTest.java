@@ -2,6 +2,7 @@ package org.duckdns.todosummarized.service;
 
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -30,6 +31,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private UserRepository userRepository;
+
     private CustomUserDetailsService customUserDetailsService;
 
     private static final String TEST_EMAIL = "test@example.com";
@@ -38,7 +42,7 @@ class CustomUserDetailsServiceTest {
 
     @BeforeEach
     void setUp() {
-        customUserDetailsService = new CustomUserDetailsService(cacheService);
+        customUserDetailsService = new CustomUserDetailsService(cacheService, userRepository);
     }
 
     private User createTestUser() {
@@ -352,5 +356,33 @@ class CustomUserDetailsServiceTest {
             assertThat(result).isSameAs(user);
         }
     }
-}
 
+    @Nested
+    @DisplayName("updatePassword()")
+    class UpdatePasswordTests {
+
+        @Test
+        @DisplayName("should store the rehashed password, evict the cached user and return it reloaded")
+        void shouldStoreRehashedPassword() {
+            // Given
+            User user = createTestUser();
+            User reloaded = User.builder()
+                    .id(TEST_USER_ID)
+                    .email(TEST_EMAIL)
+                    .password("rehashed")
+                    .role(Role.ROLE_USER)
+                    .build();
+            when(cacheService.findUserByEmail(TEST_EMAIL)).thenReturn(Optional.of(reloaded));
+
+            // When
+            UserDetails result = customUserDetailsService.updatePassword(user, "rehashed");
+
+            // Then
+            assertThat(result.getPassword()).isEqualTo("rehashed");
+            var order = inOrder(userRepository, cacheService);
+            order.verify(userRepository).updatePassword(TEST_EMAIL, "rehashed");
+            order.verify(cacheService).evictUser(TEST_EMAIL);
+            order.verify(cacheService).findUserByEmail(TEST_EMAIL);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.duckdns.todosummarized.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
 import org.duckdns.todosummarized.config.GeminiProperties;
 import org.duckdns.todosummarized.domains.enums.SummaryType;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
@@ -39,7 +41,8 @@ class GeminiSummaryAdapterTest {
         when(geminiProperties.getModel()).thenReturn("gemini-2.5-flash-lite");
         when(geminiProperties.isEnabled()).thenReturn(true);
 
-        geminiSummaryAdapter = new GeminiSummaryAdapter(geminiProperties, objectMapper, messageBuilder);
+        geminiSummaryAdapter = new GeminiSummaryAdapter(geminiProperties, objectMapper, messageBuilder,
+                new AiHttpClientProperties(), new AiMetrics(new SimpleMeterRegistry()));
         geminiSummaryAdapter.initHttpClient();
 
         sampleMetrics = DailySummaryDTO.builder()
@@ -0,0 +1,104 @@
+package org.duckdns.todosummarized.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLockServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private PreparedStatement unlockStatement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    @Mock
+    private ResultSet unlockResult;
+
+    private JobLockService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        service = new JobLockService(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(startsWith("select pg_try_advisory_lock"))).thenReturn(lockStatement);
+        lenient().when(connection.prepareStatement(startsWith("select pg_advisory_unlock"))).thenReturn(unlockStatement);
+        lenient().when(lockStatement.executeQuery()).thenReturn(lockResult);
+        lenient().when(unlockStatement.executeQuery()).thenReturn(unlockResult);
+        lenient().when(lockResult.next()).thenReturn(true);
+        lenient().when(unlockResult.next()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("should run the task under the lock and release it on the same connection")
+    void shouldRunUnderLock() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(service.runExclusively("job", () -> ran.set(true)));
+
+        assertTrue(ran.get());
+        InOrder order = inOrder(lockStatement, unlockStatement, connection);
+        order.verify(lockStatement).setString(1, "job");
+        order.verify(unlockStatement).setString(1, "job");
+        order.verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should skip the task while another node holds the lock")
+    void shouldSkipWhenHeld() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        assertFalse(service.runExclusively("job", () -> fail("must not run")));
+
+        verify(connection, never()).prepareStatement(startsWith("select pg_advisory_unlock"));
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should release the lock when the task fails")
+    void shouldReleaseOnFailure() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> service.runExclusively("job", () -> { throw new IllegalStateException("boom"); }));
+
+        verify(unlockStatement).executeQuery();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should skip the task when the lock cannot be taken")
+    void shouldSkipWhenDatabaseFails() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("down"));
+
+        assertFalse(service.runExclusively("job", () -> fail("must not run")));
+        verify(connection).close();
+    }
+}
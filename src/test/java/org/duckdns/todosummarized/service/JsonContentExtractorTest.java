@@ -0,0 +1,56 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonContentExtractorTest {
+
+    private final JsonContentExtractor openAi =
+            new JsonContentExtractor(new JsonFactory(), "choices", "message", "content");
+    private final JsonContentExtractor gemini =
+            new JsonContentExtractor(new JsonFactory(), "candidates", "content", "parts", "text");
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("should extract OpenAI content while skipping unrelated fields")
+    void shouldExtractOpenAiContent() throws Exception {
+        String body = """
+                {"id":"chatcmpl-1","object":"chat.completion",
+                 "usage":{"prompt_tokens":10,"details":{"cached":[1,2,3]}},
+                 "choices":[{"index":0,"logprobs":null,
+                             "message":{"role":"assistant","content":"Line one\\nLine \\"two\\""}},
+                            {"index":1,"message":{"content":"second choice"}}]}
+                """;
+
+        assertEquals("Line one\nLine \"two\"", openAi.extract(json(body)));
+    }
+
+    @Test
+    @DisplayName("should extract Gemini text from the first candidate part")
+    void shouldExtractGeminiText() throws Exception {
+        String body = """
+                {"candidates":[{"content":{"role":"model","parts":[{"text":"Gemini summary"}]},
+                                "finishReason":"STOP"}],
+                 "usageMetadata":{"promptTokenCount":12}}
+                """;
+
+        assertEquals("Gemini summary", gemini.extract(json(body)));
+    }
+
+    @Test
+    @DisplayName("should return null when the path is absent or not a string")
+    void shouldReturnNullWhenMissing() throws Exception {
+        assertNull(openAi.extract(json("{\"choices\":[]}")));
+        assertNull(openAi.extract(json("{\"error\":{\"message\":\"bad\"}}")));
+        assertNull(openAi.extract(json("{\"choices\":[{\"message\":{\"content\":null}}]}")));
+        assertNull(openAi.extract(json("[]")));
+    }
+}
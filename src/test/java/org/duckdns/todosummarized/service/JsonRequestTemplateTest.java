@@ -0,0 +1,75 @@
+package org.duckdns.todosummarized.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonRequestTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Map<String, Object> body(String system, String user) {
+        return Map.of(
+                "model", "gpt-5-nano",
+                "messages", List.of(
+                        Map.of("role", "system", "content", system),
+                        Map.of("role", "user", "content", user)
+                ),
+                "temperature", 0.7
+        );
+    }
+
+    @Nested
+    @DisplayName("render")
+    class RenderTests {
+
+        @Test
+        @DisplayName("should produce the same JSON as serializing the full body")
+        void shouldMatchObjectMapperOutput() throws Exception {
+            JsonRequestTemplate template = JsonRequestTemplate.compile(objectMapper,
+                    body("${system}", "${user}"), "${system}", "${user}");
+            String system = "You are \"helpful\".\nUse\ttabs \\ backslashes";
+            String user = "Tasks: café ✓ 😀 \u0001 done";
+
+            String rendered = new String(template.render(system, user), StandardCharsets.UTF_8);
+
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(body(system, user))),
+                    objectMapper.readTree(rendered));
+        }
+
+        @Test
+        @DisplayName("should reject a value count that does not match the placeholders")
+        void shouldRejectWrongValueCount() throws Exception {
+            JsonRequestTemplate template = JsonRequestTemplate.compile(objectMapper,
+                    body("${system}", "${user}"), "${system}", "${user}");
+
+            assertThrows(IllegalArgumentException.class, () -> template.render("only one"));
+        }
+    }
+
+    @Nested
+    @DisplayName("compile")
+    class CompileTests {
+
+        @Test
+        @DisplayName("should reject a placeholder missing from the body")
+        void shouldRejectMissingPlaceholder() {
+            assertThrows(IllegalArgumentException.class, () -> JsonRequestTemplate.compile(objectMapper,
+                    body("${system}", "fixed"), "${system}", "${user}"));
+        }
+
+        @Test
+        @DisplayName("should reject a placeholder used more than once")
+        void shouldRejectDuplicatePlaceholder() {
+            assertThrows(IllegalArgumentException.class, () -> JsonRequestTemplate.compile(objectMapper,
+                    body("${system}", "${system}"), "${system}"));
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package org.duckdns.todosummarized.service;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.duckdns.todosummarized.config.JwtProperties;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.TokenType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,10 +13,15 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -199,6 +208,162 @@ class JwtServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Validate ")
+    class Validate {
+
+        @Test
+        @DisplayName("validate should return subject, role and timestamps of a valid token")
+        void validate_ShouldReturnClaims() {
+            // Arrange
+            String token = jwtService.generateAccessToken(testUser);
+
+            // Act
+            VerifiedToken verified = jwtService.validate(token).orElseThrow();
+
+            // Assert
+            assertThat(verified.subject()).isEqualTo("test@example.com");
+            assertThat(verified.role()).isEqualTo("ROLE_USER");
+            assertThat(verified.carriesIdentity()).isFalse();
+            assertThat(verified.tokenId()).isNotBlank();
+            assertThat(jwtService.validate(jwtService.generateAccessToken(testUser)).orElseThrow().tokenId())
+                    .isNotEqualTo(verified.tokenId());
+            assertThat(verified.issuedAt()).isEqualTo(Instant.parse("2026-01-09T12:00:00Z"));
+            assertThat(verified.expiresAt()).isEqualTo(Instant.parse("2026-01-09T12:15:00Z"));
+            assertThat(jwtService.isTokenValid(verified, testUser)).isTrue();
+        }
+
+        @Test
+        @DisplayName("validate should return empty for tampered, malformed and expired tokens")
+        void validate_ShouldRejectInvalidTokens() {
+            // Arrange
+            String token = jwtService.generateAccessToken(testUser);
+            Clock laterClock = Clock.fixed(Instant.parse("2026-01-09T13:00:00Z"), ZoneId.of("UTC"));
+            JwtService laterService = new JwtService(jwtProperties, laterClock);
+
+            // Act & Assert
+            assertThat(jwtService.validate(token.substring(0, token.length() - 2) + "xx")).isEmpty();
+            assertThat(jwtService.validate("not-a-jwt")).isEmpty();
+            assertThat(jwtService.validate("")).isEmpty();
+            assertThat(laterService.validate(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("validate should reuse one parser safely across threads")
+        void validate_ShouldBeThreadSafe() {
+            // Arrange
+            String token = jwtService.generateAccessToken(testUser);
+
+            // Act
+            long valid = IntStream.range(0, 2_000).parallel()
+                    .filter(i -> jwtService.validate(token).isPresent())
+                    .count();
+
+            // Assert
+            assertThat(valid).isEqualTo(2_000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Identity Claims ")
+    class IdentityClaims {
+
+        private final org.duckdns.todosummarized.domains.entity.User entityUser =
+                org.duckdns.todosummarized.domains.entity.User.builder()
+                        .id(UUID.randomUUID())
+                        .email("entity@example.com")
+                        .password("hash")
+                        .role(Role.ROLE_ADMIN)
+                        .tokenVersion(3)
+                        .build();
+
+        @Test
+        @DisplayName("access token should carry user id, role and token version")
+        void accessToken_ShouldCarryIdentity() {
+            // Act
+            VerifiedToken verified = jwtService.validate(jwtService.generateAccessToken(entityUser)).orElseThrow();
+
+            // Assert
+            assertThat(verified.carriesIdentity()).isTrue();
+            assertThat(verified.userId()).isEqualTo(entityUser.getId());
+            assertThat(verified.version()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("principal should be rebuilt from claims alone")
+        void toPrincipal_ShouldRebuildUserFromClaims() {
+            // Act
+            var principal = jwtService.validate(jwtService.generateAccessToken(entityUser)).orElseThrow().toPrincipal();
+
+            // Assert
+            assertThat(principal).isEqualTo(entityUser);
+            assertThat(principal.getEmail()).isEqualTo("entity@example.com");
+            assertThat(principal.getRole()).isEqualTo(Role.ROLE_ADMIN);
+            assertThat(principal.getPassword()).isNull();
+        }
+
+        @Test
+        @DisplayName("refresh token should carry the version but no role")
+        void refreshToken_ShouldCarryVersionOnly() {
+            // Act
+            VerifiedToken verified = jwtService.validate(jwtService.generateRefreshToken(entityUser)).orElseThrow();
+
+            // Assert
+            assertThat(verified.version()).isEqualTo(3);
+            assertThat(verified.carriesIdentity()).isFalse();
+            assertThat(verified.tokenId()).isNotBlank();
+            assertThat(jwtService.validate(jwtService.generateAccessToken(testUser)).orElseThrow().tokenId())
+                    .isNotEqualTo(verified.tokenId());
+        }
+
+        @Test
+        @DisplayName("tokens should carry whether they are access or refresh tokens")
+        void tokens_ShouldCarryType() {
+            // Act & Assert
+            assertThat(jwtService.validate(jwtService.generateAccessToken(entityUser)).orElseThrow().type())
+                    .isEqualTo(TokenType.ACCESS);
+            assertThat(jwtService.validate(jwtService.generateRefreshToken(entityUser)).orElseThrow().type())
+                    .isEqualTo(TokenType.REFRESH);
+        }
+
+        @Test
+        @DisplayName("tokens issued before the type claim should be typed by their role claim")
+        void legacyTokens_ShouldBeTypedByRole() {
+            // Arrange
+            SecretKey key = Keys.hmacShaKeyFor(jwtProperties.getSecretKey().getBytes(StandardCharsets.UTF_8));
+            Date issuedAt = Date.from(fixedClock.instant());
+            Date expiresAt = Date.from(fixedClock.instant().plusSeconds(900));
+            String legacyAccess = Jwts.builder().subject("legacy@example.com").claim(JwtService.ROLE_CLAIM, "ROLE_USER")
+                    .issuedAt(issuedAt).expiration(expiresAt).signWith(key).compact();
+            String legacyRefresh = Jwts.builder().subject("legacy@example.com")
+                    .issuedAt(issuedAt).expiration(expiresAt).signWith(key).compact();
+            String unknownType = Jwts.builder().subject("legacy@example.com").claim(JwtService.TYPE_CLAIM, "id")
+                    .issuedAt(issuedAt).expiration(expiresAt).signWith(key).compact();
+
+            // Act & Assert
+            assertThat(jwtService.validate(legacyAccess).orElseThrow().type()).isEqualTo(TokenType.ACCESS);
+            assertThat(jwtService.validate(legacyRefresh).orElseThrow().type()).isEqualTo(TokenType.REFRESH);
+            assertThat(jwtService.validate(unknownType)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("isTokenValid should return false once the user's token version moved on")
+        void isTokenValid_ShouldRejectOldVersion() {
+            // Arrange
+            String token = jwtService.generateRefreshToken(entityUser);
+            var changedUser = org.duckdns.todosummarized.domains.entity.User.builder()
+                    .id(entityUser.getId())
+                    .email(entityUser.getEmail())
+                    .role(Role.ROLE_ADMIN)
+                    .tokenVersion(4)
+                    .build();
+
+            // Act & Assert
+            assertThat(jwtService.isTokenValid(token, entityUser)).isTrue();
+            assertThat(jwtService.isTokenValid(token, changedUser)).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Role Claims ")
     class RoleClaims {
@@ -0,0 +1,134 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.config.PasswordHashingProperties;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingProperties properties;
+    private PasswordHashingExecutor executor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setMaxQueueSize(1);
+        properties.setMaxQueueWaitMillis(5_000);
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Occupies the only hashing thread until the returned latch is released.
+     */
+    private CountDownLatch occupyThread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> executor.execute(() -> {
+            started.countDown();
+            await(release);
+            return "blocker";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("execute")
+    class ExecuteTests {
+
+        @Test
+        @DisplayName("should run the task on a dedicated hashing thread")
+        void shouldRunOnHashingThread() {
+            executor = new PasswordHashingExecutor(properties);
+
+            String thread = executor.execute(() -> Thread.currentThread().getName());
+
+            assertTrue(thread.startsWith("password-hash-"));
+        }
+
+        @Test
+        @DisplayName("should run on the calling thread when disabled")
+        void shouldRunInlineWhenDisabled() {
+            properties.setEnabled(false);
+            executor = new PasswordHashingExecutor(properties);
+
+            assertEquals(Thread.currentThread().getName(), executor.execute(() -> Thread.currentThread().getName()));
+        }
+
+        @Test
+        @DisplayName("should rethrow the task's own exception")
+        void shouldRethrowTaskException() {
+            executor = new PasswordHashingExecutor(properties);
+
+            assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+                throw new IllegalArgumentException("bad hash");
+            }));
+        }
+    }
+
+    @Nested
+    @DisplayName("admission control")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("should shed work immediately once the queue is full")
+        void shouldShedWhenQueueFull() throws Exception {
+            executor = new PasswordHashingExecutor(properties);
+            CountDownLatch release = occupyThread();
+            Future<String> queued = callers.submit(() -> executor.execute(() -> "queued"));
+            for (int i = 0; i < 100 && executor.getQueued() == 0; i++) {
+                Thread.sleep(10);
+            }
+
+            ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+                    () -> executor.execute(() -> "rejected"));
+
+            assertTrue(e.getRetryAfterSeconds() >= 1);
+            release.countDown();
+            assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("should shed work that does not start within the wait limit and drop it from the queue")
+        void shouldShedAfterWaitLimit() throws Exception {
+            properties.setMaxQueueWaitMillis(50);
+            executor = new PasswordHashingExecutor(properties);
+            CountDownLatch release = occupyThread();
+
+            assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> "late"));
+
+            assertEquals(0, executor.getQueued());
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.config.AdminStatsProperties;
+import org.duckdns.todosummarized.dto.PlatformStatsDTO;
+import org.duckdns.todosummarized.exception.ServiceOverloadedException;
+import org.duckdns.todosummarized.repository.PlatformStatsRepository;
+import org.duckdns.todosummarized.repository.projection.AiUsageProjection;
+import org.duckdns.todosummarized.repository.projection.TodoBreakdownProjection;
+import org.duckdns.todosummarized.repository.projection.UserActivityProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformStatsServiceTest {
+
+    @Mock
+    private PlatformStatsRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AdminStatsProperties properties;
+    private PlatformStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdminStatsProperties();
+        properties.setChunks(4);
+        properties.setParallelism(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private void createService() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-09T12:00:00Z"), ZoneOffset.UTC);
+        service = new PlatformStatsService(properties, repository, Caffeine.newBuilder().build(), transactionManager, clock);
+    }
+
+    private static UserActivityProjection activity(long users, long week, long month) {
+        UserActivityProjection row = mock(UserActivityProjection.class);
+        when(row.getUsers()).thenReturn(users);
+        when(row.getActiveLastWeek()).thenReturn(week);
+        when(row.getActiveLastMonth()).thenReturn(month);
+        return row;
+    }
+
+    private static TodoBreakdownProjection todos(String status, String priority, long count, long overdueOlder) {
+        TodoBreakdownProjection row = mock(TodoBreakdownProjection.class);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getPriority()).thenReturn(priority);
+        when(row.getTodos()).thenReturn(count);
+        when(row.getOverdueOlder()).thenReturn(overdueOlder);
+        return row;
+    }
+
+    private static AiUsageProjection ai(String provider, long insights, long generated) {
+        AiUsageProjection row = mock(AiUsageProjection.class);
+        when(row.getProvider()).thenReturn(provider);
+        when(row.getInsights()).thenReturn(insights);
+        when(row.getAiGenerated()).thenReturn(generated);
+        return row;
+    }
+
+    @Nested
+    @DisplayName("UserIdRange.split")
+    class SplitTests {
+
+        @Test
+        @DisplayName("should cover the whole uuid space with adjacent ranges in unsigned order")
+        void shouldPartitionIdSpace() {
+            List<PlatformStatsService.UserIdRange> ranges = PlatformStatsService.UserIdRange.split(3);
+
+            assertEquals(new UUID(0, 0), ranges.getFirst().first());
+            assertEquals(new UUID(-1L, -1L), ranges.getLast().last());
+            for (int i = 1; i < ranges.size(); i++) {
+                UUID previousLast = ranges.get(i - 1).last();
+                UUID first = ranges.get(i).first();
+                assertEquals(-1L, previousLast.getLeastSignificantBits());
+                assertEquals(previousLast.getMostSignificantBits() + 1, first.getMostSignificantBits());
+                assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), previousLast.getMostSignificantBits()) > 0);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("getStats")
+    class GetStatsTests {
+
+        @Test
+        @DisplayName("should add up every chunk and serve the result from cache afterwards")
+        void shouldMergeChunks() {
+            createService();
+            when(repository.summarizeUserActivity(any(), any(), any(), any()))
+                    .thenAnswer(inv -> activity(10, 2, 5));
+            when(repository.summarizeTodos(any(), any(), any(), any(), any(), any()))
+                    .thenAnswer(inv -> List.of(todos("COMPLETED", "LOW", 3, 0), todos("NOT_STARTED", "HIGH", 2, 1)));
+            when(repository.summarizeAiUsage(any(), any(), any()))
+                    .thenAnswer(inv -> List.of(ai("OPENAI", 1, 1)));
+
+            PlatformStatsDTO stats = service.getStats();
+            service.getStats();
+
+            assertEquals(new PlatformStatsDTO.Users(40, 8, 20), stats.users());
+            assertEquals(20, stats.todos().total());
+            assertEquals(Map.of("COMPLETED", 12L, "NOT_STARTED", 8L), stats.todos().byStatus());
+            assertEquals(Map.of("LOW", 12L, "HIGH", 8L), stats.todos().byPriority());
+            assertEquals(4, stats.overdue().older());
+            assertEquals(Map.of("OPENAI", 4L), stats.ai().byProvider());
+            assertEquals(4, stats.ai().aiGenerated());
+            verify(repository, times(4)).summarizeUserActivity(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should cap each chunk's statements at the time left before the deadline")
+        void shouldLimitStatementTime() {
+            properties.setTimeoutSeconds(30);
+            createService();
+            when(repository.summarizeUserActivity(any(), any(), any(), any())).thenAnswer(inv -> activity(1, 0, 0));
+
+            service.getStats();
+
+            ArgumentCaptor<String> timeouts = ArgumentCaptor.forClass(String.class);
+            verify(repository, times(4)).limitStatementTime(timeouts.capture());
+            for (String timeout : timeouts.getAllValues()) {
+                long millis = Long.parseLong(timeout.replace("ms", ""));
+                assertTrue(millis > 0 && millis <= 30_000, timeout);
+            }
+            verify(transactionManager, times(4)).commit(any());
+        }
+
+        @Test
+        @DisplayName("should shed the request with a 503 when the aggregation times out")
+        void shouldTimeOut() {
+            properties.setTimeoutSeconds(0);
+            createService();
+            lenient().when(repository.summarizeUserActivity(any(), any(), any(), any())).thenAnswer(inv -> {
+                Thread.sleep(2_000);
+                return activity(1, 0, 0);
+            });
+
+            ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class, service::getStats);
+            assertEquals(properties.getCacheTtlSeconds(), ex.getRetryAfterSeconds());
+        }
+    }
+}
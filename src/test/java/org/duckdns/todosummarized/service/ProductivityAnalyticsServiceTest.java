@@ -0,0 +1,163 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.dto.ProductivityAnalyticsDTO;
+import org.duckdns.todosummarized.exception.InvalidDateRangeException;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.BurndownProjection;
+import org.duckdns.todosummarized.repository.projection.LeadTimeProjection;
+import org.duckdns.todosummarized.repository.projection.TodoDataVersionProjection;
+import org.duckdns.todosummarized.repository.projection.VelocityProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductivityAnalyticsServiceTest {
+
+    /** A Wednesday. */
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 14);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private ProductivityAnalyticsService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-14T09:00:00Z"), ZoneOffset.UTC);
+        service = new ProductivityAnalyticsService(todoRepository, Caffeine.newBuilder().build(), clock);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    private void stubVersion(long count, LocalDateTime lastUpdated) {
+        TodoDataVersionProjection version = mock(TodoDataVersionProjection.class);
+        when(version.getTodoCount()).thenReturn(count);
+        when(version.getLastUpdated()).thenReturn(lastUpdated);
+        when(todoRepository.findDataVersionByUser(user)).thenReturn(version);
+    }
+
+    private static VelocityProjection week(LocalDate weekStart, long completed, double rollingAverage) {
+        VelocityProjection row = mock(VelocityProjection.class);
+        lenient().when(row.getWeekStart()).thenReturn(weekStart);
+        lenient().when(row.getCompleted()).thenReturn(completed);
+        lenient().when(row.getRollingAverage()).thenReturn(rollingAverage);
+        return row;
+    }
+
+    private static BurndownProjection day(LocalDate day, long remaining) {
+        BurndownProjection row = mock(BurndownProjection.class);
+        when(row.getDay()).thenReturn(day);
+        when(row.getRemaining()).thenReturn(remaining);
+        return row;
+    }
+
+    private void stubMetrics() {
+        LocalDate monday = LocalDate.of(2026, 1, 12);
+        when(todoRepository.streamWeeklyVelocity(user.getId(), monday.minusWeeks(3), monday))
+                .thenAnswer(inv -> Stream.of(
+                        week(monday.minusWeeks(3), 9, 9.0),
+                        week(monday.minusWeeks(2), 9, 9.0),
+                        week(monday.minusWeeks(1), 2, 6.6667),
+                        week(monday, 1, 5.2549)));
+        when(todoRepository.streamDailyBurndown(user.getId(), TODAY.minusDays(2), TODAY, TODAY.plusDays(1).atStartOfDay()))
+                .thenAnswer(inv -> Stream.of(
+                        day(TODAY.minusDays(2), 5), day(TODAY.minusDays(1), 4), day(TODAY, 4)));
+        LeadTimeProjection leadTime = mock(LeadTimeProjection.class);
+        when(leadTime.getCompleted()).thenReturn(3L);
+        when(leadTime.getP50Hours()).thenReturn(30.0);
+        when(leadTime.getP75Hours()).thenReturn(42.0);
+        when(leadTime.getP90Hours()).thenReturn(49.1999);
+        when(todoRepository.findLeadTimePercentiles(user.getId(), TODAY.minusDays(2).atStartOfDay(),
+                TODAY.plusDays(1).atStartOfDay())).thenReturn(leadTime);
+    }
+
+    @Nested
+    @DisplayName("getAnalytics")
+    class GetAnalyticsTests {
+
+        @Test
+        @DisplayName("should assemble velocity without the lead-in weeks, burndown and lead time")
+        void shouldAssembleMetrics() {
+            stubVersion(5, TODAY.atTime(8, 0));
+            stubMetrics();
+
+            ProductivityAnalyticsDTO analytics = service.getAnalytics(user, TODAY.minusDays(2), TODAY);
+
+            assertEquals(List.of(new ProductivityAnalyticsDTO.VelocityPoint(LocalDate.of(2026, 1, 12), 1, 5.25)),
+                    analytics.velocity());
+            assertEquals(1.0, analytics.averageCompletedPerWeek());
+            assertEquals(List.of(5L, 4L, 4L),
+                    analytics.burndown().stream().map(ProductivityAnalyticsDTO.BurndownPoint::remaining).toList());
+            assertEquals(new ProductivityAnalyticsDTO.LeadTime(3, 30.0, 42.0, 49.2), analytics.leadTime());
+        }
+
+        @Test
+        @DisplayName("should serve repeated requests from cache until the user's todos change")
+        void shouldCacheByDataVersion() {
+            stubVersion(5, TODAY.atTime(8, 0));
+            stubMetrics();
+
+            service.getAnalytics(user, TODAY.minusDays(2), TODAY);
+            service.getAnalytics(user, TODAY.minusDays(2), TODAY);
+            verify(todoRepository, times(1)).findLeadTimePercentiles(any(), any(), any());
+
+            stubVersion(5, TODAY.atTime(8, 30));
+            service.getAnalytics(user, TODAY.minusDays(2), TODAY);
+            verify(todoRepository, times(2)).findLeadTimePercentiles(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should default to the twelve weeks up to today")
+        void shouldDefaultRange() {
+            stubVersion(0, null);
+            when(todoRepository.streamWeeklyVelocity(any(), any(), any())).thenReturn(Stream.of());
+            when(todoRepository.streamDailyBurndown(any(), any(), any(), any())).thenReturn(Stream.of());
+            LeadTimeProjection noCompletions = mock(LeadTimeProjection.class);
+            when(noCompletions.getP50Hours()).thenReturn(null);
+            when(todoRepository.findLeadTimePercentiles(any(), any(), any())).thenReturn(noCompletions);
+
+            ProductivityAnalyticsDTO analytics = service.getAnalytics(user, null, null);
+
+            assertEquals(TODAY.minusWeeks(12).plusDays(1), analytics.from());
+            assertEquals(TODAY, analytics.to());
+            assertEquals(0.0, analytics.averageCompletedPerWeek());
+            assertNull(analytics.leadTime().p50Hours());
+        }
+
+        @Test
+        @DisplayName("should reject reversed and overlong ranges before touching the database")
+        void shouldRejectInvalidRanges() {
+            assertThrows(InvalidDateRangeException.class,
+                    () -> service.getAnalytics(user, TODAY, TODAY.minusDays(1)));
+            assertThrows(InvalidDateRangeException.class,
+                    () -> service.getAnalytics(user, TODAY.minusDays(ProductivityAnalyticsService.MAX_RANGE_DAYS), TODAY));
+            verifyNoInteractions(todoRepository);
+        }
+    }
+}
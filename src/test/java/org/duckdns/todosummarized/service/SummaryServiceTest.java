@@ -1,13 +1,14 @@
 package org.duckdns.todosummarized.service;
 
+import org.duckdns.todosummarized.cache.TodoFacts;
+import org.duckdns.todosummarized.cache.TodoSummaryCounters;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.Role;
 import org.duckdns.todosummarized.domains.enums.TaskPriority;
 import org.duckdns.todosummarized.domains.enums.TaskStatus;
 import org.duckdns.todosummarized.dto.DailySummaryDTO;
 import org.duckdns.todosummarized.repository.TodoRepository;
-import org.duckdns.todosummarized.repository.projection.PriorityCountProjection;
-import org.duckdns.todosummarized.repository.projection.StatusCountProjection;
+import org.duckdns.todosummarized.repository.projection.DailySummaryProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,9 +21,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,11 +34,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class SummaryServiceTest {
 
+    @Mock
+    private TodoSummaryCounterService summaryCounters;
+
     @Mock
     private TodoRepository todoRepository;
 
@@ -48,6 +56,10 @@ class SummaryServiceTest {
 
     private static final LocalDate FIXED_DATE = LocalDate.of(2026, 1, 9);
     private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+    private static final LocalDateTime YESTERDAY = FIXED_DATE.minusDays(1).atTime(10, 0);
+    private static final LocalDateTime TODAY = FIXED_DATE.atTime(12, 0);
+    private static final LocalDateTime IN_THREE_DAYS = FIXED_DATE.plusDays(3).atTime(9, 0);
+    private static final LocalDateTime IN_TWO_WEEKS = FIXED_DATE.plusDays(14).atTime(9, 0);
 
     @BeforeEach
     void setUp() {
@@ -70,8 +82,7 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return correct date")
         void shouldReturnCorrectDate() {
-            mockAllCounts(0, 0, 0, 0, 0, 0, 0, 0);
-            mockPriorityCounts(0, 0, 0, 0);
+            givenTodos();
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -81,10 +92,12 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return total count")
         void shouldReturnTotalCount() {
-            when(todoRepository.countByUser(user)).thenReturn(25L);
-            mockStatusCounts(10, 8, 5, 2);
-            mockTimeCounts(3, 4, 6);
-            mockPriorityCounts(5, 10, 8, 2);
+            givenTodos(
+                    todos(10, TaskStatus.COMPLETED, TaskPriority.LOW, null),
+                    todos(8, TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, null),
+                    todos(5, TaskStatus.NOT_STARTED, TaskPriority.HIGH, null),
+                    todos(2, TaskStatus.CANCELLED, TaskPriority.CRITICAL, null)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -94,8 +107,12 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return status counts")
         void shouldReturnStatusCounts() {
-            mockAllCounts(20, 8, 6, 4, 2, 3, 2, 5);
-            mockPriorityCounts(5, 8, 5, 2);
+            givenTodos(
+                    todos(8, TaskStatus.COMPLETED, TaskPriority.LOW, null),
+                    todos(6, TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, null),
+                    todos(4, TaskStatus.NOT_STARTED, TaskPriority.HIGH, null),
+                    todos(2, TaskStatus.CANCELLED, TaskPriority.CRITICAL, null)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -108,8 +125,14 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return time-based counts")
         void shouldReturnTimeBasedCounts() {
-            mockAllCounts(20, 10, 5, 3, 2, 4, 3, 6);
-            mockPriorityCounts(5, 8, 5, 2);
+            givenTodos(
+                    todos(4, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, YESTERDAY),
+                    todos(1, TaskStatus.COMPLETED, TaskPriority.LOW, YESTERDAY),
+                    todos(2, TaskStatus.NOT_STARTED, TaskPriority.LOW, TODAY),
+                    todos(1, TaskStatus.COMPLETED, TaskPriority.LOW, TODAY),
+                    todos(6, TaskStatus.NOT_STARTED, TaskPriority.MEDIUM, IN_THREE_DAYS),
+                    todos(3, TaskStatus.NOT_STARTED, TaskPriority.MEDIUM, IN_TWO_WEEKS)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -122,8 +145,12 @@ class SummaryServiceTest {
         @DisplayName("should calculate completion rate correctly")
         void shouldCalculateCompletionRate() {
             // 10 completed out of 18 active (20 total - 2 cancelled) = 55.56%
-            mockAllCounts(20, 10, 5, 3, 2, 3, 2, 5);
-            mockPriorityCounts(5, 8, 5, 2);
+            givenTodos(
+                    todos(10, TaskStatus.COMPLETED, TaskPriority.LOW, null),
+                    todos(5, TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, null),
+                    todos(3, TaskStatus.NOT_STARTED, TaskPriority.HIGH, null),
+                    todos(2, TaskStatus.CANCELLED, TaskPriority.CRITICAL, null)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -134,8 +161,7 @@ class SummaryServiceTest {
         @DisplayName("should return 0 completion rate when no active todos")
         void shouldReturnZeroCompletionRateWhenNoActiveTodos() {
             // All 5 todos are cancelled
-            mockAllCounts(5, 0, 0, 0, 5, 0, 0, 0);
-            mockPriorityCounts(0, 0, 0, 0);
+            givenTodos(todos(5, TaskStatus.CANCELLED, TaskPriority.LOW, null));
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -145,8 +171,7 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return 100 completion rate when all completed")
         void shouldReturn100CompletionRateWhenAllCompleted() {
-            mockAllCounts(10, 10, 0, 0, 0, 0, 0, 0);
-            mockPriorityCounts(3, 4, 2, 1);
+            givenTodos(todos(10, TaskStatus.COMPLETED, TaskPriority.MEDIUM, null));
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -156,8 +181,12 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return priority breakdown")
         void shouldReturnPriorityBreakdown() {
-            mockAllCounts(20, 10, 5, 3, 2, 3, 2, 5);
-            mockPriorityCounts(5, 8, 5, 2);
+            givenTodos(
+                    todos(5, TaskStatus.NOT_STARTED, TaskPriority.LOW, null),
+                    todos(8, TaskStatus.NOT_STARTED, TaskPriority.MEDIUM, null),
+                    todos(5, TaskStatus.COMPLETED, TaskPriority.HIGH, null),
+                    todos(2, TaskStatus.IN_PROGRESS, TaskPriority.CRITICAL, null)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -171,8 +200,11 @@ class SummaryServiceTest {
         @Test
         @DisplayName("should return status breakdown")
         void shouldReturnStatusBreakdown() {
-            mockAllCounts(20, 10, 5, 3, 2, 3, 2, 5);
-            mockPriorityCounts(5, 8, 5, 2);
+            givenTodos(
+                    todos(10, TaskStatus.COMPLETED, TaskPriority.LOW, null),
+                    todos(5, TaskStatus.IN_PROGRESS, TaskPriority.LOW, null),
+                    todos(3, TaskStatus.NOT_STARTED, TaskPriority.LOW, null)
+            );
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -180,14 +212,13 @@ class SummaryServiceTest {
             assertEquals(10L, result.byStatus().get("COMPLETED"));
             assertEquals(5L, result.byStatus().get("IN_PROGRESS"));
             assertEquals(3L, result.byStatus().get("NOT_STARTED"));
-            assertEquals(2L, result.byStatus().get("CANCELLED"));
+            assertEquals(0L, result.byStatus().get("CANCELLED"));
         }
 
         @Test
         @DisplayName("should handle empty repository")
         void shouldHandleEmptyRepository() {
-            mockAllCounts(0, 0, 0, 0, 0, 0, 0, 0);
-            mockPriorityCounts(0, 0, 0, 0);
+            givenTodos();
 
             DailySummaryDTO result = summaryService.getDailySummary(user);
 
@@ -197,49 +228,80 @@ class SummaryServiceTest {
         }
     }
 
-    // Helper methods to mock repository calls
-    private void mockAllCounts(long total, long completed, long inProgress,
-                               long notStarted, long cancelled,
-                               long overdue, long dueToday, long upcoming) {
-        when(todoRepository.countByUser(user)).thenReturn(total);
-        mockStatusCounts(completed, inProgress, notStarted, cancelled);
-        mockTimeCounts(overdue, dueToday, upcoming);
-    }
+    @Nested
+    @DisplayName("getDailySummary without cached counters")
+    class ColdUserTests {
 
-    private void mockStatusCounts(long completed, long inProgress, long notStarted, long cancelled) {
-        List<StatusCountProjection> statusResults = new ArrayList<>();
-        if (completed > 0) statusResults.add(createStatusProjection(TaskStatus.COMPLETED, completed));
-        if (inProgress > 0) statusResults.add(createStatusProjection(TaskStatus.IN_PROGRESS, inProgress));
-        if (notStarted > 0) statusResults.add(createStatusProjection(TaskStatus.NOT_STARTED, notStarted));
-        if (cancelled > 0) statusResults.add(createStatusProjection(TaskStatus.CANCELLED, cancelled));
-        when(todoRepository.countGroupedByStatusAndUser(user)).thenReturn(statusResults);
-    }
+        @BeforeEach
+        void noCounters() {
+            when(summaryCounters.cachedCountersFor(user)).thenReturn(Optional.empty());
+        }
 
-    private StatusCountProjection createStatusProjection(TaskStatus status, long count) {
-        StatusCountProjection projection = mock(StatusCountProjection.class);
-        when(projection.getStatus()).thenReturn(status);
-        when(projection.getCount()).thenReturn(count);
-        return projection;
-    }
+        @Test
+        @DisplayName("should answer from the single aggregate query with today's window")
+        void shouldUseAggregateQuery() {
+            DailySummaryProjection row = aggregate(20, 10, 5, 3, 2, 4, 3, 6);
+            LocalDateTime startOfDay = FIXED_DATE.atStartOfDay();
+            when(todoRepository.summarizeByUser(user.getId(), startOfDay, startOfDay, startOfDay.plusDays(1),
+                    startOfDay.plusDays(1), startOfDay.plusDays(8))).thenReturn(row);
+
+            DailySummaryDTO result = summaryService.getDailySummary(user);
+
+            assertEquals(20L, result.totalTodos());
+            assertEquals(10L, result.completedCount());
+            assertEquals(5L, result.inProgressCount());
+            assertEquals(3L, result.notStartedCount());
+            assertEquals(2L, result.cancelledCount());
+            assertEquals(4L, result.overdueCount());
+            assertEquals(3L, result.dueTodayCount());
+            assertEquals(6L, result.upcomingCount());
+            assertEquals(55.56, result.completionRate(), 0.01);
+            assertEquals(List.of("COMPLETED", "IN_PROGRESS", "NOT_STARTED", "CANCELLED"),
+                    List.copyOf(result.byStatus().keySet()));
+            assertEquals(7L, result.byPriority().get("HIGH"));
+        }
+
+        @Test
+        @DisplayName("should build the counters in the background for the next read")
+        void shouldRebuildCounters() {
+            DailySummaryProjection row = aggregate(0, 0, 0, 0, 0, 0, 0, 0);
+            when(todoRepository.summarizeByUser(eq(user.getId()), any(), any(), any(), any(), any())).thenReturn(row);
+
+            summaryService.getDailySummary(user);
+
+            verify(summaryCounters).rebuildInBackground(user);
+        }
 
-    private void mockTimeCounts(long overdue, long dueToday, long upcoming) {
-        when(todoRepository.countOverdueByUser(eq(user), any(), any())).thenReturn(overdue);
-        when(todoRepository.countDueBetweenByUser(eq(user), any(), any())).thenReturn(dueToday, upcoming);
+        private DailySummaryProjection aggregate(long total, long completed, long inProgress, long notStarted,
+                                                 long cancelled, long overdue, long dueToday, long upcoming) {
+            DailySummaryProjection row = mock(DailySummaryProjection.class);
+            when(row.getTotal()).thenReturn(total);
+            when(row.getCompleted()).thenReturn(completed);
+            when(row.getInProgress()).thenReturn(inProgress);
+            when(row.getNotStarted()).thenReturn(notStarted);
+            when(row.getCancelled()).thenReturn(cancelled);
+            when(row.getLowPriority()).thenReturn(5L);
+            when(row.getMediumPriority()).thenReturn(8L);
+            when(row.getHighPriority()).thenReturn(7L);
+            when(row.getCriticalPriority()).thenReturn(0L);
+            when(row.getOverdue()).thenReturn(overdue);
+            when(row.getDueToday()).thenReturn(dueToday);
+            when(row.getUpcoming()).thenReturn(upcoming);
+            return row;
+        }
     }
 
-    private void mockPriorityCounts(long low, long medium, long high, long critical) {
-        List<PriorityCountProjection> priorityResults = new ArrayList<>();
-        if (low > 0) priorityResults.add(createPriorityProjection(TaskPriority.LOW, low));
-        if (medium > 0) priorityResults.add(createPriorityProjection(TaskPriority.MEDIUM, medium));
-        if (high > 0) priorityResults.add(createPriorityProjection(TaskPriority.HIGH, high));
-        if (critical > 0) priorityResults.add(createPriorityProjection(TaskPriority.CRITICAL, critical));
-        when(todoRepository.countGroupedByPriorityAndUser(user)).thenReturn(priorityResults);
+    // Helper methods to build the user's counters
+    @SafeVarargs
+    private void givenTodos(List<TodoFacts>... groups) {
+        List<TodoFacts> all = new ArrayList<>();
+        for (List<TodoFacts> group : groups) {
+            all.addAll(group);
+        }
+        when(summaryCounters.cachedCountersFor(user)).thenReturn(Optional.of(TodoSummaryCounters.of(all)));
     }
 
-    private PriorityCountProjection createPriorityProjection(TaskPriority priority, long count) {
-        PriorityCountProjection projection = mock(PriorityCountProjection.class);
-        when(projection.getPriority()).thenReturn(priority);
-        when(projection.getCount()).thenReturn(count);
-        return projection;
+    private static List<TodoFacts> todos(int count, TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        return Collections.nCopies(count, new TodoFacts(status, priority, dueDate));
     }
 }
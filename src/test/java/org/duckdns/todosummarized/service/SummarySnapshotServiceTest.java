@@ -0,0 +1,214 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.config.SummarySnapshotProperties;
+import org.duckdns.todosummarized.domains.entity.SummarySnapshot;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.TrendGranularity;
+import org.duckdns.todosummarized.dto.TrendPointDTO;
+import org.duckdns.todosummarized.exception.InvalidDateRangeException;
+import org.duckdns.todosummarized.repository.SummarySnapshotRepository;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SummarySnapshotServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 2, 10);
+
+    @Mock
+    private SummarySnapshotRepository snapshotRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private SummarySnapshotProperties properties;
+    private SummarySnapshotService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarySnapshotProperties();
+        Clock clock = Clock.fixed(Instant.parse("2026-02-10T00:10:00Z"), ZoneOffset.UTC);
+        service = new SummarySnapshotService(properties, snapshotRepository, userRepository, jobLockService, clock);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    /**
+     * Lets the scheduled run take the job lock.
+     */
+    private void holdJobLock() {
+        when(jobLockService.runExclusively(eq("summary-snapshot"), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    private static SummarySnapshot snapshot(LocalDate date, int total, int completed) {
+        return SummarySnapshot.builder()
+                .snapshotDate(date)
+                .total(total)
+                .completed(completed)
+                .completionRate(total == 0 ? 0 : completed * 100.0 / total)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("snapshot")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("should walk users in keyset batches and snapshot each batch at the end of the day")
+        void shouldSnapshotInBatches() {
+            holdJobLock();
+            properties.setBatchSize(2);
+            UUID a = UUID.randomUUID();
+            UUID b = UUID.randomUUID();
+            UUID c = UUID.randomUUID();
+            when(userRepository.findIdsAfter(eq(new UUID(0, 0)), any(Pageable.class))).thenReturn(List.of(a, b));
+            when(userRepository.findIdsAfter(eq(b), any(Pageable.class))).thenReturn(List.of(c));
+            when(userRepository.findIdsAfter(eq(c), any(Pageable.class))).thenReturn(List.of());
+            when(snapshotRepository.upsertSnapshots(anyList(), any(), any())).thenAnswer(inv -> inv.<List<?>>getArgument(0).size());
+
+            service.snapshotYesterday();
+
+            verify(snapshotRepository).upsertSnapshots(List.of(a, b), TODAY.minusDays(1), TODAY.atStartOfDay());
+            verify(snapshotRepository).upsertSnapshots(List.of(c), TODAY.minusDays(1), TODAY.atStartOfDay());
+        }
+
+        @Test
+        @DisplayName("should carry on with the next batch when one fails")
+        void shouldSkipFailedBatch() {
+            holdJobLock();
+            UUID a = UUID.randomUUID();
+            UUID b = UUID.randomUUID();
+            when(userRepository.findIdsAfter(eq(new UUID(0, 0)), any(Pageable.class))).thenReturn(List.of(a));
+            when(userRepository.findIdsAfter(eq(a), any(Pageable.class))).thenReturn(List.of(b));
+            when(userRepository.findIdsAfter(eq(b), any(Pageable.class))).thenReturn(List.of());
+            when(snapshotRepository.upsertSnapshots(eq(List.of(a)), any(), any())).thenThrow(new IllegalStateException("boom"));
+            when(snapshotRepository.upsertSnapshots(eq(List.of(b)), any(), any())).thenReturn(1);
+
+            service.snapshotYesterday();
+
+            verify(snapshotRepository).upsertSnapshots(List.of(b), TODAY.minusDays(1), TODAY.atStartOfDay());
+        }
+
+        @Test
+        @DisplayName("should snapshot yesterday from the scheduled run")
+        void shouldSnapshotYesterday() {
+            holdJobLock();
+            when(userRepository.findIdsAfter(any(), any(Pageable.class))).thenReturn(List.of());
+
+            service.snapshotYesterday();
+
+            verify(userRepository).findIdsAfter(any(), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should leave the scheduled run to the node holding the job lock")
+        void shouldSkipWhenLockHeld() {
+            when(jobLockService.runExclusively(eq("summary-snapshot"), any())).thenReturn(false);
+
+            service.snapshotYesterday();
+
+            verifyNoInteractions(userRepository, snapshotRepository);
+        }
+
+        @Test
+        @DisplayName("should do nothing when disabled on this node")
+        void shouldRespectDisabled() {
+            properties.setEnabled(false);
+
+            service.snapshotYesterday();
+
+            verifyNoInteractions(userRepository, snapshotRepository, jobLockService);
+        }
+    }
+
+    @Nested
+    @DisplayName("getTrends")
+    class GetTrendsTests {
+
+        @Test
+        @DisplayName("should return the last snapshot of each week, keyed by Monday")
+        void shouldBucketByWeek() {
+            LocalDate from = LocalDate.of(2026, 1, 5);
+            LocalDate to = LocalDate.of(2026, 1, 18);
+            when(snapshotRepository.findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(user.getId(), from, to))
+                    .thenReturn(List.of(
+                            snapshot(LocalDate.of(2026, 1, 5), 4, 1),
+                            snapshot(LocalDate.of(2026, 1, 11), 5, 2),
+                            snapshot(LocalDate.of(2026, 1, 12), 5, 3),
+                            snapshot(LocalDate.of(2026, 1, 16), 6, 3)
+                    ));
+
+            List<TrendPointDTO> points = service.getTrends(user, from, to, TrendGranularity.WEEK);
+
+            assertEquals(2, points.size());
+            assertEquals(LocalDate.of(2026, 1, 5), points.get(0).periodStart());
+            assertEquals(LocalDate.of(2026, 1, 11), points.get(0).asOf());
+            assertEquals(2, points.get(0).completedCount());
+            assertEquals(LocalDate.of(2026, 1, 12), points.get(1).periodStart());
+            assertEquals(6, points.get(1).totalTodos());
+            assertEquals(50.0, points.get(1).completionRate());
+        }
+
+        @Test
+        @DisplayName("should default to the last twelve months up to today")
+        void shouldDefaultRange() {
+            when(snapshotRepository.findByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(
+                    user.getId(), TODAY.minusMonths(12), TODAY))
+                    .thenReturn(List.of(snapshot(LocalDate.of(2026, 1, 20), 3, 1), snapshot(TODAY, 3, 2)));
+
+            List<TrendPointDTO> points = service.getTrends(user, null, null, TrendGranularity.MONTH);
+
+            assertEquals(List.of(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)),
+                    points.stream().map(TrendPointDTO::periodStart).toList());
+        }
+
+        @Test
+        @DisplayName("should reject a reversed range")
+        void shouldRejectReversedRange() {
+            assertThrows(InvalidDateRangeException.class,
+                    () -> service.getTrends(user, TODAY, TODAY.minusDays(1), TrendGranularity.WEEK));
+        }
+
+        @Test
+        @DisplayName("should reject a range longer than the configured maximum")
+        void shouldRejectLongRange() {
+            properties.setMaxTrendDays(30);
+
+            assertThrows(InvalidDateRangeException.class,
+                    () -> service.getTrends(user, TODAY.minusDays(31), TODAY, TrendGranularity.WEEK));
+            verifyNoInteractions(snapshotRepository);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.duckdns.todosummarized.service;
 
+import org.duckdns.todosummarized.cache.TodoFacts;
 import org.duckdns.todosummarized.domains.entity.Todo;
 import org.duckdns.todosummarized.domains.entity.User;
 import org.duckdns.todosummarized.domains.enums.Role;
@@ -46,12 +47,15 @@ class TodoServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private TodoSummaryCounterService summaryCounters;
+
     private TodoService todoService;
     private User user;
 
     @BeforeEach
     void setUp() {
-        todoService = new TodoService(todoRepository, cacheService);
+        todoService = new TodoService(todoRepository, cacheService, summaryCounters);
         user = User.builder()
                 .id(UUID.randomUUID())
                 .email("test@example.com")
@@ -102,6 +106,8 @@ class TodoServiceTest {
             verify(todoRepository).save(captor.capture());
             assertEquals("Test Todo", captor.getValue().getTitle());
             assertEquals(user, captor.getValue().getUser());
+            verify(summaryCounters).onCreated(user.getId(),
+                    new TodoFacts(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, dueDate));
         }
 
         @Test
@@ -282,13 +288,18 @@ class TodoServiceTest {
         void shouldDeleteTodoSuccessfully() {
             // Given
             UUID id = UUID.randomUUID();
-            when(todoRepository.deleteByIdAndUser(id, user)).thenReturn(1L);
+            Todo existing = new Todo();
+            existing.setId(id);
+            existing.setStatus(TaskStatus.IN_PROGRESS);
+            existing.setPriority(TaskPriority.HIGH);
+            when(todoRepository.findByIdAndUser(id, user)).thenReturn(Optional.of(existing));
 
             // When
             todoService.deleteTodo(id, user);
 
             // Then
-            verify(todoRepository).deleteByIdAndUser(id, user);
+            verify(todoRepository).delete(existing);
+            verify(summaryCounters).onDeleted(user.getId(), TodoFacts.of(existing));
         }
 
         @Test
@@ -296,7 +307,7 @@ class TodoServiceTest {
         void shouldThrowWhenDeletingNonExistent() {
             // Given
             UUID id = UUID.randomUUID();
-            when(todoRepository.deleteByIdAndUser(id, user)).thenReturn(0L);
+            when(todoRepository.findByIdAndUser(id, user)).thenReturn(Optional.empty());
 
             // When & Then
             TodoNotFoundException exception = assertThrows(
@@ -304,7 +315,8 @@ class TodoServiceTest {
                     () -> todoService.deleteTodo(id, user)
             );
             assertEquals("Todo not found with id: " + id, exception.getMessage());
-            verify(todoRepository).deleteByIdAndUser(id, user);
+            verify(todoRepository, never()).delete(any(Todo.class));
+            verifyNoInteractions(summaryCounters);
         }
     }
 
@@ -332,6 +344,9 @@ class TodoServiceTest {
             assertNotNull(result);
             assertEquals(TaskStatus.COMPLETED, result.getStatus());
             verify(todoRepository).findByIdAndUser(id, user);
+            verify(summaryCounters).onUpdated(user.getId(),
+                    new TodoFacts(TaskStatus.NOT_STARTED, null, null),
+                    new TodoFacts(TaskStatus.COMPLETED, null, null));
         }
 
         @Test
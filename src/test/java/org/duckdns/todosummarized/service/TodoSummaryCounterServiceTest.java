@@ -0,0 +1,192 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.cache.TodoFacts;
+import org.duckdns.todosummarized.cache.TodoSummaryCounters;
+import org.duckdns.todosummarized.domains.entity.User;
+import org.duckdns.todosummarized.domains.enums.Role;
+import org.duckdns.todosummarized.domains.enums.TaskPriority;
+import org.duckdns.todosummarized.domains.enums.TaskStatus;
+import org.duckdns.todosummarized.repository.TodoRepository;
+import org.duckdns.todosummarized.repository.projection.TodoSummaryFactsProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoSummaryCounterServiceTest {
+
+    private static final TodoFacts NOT_STARTED = new TodoFacts(TaskStatus.NOT_STARTED, TaskPriority.LOW, null);
+    private static final TodoFacts COMPLETED = new TodoFacts(TaskStatus.COMPLETED, TaskPriority.LOW, null);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private Cache<UUID, TodoSummaryCounters> cache;
+    private TodoSummaryCounterService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().build();
+        service = new TodoSummaryCounterService(cache, todoRepository);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .password("password")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void stubStoredTodos(TodoFacts... todos) {
+        List<TodoSummaryFactsProjection> rows = new ArrayList<>();
+        for (TodoFacts facts : todos) {
+            TodoSummaryFactsProjection row = mock(TodoSummaryFactsProjection.class);
+            when(row.getStatus()).thenReturn(facts.status());
+            when(row.getPriority()).thenReturn(facts.priority());
+            when(row.getDueDate()).thenReturn(facts.dueDate());
+            rows.add(row);
+        }
+        when(todoRepository.findSummaryFactsByUser(user)).thenReturn(rows);
+    }
+
+    @Nested
+    @DisplayName("countersFor")
+    class CountersForTests {
+
+        @Test
+        @DisplayName("should build counters from the database once and then serve them from memory")
+        void shouldRebuildOnlyOnMiss() {
+            stubStoredTodos(NOT_STARTED, COMPLETED);
+
+            assertEquals(2, service.countersFor(user).total());
+            assertEquals(2, service.countersFor(user).total());
+
+            verify(todoRepository, times(1)).findSummaryFactsByUser(user);
+        }
+
+        @Test
+        @DisplayName("should only report counters that are already cached until a background rebuild finishes")
+        void shouldRebuildInBackground() throws InterruptedException {
+            stubStoredTodos(NOT_STARTED);
+            assertTrue(service.cachedCountersFor(user).isEmpty());
+
+            service.rebuildInBackground(user);
+            for (int i = 0; i < 100 && service.cachedCountersFor(user).isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(1, service.cachedCountersFor(user).orElseThrow().total());
+        }
+
+        @Test
+        @DisplayName("should not queue another rebuild for a user whose rebuild is still running")
+        void shouldSkipRebuildInFlight() throws InterruptedException {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(todoRepository.findSummaryFactsByUser(user)).thenAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return List.of();
+            });
+
+            service.rebuildInBackground(user);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            service.rebuildInBackground(user);
+            service.rebuildInBackground(user);
+            release.countDown();
+            for (int i = 0; i < 100 && service.cachedCountersFor(user).isEmpty(); i++) {
+                Thread.sleep(20);
+            }
+
+            assertTrue(service.cachedCountersFor(user).isPresent());
+            verify(todoRepository, times(1)).findSummaryFactsByUser(user);
+        }
+    }
+
+    @Nested
+    @DisplayName("deltas")
+    class DeltaTests {
+
+        @Test
+        @DisplayName("should apply create, update and delete deltas to cached counters")
+        void shouldApplyDeltas() {
+            stubStoredTodos(NOT_STARTED);
+            TodoSummaryCounters counters = service.countersFor(user);
+
+            service.onCreated(user.getId(), NOT_STARTED);
+            service.onUpdated(user.getId(), NOT_STARTED, COMPLETED);
+            assertEquals(2, counters.total());
+            assertEquals(1L, counters.byStatus().get(TaskStatus.COMPLETED));
+
+            service.onDeleted(user.getId(), COMPLETED);
+            assertEquals(1, counters.total());
+            assertEquals(0L, counters.byStatus().get(TaskStatus.COMPLETED));
+            verify(todoRepository, times(1)).findSummaryFactsByUser(user);
+        }
+
+        @Test
+        @DisplayName("should ignore deltas for users without cached counters")
+        void shouldIgnoreColdUsers() {
+            service.onCreated(user.getId(), NOT_STARTED);
+
+            assertNull(cache.getIfPresent(user.getId()));
+        }
+
+        @Test
+        @DisplayName("should hold deltas back until the transaction commits")
+        void shouldApplyAfterCommit() {
+            stubStoredTodos();
+            TodoSummaryCounters counters = service.countersFor(user);
+            TransactionSynchronizationManager.initSynchronization();
+
+            service.onCreated(user.getId(), NOT_STARTED);
+            assertEquals(0, counters.total());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, counters.total());
+        }
+    }
+
+    @Nested
+    @DisplayName("onRemoteInvalidation")
+    class OnRemoteInvalidationTests {
+
+        @Test
+        @DisplayName("should drop counters when another node changed the user's todos")
+        void shouldEvictOnRemoteWrite() {
+            stubStoredTodos(NOT_STARTED);
+            service.countersFor(user);
+
+            service.onRemoteInvalidation(CacheInvalidation.todos(user.getId()));
+            service.countersFor(user);
+
+            verify(todoRepository, times(2)).findSummaryFactsByUser(user);
+        }
+    }
+}
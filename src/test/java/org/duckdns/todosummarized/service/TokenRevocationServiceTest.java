@@ -0,0 +1,212 @@
+package org.duckdns.todosummarized.service;
+
+import org.duckdns.todosummarized.config.CacheSyncProperties;
+import org.duckdns.todosummarized.config.TokenRevocationProperties;
+import org.duckdns.todosummarized.domains.enums.TokenType;
+import org.duckdns.todosummarized.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-09T12:00:00Z");
+    private static final LocalDateTime NOW_UTC = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private CacheSyncProperties syncProperties;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        syncProperties = new CacheSyncProperties();
+        service = new TokenRevocationService(new TokenRevocationProperties(), syncProperties, revokedTokenRepository,
+                invalidationBus, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static VerifiedToken token(String tokenId) {
+        return new VerifiedToken(tokenId, "alice@example.com", UUID.randomUUID(), "ROLE_USER", TokenType.ACCESS, 0,
+                NOW, NOW.plusSeconds(900));
+    }
+
+    @Nested
+    @DisplayName("isRevoked")
+    class IsRevokedTests {
+
+        @Test
+        @DisplayName("should answer tokens the filter has never seen without a query")
+        void shouldSkipQueryForUnknownTokens() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of("revoked-1"));
+            service.loadFilter();
+
+            assertFalse(service.isRevoked(token("fresh-1")));
+
+            verify(revokedTokenRepository, never()).existsByTokenIdAndExpiresAtAfter(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("should confirm filter hits against the database")
+        void shouldConfirmFilterHits() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of("revoked-1"));
+            when(revokedTokenRepository.existsByTokenIdAndExpiresAtAfter("revoked-1", NOW_UTC)).thenReturn(true);
+            service.loadFilter();
+
+            assertTrue(service.isRevoked(token("revoked-1")));
+        }
+
+        @Test
+        @DisplayName("should query the database until the filter is loaded")
+        void shouldQueryBeforeLoad() {
+            when(revokedTokenRepository.existsByTokenIdAndExpiresAtAfter("revoked-1", NOW_UTC)).thenReturn(true);
+
+            assertTrue(service.isRevoked(token("revoked-1")));
+        }
+
+        @Test
+        @DisplayName("should never treat tokens without an id as revoked")
+        void shouldIgnoreTokensWithoutId() {
+            assertFalse(service.isRevoked(token(null)));
+
+            verifyNoInteractions(revokedTokenRepository);
+        }
+
+        @Test
+        @DisplayName("should keep the previous filter when reloading fails")
+        void shouldKeepFilterOnFailedReload() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC))
+                    .thenReturn(List.of())
+                    .thenThrow(new IllegalStateException("database down"));
+            service.loadFilter();
+
+            service.purgeExpired();
+
+            assertFalse(service.isRevoked(token("fresh-1")));
+            verify(revokedTokenRepository, never()).existsByTokenIdAndExpiresAtAfter(anyString(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("revoke")
+    class RevokeTests {
+
+        @Test
+        @DisplayName("should persist until expiry, add to the filter and tell other nodes")
+        void shouldPersistAndBroadcast() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of());
+            when(revokedTokenRepository.existsByTokenIdAndExpiresAtAfter("jti-1", NOW_UTC)).thenReturn(true);
+            service.loadFilter();
+
+            when(revokedTokenRepository.insertIfAbsent(eq("jti-1"), any(), eq(NOW_UTC.plusMinutes(15)), eq(NOW_UTC))).thenReturn(1);
+
+            assertTrue(service.revoke(token("jti-1")));
+
+            verify(invalidationBus).publish(CacheInvalidation.token("jti-1"));
+            assertTrue(service.isRevoked(token("jti-1")));
+        }
+
+        @Test
+        @DisplayName("should report a token that was already revoked without broadcasting again")
+        void shouldReportAlreadyRevoked() {
+            when(revokedTokenRepository.insertIfAbsent(eq("jti-1"), any(), any(), any())).thenReturn(0);
+
+            assertFalse(service.revoke(token("jti-1")));
+
+            verifyNoInteractions(invalidationBus);
+        }
+
+        @Test
+        @DisplayName("should not revoke tokens without an id")
+        void shouldSkipTokensWithoutId() {
+            assertFalse(service.revoke(token(null)));
+
+            verifyNoInteractions(revokedTokenRepository, invalidationBus);
+        }
+
+        @Test
+        @DisplayName("should add revocations from other nodes to the filter")
+        void shouldApplyRemoteRevocation() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of());
+            when(revokedTokenRepository.existsByTokenIdAndExpiresAtAfter("jti-2", NOW_UTC)).thenReturn(true);
+            service.loadFilter();
+
+            service.onRemoteInvalidation(CacheInvalidation.token("jti-2"));
+
+            assertTrue(service.isRevoked(token("jti-2")));
+            verifyNoInteractions(invalidationBus);
+        }
+    }
+
+    @Nested
+    @DisplayName("pollRecentRevocations")
+    class PollRecentRevocationsTests {
+
+        @Test
+        @DisplayName("should add revocations from other nodes when cache sync is off")
+        void shouldPollWithoutSync() {
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of());
+            service.loadFilter();
+            when(revokedTokenRepository.findTokenIdsRevokedSince(NOW_UTC.minusMinutes(1), NOW_UTC))
+                    .thenReturn(List.of("remote-1"));
+            when(revokedTokenRepository.existsByTokenIdAndExpiresAtAfter("remote-1", NOW_UTC)).thenReturn(true);
+
+            service.pollRecentRevocations();
+
+            assertTrue(service.isRevoked(token("remote-1")));
+        }
+
+        @Test
+        @DisplayName("should leave revocations to cache sync when it is on")
+        void shouldNotPollWithSync() {
+            syncProperties.setEnabled(true);
+            when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of());
+            service.loadFilter();
+
+            service.pollRecentRevocations();
+
+            verify(revokedTokenRepository, never()).findTokenIdsRevokedSince(any(), any());
+        }
+
+        @Test
+        @DisplayName("should wait for the first load before polling")
+        void shouldNotPollBeforeLoad() {
+            service.pollRecentRevocations();
+
+            verifyNoInteractions(revokedTokenRepository);
+        }
+    }
+
+    @Test
+    @DisplayName("purgeExpired should delete expired revocations and rebuild the filter")
+    void shouldPurgeAndRebuild() {
+        when(revokedTokenRepository.deleteExpired(NOW_UTC)).thenReturn(3);
+        when(revokedTokenRepository.findActiveTokenIds(NOW_UTC)).thenReturn(List.of("revoked-1"));
+
+        service.purgeExpired();
+
+        verify(revokedTokenRepository).deleteExpired(NOW_UTC);
+        verify(revokedTokenRepository).findActiveTokenIds(NOW_UTC);
+    }
+}
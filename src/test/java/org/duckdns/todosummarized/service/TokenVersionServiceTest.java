@@ -0,0 +1,73 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.domains.enums.TokenType;
+import org.duckdns.todosummarized.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        Cache<String, Integer> cache = Caffeine.newBuilder().build();
+        service = new TokenVersionService(cache, userRepository);
+    }
+
+    private static VerifiedToken token(String subject, int version) {
+        Instant now = Instant.parse("2026-01-09T12:00:00Z");
+        return new VerifiedToken(UUID.randomUUID().toString(), subject, UUID.randomUUID(), "ROLE_USER", TokenType.ACCESS, version, now, now.plusSeconds(900));
+    }
+
+    @Test
+    @DisplayName("should accept only the current version and read it from the database once")
+    void shouldCompareWithCurrentVersion() {
+        when(userRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.of(2));
+
+        assertTrue(service.isCurrent(token("Alice@Example.com", 2)));
+        assertFalse(service.isCurrent(token(EMAIL, 1)));
+
+        verify(userRepository, times(1)).findTokenVersionByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("should reject tokens of users that no longer exist")
+    void shouldRejectUnknownUser() {
+        when(userRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertFalse(service.isCurrent(token(EMAIL, 0)));
+    }
+
+    @Test
+    @DisplayName("should read the version again after a local or remote eviction")
+    void shouldReloadAfterEviction() {
+        when(userRepository.findTokenVersionByEmail(EMAIL)).thenReturn(Optional.of(0), Optional.of(1), Optional.of(2));
+        assertTrue(service.isCurrent(token(EMAIL, 0)));
+
+        service.evict(EMAIL);
+        assertTrue(service.isCurrent(token(EMAIL, 1)));
+
+        service.onRemoteInvalidation(CacheInvalidation.user(EMAIL));
+        assertFalse(service.isCurrent(token(EMAIL, 1)));
+    }
+}
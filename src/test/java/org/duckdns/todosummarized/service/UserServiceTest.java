@@ -16,6 +16,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,6 +44,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     private UserService userService;
 
     private static final String TEST_EMAIL = "test@example.com";
@@ -52,7 +56,7 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepository, cacheService, passwordEncoder);
+        userService = new UserService(userRepository, cacheService, passwordEncoder, tokenVersionService);
     }
 
     private User createTestUser() {
@@ -452,5 +456,38 @@ class UserServiceTest {
             verify(userRepository).existsByEmail(TEST_EMAIL);
         }
     }
-}
 
+    @Nested
+    @DisplayName("revokeTokens()")
+    class RevokeTokensTests {
+
+        @Test
+        @DisplayName("should bump the token version and then evict the user everywhere")
+        void shouldBumpVersionAndEvict() {
+            // Given
+            when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.of(createTestUser()));
+            when(userRepository.incrementTokenVersion(TEST_USER_ID)).thenReturn(1);
+
+            // When
+            boolean revoked = userService.revokeTokens(TEST_USER_ID);
+
+            // Then
+            assertThat(revoked).isTrue();
+            InOrder order = inOrder(userRepository, tokenVersionService, cacheService);
+            order.verify(userRepository).incrementTokenVersion(TEST_USER_ID);
+            order.verify(tokenVersionService).evict(TEST_EMAIL);
+            order.verify(cacheService).evictUser(TEST_EMAIL);
+        }
+
+        @Test
+        @DisplayName("should report unknown users without touching caches")
+        void shouldIgnoreUnknownUser() {
+            // Given
+            when(userRepository.findById(TEST_USER_ID)).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThat(userService.revokeTokens(TEST_USER_ID)).isFalse();
+            verifyNoInteractions(tokenVersionService, cacheService);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.duckdns.todosummarized.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.duckdns.todosummarized.domains.enums.TokenType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-09T12:00:00Z");
+    private static final VerifiedToken ALICE = token("alice@example.com", NOW.plusSeconds(900));
+    private static final VerifiedToken BOB = token("bob@example.com", NOW.plusSeconds(900));
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private Cache<String, VerifiedToken> cache;
+    private VerifiedTokenCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().build();
+        lenient().when(tokenVersionService.isCurrent(any())).thenReturn(true);
+        service = new VerifiedTokenCacheService(cache, jwtService, tokenVersionService, tokenRevocationService, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static VerifiedToken token(String subject, Instant expiresAt) {
+        return new VerifiedToken(subject + "-jti", subject, UUID.randomUUID(), "ROLE_USER", TokenType.ACCESS, 0, expiresAt.minusSeconds(900), expiresAt);
+    }
+
+    @Nested
+    @DisplayName("verify")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("should verify a token once and serve repeats from memory")
+        void shouldVerifyOnce() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+
+            assertEquals(ALICE, service.verify("token-a").orElseThrow());
+            assertEquals(ALICE, service.verify("token-a").orElseThrow());
+
+            verify(jwtService, times(1)).validate("token-a");
+        }
+
+        @Test
+        @DisplayName("should key entries by digest, never by the raw token")
+        void shouldNotStoreRawToken() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+
+            service.verify("token-a");
+
+            assertEquals(1, cache.estimatedSize());
+            assertFalse(cache.asMap().containsKey("token-a"));
+        }
+
+        @Test
+        @DisplayName("should not cache tokens that fail verification")
+        void shouldNotCacheFailures() {
+            when(jwtService.validate("bad")).thenReturn(Optional.empty());
+
+            assertTrue(service.verify("bad").isEmpty());
+            assertTrue(service.verify("bad").isEmpty());
+
+            assertEquals(0, cache.estimatedSize());
+            verify(jwtService, times(2)).validate("bad");
+        }
+
+        @Test
+        @DisplayName("should reject and not cache tokens issued under an older token version")
+        void shouldRejectOutdatedVersion() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            when(tokenVersionService.isCurrent(ALICE)).thenReturn(false);
+
+            assertTrue(service.verify("token-a").isEmpty());
+            assertEquals(0, cache.estimatedSize());
+        }
+
+        @Test
+        @DisplayName("should reject and not cache revoked tokens")
+        void shouldRejectRevokedToken() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            when(tokenRevocationService.isRevoked(ALICE)).thenReturn(true);
+
+            assertTrue(service.verify("token-a").isEmpty());
+            assertEquals(0, cache.estimatedSize());
+        }
+
+        @Test
+        @DisplayName("should re-verify a cached token once it has expired")
+        void shouldRejectExpiredEntry() {
+            VerifiedToken expired = token("alice@example.com", NOW.minusSeconds(1));
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(expired), Optional.empty());
+
+            service.verify("token-a");
+
+            assertTrue(service.verify("token-a").isEmpty());
+            verify(jwtService, times(2)).validate("token-a");
+        }
+    }
+
+    @Nested
+    @DisplayName("eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("should revoke a token and forget it")
+        void shouldRevokeToken() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            service.verify("token-a");
+
+            assertEquals(ALICE, service.revoke("token-a").orElseThrow());
+
+            verify(tokenRevocationService).revoke(ALICE);
+            assertEquals(0, cache.estimatedSize());
+        }
+
+        @Test
+        @DisplayName("should forget tokens revoked on other nodes by token id")
+        void shouldEvictRemotelyRevokedToken() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            when(jwtService.validate("token-b")).thenReturn(Optional.of(BOB));
+            service.verify("token-a");
+            service.verify("token-b");
+
+            service.onRemoteInvalidation(CacheInvalidation.token(ALICE.tokenId()));
+
+            assertEquals(1, cache.estimatedSize());
+            assertEquals(BOB, cache.asMap().values().iterator().next());
+        }
+
+        @Test
+        @DisplayName("should forget every token of a changed user and keep other users' tokens")
+        void shouldEvictUser() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            when(jwtService.validate("token-b")).thenReturn(Optional.of(BOB));
+            service.verify("token-a");
+            service.verify("token-b");
+
+            service.evictUser("Alice@Example.com");
+
+            assertEquals(1, cache.estimatedSize());
+            assertEquals(BOB, cache.asMap().values().iterator().next());
+        }
+
+        @Test
+        @DisplayName("should apply user evictions received from other nodes")
+        void shouldEvictOnRemoteInvalidation() {
+            when(jwtService.validate("token-a")).thenReturn(Optional.of(ALICE));
+            service.verify("token-a");
+
+            service.onRemoteInvalidation(CacheInvalidation.todos(UUID.randomUUID()));
+            assertEquals(1, cache.estimatedSize());
+
+            service.onRemoteInvalidation(CacheInvalidation.user("alice@example.com"));
+            assertEquals(0, cache.estimatedSize());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.duckdns.todosummarized.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.duckdns.todosummarized.config.AiHttpClientProperties;
+import org.duckdns.todosummarized.config.GeminiProperties;
+import org.duckdns.todosummarized.config.LocalStubProperties;
+import org.duckdns.todosummarized.config.OpenAiProperties;
+import org.duckdns.todosummarized.domains.enums.SummaryType;
+import org.duckdns.todosummarized.dto.DailySummaryDTO;
+import org.duckdns.todosummarized.service.AiMetrics;
+import org.duckdns.todosummarized.service.AiSummaryMessageBuilder;
+import org.duckdns.todosummarized.service.GeminiSummaryAdapter;
+import org.duckdns.todosummarized.service.OpenAiSummaryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAiStubServerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-09T12:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AiSummaryMessageBuilder messageBuilder = new AiSummaryMessageBuilder();
+
+    private LocalStubProperties properties;
+    private Clock clock;
+    private LocalAiStubServer server;
+
+    private final DailySummaryDTO metrics = DailySummaryDTO.builder()
+            .date(LocalDate.of(2026, 1, 9))
+            .totalTodos(25)
+            .completedCount(10)
+            .byPriority(Map.of("HIGH", 5L))
+            .byStatus(Map.of("COMPLETED", 10L))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        properties = new LocalStubProperties();
+        properties.setEnabled(true);
+        properties.setLatencyDistribution(LocalStubProperties.LatencyDistribution.FIXED);
+        properties.setLatencyMillis(0);
+        clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private String startServer() throws Exception {
+        server = new LocalAiStubServer(properties, new AiStubSimulator(properties, clock), objectMapper);
+        server.start();
+        return server.getBaseUrl();
+    }
+
+    private OpenAiSummaryAdapter openAiAdapter(String baseUrl) {
+        OpenAiProperties openAi = new OpenAiProperties();
+        openAi.setApiKey("sk-test");
+        openAi.setModel("gpt-5-nano");
+        openAi.setEnabled(true);
+        openAi.setMaxTokens(500);
+        openAi.setTimeoutSeconds(5);
+        openAi.setBaseUrl(baseUrl + "/v1");
+        OpenAiSummaryAdapter adapter = new OpenAiSummaryAdapter(openAi, objectMapper, messageBuilder,
+                new AiHttpClientProperties(), new AiMetrics(new SimpleMeterRegistry()));
+        adapter.initHttpClient();
+        return adapter;
+    }
+
+    @Nested
+    @DisplayName("wire formats")
+    class WireFormatTests {
+
+        @Test
+        @DisplayName("should answer the OpenAI adapter in chat completions format")
+        void shouldServeOpenAiFormat() throws Exception {
+            OpenAiSummaryAdapter adapter = openAiAdapter(startServer());
+
+            Optional<String> summary = adapter.generateSummary(metrics, SummaryType.DEVELOPER);
+
+            adapter.destroyHttpClient();
+            assertTrue(summary.isPresent());
+            assertTrue(summary.get().startsWith("Local stub summary"));
+        }
+
+        @Test
+        @DisplayName("should answer the Gemini adapter in generateContent format")
+        void shouldServeGeminiFormat() throws Exception {
+            String baseUrl = startServer();
+            GeminiProperties gemini = new GeminiProperties();
+            gemini.setApiKey("test-key");
+            gemini.setModel("gemini-2.5-flash-lite");
+            gemini.setEnabled(true);
+            gemini.setMaxTokens(500);
+            gemini.setTimeoutSeconds(5);
+            gemini.setBaseUrl(baseUrl + "/v1beta");
+            GeminiSummaryAdapter adapter = new GeminiSummaryAdapter(gemini, objectMapper, messageBuilder,
+                    new AiHttpClientProperties(), new AiMetrics(new SimpleMeterRegistry()));
+            adapter.initHttpClient();
+
+            Optional<String> summary = adapter.generateSummary(metrics, SummaryType.EXECUTIVE);
+
+            adapter.destroyHttpClient();
+            assertTrue(summary.isPresent());
+            assertTrue(summary.get().startsWith("Local stub summary"));
+        }
+
+        @Test
+        @DisplayName("should deliver the full body when dripping it in small chunks")
+        void shouldDripResponse() throws Exception {
+            properties.setSlowDripChunkBytes(16);
+            properties.setSlowDripDelayMillis(1);
+            OpenAiSummaryAdapter adapter = openAiAdapter(startServer());
+
+            Optional<String> summary = adapter.generateSummary(metrics, SummaryType.DEVELOPER);
+
+            adapter.destroyHttpClient();
+            assertTrue(summary.isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("failure simulation")
+    class FailureSimulationTests {
+
+        @Test
+        @DisplayName("should answer 429 with Retry-After during a rate-limit burst")
+        void shouldReturn429DuringBurst() throws Exception {
+            // NOW is at the start of a 60s cycle, so the first 5 seconds are a burst
+            properties.setRateLimitBurstPeriodSeconds(60);
+            properties.setRateLimitBurstSeconds(5);
+            String baseUrl = startServer();
+
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/chat/completions"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"messages\":[]}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+
+                assertEquals(429, response.statusCode());
+                assertEquals("5", response.headers().firstValue("Retry-After").orElseThrow());
+            }
+        }
+
+        @Test
+        @DisplayName("should make the adapter fall back when every request errors")
+        void shouldFailWithErrorRate() throws Exception {
+            properties.setErrorRate(1.0);
+            OpenAiSummaryAdapter adapter = openAiAdapter(startServer());
+
+            Optional<String> summary = adapter.generateSummary(metrics, SummaryType.DEVELOPER);
+
+            adapter.destroyHttpClient();
+            assertTrue(summary.isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("AiStubSimulator")
+    class SimulatorTests {
+
+        @Test
+        @DisplayName("should draw the same outcomes for the same seed")
+        void shouldBeDeterministic() {
+            properties.setLatencyDistribution(LocalStubProperties.LatencyDistribution.LOG_NORMAL);
+            properties.setLatencyMillis(800);
+            properties.setErrorRate(0.3);
+
+            List<AiStubSimulator.Outcome> first = draw(new AiStubSimulator(properties, clock), 50);
+            List<AiStubSimulator.Outcome> second = draw(new AiStubSimulator(properties, clock), 50);
+
+            assertEquals(first, second);
+            assertTrue(first.stream().anyMatch(o -> o.kind() == AiStubSimulator.Kind.ERROR));
+            assertTrue(first.stream().anyMatch(o -> o.kind() == AiStubSimulator.Kind.OK));
+        }
+
+        @Test
+        @DisplayName("should keep uniform latency within the configured spread")
+        void shouldBoundUniformLatency() {
+            properties.setLatencyDistribution(LocalStubProperties.LatencyDistribution.UNIFORM);
+            properties.setLatencyMillis(500);
+            properties.setLatencySpreadMillis(100);
+
+            draw(new AiStubSimulator(properties, clock), 200).forEach(outcome ->
+                    assertTrue(outcome.latencyMillis() >= 400 && outcome.latencyMillis() <= 600));
+        }
+
+        private List<AiStubSimulator.Outcome> draw(AiStubSimulator simulator, int count) {
+            return IntStream.range(0, count).mapToObj(i -> simulator.next()).toList();
+        }
+    }
+}